@@ -0,0 +1,101 @@
+package com.springboot.firebase.data;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 기존 RedisTemplate 직렬화 (default typing JSON) vs 타입별 직렬화 비교
+// 알림: NotificationCodec 바이너리, 토큰: 문자열 그대로
+// 항목당 바이트 수는 setup에서 출력
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RedisValueCodecBenchmark {
+    private Jackson2JsonRedisSerializer<Object> defaultTypingSerializer;
+    private StringRedisSerializer stringSerializer;
+    private NotificationCodec notificationCodec;
+
+    private Notification notification;
+    private String token;
+
+    private byte[] notificationJson;
+    private byte[] notificationBinary;
+    private byte[] tokenJson;
+    private byte[] tokenString;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        // RedisRepositoryConfig.redisTemplate와 같은 설정
+        defaultTypingSerializer = new Jackson2JsonRedisSerializer<>(Object.class);
+        ObjectMapper defaultTypingMapper = new ObjectMapper();
+        defaultTypingMapper.enableDefaultTyping(ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        defaultTypingMapper.registerModule(new JavaTimeModule());
+        defaultTypingSerializer.setObjectMapper(defaultTypingMapper);
+
+        stringSerializer = new StringRedisSerializer();
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        notificationCodec = new NotificationCodec(objectMapper);
+
+        notification = new Notification(UUID.randomUUID().toString(), 42L, 1_234L, 98_765L,
+                "마음이", "김상담", "상담 예약 알림", "마음이님이 2024-05-01 14:00 상담을 예약했습니다.",
+                LocalDateTime.of(2024, 5, 1, 13, 2, 11, 123_000_000), false, Notification.NotificationType.RESERVATION);
+        token = "eyJhbGciOiJIUzI1NiJ9." + "x".repeat(220) + ".abcdefghijklmnopqrstuvwxyz0123456789ABCDEFG";
+
+        notificationJson = defaultTypingSerializer.serialize(notification);
+        notificationBinary = notificationCodec.encode(notification);
+        tokenJson = defaultTypingSerializer.serialize(token);
+        tokenString = stringSerializer.serialize(token);
+
+        System.out.printf("%nbytes/entry notification: default-typing json=%d, binary=%d%n", notificationJson.length, notificationBinary.length);
+        System.out.printf("bytes/entry token: default-typing json=%d, string=%d%n", tokenJson.length, tokenString.length);
+    }
+
+    @Benchmark
+    public byte[] notificationEncodeDefaultTyping(){
+        return defaultTypingSerializer.serialize(notification);
+    }
+
+    @Benchmark
+    public byte[] notificationEncodeBinary(){
+        return notificationCodec.encode(notification);
+    }
+
+    @Benchmark
+    public Object notificationDecodeDefaultTyping(){
+        return defaultTypingSerializer.deserialize(notificationJson);
+    }
+
+    @Benchmark
+    public Notification notificationDecodeBinary(){
+        return notificationCodec.decode(notificationBinary);
+    }
+
+    @Benchmark
+    public byte[] tokenEncodeDefaultTyping(){
+        return defaultTypingSerializer.serialize(token);
+    }
+
+    @Benchmark
+    public byte[] tokenEncodeString(){
+        return stringSerializer.serialize(token);
+    }
+
+    @Benchmark
+    public Object tokenDecodeDefaultTyping(){
+        return defaultTypingSerializer.deserialize(tokenJson);
+    }
+
+    @Benchmark
+    public String tokenDecodeString(){
+        return stringSerializer.deserialize(tokenString);
+    }
+}
@@ -0,0 +1,165 @@
+package com.springboot.loadtest;
+
+import io.socket.client.Ack;
+import io.socket.client.IO;
+import io.socket.client.Socket;
+import io.socket.engineio.client.transports.WebSocket;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 채팅 서버 부하 테스트
+// 클라이언트 clients개를 채팅방 rooms개(first-room-id부터 연속된 id, 미리 만들어 둔 채팅방)에 고르게 나눠 접속시키고
+// 클라이언트마다 초당 rate개씩 메시지를 보냄
+// 접속에는 액세스 토큰이 필요하고(--token), 토큰 사용자가 참여자인 채팅방이어야 함
+// 메시지에 보낸 시각을 넣어 두고, 같은 채팅방 클라이언트가 받은 시각과의 차이를 브로드캐스트 지연 시간으로 기록
+//
+// ./gradlew chatLoadTest --args='--url=http://localhost:9092 --token=<access token> --clients=200 --rooms=20 --rate=2 --duration=60'
+public class ChatLoadGenerator {
+    private static final String MARKER = "loadtest|";
+
+    private final String url;
+    private final String token;
+    private final int clients;
+    private final int rooms;
+    private final long firstRoomId;
+    private final double ratePerClient;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+
+    private final List<Socket> sockets = new ArrayList<>();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    // 이 시각 이후에 보낸 메시지만 집계 (워밍업 제외)
+    private volatile long measureFromNanos = Long.MAX_VALUE;
+    private volatile boolean sending;
+
+    ChatLoadGenerator(Map<String, String> options) {
+        this.url = options.getOrDefault("url", "http://localhost:9092");
+        this.token = options.get("token");
+        this.clients = Integer.parseInt(options.getOrDefault("clients", "100"));
+        this.rooms = Integer.parseInt(options.getOrDefault("rooms", "10"));
+        this.firstRoomId = Long.parseLong(options.getOrDefault("first-room-id", "1"));
+        this.ratePerClient = Double.parseDouble(options.getOrDefault("rate", "1"));
+        this.warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        this.durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for(String arg : args){
+            if(!arg.startsWith("--") || !arg.contains("=")) throw new IllegalArgumentException("Expected --name=value: " + arg);
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new ChatLoadGenerator(options).run();
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        System.out.printf("Connecting %d clients to %s across %d rooms%n", clients, url, rooms);
+        connectAll();
+
+        ScheduledExecutorService senders = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors());
+        long periodMicros = (long) (1_000_000 / ratePerClient);
+        sending = true;
+        for(int i = 0; i < clients; i++){
+            Socket socket = sockets.get(i);
+            long roomId = roomIdOf(i);
+            String sender = "loadtest-" + i;
+            // 모든 클라이언트가 같은 순간에 보내지 않게 시작 시각을 흩어 둠
+            long initialDelay = ThreadLocalRandom.current().nextLong(periodMicros);
+            senders.scheduleAtFixedRate(() -> send(socket, roomId, sender), initialDelay, periodMicros, TimeUnit.MICROSECONDS);
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        long measuredSent = sent.sum();
+        long measuredDelivered = delivered.sum();
+        measureFromNanos = System.nanoTime();
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        sending = false;
+        long elapsedNanos = System.nanoTime() - measureFromNanos;
+        measuredSent = sent.sum() - measuredSent;
+        // 마지막에 보낸 메시지가 도착할 시간
+        TimeUnit.SECONDS.sleep(2);
+        measuredDelivered = delivered.sum() - measuredDelivered;
+        senders.shutdownNow();
+        sockets.forEach(Socket::close);
+
+        report(measuredSent, measuredDelivered, elapsedNanos / 1_000_000_000.0);
+    }
+
+    private void connectAll() throws InterruptedException {
+        CountDownLatch joined = new CountDownLatch(clients);
+        IO.Options options = new IO.Options();
+        options.forceNew = true;
+        options.reconnection = false;
+        options.transports = new String[]{WebSocket.NAME};
+        if(token != null) options.query = "token=" + token;
+        for(int i = 0; i < clients; i++){
+            long roomId = roomIdOf(i);
+            Socket socket = IO.socket(URI.create(url), options);
+            // 서버는 참여 결과를 true/false로 ack (거절이면 false, 이유는 error 이벤트)
+            socket.on(Socket.EVENT_CONNECT, args -> socket.emit("joinRoom", roomId, (Ack) ack -> {
+                if(ack.length > 0 && Boolean.TRUE.equals(ack[0])) joined.countDown();
+            }));
+            socket.on("message", this::onMessage);
+            socket.on("error", args -> errors.increment());
+            socket.on(Socket.EVENT_CONNECT_ERROR, args -> errors.increment());
+            socket.connect();
+            sockets.add(socket);
+        }
+        if(!joined.await(30, TimeUnit.SECONDS)){
+            throw new IllegalStateException(joined.getCount() + " clients failed to join within 30s");
+        }
+    }
+
+    private void send(Socket socket, long roomId, String sender){
+        if(!sending) return;
+        JSONObject message = new JSONObject();
+        try{
+            message.put("roomId", roomId);
+            message.put("sender", sender);
+            message.put("message", MARKER + System.nanoTime());
+        }catch (JSONException e){
+            throw new IllegalStateException(e);
+        }
+        socket.emit("message", message);
+        sent.increment();
+    }
+
+    private void onMessage(Object... args){
+        String message = ((JSONObject) args[0]).optString("message");
+        if(!message.startsWith(MARKER)) return;
+        long sentNanos = Long.parseLong(message.substring(MARKER.length()));
+        delivered.increment();
+        if(sentNanos >= measureFromNanos) latencies.record(System.nanoTime() - sentNanos);
+    }
+
+    private long roomIdOf(int client){
+        return firstRoomId + client % rooms;
+    }
+
+    private void report(long measuredSent, long measuredDelivered, double seconds){
+        System.out.printf("%nclients=%d rooms=%d rate=%.2f/client/s duration=%.1fs%n", clients, rooms, ratePerClient, seconds);
+        System.out.printf("sent       %,d msgs (%,.1f msgs/sec)%n", measuredSent, measuredSent / seconds);
+        System.out.printf("delivered  %,d msgs (%,.1f msgs/sec, expected fan-out %.1f)%n",
+                measuredDelivered, measuredDelivered / seconds, (double) clients / rooms);
+        System.out.printf("latency    p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms (%,d samples)%n",
+                latencies.percentileMillis(50), latencies.percentileMillis(90), latencies.percentileMillis(99),
+                latencies.maxMillis(), latencies.count());
+        System.out.printf("errors     %,d%n", errors.sum());
+    }
+}
@@ -0,0 +1,45 @@
+package com.springboot.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+// 지연 시간 분포 (여러 스레드에서 잠금 없이 기록)
+// RESOLUTION_MICROS 단위 구간으로 세고, MAX_MILLIS를 넘는 값은 마지막 구간에 넣음
+class LatencyHistogram {
+    private static final long RESOLUTION_MICROS = 50;
+    private static final long MAX_MILLIS = 10_000;
+
+    private final AtomicLongArray buckets =
+            new AtomicLongArray((int) (TimeUnit.MILLISECONDS.toMicros(MAX_MILLIS) / RESOLUTION_MICROS) + 1);
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    void record(long nanos){
+        long bucket = TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos)) / RESOLUTION_MICROS;
+        buckets.incrementAndGet((int) Math.min(bucket, buckets.length() - 1));
+        maxNanos.accumulate(nanos);
+    }
+
+    long count(){
+        long count = 0;
+        for(int i = 0; i < buckets.length(); i++) count += buckets.get(i);
+        return count;
+    }
+
+    // percentile(0~100) 위치의 값 (구간 상한, 밀리초)
+    double percentileMillis(double percentile){
+        long total = count();
+        if(total == 0) return 0;
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for(int i = 0; i < buckets.length(); i++){
+            seen += buckets.get(i);
+            if(seen >= rank) return (i + 1) * RESOLUTION_MICROS / 1000.0;
+        }
+        return MAX_MILLIS;
+    }
+
+    double maxMillis(){
+        return maxNanos.get() / 1_000_000.0;
+    }
+}
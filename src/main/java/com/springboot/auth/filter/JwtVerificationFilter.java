@@ -3,9 +3,9 @@ package com.springboot.auth.filter;
 import com.springboot.auth.CustomAuthenticationToken;
 import com.springboot.auth.dto.LoginDto;
 import com.springboot.auth.jwt.JwtTokenizer;
+import com.springboot.auth.redis.TokenRedisRepository;
 import com.springboot.auth.utils.CustomAuthorityUtils;
 import io.jsonwebtoken.ExpiredJwtException;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -27,13 +27,13 @@ public class JwtVerificationFilter extends OncePerRequestFilter {
     private final JwtTokenizer jwtTokenizer;
     private final CustomAuthorityUtils authorityUtils;
 
-    // redis에서 추가 검증을 위해 RedisTemplate DI
-    private final RedisTemplate<String, Object> redisTemplate;
+    // redis에서 추가 검증을 위해 TokenRedisRepository DI
+    private final TokenRedisRepository tokenRedisRepository;
 
-    public JwtVerificationFilter(JwtTokenizer jwtTokenizer, CustomAuthorityUtils authorityUtils, RedisTemplate<String, Object> redisTemplate) {
+    public JwtVerificationFilter(JwtTokenizer jwtTokenizer, CustomAuthorityUtils authorityUtils, TokenRedisRepository tokenRedisRepository) {
         this.jwtTokenizer = jwtTokenizer;
         this.authorityUtils = authorityUtils;
-        this.redisTemplate = redisTemplate;
+        this.tokenRedisRepository = tokenRedisRepository;
     }
 
     @Override
@@ -94,10 +94,8 @@ public class JwtVerificationFilter extends OncePerRequestFilter {
                 .orElseThrow(() -> new NullPointerException("Username is null"));
 
         // Redis에 해당 키(username)가 존재하는지 확인
-        Boolean hasKey = redisTemplate.hasKey(username);
-
-        // 키가 존재하지 않거나 null일 경우 예외를 던짐
-        if (Boolean.FALSE.equals(hasKey)) {
+        // 키가 존재하지 않을 경우 예외를 던짐
+        if (!tokenRedisRepository.hasAccessToken(username)) {
             throw new IllegalStateException("Redis key does not exist for username: " + username);
         }
     }
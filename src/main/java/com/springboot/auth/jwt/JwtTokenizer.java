@@ -1,5 +1,6 @@
 package com.springboot.auth.jwt;
 
+import com.springboot.auth.redis.TokenRedisRepository;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Jwts;
@@ -8,8 +9,6 @@ import io.jsonwebtoken.io.Encoders;
 import io.jsonwebtoken.security.Keys;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
@@ -17,8 +16,6 @@ import java.security.Key;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenizer {
@@ -34,22 +31,19 @@ public class JwtTokenizer {
     @Value("${jwt.access-token-expiration-minutes}")
     private int refreshTokenExpirationMinutes;
 
-    // RedisTemplate을 사용하여 Redis 서버와의 상호작용을 처리하는 필드를 선언합니다.
-    // 이 필드는 Redis에 데이터를 저장하거나 조회하는 데 사용됩니다.
-    private final RedisTemplate<String, Object> redisTemplate;
+    // 발급한 토큰을 Redis에 저장하거나 조회하는 데 사용합니다.
+    private final TokenRedisRepository tokenRedisRepository;
 
     /**
      * JwtTokenizer 생성자
      *
-     * RedisTemplate을 주입받아 초기화합니다.
-     * 이 생성자는 JwtTokenizer 클래스가 생성될 때 RedisTemplate 인스턴스를 받아서
-     * 해당 필드에 할당하며, 이를 통해 JwtTokenizer 클래스에서 Redis와의 상호작용을
-     * 수행할 수 있도록 합니다.
+     * TokenRedisRepository를 주입받아 초기화합니다.
+     * 토큰은 클래스 정보가 붙는 JSON 대신 문자열 그대로 저장합니다.
      *
-     * @param redisTemplate Redis 서버와 통신하기 위한 RedisTemplate 인스턴스
+     * @param tokenRedisRepository 토큰을 Redis에 저장하기 위한 저장소
      */
-    public JwtTokenizer(RedisTemplate<String, Object> redisTemplate) {
-        this.redisTemplate = redisTemplate;
+    public JwtTokenizer(TokenRedisRepository tokenRedisRepository) {
+        this.tokenRedisRepository = tokenRedisRepository;
     }
 
     public String encodeBase64SecretKey(String secretKey){
@@ -68,10 +62,8 @@ public class JwtTokenizer {
                 .signWith(key)
                 .compact();
 
-        // Redis의 ListOperations 객체를 사용하여 리스트 형태로 데이터를 처리합니다.
-        ValueOperations<String, Object> valueOperations = redisTemplate.opsForValue();
         // claims에 저장된 username(이메일)을 키로 accessToken 값을 추가합니다.
-        valueOperations.set((String) claims.get("username"), accessToken, accessTokenExpirationMinutes, TimeUnit.MINUTES);
+        tokenRedisRepository.saveAccessToken((String) claims.get("username"), accessToken, accessTokenExpirationMinutes);
         return accessToken;
     }
 
@@ -88,10 +80,8 @@ public class JwtTokenizer {
                 .signWith(key)
                 .compact();
 
-        // Redis의 ListOperations 객체를 사용하여 리스트 형태로 데이터를 처리합니다.
-        ValueOperations<String, Object> valueOperations = redisTemplate.opsForValue();
-        // "accessToken"이라는 키에 accessToken 값을 리스트에 추가합니다.
-        valueOperations.set(accessToken, refreshToken, refreshTokenExpirationMinutes, TimeUnit.MINUTES);
+        // accessToken을 키로 refreshToken 값을 추가합니다.
+        tokenRedisRepository.saveRefreshToken(accessToken, refreshToken, refreshTokenExpirationMinutes);
 
         return refreshToken;
     }
@@ -128,14 +118,6 @@ public class JwtTokenizer {
 
     // 로그아웃시 레디스에서 email을 기준으로 토큰 값 삭제
     public boolean deleteRegisterToken(String username) {
-        return Optional.ofNullable(redisTemplate.hasKey(username))
-                .filter(Boolean::booleanValue) // 키가 존재할 때만 진행
-                .map(hasKey -> {
-                    String accessToken = (String) redisTemplate.opsForValue().get(username);
-                    redisTemplate.delete(accessToken);
-                    redisTemplate.delete(username);
-                    return true;
-                })
-                .orElse(false); // 키가 존재하지 않거나 삭제되지 않았을 때 false 반환
+        return tokenRedisRepository.deleteTokens(username); // 키가 존재하지 않으면 false 반환
     }
 }
\ No newline at end of file
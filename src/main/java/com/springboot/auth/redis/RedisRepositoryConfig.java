@@ -10,6 +10,7 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -73,7 +74,8 @@ public class RedisRepositoryConfig {
         // 키는 문자열로 직렬화
         redisTemplate.setKeySerializer(new StringRedisSerializer());
 
-        // 값은 JSON으로 직렬화
+        // 값은 JSON으로 직렬화 (클래스 이름까지 저장됨)
+        // 토큰(TokenRedisRepository)과 알림함(NotificationCodec)은 이 템플릿 대신 타입별 형식으로 저장
         Jackson2JsonRedisSerializer<Object> serializer = new Jackson2JsonRedisSerializer<>(Object.class);
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.enableDefaultTyping(ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
@@ -85,4 +87,12 @@ public class RedisRepositoryConfig {
 
         return redisTemplate;
     }
-}
\ No newline at end of file
+
+    // Redis pub/sub 구독용 (서버 간 캐시 무효화 등), 구독 연결 하나를 같이 씀
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        return container;
+    }
+}
@@ -0,0 +1,51 @@
+package com.springboot.auth.redis;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.TimeUnit;
+
+// 로그인 토큰 저장소
+// username -> accessToken, accessToken -> refreshToken (값은 토큰 문자열 그대로)
+// 예전에는 default typing JSON으로 저장해서 값이 따옴표로 감싸져 있음 -> 읽을 때 벗겨냄
+@Repository
+public class TokenRedisRepository {
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public TokenRedisRepository(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    public void saveAccessToken(String username, String accessToken, long expirationMinutes){
+        stringRedisTemplate.opsForValue().set(username, accessToken, expirationMinutes, TimeUnit.MINUTES);
+    }
+
+    public void saveRefreshToken(String accessToken, String refreshToken, long expirationMinutes){
+        stringRedisTemplate.opsForValue().set(accessToken, refreshToken, expirationMinutes, TimeUnit.MINUTES);
+    }
+
+    public boolean hasAccessToken(String username){
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(username));
+    }
+
+    public String findAccessToken(String username){
+        return unquote(stringRedisTemplate.opsForValue().get(username));
+    }
+
+    // 로그아웃 (username, accessToken 키 모두 삭제), 저장된 토큰이 없으면 false
+    public boolean deleteTokens(String username){
+        String accessToken = findAccessToken(username);
+        if(accessToken == null) return false;
+        stringRedisTemplate.delete(accessToken);
+        stringRedisTemplate.delete(username);
+        return true;
+    }
+
+    // 예전 JSON 형식("...") 값
+    private static String unquote(String value){
+        if(value != null && value.length() >= 2 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"'){
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+}
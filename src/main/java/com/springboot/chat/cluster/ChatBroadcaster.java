@@ -0,0 +1,63 @@
+package com.springboot.chat.cluster;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.UUID;
+
+// 채팅방 이벤트 전송
+// 이 서버의 클라이언트에게는 ChatDeliveryQueue로 보내고, 다른 서버에는 ChatClusterBus로 전달 -> 각 서버가 자기 클라이언트에게 보냄
+// 자기가 보낸 메시지가 버스를 거쳐 다시 돌아오면 무시 (중복 전송 방지)
+@Component
+public class ChatBroadcaster {
+    private final SocketIOServer server;
+    private final ChatClusterBus clusterBus;
+    private final ChatDeliveryQueue deliveryQueue;
+    private final ObjectMapper objectMapper;
+    // 서버 인스턴스마다 다른 값 (재시작해도 겹치지 않게)
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Counter published;
+    private final Counter received;
+
+    public ChatBroadcaster(SocketIOServer server, ChatClusterBus clusterBus, ChatDeliveryQueue deliveryQueue,
+                           ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.server = server;
+        this.clusterBus = clusterBus;
+        this.deliveryQueue = deliveryQueue;
+        this.objectMapper = objectMapper;
+        this.published = clusterCounter(meterRegistry, "published");
+        this.received = clusterCounter(meterRegistry, "received");
+        clusterBus.subscribe(this::onClusterMessage);
+    }
+
+    public void sendToRoom(long roomId, String event, Object payload){
+        deliverLocally(roomId, event, payload);
+        clusterBus.publish(new ClusterMessage(nodeId, roomId, event, objectMapper.valueToTree(payload)));
+        published.increment();
+    }
+
+    private void onClusterMessage(ClusterMessage message){
+        if(nodeId.equals(message.getOriginNodeId())) return;
+        received.increment();
+        deliverLocally(message.getRoomId(), message.getEvent(), message.getPayload());
+    }
+
+    private void deliverLocally(long roomId, String event, Object payload){
+        Collection<SocketIOClient> clients = server.getRoomOperations(String.valueOf(roomId)).getClients();
+        // 이 서버에 그 채팅방 클라이언트가 없으면 할 일 없음
+        if(clients.isEmpty()) return;
+        deliveryQueue.deliver(roomId, clients, event, payload);
+    }
+
+    private static Counter clusterCounter(MeterRegistry meterRegistry, String direction){
+        return Counter.builder("chat.cluster.messages")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,12 @@
+package com.springboot.chat.cluster;
+
+import java.util.function.Consumer;
+
+// 채팅방 이벤트를 모든 채팅 서버에 전달하는 통로
+// 어느 서버에 어느 클라이언트가 붙어 있는지는 각 서버만 알고, 이벤트는 모든 서버에 보냄 (sticky session 불필요)
+public interface ChatClusterBus {
+    // 모든 서버(보낸 서버 포함)에 전달
+    void publish(ClusterMessage message);
+
+    void subscribe(Consumer<ClusterMessage> listener);
+}
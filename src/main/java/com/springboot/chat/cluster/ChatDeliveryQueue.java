@@ -0,0 +1,202 @@
+package com.springboot.chat.cluster;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.springboot.chat.service.ChatFlowMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.net.SocketAddress;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 이 서버에 접속한 클라이언트에게 보낼 이벤트 큐 (클라이언트마다 하나, 크기 제한)
+// 브로드캐스트는 큐에 넣기만 하고 바로 반환, 전송은 전송 스레드가 클라이언트별 순서대로 처리
+// 클라이언트가 읽지 않아 연결이 쓰기 불가 상태면(ClientWritabilityTracker) 전송을 멈추고 다시 쓰기 가능해지면 이어서 보냄
+//  - sendEvent는 막히지 않으므로 쓰기 가능 여부를 보지 않으면 느린 클라이언트도 큐가 차지 않음
+// 큐가 가득 찬 클라이언트는 지연(lagging) 상태로 표시하고 메시지를 버림
+//  - 큐가 비면 메시지를 버린 채팅방마다 "resync" 이벤트를 보냄 (클라이언트는 채팅 내역 API로 빠진 메시지를 다시 읽음)
+//  - 지연 상태가 lagTimeoutMillis 넘게 이어지면 연결을 끊음
+@Component
+public class ChatDeliveryQueue {
+    private static final long NOT_LAGGING = Long.MIN_VALUE;
+    // 전송 스레드가 클라이언트 하나를 한 번에 처리하는 최대 이벤트 수 (다른 클라이언트 차례를 막지 않게)
+    private static final int DRAIN_BATCH = 64;
+
+    private final Map<UUID, Outbox> outboxes = new ConcurrentHashMap<>();
+    // 연결이 쓰기 불가라서 전송을 멈춘 큐 (원격 주소별)
+    private final Map<SocketAddress, Outbox> paused = new ConcurrentHashMap<>();
+    private final ChatFlowMetrics flowMetrics;
+    private final ClientWritabilityTracker writability;
+    private final int capacity;
+    private final long lagTimeoutNanos;
+    private final ExecutorService senders;
+
+    public ChatDeliveryQueue(ChatFlowMetrics flowMetrics,
+                             ClientWritabilityTracker writability,
+                             @Value("${toktalk.chat.outbound.queue-size:256}") int capacity,
+                             @Value("${toktalk.chat.outbound.lag-timeout-millis:10000}") long lagTimeoutMillis,
+                             @Value("${toktalk.chat.outbound.threads:0}") int threads) {
+        this.flowMetrics = flowMetrics;
+        this.writability = writability;
+        this.capacity = capacity;
+        this.lagTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(lagTimeoutMillis);
+        int threadCount = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.senders = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "chat-outbound");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writability.onWritable(this::resume);
+    }
+
+    public void deliver(long roomId, Collection<SocketIOClient> clients, String event, Object payload){
+        Delivery delivery = new Delivery(roomId, event, payload);
+        for(SocketIOClient client : clients){
+            Outbox outbox = outboxes.get(client.getSessionId());
+            if(outbox == null){
+                if(!client.isChannelOpen()) continue;
+                outbox = outboxes.computeIfAbsent(client.getSessionId(), id -> new Outbox(client));
+            }
+            outbox.offer(delivery);
+        }
+    }
+
+    // 연결이 끊기면 호출
+    public void remove(UUID sessionId){
+        Outbox outbox = outboxes.remove(sessionId);
+        if(outbox == null) return;
+        outbox.clearLagging();
+        if(outbox.remoteAddress != null) paused.remove(outbox.remoteAddress, outbox);
+    }
+
+    // 연결이 다시 쓰기 가능해지면 멈춘 전송 재개
+    private void resume(SocketAddress remoteAddress){
+        Outbox outbox = paused.remove(remoteAddress);
+        if(outbox != null) outbox.schedule();
+    }
+
+    @PreDestroy
+    public void close(){
+        senders.shutdown();
+    }
+
+    private static class Delivery {
+        private final long roomId;
+        private final String event;
+        private final Object payload;
+
+        private Delivery(long roomId, String event, Object payload) {
+            this.roomId = roomId;
+            this.event = event;
+            this.payload = payload;
+        }
+    }
+
+    private class Outbox implements Runnable {
+        private final SocketIOClient client;
+        private final SocketAddress remoteAddress;
+        private final Queue<Delivery> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        // 전송 스레드에 등록되어 있는지 (한 번에 한 스레드만 처리해서 순서 유지)
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // 메시지를 버린 채팅방
+        private final Set<Long> droppedRooms = ConcurrentHashMap.newKeySet();
+        // 지연 상태가 시작된 시각
+        private final AtomicLong laggingSince = new AtomicLong(NOT_LAGGING);
+
+        private Outbox(SocketIOClient client) {
+            this.client = client;
+            this.remoteAddress = client.getRemoteAddress();
+        }
+
+        private void offer(Delivery delivery){
+            if(size.incrementAndGet() > capacity){
+                size.decrementAndGet();
+                drop(delivery.roomId);
+                return;
+            }
+            queue.add(delivery);
+            // 멈춘 동안은 resume이 다시 예약
+            if(!isPaused()) schedule();
+        }
+
+        private void drop(long roomId){
+            flowMetrics.outboundDropped(roomId);
+            droppedRooms.add(roomId);
+            long now = System.nanoTime();
+            if(laggingSince.compareAndSet(NOT_LAGGING, now)){
+                flowMetrics.laggingStarted();
+                return;
+            }
+            long since = laggingSince.get();
+            if(since != NOT_LAGGING && now - since > lagTimeoutNanos) disconnect();
+        }
+
+        private void schedule(){
+            if(scheduled.compareAndSet(false, true)) senders.execute(this);
+        }
+
+        @Override
+        public void run() {
+            if(!client.isChannelOpen()){
+                remove(client.getSessionId());
+                return;
+            }
+            Delivery delivery;
+            for(int sent = 0; sent < DRAIN_BATCH && writable() && (delivery = queue.poll()) != null; sent++){
+                size.decrementAndGet();
+                client.sendEvent(delivery.event, delivery.payload);
+            }
+            if(queue.isEmpty() && clearLagging()){
+                for(Long roomId : droppedRooms){
+                    droppedRooms.remove(roomId);
+                    client.sendEvent("resync", roomId);
+                }
+            }
+            scheduled.set(false);
+            if(queue.isEmpty()) return;
+            if(writable()){
+                schedule();
+                return;
+            }
+            // 클라이언트가 읽을 때까지 멈춤 (그 사이 큐가 차면 offer가 메시지를 버리고 지연 상태로 표시)
+            paused.put(remoteAddress, this);
+            // 등록하는 사이 쓰기 가능해졌으면 resume을 놓쳤을 수 있으므로 다시 확인
+            if(writable() && paused.remove(remoteAddress, this)) schedule();
+        }
+
+        private boolean writable(){
+            return writability.isWritable(remoteAddress);
+        }
+
+        private boolean isPaused(){
+            return remoteAddress != null && paused.get(remoteAddress) == this;
+        }
+
+        // 지연 상태였으면 해제하고 true
+        private boolean clearLagging(){
+            if(laggingSince.getAndSet(NOT_LAGGING) == NOT_LAGGING) return false;
+            flowMetrics.laggingEnded();
+            return true;
+        }
+
+        private void disconnect(){
+            if(!outboxes.remove(client.getSessionId(), this)) return;
+            clearLagging();
+            flowMetrics.outboundDisconnected();
+            client.disconnect();
+        }
+    }
+}
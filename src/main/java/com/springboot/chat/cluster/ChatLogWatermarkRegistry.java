@@ -0,0 +1,13 @@
+package com.springboot.chat.cluster;
+
+// 서버별 "이 id 이하의 메시지는 모두 DB에 저장됨" 값(watermark)을 모으는 곳
+// 다른 서버의 아직 저장되지 않은 메시지는 보이지 않으므로, 메시지를 이어서 조회할 때(after cursor)는 전체 서버의 최솟값까지만 읽음
+public interface ChatLogWatermarkRegistry {
+    void publish(long nodeId, long watermark);
+
+    // 서버가 종료될 때 (남은 메시지를 모두 저장한 뒤)
+    void remove(long nodeId);
+
+    // 살아 있는 서버들의 watermark 중 최솟값 (등록된 서버가 없으면 Long.MAX_VALUE)
+    long clusterWatermark();
+}
@@ -0,0 +1,60 @@
+package com.springboot.chat.cluster;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// 클라이언트 연결(netty 채널)의 쓰기 가능 여부 (SocketIOConfig가 모든 채널 파이프라인 앞에 추가)
+// sendEvent는 채널에 쓰기를 예약하고 바로 반환하므로, 안 읽는 클라이언트에게 보낸 메시지는 채널 출력 버퍼(서버 메모리)에 쌓임
+// 출력 버퍼가 high water mark를 넘으면 쓰기 불가, low water mark 아래로 내려가면 다시 쓰기 가능 -> ChatDeliveryQueue가 보고 전송을 멈춤
+// SocketIOClient는 netty 채널을 노출하지 않아서 원격 주소(연결마다 다름)로 찾음
+//  - handshake 연결과 다른 연결(polling 요청, polling -> WebSocket upgrade)은 찾지 못하고 항상 쓰기 가능으로 봄
+@Component
+@ChannelHandler.Sharable
+public class ClientWritabilityTracker extends ChannelInboundHandlerAdapter {
+    private final Map<SocketAddress, Channel> channels = new ConcurrentHashMap<>();
+    private volatile Consumer<SocketAddress> writableListener = address -> {};
+
+    public boolean isWritable(SocketAddress remoteAddress){
+        if(remoteAddress == null) return true;
+        Channel channel = channels.get(remoteAddress);
+        return channel == null || channel.isWritable();
+    }
+
+    // 쓰기 불가였던 연결이 다시 쓰기 가능해지면 호출 (netty I/O 스레드에서 호출되므로 오래 걸리는 작업 금지)
+    public void onWritable(Consumer<SocketAddress> listener){
+        this.writableListener = listener;
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        SocketAddress remoteAddress = ctx.channel().remoteAddress();
+        if(remoteAddress != null) channels.put(remoteAddress, ctx.channel());
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        SocketAddress remoteAddress = ctx.channel().remoteAddress();
+        if(remoteAddress != null){
+            channels.remove(remoteAddress, ctx.channel());
+            // 멈춰 있던 전송 큐가 닫힌 연결을 정리하게 깨움
+            writableListener.accept(remoteAddress);
+        }
+        super.channelInactive(ctx);
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        Channel channel = ctx.channel();
+        if(channel.isWritable() && channel.remoteAddress() != null) writableListener.accept(channel.remoteAddress());
+        super.channelWritabilityChanged(ctx);
+    }
+}
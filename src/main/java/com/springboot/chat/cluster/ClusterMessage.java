@@ -0,0 +1,18 @@
+package com.springboot.chat.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 서버 간에 전달하는 채팅방 이벤트
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClusterMessage {
+    // 보낸 서버 (자기가 보낸 메시지가 다시 돌아오면 무시)
+    private String originNodeId;
+    private long roomId;
+    private String event;
+    private JsonNode payload;
+}
@@ -0,0 +1,40 @@
+package com.springboot.chat.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// 같은 JVM 안에서만 전달 (테스트, 서버 하나로 돌릴 때)
+// 같은 Network를 쓰는 버스끼리 서로의 메시지를 받음 -> 한 JVM에 서버 여러 개를 띄워서 테스트 가능
+@Component
+@ConditionalOnProperty(name = "toktalk.chat.cluster.bus", havingValue = "loopback")
+public class LoopbackChatClusterBus implements ChatClusterBus {
+    private static final Network SHARED_NETWORK = new Network();
+
+    private final Network network;
+
+    public LoopbackChatClusterBus() {
+        this(SHARED_NETWORK);
+    }
+
+    LoopbackChatClusterBus(Network network) {
+        this.network = network;
+    }
+
+    @Override
+    public void publish(ClusterMessage message) {
+        network.listeners.forEach(listener -> listener.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> listener) {
+        network.listeners.add(listener);
+    }
+
+    static class Network {
+        private final List<Consumer<ClusterMessage>> listeners = new CopyOnWriteArrayList<>();
+    }
+}
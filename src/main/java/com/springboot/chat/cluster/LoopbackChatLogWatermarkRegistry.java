@@ -0,0 +1,29 @@
+package com.springboot.chat.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 같은 JVM 안에서만 공유 (테스트, 서버 하나로 돌릴 때)
+@Component
+@ConditionalOnProperty(name = "toktalk.chat.cluster.bus", havingValue = "loopback")
+public class LoopbackChatLogWatermarkRegistry implements ChatLogWatermarkRegistry {
+    private final Map<Long, Long> watermarks = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(long nodeId, long watermark) {
+        watermarks.put(nodeId, watermark);
+    }
+
+    @Override
+    public void remove(long nodeId) {
+        watermarks.remove(nodeId);
+    }
+
+    @Override
+    public long clusterWatermark() {
+        return watermarks.values().stream().mapToLong(Long::longValue).min().orElse(Long.MAX_VALUE);
+    }
+}
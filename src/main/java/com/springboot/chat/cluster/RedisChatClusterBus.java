@@ -0,0 +1,56 @@
+package com.springboot.chat.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+// Redis pub/sub으로 서버 간 채팅방 이벤트 전달 (기본값)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "toktalk.chat.cluster.bus", havingValue = "redis", matchIfMissing = true)
+public class RedisChatClusterBus implements ChatClusterBus {
+    private static final ChannelTopic TOPIC = new ChannelTopic("chat-cluster:room-events");
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+
+    public RedisChatClusterBus(StringRedisTemplate stringRedisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               ObjectMapper objectMapper) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(ClusterMessage message) {
+        try{
+            stringRedisTemplate.convertAndSend(TOPIC.getTopic(), objectMapper.writeValueAsString(message));
+        }catch (JsonProcessingException e){
+            throw new IllegalArgumentException("Failed to serialize cluster message", e);
+        }catch (RuntimeException e){
+            // 이 서버의 클라이언트에게는 이미 보냈으므로 다른 서버만 못 받음
+            log.warn("Failed to publish cluster message: roomId={}, event={}", message.getRoomId(), message.getEvent(), e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try{
+                listener.accept(objectMapper.readValue(message.getBody(), ClusterMessage.class));
+            }catch (IOException e){
+                log.warn("Invalid cluster message", e);
+            }
+        }, TOPIC);
+    }
+}
@@ -0,0 +1,67 @@
+package com.springboot.chat.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Redis Hash에 서버별 watermark 저장 (field: 서버 번호, value: "watermark:기록 시각(millis)") (기본값)
+// staleMillis 동안 갱신이 없는 서버는 죽은 것으로 보고 제외 (그 서버의 남은 메시지는 재시작 때 WAL에서 저장됨)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "toktalk.chat.cluster.bus", havingValue = "redis", matchIfMissing = true)
+public class RedisChatLogWatermarkRegistry implements ChatLogWatermarkRegistry {
+    private static final String KEY = "chat-log:flushed-watermark";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final long staleMillis;
+    // Redis를 읽지 못할 때 쓸 마지막으로 읽은 값 (작은 값이면 늦게 보일 뿐 빠지지는 않음)
+    private volatile long lastKnown;
+
+    public RedisChatLogWatermarkRegistry(StringRedisTemplate stringRedisTemplate,
+                                         @Value("${toktalk.chat.watermark-stale-millis:10000}") long staleMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.staleMillis = staleMillis;
+    }
+
+    @Override
+    public void publish(long nodeId, long watermark) {
+        try{
+            stringRedisTemplate.opsForHash().put(KEY, String.valueOf(nodeId), watermark + ":" + System.currentTimeMillis());
+        }catch (RuntimeException e){
+            log.warn("Failed to publish chat log watermark: nodeId={}", nodeId, e);
+        }
+    }
+
+    @Override
+    public void remove(long nodeId) {
+        try{
+            stringRedisTemplate.opsForHash().delete(KEY, String.valueOf(nodeId));
+        }catch (RuntimeException e){
+            log.warn("Failed to remove chat log watermark: nodeId={}", nodeId, e);
+        }
+    }
+
+    @Override
+    public long clusterWatermark() {
+        Map<Object, Object> entries;
+        try{
+            entries = stringRedisTemplate.opsForHash().entries(KEY);
+        }catch (RuntimeException e){
+            log.warn("Failed to read chat log watermark, using last known value", e);
+            return lastKnown;
+        }
+        long now = System.currentTimeMillis();
+        long watermark = Long.MAX_VALUE;
+        for(Object value : entries.values()){
+            String[] parts = value.toString().split(":");
+            if(now - Long.parseLong(parts[1]) > staleMillis) continue;
+            watermark = Math.min(watermark, Long.parseLong(parts[0]));
+        }
+        if(watermark != Long.MAX_VALUE) lastKnown = watermark;
+        return watermark;
+    }
+}
@@ -0,0 +1,76 @@
+package com.springboot.chat.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Socket.IO 이벤트 로그 (netty I/O 스레드에서 로그 출력을 기다리지 않게 별도 스레드에서 출력)
+// 메시지 로그는 sampleRate개 중 하나만 남김, 큐가 가득 차면 버림
+@Slf4j
+@Component
+public class ChatEventLogger {
+    private final BlockingQueue<Event> queue;
+    private final int sampleRate;
+    private final AtomicLong sampleSequence = new AtomicLong();
+    private final Counter dropped;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public ChatEventLogger(MeterRegistry meterRegistry,
+                           @Value("${toktalk.chat.log.queue-size:10000}") int queueSize,
+                           @Value("${toktalk.chat.log.message-sample-rate:100}") int sampleRate) {
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.sampleRate = Math.max(1, sampleRate);
+        this.dropped = Counter.builder("chat.event-log.dropped").register(meterRegistry);
+        this.writer = new Thread(this::drain, "chat-event-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // 연결, 채팅방 참여처럼 자주 일어나지 않는 이벤트
+    public void log(String format, Object... args){
+        if(!log.isInfoEnabled()) return;
+        if(!queue.offer(new Event(format, args))) dropped.increment();
+    }
+
+    // 메시지처럼 자주 일어나는 이벤트 (sampleRate개 중 하나)
+    public void sampled(String format, Object... args){
+        if(sampleSequence.getAndIncrement() % sampleRate != 0) return;
+        log(format, args);
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(1));
+    }
+
+    private void drain(){
+        try{
+            while(running || !queue.isEmpty()){
+                Event event = queue.poll(100, TimeUnit.MILLISECONDS);
+                if(event != null) log.info(event.format, event.args);
+            }
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Event {
+        private final String format;
+        private final Object[] args;
+
+        private Event(String format, Object[] args) {
+            this.format = format;
+            this.args = args;
+        }
+    }
+}
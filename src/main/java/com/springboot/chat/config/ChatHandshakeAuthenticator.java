@@ -0,0 +1,78 @@
+package com.springboot.chat.config;
+
+import com.corundumstudio.socketio.AuthorizationListener;
+import com.corundumstudio.socketio.HandshakeData;
+import com.corundumstudio.socketio.SocketIOClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.springboot.auth.jwt.JwtTokenizer;
+import com.springboot.auth.redis.TokenRedisRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Socket.IO handshake 인증 (JwtVerificationFilter와 같은 액세스 토큰: 서명, 만료, Redis에 저장된 토큰인지)
+// 토큰은 Authorization 헤더(Bearer) 또는 token 쿼리 파라미터 (브라우저 WebSocket은 헤더를 못 넣음)
+// 연결마다 한 번만 검증하고 결과(ChatPrincipal)는 클라이언트에 저장 -> 이벤트마다 JWT, Redis 확인 없음
+@Slf4j
+@Component
+public class ChatHandshakeAuthenticator implements AuthorizationListener {
+    private static final String PRINCIPAL = "principal";
+
+    private final JwtTokenizer jwtTokenizer;
+    private final TokenRedisRepository tokenRedisRepository;
+    // 인증은 클라이언트 객체가 만들어지기 전에 하므로 연결될 때까지 handshake 데이터(같은 객체)에 묶어 둠
+    private final Cache<HandshakeData, ChatPrincipal> authorizedHandshakes = Caffeine.newBuilder()
+            .weakKeys()
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+
+    public ChatHandshakeAuthenticator(JwtTokenizer jwtTokenizer, TokenRedisRepository tokenRedisRepository) {
+        this.jwtTokenizer = jwtTokenizer;
+        this.tokenRedisRepository = tokenRedisRepository;
+    }
+
+    @Override
+    public boolean isAuthorized(HandshakeData data) {
+        String token = tokenOf(data);
+        if(token == null) return false;
+        try{
+            String base64EncodedSecretKey = jwtTokenizer.encodeBase64SecretKey(jwtTokenizer.getSecretKey());
+            Claims claims = jwtTokenizer.getClaims(token, base64EncodedSecretKey).getBody();
+            ChatPrincipal principal = ChatPrincipal.from(claims);
+            // 로그아웃한 토큰 거절
+            if(!tokenRedisRepository.hasAccessToken(principal.getUsername())) return false;
+            authorizedHandshakes.put(data, principal);
+            return true;
+        }catch (JwtException | IllegalArgumentException e){
+            log.debug("Rejected Socket.IO handshake from {}: {}", data.getAddress(), e.getMessage());
+            return false;
+        }catch (RuntimeException e){
+            log.warn("Failed to verify Socket.IO handshake from {}", data.getAddress(), e);
+            return false;
+        }
+    }
+
+    // 연결 직후 호출: handshake 때 인증한 사용자를 클라이언트에 저장 (없으면 null)
+    public ChatPrincipal bind(SocketIOClient client){
+        ChatPrincipal principal = authorizedHandshakes.getIfPresent(client.getHandshakeData());
+        if(principal == null) return null;
+        authorizedHandshakes.invalidate(client.getHandshakeData());
+        client.set(PRINCIPAL, principal);
+        return principal;
+    }
+
+    public static ChatPrincipal principalOf(SocketIOClient client){
+        return client.get(PRINCIPAL);
+    }
+
+    private static String tokenOf(HandshakeData data){
+        String authorization = data.getHttpHeaders().get("Authorization");
+        if(authorization != null && authorization.startsWith("Bearer ")) return authorization.substring("Bearer ".length());
+        String token = data.getSingleUrlParam("token");
+        return token == null || token.isEmpty() ? null : token;
+    }
+}
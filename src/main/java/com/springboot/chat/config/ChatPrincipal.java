@@ -0,0 +1,60 @@
+package com.springboot.chat.config;
+
+import com.springboot.auth.dto.LoginDto;
+import com.springboot.chat.service.ChatRoomStateCache;
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+// Socket.IO 연결을 인증한 사용자 (handshake 때 JWT에서 한 번 만들어 연결에 저장)
+@Getter
+public class ChatPrincipal {
+    private final String username;
+    private final LoginDto.UserType userType;
+    // userType에 따라 memberId 또는 counselorId
+    private final long userId;
+    private final long expiresAtMillis;
+
+    ChatPrincipal(String username, LoginDto.UserType userType, long userId, long expiresAtMillis) {
+        this.username = username;
+        this.userType = userType;
+        this.userId = userId;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    // JwtVerificationFilter와 같은 claim 사용
+    static ChatPrincipal from(Claims claims){
+        String username = claims.get("username", String.class);
+        if(username == null) throw new IllegalArgumentException("Username claim is missing");
+        long expiresAtMillis = claims.getExpiration() == null ? Long.MAX_VALUE : claims.getExpiration().getTime();
+        switch (String.valueOf(claims.get("usertype"))){
+            case "MEMBER":
+                return new ChatPrincipal(username, LoginDto.UserType.MEMBER, idClaim(claims, "memberId"), expiresAtMillis);
+            case "COUNSELOR":
+                return new ChatPrincipal(username, LoginDto.UserType.COUNSELOR, idClaim(claims, "counselorId"), expiresAtMillis);
+            default:
+                throw new IllegalArgumentException("Invalid usertype claim");
+        }
+    }
+
+    public boolean isExpired(){
+        return System.currentTimeMillis() >= expiresAtMillis;
+    }
+
+    // 채팅방의 회원 또는 상담사인지
+    public boolean isParticipantOf(ChatRoomStateCache.RoomState roomState){
+        return userType == LoginDto.UserType.MEMBER
+                ? roomState.getMemberId() == userId
+                : roomState.getCounselorId() == userId;
+    }
+
+    // 채팅방에 표시할 이름 (회원 닉네임, 상담사 이름)
+    public String displayNameIn(ChatRoomStateCache.RoomState roomState){
+        return userType == LoginDto.UserType.MEMBER ? roomState.getMemberNickname() : roomState.getCounselorName();
+    }
+
+    private static long idClaim(Claims claims, String name){
+        Object value = claims.get(name);
+        if(value == null) throw new IllegalArgumentException(name + " claim is missing");
+        return Long.parseLong(String.valueOf(value));
+    }
+}
@@ -1,18 +1,153 @@
 package com.springboot.chat.config;
 
 
+import com.corundumstudio.socketio.AckMode;
 import com.corundumstudio.socketio.Configuration;
+import com.corundumstudio.socketio.SocketConfig;
+import com.corundumstudio.socketio.SocketIOChannelInitializer;
 import com.corundumstudio.socketio.SocketIOServer;
+import com.corundumstudio.socketio.Transport;
+import com.springboot.chat.cluster.ClientWritabilityTracker;
+import io.netty.channel.Channel;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.Epoll;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 
+// 값은 모두 toktalk.socketio.* 로 바꿀 수 있음 (기본값은 netty-socketio 기본값 기준으로 채팅에 맞게 조정)
+@Slf4j
 @org.springframework.context.annotation.Configuration
 public class SocketIOConfig {
+    @Value("${toktalk.socketio.host:localhost}")
+    private String host;
+
+    @Value("${toktalk.socketio.port:9092}")
+    private int port;
+
+    // 연결 수락 스레드, 0이면 netty 기본값
+    @Value("${toktalk.socketio.boss-threads:1}")
+    private int bossThreads;
+
+    // 소켓 I/O 스레드, 0이면 netty 기본값 (CPU 코어 수 * 2)
+    @Value("${toktalk.socketio.worker-threads:0}")
+    private int workerThreads;
+
+    // 리눅스에서 epoll 사용 (사용할 수 없으면 NIO)
+    @Value("${toktalk.socketio.native-epoll:true}")
+    private boolean nativeEpoll;
+
+    // WebSocket 프레임 최대 크기 (채팅 메시지 하나 기준)
+    @Value("${toktalk.socketio.max-frame-payload-bytes:65536}")
+    private int maxFramePayloadBytes;
+
+    @Value("${toktalk.socketio.max-http-content-bytes:65536}")
+    private int maxHttpContentBytes;
+
+    @Value("${toktalk.socketio.ping-interval-millis:25000}")
+    private int pingIntervalMillis;
+
+    // 이 시간 동안 ping이 없으면 연결 끊음
+    @Value("${toktalk.socketio.ping-timeout-millis:60000}")
+    private int pingTimeoutMillis;
+
+    // 연결 후 첫 데이터를 기다리는 시간
+    @Value("${toktalk.socketio.first-data-timeout-millis:5000}")
+    private int firstDataTimeoutMillis;
+
+    @Value("${toktalk.socketio.upgrade-timeout-millis:10000}")
+    private int upgradeTimeoutMillis;
+
+    // 클라이언트가 ack를 요청한 이벤트에 자동으로 응답할지 (AUTO, AUTO_SUCCESS_ONLY, MANUAL)
+    @Value("${toktalk.socketio.ack-mode:AUTO_SUCCESS_ONLY}")
+    private AckMode ackMode;
+
+    @Value("${toktalk.socketio.websocket-compression:false}")
+    private boolean websocketCompression;
+
+    @Value("${toktalk.socketio.tcp-no-delay:true}")
+    private boolean tcpNoDelay;
+
+    // 0이면 OS 기본값
+    @Value("${toktalk.socketio.tcp-send-buffer-bytes:0}")
+    private int tcpSendBufferBytes;
+
+    @Value("${toktalk.socketio.tcp-receive-buffer-bytes:0}")
+    private int tcpReceiveBufferBytes;
+
+    @Value("${toktalk.socketio.accept-backlog:1024}")
+    private int acceptBacklog;
+
+    // long polling 허용 여부 (true면 로드밸런서에서 sticky session 필요)
+    @Value("${toktalk.socketio.allow-polling:false}")
+    private boolean allowPolling;
+
+    // 연결별 출력 버퍼가 high를 넘으면 쓰기 불가, low 아래로 내려가면 다시 쓰기 가능 (ChatDeliveryQueue가 전송을 멈추는 기준)
+    @Value("${toktalk.socketio.write-buffer-low-bytes:32768}")
+    private int writeBufferLowBytes;
+
+    @Value("${toktalk.socketio.write-buffer-high-bytes:65536}")
+    private int writeBufferHighBytes;
+
     @Bean
-    public SocketIOServer socketIOServer() {
+    public SocketIOServer socketIOServer(ChatHandshakeAuthenticator handshakeAuthenticator,
+                                         ClientWritabilityTracker writabilityTracker) {
         Configuration config = new Configuration();
-        config.setHostname("localhost");
-        config.setPort(9092);
+        config.setHostname(host);
+        config.setPort(port);
+        // polling은 요청마다 같은 서버로 가야 해서(sticky session) 기본은 WebSocket만 허용
+        // -> 클라이언트는 처음부터 WebSocket으로 연결해야 함: io(url, { transports: ['websocket'] })
+        //    (socket.io 클라이언트 기본값은 polling으로 시작 후 upgrade라서 설정하지 않으면 연결 실패)
+        // sticky session을 쓸 수 있는 환경에서 기존 클라이언트를 그대로 받으려면 toktalk.socketio.allow-polling=true
+        // 채팅방 참여 정보는 연결된 서버에만 있고, 다른 서버로의 전달은 ChatClusterBus가 담당
+        if (allowPolling) {
+            config.setTransports(Transport.WEBSOCKET, Transport.POLLING);
+        } else {
+            config.setTransports(Transport.WEBSOCKET);
+        }
+        // JWT 없는 연결은 handshake에서 거절
+        config.setAuthorizationListener(handshakeAuthenticator);
+
+        config.setBossThreads(bossThreads);
+        config.setWorkerThreads(workerThreads);
+        config.setUseLinuxNativeEpoll(nativeEpoll && epollAvailable());
+        config.setMaxFramePayloadLength(maxFramePayloadBytes);
+        config.setMaxHttpContentLength(maxHttpContentBytes);
+        config.setPingInterval(pingIntervalMillis);
+        config.setPingTimeout(pingTimeoutMillis);
+        config.setFirstDataTimeout(firstDataTimeoutMillis);
+        config.setUpgradeTimeout(upgradeTimeoutMillis);
+        config.setAckMode(ackMode);
+        config.setWebsocketCompression(websocketCompression);
+        config.setPreferDirectBuffer(true);
+
+        SocketConfig socketConfig = config.getSocketConfig();
+        socketConfig.setTcpNoDelay(tcpNoDelay);
+        socketConfig.setReuseAddress(true);
+        socketConfig.setAcceptBackLog(acceptBacklog);
+        if (tcpSendBufferBytes > 0) socketConfig.setTcpSendBufferSize(tcpSendBufferBytes);
+        if (tcpReceiveBufferBytes > 0) socketConfig.setTcpReceiveBufferSize(tcpReceiveBufferBytes);
+
+        SocketIOServer server = new SocketIOServer(config);
+        WriteBufferWaterMark waterMark = new WriteBufferWaterMark(writeBufferLowBytes, writeBufferHighBytes);
+        server.setPipelineFactory(new SocketIOChannelInitializer() {
+            @Override
+            protected void initChannel(Channel ch) throws Exception {
+                super.initChannel(ch);
+                ch.config().setWriteBufferWaterMark(waterMark);
+                ch.pipeline().addFirst("writabilityTracker", writabilityTracker);
+            }
+        });
+        return server;
+    }
 
-        return new SocketIOServer(config);
+    private static boolean epollAvailable() {
+        try {
+            if (Epoll.isAvailable()) return true;
+            log.info("Native epoll unavailable, using NIO: {}", Epoll.unavailabilityCause().toString());
+        } catch (LinkageError e) {
+            log.info("Native epoll library not on classpath, using NIO");
+        }
+        return false;
     }
 }
@@ -1,9 +1,11 @@
 package com.springboot.chat.config;
 
 import com.corundumstudio.socketio.SocketIOServer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component
 public class SocketIOServerRunner implements CommandLineRunner {
 
@@ -16,6 +18,7 @@ public class SocketIOServerRunner implements CommandLineRunner {
     @Override
     public void run(String... args) throws Exception {
         socketIOServer.start();
-        System.out.println("Socket.IO server started on port 9092");
+        log.info("Socket.IO server started on {}:{}", socketIOServer.getConfiguration().getHostname(),
+                socketIOServer.getConfiguration().getPort());
     }
 }
@@ -3,11 +3,17 @@ package com.springboot.chat.controller;
 import com.corundumstudio.socketio.AckRequest;
 import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.SocketIOServer;
+import com.springboot.chat.cluster.ChatBroadcaster;
+import com.springboot.chat.cluster.ChatDeliveryQueue;
+import com.springboot.chat.config.ChatEventLogger;
+import com.springboot.chat.config.ChatHandshakeAuthenticator;
+import com.springboot.chat.config.ChatPrincipal;
 import com.springboot.chat.dto.ChatLogDto;
 import com.springboot.chat.entity.ChatLog;
-import com.springboot.chat.entity.ChatRoom;
+import com.springboot.chat.service.ChatFlowMetrics;
 import com.springboot.chat.service.ChatLogService;
-import com.springboot.chat.service.ChatRoomService;
+import com.springboot.chat.service.ChatRateLimiter;
+import com.springboot.chat.service.ChatRoomStateCache;
 import com.springboot.chat.mapper.ChatLogMapper;
 import com.springboot.exception.BusinessLogicException;
 import com.springboot.exception.ExceptionCode;
@@ -20,17 +26,35 @@ public class ChatController {
 
     private final SocketIOServer server;
     private final ChatLogService chatLogService;
-    private final ChatRoomService chatRoomService;
+    private final ChatRoomStateCache chatRoomStateCache;
     private final ChatLogMapper chatLogMapper;
+    private final ChatBroadcaster chatBroadcaster;
+    private final ChatEventLogger eventLogger;
+    private final ChatRateLimiter rateLimiter;
+    private final ChatDeliveryQueue deliveryQueue;
+    private final ChatFlowMetrics flowMetrics;
+    private final ChatHandshakeAuthenticator handshakeAuthenticator;
 
     public ChatController(SocketIOServer server,
                           ChatLogService chatLogService,
-                          ChatRoomService chatRoomService,
-                          ChatLogMapper chatLogMapper) {
+                          ChatRoomStateCache chatRoomStateCache,
+                          ChatLogMapper chatLogMapper,
+                          ChatBroadcaster chatBroadcaster,
+                          ChatEventLogger eventLogger,
+                          ChatRateLimiter rateLimiter,
+                          ChatDeliveryQueue deliveryQueue,
+                          ChatFlowMetrics flowMetrics,
+                          ChatHandshakeAuthenticator handshakeAuthenticator) {
         this.server = server;
         this.chatLogService = chatLogService;
-        this.chatRoomService = chatRoomService;
+        this.chatRoomStateCache = chatRoomStateCache;
         this.chatLogMapper = chatLogMapper;
+        this.chatBroadcaster = chatBroadcaster;
+        this.eventLogger = eventLogger;
+        this.rateLimiter = rateLimiter;
+        this.deliveryQueue = deliveryQueue;
+        this.flowMetrics = flowMetrics;
+        this.handshakeAuthenticator = handshakeAuthenticator;
     }
 
     @PostConstruct
@@ -42,36 +66,85 @@ public class ChatController {
     }
 
     private void onConnectEvent(SocketIOClient client) {
-        System.out.println("Client connected: " + client.getSessionId());
+        ChatPrincipal principal = handshakeAuthenticator.bind(client);
+        if (principal == null) {
+            client.disconnect();
+            return;
+        }
+        eventLogger.log("Client connected: {} ({} {})", client.getSessionId(), principal.getUserType(), principal.getUserId());
     }
 
     private void onDisconnectEvent(SocketIOClient client) {
-        System.out.println("Client disconnected: " + client.getSessionId());
+        eventLogger.log("Client disconnected: {}", client.getSessionId());
+        rateLimiter.remove(client.getSessionId());
+        deliveryQueue.remove(client.getSessionId());
     }
 
     private void onJoinRoom(SocketIOClient client, Long roomId, AckRequest ackRequest) {
+        boolean joined = joinRoom(client, roomId);
+        // AUTO_SUCCESS_ONLY는 예외 없이 끝나면 빈 ack를 자동으로 보내므로 거절도 직접 응답 (클라이언트는 true일 때만 참여 성공으로 처리)
+        if (ackRequest.isAckRequested()) {
+            ackRequest.sendAckData(joined);
+        }
+    }
+
+    // 참여했으면 true, 거절했으면 이유를 error 이벤트로 보내고 false
+    private boolean joinRoom(SocketIOClient client, Long roomId) {
+        ChatPrincipal principal = authenticated(client);
+        if (principal == null || !acquire(client, roomId)) return false;
+        // 메시지 처리에 쓸 채팅방 상태를 미리 읽어 둠
+        ChatRoomStateCache.RoomState roomState;
+        try {
+            roomState = chatRoomStateCache.refresh(roomId);
+        } catch (BusinessLogicException e) {
+            client.sendEvent("error", e.getMessage());
+            return false;
+        }
+        // 채팅방의 회원, 상담사만 참여 가능
+        if (!principal.isParticipantOf(roomState)) {
+            client.sendEvent("error", ExceptionCode.ACCESS_DENIED.getMessage());
+            return false;
+        }
         client.joinRoom(roomId.toString());
-        System.out.println("Client joined room: " + roomId);
+        eventLogger.log("Client {} joined room: {}", client.getSessionId(), roomId);
+        return true;
     }
 
     private void onChatMessage(SocketIOClient client, ChatLogDto.Post chatMessage, AckRequest ackRequest) {
-        System.out.println("Received message from client: " + chatMessage.getMessage());
+        ChatPrincipal principal = authenticated(client);
+        if (principal == null || chatMessage == null || !acquire(client, chatMessage.getRoomId())) return;
+        // 빈 메시지, 너무 긴 메시지는 WAL/DB에 쓰기 전에 거름
+        if (!isValidMessage(chatMessage.getMessage())) {
+            client.sendEvent("error", ExceptionCode.CHAT_MESSAGE_INVALID.getMessage());
+            return;
+        }
+        // joinRoom에서 참여자 확인을 통과한 채팅방에만 보낼 수 있음 (메모리에서 확인)
+        if (!client.getAllRooms().contains(String.valueOf(chatMessage.getRoomId()))) {
+            client.sendEvent("error", ExceptionCode.ACCESS_DENIED.getMessage());
+            return;
+        }
+        // 상담 내용은 로그에 남기지 않음
+        eventLogger.sampled("Received message: roomId={}, length={}", chatMessage.getRoomId(), chatMessage.getMessage().length());
 
         try {
-            ChatRoom chatRoom = chatRoomService.findVerifiedChatRoom(chatMessage.getRoomId());
+            // 캐시된 채팅방 상태로 확인 (DB 조회 없음)
+            ChatRoomStateCache.RoomState roomState = chatRoomStateCache.get(chatMessage.getRoomId());
 
-            if (chatRoom.getRoomStatus() == ChatRoom.RoomStatus.CLOSE) {
+            if (roomState.isClosed()) {
                 throw new BusinessLogicException(ExceptionCode.CHAT_ROOM_CLOSED);
             }
 
             ChatLog chatLog = chatLogMapper.chatLogPostDtoToChatLog(chatMessage);
-            chatLog.setChatRoom(chatRoom);
+            chatLog.setChatRoom(roomState.toReference());
+            // 보낸 사람은 클라이언트가 보낸 값 대신 인증한 사용자로 채움
+            chatLog.setSender(principal.displayNameIn(roomState));
+            chatLog.setSenderType(principal.getUserType());
             ChatLog savedChatLog = chatLogService.createChatLog(chatLog);
 
             ChatLogDto.ChatResponse response = chatLogMapper.chatLogToChatLogChatResponseDto(savedChatLog);
 
-            // 방의 모든 클라이언트에게 메시지 브로드캐스트
-            server.getRoomOperations(String.valueOf(chatMessage.getRoomId())).sendEvent("message", response);
+            // 방의 모든 클라이언트에게 메시지 브로드캐스트 (다른 서버에 접속한 클라이언트 포함)
+            chatBroadcaster.sendToRoom(chatMessage.getRoomId(), "message", response);
 
             // 메시지 전송 성공 확인을 클라이언트에게 전송 (선택적)
             if (ackRequest.isAckRequested()) {
@@ -82,8 +155,28 @@ public class ChatController {
             client.sendEvent("error", e.getMessage());
 
             // 방의 다른 클라이언트들에게도 에러 알림 (선택적)
-            server.getRoomOperations(String.valueOf(chatMessage.getRoomId()))
-                    .sendEvent("error", "메시지 전송 중 오류가 발생했습니다.");
+            chatBroadcaster.sendToRoom(chatMessage.getRoomId(), "error", "메시지 전송 중 오류가 발생했습니다.");
         }
     }
+
+    private static boolean isValidMessage(String message) {
+        return message != null && !message.isBlank() && message.length() <= ChatLog.MAX_MESSAGE_LENGTH;
+    }
+
+    // 연결마다 받는 이벤트 수 제한 (DB 저장, 브로드캐스트 전에 거름)
+    private boolean acquire(SocketIOClient client, long roomId) {
+        if (rateLimiter.tryAcquire(client.getSessionId())) return true;
+        flowMetrics.inboundRejected(roomId);
+        client.sendEvent("error", ExceptionCode.CHAT_RATE_LIMITED.getMessage());
+        return false;
+    }
+
+    // handshake 때 인증한 사용자 (토큰이 만료됐으면 연결을 끊고 null)
+    private ChatPrincipal authenticated(SocketIOClient client) {
+        ChatPrincipal principal = ChatHandshakeAuthenticator.principalOf(client);
+        if (principal != null && !principal.isExpired()) return principal;
+        client.sendEvent("error", ExceptionCode.ACCESS_DENIED.getMessage());
+        client.disconnect();
+        return null;
+    }
 }
@@ -1,11 +1,16 @@
 package com.springboot.chat.controller;
 
+import com.springboot.auth.CustomAuthenticationToken;
+import com.springboot.auth.dto.LoginDto;
+import com.springboot.chat.dto.ChatLogDto;
 import com.springboot.chat.dto.ChatRoomDto;
+import com.springboot.chat.entity.ChatLog;
 import com.springboot.chat.entity.ChatRoom;
 import com.springboot.chat.mapper.ChatLogMapper;
 import com.springboot.chat.mapper.ChatRoomMapper;
+import com.springboot.chat.service.ChatLogService;
 import com.springboot.chat.service.ChatRoomService;
-import com.springboot.firebase.service.NotificationService;
+import com.springboot.response.CursorResponseDto;
 import com.springboot.response.SingleResponseDto;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -19,30 +24,31 @@ import java.util.List;
 @RequestMapping("/chat-rooms")
 @Validated
 public class ChatRoomController {
+    private static final int DEFAULT_MESSAGE_PAGE_SIZE = 30;
+    private static final int MAX_MESSAGE_PAGE_SIZE = 100;
+
     private final ChatRoomService chatRoomService;
+    private final ChatLogService chatLogService;
     private final ChatRoomMapper chatRoomMapper;
     private final ChatLogMapper chatLogMapper;
-    private final NotificationService notificationService;
 
-    public ChatRoomController(ChatRoomService chatRoomService, ChatRoomMapper chatRoomMapper, ChatLogMapper chatLogMapper, NotificationService notificationService) {
+    public ChatRoomController(ChatRoomService chatRoomService, ChatLogService chatLogService, ChatRoomMapper chatRoomMapper, ChatLogMapper chatLogMapper) {
         this.chatRoomService = chatRoomService;
+        this.chatLogService = chatLogService;
         this.chatRoomMapper = chatRoomMapper;
         this.chatLogMapper = chatLogMapper;
-        this.notificationService = notificationService;
     }
     @PostMapping("/open")
     public ResponseEntity<?> openChatRoom(@RequestParam long memberId, Authentication authentication) {
         ChatRoom chatRoom = chatRoomService.createOrGetChatRoom(memberId, authentication);
-        ChatRoomDto.DetailResponse responseDto = chatRoomMapper.chatRoomToChatRoomDetailResponseDto(chatRoom, chatLogMapper);
-
-        notificationService.sendChatRoomCreationNotification(memberId, chatRoom.getRoomId());
+        ChatRoomDto.DetailResponse responseDto = detailResponse(chatRoom);
         return ResponseEntity.ok(new SingleResponseDto<>(responseDto));
     }
 
     @PatchMapping("/{room-id}/close")
     public ResponseEntity<?> closeChatRoom(@PathVariable("room-id") @Positive long roomId, Authentication authentication) {
         ChatRoom chatRoom = chatRoomService.closeChatRoom(roomId, authentication);
-        ChatRoomDto.DetailResponse responseDto = chatRoomMapper.chatRoomToChatRoomDetailResponseDto(chatRoom, chatLogMapper);
+        ChatRoomDto.DetailResponse responseDto = detailResponse(chatRoom);
 
         return ResponseEntity.ok(new SingleResponseDto<>(responseDto));
     }
@@ -50,7 +56,7 @@ public class ChatRoomController {
     @GetMapping("{room-id}")
     public ResponseEntity getChatRoom(@PathVariable("room-id") @Positive long roomId, Authentication authentication) {
         ChatRoom chatRoom = chatRoomService.findChatRoom(roomId, authentication);
-        ChatRoomDto.DetailResponse responseDto = chatRoomMapper.chatRoomToChatRoomDetailResponseDto(chatRoom, chatLogMapper);
+        ChatRoomDto.DetailResponse responseDto = detailResponse(chatRoom);
 
         return ResponseEntity.ok(responseDto);
     }
@@ -58,7 +64,45 @@ public class ChatRoomController {
     @GetMapping
     public ResponseEntity getChatRooms(Authentication authentication) {
         List<ChatRoom> chatRooms = chatRoomService.findChatRooms(authentication);
+        LoginDto.UserType viewerType = ((CustomAuthenticationToken) authentication).getUserType();
+
+        return ResponseEntity.ok(chatRoomMapper.chatRoomsToChatRoomSimpleResponseDtos(chatRooms, viewerType));
+    }
+
+    // logId까지 읽음 처리 (없으면 마지막 메시지까지)
+    @PatchMapping("/{room-id}/read")
+    public ResponseEntity<?> markChatRoomAsRead(@PathVariable("room-id") @Positive long roomId,
+                                                @RequestParam(required = false) Long logId,
+                                                Authentication authentication) {
+        chatRoomService.markChatRoomAsRead(roomId, logId, authentication);
+        return ResponseEntity.ok().build();
+    }
+
+    // 채팅 메시지 페이징 (오래된 순으로 반환)
+    // before: 이 id 이전 메시지 (없으면 최신), nextCursor를 다시 before로 넘기면 더 이전 페이지
+    // after: 이 id 이후 메시지 (재접속 시 놓친 메시지 동기화), nextCursor를 다시 after로 넘기면 이어서 조회
+    @GetMapping("/{room-id}/messages")
+    public ResponseEntity<CursorResponseDto<ChatLogDto.ChatResponse>> getChatLogs(@PathVariable("room-id") @Positive long roomId,
+                                                                                  @RequestParam(required = false) Long before,
+                                                                                  @RequestParam(required = false) Long after,
+                                                                                  @RequestParam(defaultValue = "30") int size,
+                                                                                  Authentication authentication) {
+        // 채팅방 참여자인지 확인
+        chatRoomService.findChatRoom(roomId, authentication);
+        int pageSize = Math.max(1, Math.min(size, MAX_MESSAGE_PAGE_SIZE));
+        List<ChatLog> chatLogs = chatLogService.findChatLogs(roomId, before, after, pageSize);
+
+        Long nextCursor = null;
+        if (chatLogs.size() == pageSize) {
+            nextCursor = after != null ? chatLogs.get(chatLogs.size() - 1).getLogId() : chatLogs.get(0).getLogId();
+        }
+        return ResponseEntity.ok(new CursorResponseDto<>(chatLogMapper.chatLogsToChatLogChatResponseDtos(chatLogs), nextCursor));
+    }
 
-        return ResponseEntity.ok(chatRoomMapper.chatRoomsToChatRoomSimpleResponseDtos(chatRooms));
+    // 채팅방 상세 (메시지는 최신 한 페이지만)
+    private ChatRoomDto.DetailResponse detailResponse(ChatRoom chatRoom) {
+        List<ChatLog> latestChatLogs = chatLogService.findChatLogs(chatRoom.getRoomId(), null, null, DEFAULT_MESSAGE_PAGE_SIZE);
+        Long nextCursor = latestChatLogs.size() == DEFAULT_MESSAGE_PAGE_SIZE ? latestChatLogs.get(0).getLogId() : null;
+        return chatRoomMapper.chatRoomToChatRoomDetailResponseDto(chatRoom, latestChatLogs, nextCursor, chatLogMapper);
     }
 }
@@ -19,6 +19,7 @@ public class ChatRoomDto {
         private String roomStatus;
         private String message;
         private LocalDateTime createdAt;
+        private int unreadCount;
     }
     @Builder
     @Getter
@@ -30,5 +31,7 @@ public class ChatRoomDto {
         private String roomStatus;
         private LocalDateTime createdAt;
         private List<ChatLogDto.ChatResponse> chatLogs;
+        // 이전 메시지 조회용 cursor (null이면 더 없음)
+        private Long nextCursor;
     }
 }
@@ -1,6 +1,7 @@
 package com.springboot.chat.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.springboot.auth.dto.LoginDto;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -9,12 +10,17 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+// 채팅방별 메시지를 id 순으로 페이징 (room_id, log_id)
+@Table(indexes = @Index(name = "idx_chat_log_room_log", columnList = "room_id, log_id"))
 @Getter
 @Setter
 @NoArgsConstructor
 public class ChatLog {
+    // 메시지 최대 길이 (문자 수, message 컬럼 길이와 같음)
+    public static final int MAX_MESSAGE_LENGTH = 1000;
+
+    // 서버에서 발급 (ChatLogIdGenerator)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long logId;
 
     @ManyToOne
@@ -25,7 +31,12 @@ public class ChatLog {
     @Column(nullable = false)
     private String sender;
 
-    @Column(nullable = false)
+    // 보낸 사람이 회원인지 상담사인지 (알 수 없으면 null -> 양쪽 모두 안 읽은 메시지로 집계)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private LoginDto.UserType senderType;
+
+    @Column(nullable = false, length = MAX_MESSAGE_LENGTH)
     private String message;
 
     @Column(nullable = false)
@@ -14,6 +14,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+// 채팅방 목록 (참여자별 최근 메시지 순)
+@Table(indexes = {
+        @Index(name = "idx_chat_room_member_last_message", columnList = "member_id, last_message_at"),
+        @Index(name = "idx_chat_room_counselor_last_message", columnList = "counselor_id, last_message_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -43,6 +48,35 @@ public class ChatRoom {
     @Column(nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // 방이 열린 횟수 (CLOSE -> OPEN 될 때마다 증가, 채팅방 알림 outbox dedupeKey에 사용)
+    @Column(nullable = false)
+    private int openCount;
+
+    // 채팅방 요약 (메시지가 DB에 저장될 때 ChatRoomSummaryRepository가 갱신, 목록 조회 시 ChatLog를 읽지 않음)
+    // JDBC로만 갱신하므로 JPA 저장(방 닫기, 통화 상태 변경 등)이 옛 값으로 덮어쓰지 않게 읽기 전용으로 매핑, 기본값은 DDL에 둠
+    @Column(insertable = false, updatable = false)
+    private Long lastLogId;
+
+    // 메시지 전체를 그대로 저장하므로 ChatLog.message와 같은 길이
+    @Column(length = ChatLog.MAX_MESSAGE_LENGTH, insertable = false, updatable = false)
+    private String lastMessage;
+
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastMessageAt;
+
+    // 참여자별 읽은 위치(logId)와 그 이후 상대방이 보낸 메시지 수
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
+    private long memberLastReadLogId;
+
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "int default 0 not null")
+    private int memberUnreadCount;
+
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0 not null")
+    private long counselorLastReadLogId;
+
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "int default 0 not null")
+    private int counselorUnreadCount;
+
     @OneToMany(mappedBy = "chatRoom", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference("chatroom-chatlog")
     private List<ChatLog> chatLogs = new ArrayList<>();
@@ -1,6 +1,8 @@
 package com.springboot.chat.mapper;
 
+import com.springboot.auth.dto.LoginDto;
 import com.springboot.chat.dto.ChatRoomDto;
+import com.springboot.chat.entity.ChatLog;
 import com.springboot.chat.entity.ChatRoom;
 import org.mapstruct.Mapper;
 
@@ -9,39 +11,38 @@ import java.util.stream.Collectors;
 
 @Mapper(componentModel = "spring", uses = ChatLogMapper.class)
 public interface ChatRoomMapper {
-    default ChatRoomDto.SimpleResponse chatRoomToChatRoomSimpleResponseDto(ChatRoom chatRoom) {
+    // 목록용 (요약 컬럼만 사용, 안 읽은 수는 조회하는 사람 기준)
+    default ChatRoomDto.SimpleResponse chatRoomToChatRoomSimpleResponseDto(ChatRoom chatRoom, LoginDto.UserType viewerType) {
         ChatRoomDto.SimpleResponse.SimpleResponseBuilder response = ChatRoomDto.SimpleResponse.builder();
         response.roomId(chatRoom.getRoomId());
         response.counselorName(chatRoom.getCounselor().getName());
         response.nickname(chatRoom.getMember().getNickname());
         response.profileImage(chatRoom.getCounselor().getProfileImage());
         response.roomStatus(chatRoom.getRoomStatus().getStatus());
-
-        if (!chatRoom.getChatLogs().isEmpty()) {
-
-            response.message(chatRoom.getChatLogs().get(chatRoom.getChatLogs().size() - 1).getMessage());
-            response.createdAt(chatRoom.getChatLogs().get(chatRoom.getChatLogs().size() - 1).getCreatedAt());
-        } else {
-            response.message(null);
-            response.createdAt(null);
-        }
+        response.message(chatRoom.getLastMessage());
+        response.createdAt(chatRoom.getLastMessageAt());
+        response.unreadCount(viewerType == LoginDto.UserType.MEMBER
+                ? chatRoom.getMemberUnreadCount() : chatRoom.getCounselorUnreadCount());
 
         return response.build();
     }
-    default List<ChatRoomDto.SimpleResponse> chatRoomsToChatRoomSimpleResponseDtos (List<ChatRoom> chatRooms) {
+    default List<ChatRoomDto.SimpleResponse> chatRoomsToChatRoomSimpleResponseDtos (List<ChatRoom> chatRooms, LoginDto.UserType viewerType) {
         return chatRooms.stream()
                 .distinct()
-                .map(chatRoom -> chatRoomToChatRoomSimpleResponseDto(chatRoom))
+                .map(chatRoom -> chatRoomToChatRoomSimpleResponseDto(chatRoom, viewerType))
                 .collect(Collectors.toList());
     }
-    default ChatRoomDto.DetailResponse chatRoomToChatRoomDetailResponseDto(ChatRoom chatRoom, ChatLogMapper chatLogMapper) {
+    // 메시지는 최신 한 페이지만 (이전 메시지는 nextCursor로 /chat-rooms/{room-id}/messages 조회)
+    default ChatRoomDto.DetailResponse chatRoomToChatRoomDetailResponseDto(ChatRoom chatRoom, List<ChatLog> latestChatLogs, Long nextCursor,
+                                                                           ChatLogMapper chatLogMapper) {
         ChatRoomDto.DetailResponse.DetailResponseBuilder response = ChatRoomDto.DetailResponse.builder();
         response.roomId(chatRoom.getRoomId());
         response.memberId(chatRoom.getMember().getMemberId());
         response.counselorId(chatRoom.getCounselor().getCounselorId());
         response.roomStatus(chatRoom.getRoomStatus().getStatus());
         response.createdAt(chatRoom.getCreatedAt());
-        response.chatLogs(chatLogMapper.chatLogsToChatLogChatResponseDtos(chatRoom.getChatLogs()));
+        response.chatLogs(chatLogMapper.chatLogsToChatLogChatResponseDtos(latestChatLogs));
+        response.nextCursor(nextCursor);
 
         return response.build();
     }
@@ -0,0 +1,60 @@
+package com.springboot.chat.repository;
+
+import com.springboot.chat.entity.ChatLog;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.*;
+
+// 채팅 메시지 여러 개를 한 번의 INSERT로 저장 (id는 서버에서 발급한 값 그대로)
+@Repository
+public class ChatLogBatchRepository {
+    // 한 INSERT 문에 넣는 최대 행 수
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+    private static final String INSERT_PREFIX = "INSERT INTO chat_log (log_id, room_id, sender, sender_type, message, created_at) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChatLogBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<ChatLog> chatLogs){
+        for(int from = 0; from < chatLogs.size(); from += MAX_ROWS_PER_STATEMENT){
+            List<ChatLog> chunk = chatLogs.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, chatLogs.size()));
+            StringJoiner rows = new StringJoiner(", ", INSERT_PREFIX, "");
+            List<Object> args = new ArrayList<>(chunk.size() * 6);
+            for(ChatLog chatLog : chunk){
+                rows.add(ROW_PLACEHOLDER);
+                args.add(chatLog.getLogId());
+                args.add(chatLog.getChatRoom().getRoomId());
+                args.add(chatLog.getSender());
+                args.add(chatLog.getSenderType() == null ? null : chatLog.getSenderType().name());
+                args.add(chatLog.getMessage());
+                args.add(Timestamp.valueOf(chatLog.getCreatedAt()));
+            }
+            jdbcTemplate.update(rows.toString(), args.toArray());
+        }
+    }
+
+    // 이미 저장된 것은 빼고 저장, 실제로 저장한 것 반환 (WAL 재처리: DB 저장 후 WAL 삭제 전에 죽은 경우)
+    public List<ChatLog> insertMissing(List<ChatLog> chatLogs){
+        if(chatLogs.isEmpty()) return chatLogs;
+        Set<Long> existing = new HashSet<>();
+        for(int from = 0; from < chatLogs.size(); from += MAX_ROWS_PER_STATEMENT){
+            List<ChatLog> chunk = chatLogs.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, chatLogs.size()));
+            StringJoiner placeholders = new StringJoiner(", ", "SELECT log_id FROM chat_log WHERE log_id IN (", ")");
+            chunk.forEach(chatLog -> placeholders.add("?"));
+            existing.addAll(jdbcTemplate.queryForList(placeholders.toString(), Long.class,
+                    chunk.stream().map(ChatLog::getLogId).toArray()));
+        }
+        List<ChatLog> missing = new ArrayList<>();
+        chatLogs.forEach(chatLog -> {
+            if(!existing.contains(chatLog.getLogId())) missing.add(chatLog);
+        });
+        insertAll(missing);
+        return missing;
+    }
+}
@@ -1,10 +1,20 @@
 package com.springboot.chat.repository;
 
 import com.springboot.chat.entity.ChatLog;
-import com.springboot.chat.entity.ChatRoom;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface ChatLogRepository extends JpaRepository<ChatLog, Long> {
+    // beforeLogId보다 이전 메시지 (최신순)
+    @Query("select c from ChatLog c where c.chatRoom.roomId = :roomId and c.logId < :beforeLogId order by c.logId desc")
+    List<ChatLog> findBefore(@Param("roomId") long roomId, @Param("beforeLogId") long beforeLogId, Pageable pageable);
+
+    // afterLogId 이후 upToLogId까지 메시지 (오래된 순)
+    @Query("select c from ChatLog c where c.chatRoom.roomId = :roomId and c.logId > :afterLogId and c.logId <= :upToLogId order by c.logId asc")
+    List<ChatLog> findAfter(@Param("roomId") long roomId, @Param("afterLogId") long afterLogId,
+                            @Param("upToLogId") long upToLogId, Pageable pageable);
 }
@@ -0,0 +1,193 @@
+package com.springboot.chat.repository;
+
+import com.springboot.auth.dto.LoginDto;
+import com.springboot.chat.entity.ChatLog;
+import com.springboot.chat.entity.ChatRoom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// DB에 저장되기 전의 채팅 메시지를 로컬 파일에 먼저 기록 (서버가 죽어도 재시작할 때 다시 저장)
+// 파일은 segment 단위: 쓰는 중인 segment 하나 + DB 저장을 기다리는 닫힌 segment들
+// 레코드: [payload 길이 4byte][CRC32 4byte][logId, roomId, createdAt, sender, message, senderType]
+// 마지막 레코드가 쓰다 만 상태(길이 부족, CRC 불일치)면 그 앞까지만 읽음
+// DB에 저장할 수 없는 메시지는 같은 형식의 dead-letter 파일(dead-chat-wal-*.log)로 옮김 (다시 저장하지 않음, read로 확인)
+@Slf4j
+@Repository
+public class ChatLogWriteAheadLog {
+    private static final String PREFIX = "chat-wal-";
+    private static final String SUFFIX = ".log";
+    private static final String DEAD_LETTER_PREFIX = "dead-";
+    private static final int HEADER_BYTES = 8;
+    private static final LoginDto.UserType[] SENDER_TYPES = LoginDto.UserType.values();
+
+    private final Path directory;
+    private long nextSegmentNumber;
+    private Path activeSegment;
+    private FileChannel activeChannel;
+    private boolean activeEmpty = true;
+
+    public ChatLogWriteAheadLog(@Value("${toktalk.chat.wal-dir:./data/chat-wal}") String directory) throws IOException {
+        this.directory = Paths.get(directory);
+        Files.createDirectories(this.directory);
+        List<Path> existing = sealedSegments();
+        this.nextSegmentNumber = existing.isEmpty() ? 0 : segmentNumber(existing.get(existing.size() - 1)) + 1;
+        openNextSegment();
+    }
+
+    public synchronized void append(ChatLog chatLog){
+        ByteBuffer record = encode(chatLog);
+        try{
+            while(record.hasRemaining()) activeChannel.write(record);
+            activeEmpty = false;
+        }catch (IOException e){
+            throw new UncheckedIOException("Failed to append chat log to WAL", e);
+        }
+    }
+
+    // 쓰는 중인 segment를 디스크에 반영(fsync)하고 닫은 뒤 새 segment로 교체, 닫힌 segment 경로 반환 (비어 있었으면 null)
+    public synchronized Path roll(){
+        if(activeEmpty) return null;
+        try{
+            activeChannel.force(false);
+            activeChannel.close();
+            Path sealed = activeSegment;
+            openNextSegment();
+            return sealed;
+        }catch (IOException e){
+            throw new UncheckedIOException("Failed to roll chat log WAL", e);
+        }
+    }
+
+    // 쓰는 중인 것을 제외한 segment들 (오래된 순)
+    public synchronized List<Path> sealedSegments() throws IOException {
+        try(Stream<Path> files = Files.list(directory)){
+            return files.filter(path -> path.getFileName().toString().startsWith(PREFIX))
+                    .filter(path -> !path.equals(activeSegment))
+                    .sorted((a, b) -> Long.compare(segmentNumber(a), segmentNumber(b)))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    public List<ChatLog> read(Path segment) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+        List<ChatLog> chatLogs = new ArrayList<>();
+        while(buffer.remaining() >= HEADER_BYTES){
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if(length < 0 || length > buffer.remaining()) break;
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            if(checksum(payload) != checksum) break;
+            chatLogs.add(decode(ByteBuffer.wrap(payload)));
+        }
+        if(buffer.hasRemaining()){
+            log.warn("Ignoring {} trailing bytes of incomplete record in {}", buffer.remaining(), segment);
+        }
+        return chatLogs;
+    }
+
+    // segment의 메시지 중 DB에 저장할 수 없는 것들을 dead-letter 파일에 추가, 파일 경로 반환
+    public synchronized Path deadLetter(Path segment, List<ChatLog> chatLogs){
+        Path target = directory.resolve(DEAD_LETTER_PREFIX + segment.getFileName());
+        try(FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)){
+            for(ChatLog chatLog : chatLogs){
+                ByteBuffer record = encode(chatLog);
+                while(record.hasRemaining()) channel.write(record);
+            }
+            channel.force(false);
+            return target;
+        }catch (IOException e){
+            throw new UncheckedIOException("Failed to write chat log dead letter", e);
+        }
+    }
+
+    public void delete(Path segment){
+        try{
+            Files.deleteIfExists(segment);
+        }catch (IOException e){
+            log.warn("Failed to delete chat log WAL segment {}", segment, e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        activeChannel.force(false);
+        activeChannel.close();
+        if(activeEmpty) Files.deleteIfExists(activeSegment);
+    }
+
+    private void openNextSegment() throws IOException {
+        activeSegment = directory.resolve(String.format("%s%020d%s", PREFIX, nextSegmentNumber++, SUFFIX));
+        activeChannel = FileChannel.open(activeSegment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        activeEmpty = true;
+    }
+
+    private static ByteBuffer encode(ChatLog chatLog){
+        byte[] sender = chatLog.getSender().getBytes(StandardCharsets.UTF_8);
+        byte[] message = chatLog.getMessage().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(8 + 8 + 8 + 4 + 4 + sender.length + 4 + message.length + 1);
+        payload.putLong(chatLog.getLogId());
+        payload.putLong(chatLog.getChatRoom().getRoomId());
+        payload.putLong(chatLog.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+        payload.putInt(chatLog.getCreatedAt().getNano());
+        payload.putInt(sender.length).put(sender);
+        payload.putInt(message.length).put(message);
+        payload.put((byte) (chatLog.getSenderType() == null ? 0 : chatLog.getSenderType().ordinal() + 1));
+
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.capacity());
+        record.putInt(payload.capacity());
+        record.putInt(checksum(payload.array()));
+        record.put(payload.array());
+        record.flip();
+        return record;
+    }
+
+    private static ChatLog decode(ByteBuffer payload){
+        ChatLog chatLog = new ChatLog();
+        chatLog.setLogId(payload.getLong());
+        ChatRoom chatRoom = new ChatRoom();
+        chatRoom.setRoomId(payload.getLong());
+        chatLog.setChatRoom(chatRoom);
+        long epochSecond = payload.getLong();
+        chatLog.setCreatedAt(LocalDateTime.ofEpochSecond(epochSecond, payload.getInt(), ZoneOffset.UTC));
+        chatLog.setSender(readString(payload));
+        chatLog.setMessage(readString(payload));
+        // senderType 추가 전 레코드에는 없음
+        int senderType = payload.hasRemaining() ? payload.get() : 0;
+        if(senderType > 0) chatLog.setSenderType(SENDER_TYPES[senderType - 1]);
+        return chatLog;
+    }
+
+    private static String readString(ByteBuffer payload){
+        byte[] bytes = new byte[payload.getInt()];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(byte[] payload){
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload);
+        return (int) crc32.getValue();
+    }
+
+    private static long segmentNumber(Path segment){
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
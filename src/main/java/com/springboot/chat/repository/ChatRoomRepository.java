@@ -4,6 +4,9 @@ import com.springboot.chat.entity.ChatRoom;
 import com.springboot.counselor.entity.Counselor;
 import com.springboot.member.entity.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,4 +15,24 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
     Optional<ChatRoom> findByMemberAndCounselor(Member member, Counselor counselor);
     List<ChatRoom> findByMember(Member member);
     List<ChatRoom> findByCounselor(Counselor counselor);
+
+    @Query("select r from ChatRoom r join fetch r.member join fetch r.counselor where r.roomId = :roomId")
+    Optional<ChatRoom> findWithParticipantsByRoomId(@Param("roomId") long roomId);
+
+    // 닫힌 방만 열고 열린 횟수 증가 (동시에 열어도 한 요청만 1 반환, 영속성 컨텍스트는 비움)
+    @Modifying(clearAutomatically = true)
+    @Query("update ChatRoom r set r.roomStatus = :open, r.openCount = r.openCount + 1 " +
+            "where r.roomId = :roomId and r.roomStatus = :closed")
+    int openIfClosed(@Param("roomId") long roomId,
+                     @Param("open") ChatRoom.RoomStatus open,
+                     @Param("closed") ChatRoom.RoomStatus closed);
+
+    // 채팅방 목록 (요약 컬럼만 사용, 최근 메시지 순)
+    @Query("select r from ChatRoom r join fetch r.member join fetch r.counselor " +
+            "where r.member.memberId = :memberId order by r.lastMessageAt desc, r.roomId desc")
+    List<ChatRoom> findRoomListByMemberId(@Param("memberId") long memberId);
+
+    @Query("select r from ChatRoom r join fetch r.member join fetch r.counselor " +
+            "where r.counselor.counselorId = :counselorId order by r.lastMessageAt desc, r.roomId desc")
+    List<ChatRoom> findRoomListByCounselorId(@Param("counselorId") long counselorId);
 }
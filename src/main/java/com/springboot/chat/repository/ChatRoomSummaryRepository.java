@@ -0,0 +1,76 @@
+package com.springboot.chat.repository;
+
+import com.springboot.auth.dto.LoginDto;
+import com.springboot.chat.entity.ChatLog;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+// 채팅방 요약 컬럼 갱신 (최근 메시지, 참여자별 읽은 위치와 안 읽은 메시지 수)
+@Repository
+public class ChatRoomSummaryRepository {
+    // 메시지 하나 반영
+    // 안 읽은 수: 보낸 사람이 아니고, 읽은 위치보다 뒤의 메시지일 때만 (읽음 처리가 DB 저장보다 먼저 올 수 있음)
+    // 최근 메시지: 더 최신 logId일 때만 (여러 서버의 저장 순서가 뒤바뀔 수 있음)
+    // MySQL은 SET을 앞에서부터 적용하므로 last_log_id는 마지막에 바꿔야 함
+    private static final String APPLY_MESSAGE =
+            "UPDATE chat_room SET " +
+            "member_unread_count = member_unread_count + CASE WHEN ? = 1 AND member_last_read_log_id < ? THEN 1 ELSE 0 END, " +
+            "counselor_unread_count = counselor_unread_count + CASE WHEN ? = 1 AND counselor_last_read_log_id < ? THEN 1 ELSE 0 END, " +
+            "last_message = CASE WHEN last_log_id IS NULL OR last_log_id < ? THEN ? ELSE last_message END, " +
+            "last_message_at = CASE WHEN last_log_id IS NULL OR last_log_id < ? THEN ? ELSE last_message_at END, " +
+            "last_log_id = CASE WHEN last_log_id IS NULL OR last_log_id < ? THEN ? ELSE last_log_id END " +
+            "WHERE room_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChatRoomSummaryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 새로 저장된 메시지 반영 (메시지 INSERT와 같은 트랜잭션에서 호출)
+    public void applyMessages(List<ChatLog> chatLogs){
+        if(chatLogs.isEmpty()) return;
+        List<Object[]> args = new ArrayList<>(chatLogs.size());
+        for(ChatLog chatLog : chatLogs){
+            long logId = chatLog.getLogId();
+            // 보낸 사람 본인에게는 안 읽은 메시지가 아님 (보낸 사람을 모르면 양쪽 모두)
+            int unreadForMember = chatLog.getSenderType() != LoginDto.UserType.MEMBER ? 1 : 0;
+            int unreadForCounselor = chatLog.getSenderType() != LoginDto.UserType.COUNSELOR ? 1 : 0;
+            args.add(new Object[]{unreadForMember, logId, unreadForCounselor, logId,
+                    logId, chatLog.getMessage(),
+                    logId, Timestamp.valueOf(chatLog.getCreatedAt()),
+                    logId, logId,
+                    chatLog.getChatRoom().getRoomId()});
+        }
+        jdbcTemplate.batchUpdate(APPLY_MESSAGE, args);
+    }
+
+    // userType 참여자의 읽은 위치를 readLogId까지 올리고 그 이후 상대방 메시지 수로 안 읽은 수를 다시 계산
+    // 읽은 위치는 뒤로 가지 않음, 바뀌었으면 true
+    public boolean markRead(long roomId, LoginDto.UserType userType, long readLogId){
+        String prefix = userType == LoginDto.UserType.MEMBER ? "member" : "counselor";
+        String sql = "UPDATE chat_room SET " +
+                prefix + "_last_read_log_id = ?, " +
+                prefix + "_unread_count = (SELECT COUNT(*) FROM chat_log WHERE room_id = ? AND log_id > ? " +
+                "AND (sender_type IS NULL OR sender_type <> ?)) " +
+                "WHERE room_id = ? AND " + prefix + "_last_read_log_id < ?";
+        return jdbcTemplate.update(sql, readLogId, roomId, readLogId, userType.name(), roomId, readLogId) > 0;
+    }
+
+    // 요약 컬럼 추가 전에 만들어진 채팅방의 최근 메시지 채우기
+    public int backfillLastMessages(){
+        int updated = jdbcTemplate.update("UPDATE chat_room SET last_log_id = " +
+                "(SELECT MAX(l.log_id) FROM chat_log l WHERE l.room_id = chat_room.room_id) " +
+                "WHERE last_log_id IS NULL");
+        if(updated == 0) return 0;
+        jdbcTemplate.update("UPDATE chat_room SET " +
+                "last_message = (SELECT l.message FROM chat_log l WHERE l.log_id = chat_room.last_log_id), " +
+                "last_message_at = (SELECT l.created_at FROM chat_log l WHERE l.log_id = chat_room.last_log_id) " +
+                "WHERE last_log_id IS NOT NULL AND last_message_at IS NULL");
+        return updated;
+    }
+}
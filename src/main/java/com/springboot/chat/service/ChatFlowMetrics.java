@@ -0,0 +1,105 @@
+package com.springboot.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// 채팅 흐름 제어 지표 (보낸 쪽 거절, 받는 쪽 지연)
+// 서버별: Micrometer (node 태그)
+// 채팅방별: 채팅방 수만큼 태그가 늘어나므로 Micrometer 대신 최근 채팅방만 메모리에 두고 actuator(/actuator/chatflow)로 조회
+@Component
+@Endpoint(id = "chatflow")
+public class ChatFlowMetrics {
+    private static final int TOP_ROOMS = 50;
+
+    private final Cache<Long, RoomStats> rooms;
+    private final Counter inboundRejected;
+    private final Counter outboundDropped;
+    private final Counter outboundDisconnected;
+    private final AtomicInteger laggingClients = new AtomicInteger();
+
+    public ChatFlowMetrics(MeterRegistry meterRegistry,
+                           @Value("${toktalk.node-id:0}") long nodeId,
+                           @Value("${toktalk.chat.flow.room-stats-max-size:10000}") long roomStatsMaxSize) {
+        this.rooms = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .maximumSize(roomStatsMaxSize)
+                .build();
+        String node = String.valueOf(nodeId);
+        this.inboundRejected = Counter.builder("chat.inbound.rejected").tag("node", node).register(meterRegistry);
+        this.outboundDropped = Counter.builder("chat.outbound.dropped").tag("node", node).register(meterRegistry);
+        this.outboundDisconnected = Counter.builder("chat.outbound.disconnected").tag("node", node).register(meterRegistry);
+        Gauge.builder("chat.outbound.lagging", laggingClients, AtomicInteger::get).tag("node", node).register(meterRegistry);
+    }
+
+    // 전송 속도 제한으로 거절한 이벤트
+    public void inboundRejected(long roomId){
+        inboundRejected.increment();
+        room(roomId).rejected.increment();
+    }
+
+    // 받는 쪽 큐가 가득 차서 버린 메시지
+    public void outboundDropped(long roomId){
+        outboundDropped.increment();
+        room(roomId).dropped.increment();
+    }
+
+    // 지연 상태가 길어져 연결을 끊은 클라이언트
+    public void outboundDisconnected(){
+        outboundDisconnected.increment();
+    }
+
+    public void laggingStarted(){
+        laggingClients.incrementAndGet();
+    }
+
+    public void laggingEnded(){
+        laggingClients.decrementAndGet();
+    }
+
+    // 거절, 버린 메시지가 많은 채팅방 순
+    @ReadOperation
+    public List<RoomSummary> rooms(){
+        return rooms.asMap().entrySet().stream()
+                .map(entry -> new RoomSummary(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong((RoomSummary summary) -> summary.getRejected() + summary.getDropped()).reversed())
+                .limit(TOP_ROOMS)
+                .collect(Collectors.toList());
+    }
+
+    private RoomStats room(long roomId){
+        return rooms.get(roomId, id -> new RoomStats());
+    }
+
+    private static class RoomStats {
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+    }
+
+    @Getter
+    public static class RoomSummary {
+        private final long roomId;
+        private final long rejected;
+        private final long dropped;
+
+        private RoomSummary(long roomId, RoomStats stats) {
+            this.roomId = roomId;
+            this.rejected = stats.rejected.sum();
+            this.dropped = stats.dropped.sum();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.springboot.chat.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// 채팅 메시지 id (DB 없이 서버에서 발급)
+// [기준 시각 이후 10ms 단위 36bit (약 21년)][서버 번호 5bit][같은 10ms 안의 순번 12bit]
+// 전체 53bit -> JavaScript number로도 정확하게 표현됨 (클라이언트가 cursor로 그대로 사용)
+// 같은 서버 안에서는 항상 증가하고(시계가 뒤로 가도), 서버 번호가 다르면 겹치지 않음
+@Component
+public class ChatLogIdGenerator {
+    // 2024-01-01T00:00:00Z
+    private static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    private static final long TICK_MILLIS = 10;
+    private static final int NODE_BITS = 5;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private final long nodeBits;
+    private final AtomicLong lastId = new AtomicLong();
+
+    public ChatLogIdGenerator(@Value("${toktalk.node-id:0}") long nodeId) {
+        if(nodeId < 0 || nodeId > MAX_NODE_ID) throw new IllegalArgumentException("toktalk.node-id must be between 0 and " + MAX_NODE_ID);
+        this.nodeId = nodeId;
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+    }
+
+    public long getNodeId(){
+        return nodeId;
+    }
+
+    // 이 값 이하의 id는 이 서버에서 더 이상 발급되지 않음
+    public long issuedUpTo(){
+        long currentTickId = (((System.currentTimeMillis() - EPOCH_MILLIS) / TICK_MILLIS) << (NODE_BITS + SEQUENCE_BITS)) | nodeBits;
+        return Math.max(lastId.get(), currentTickId - 1);
+    }
+
+    public long nextId(){
+        while(true){
+            long previous = lastId.get();
+            long candidate = (((System.currentTimeMillis() - EPOCH_MILLIS) / TICK_MILLIS) << (NODE_BITS + SEQUENCE_BITS)) | nodeBits;
+            if(candidate <= previous){
+                // 같은 10ms(또는 시계가 뒤로 감) -> 순번 증가, 순번이 다 차면 다음 10ms로
+                candidate = (previous & SEQUENCE_MASK) == SEQUENCE_MASK
+                        ? (((previous >>> (NODE_BITS + SEQUENCE_BITS)) + 1) << (NODE_BITS + SEQUENCE_BITS)) | nodeBits
+                        : previous + 1;
+            }
+            if(lastId.compareAndSet(previous, candidate)) return candidate;
+        }
+    }
+}
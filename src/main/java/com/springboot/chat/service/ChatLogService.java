@@ -1,22 +1,49 @@
 package com.springboot.chat.service;
 
+import com.springboot.chat.cluster.ChatLogWatermarkRegistry;
 import com.springboot.chat.entity.ChatLog;
-import com.springboot.chat.entity.ChatRoom;
 import com.springboot.chat.repository.ChatLogRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Service
 public class ChatLogService {
 
     private final ChatLogRepository chatLogRepository;
+    private final ChatLogWriter chatLogWriter;
+    private final ChatLogWatermarkRegistry watermarkRegistry;
 
-    public ChatLogService(ChatLogRepository chatLogRepository) {
+    public ChatLogService(ChatLogRepository chatLogRepository, ChatLogWriter chatLogWriter,
+                          ChatLogWatermarkRegistry watermarkRegistry) {
         this.chatLogRepository = chatLogRepository;
+        this.chatLogWriter = chatLogWriter;
+        this.watermarkRegistry = watermarkRegistry;
     }
 
+    // id 발급 + WAL 기록 후 바로 반환 (DB에는 ChatLogWriter가 묶어서 저장)
     public ChatLog createChatLog(ChatLog chatLog) {
-        return chatLogRepository.save(chatLog);
+        return chatLogWriter.append(chatLog);
     }
-}
\ No newline at end of file
+
+    // 채팅방 메시지 size개 (항상 오래된 순으로 반환)
+    // afterLogId가 있으면 그 이후 메시지 (재접속 시 놓친 메시지), 없으면 beforeLogId 이전(null이면 최신) 메시지
+    // 모든 서버가 DB에 저장을 마친 id(watermark)까지만 DB에서 읽음 (아직 저장 안 된 메시지는 어느 서버의 것이든 포함하지 않음)
+    // -> 다른 서버 메모리에만 있는 더 작은 id의 메시지를 페이지나 cursor가 건너뛰지 않음 (그 사이 메시지는 실시간 브로드캐스트로 받음)
+    public List<ChatLog> findChatLogs(long roomId, Long beforeLogId, Long afterLogId, int size) {
+        long watermark = Math.min(chatLogWriter.flushedWatermark(), watermarkRegistry.clusterWatermark());
+
+        if (afterLogId != null) {
+            return chatLogRepository.findAfter(roomId, afterLogId, watermark, PageRequest.of(0, size));
+        }
+
+        long before = beforeLogId == null ? Long.MAX_VALUE : beforeLogId;
+        if (watermark < Long.MAX_VALUE) before = Math.min(before, watermark + 1);
+        List<ChatLog> latest = new ArrayList<>(chatLogRepository.findBefore(roomId, before, PageRequest.of(0, size)));
+        Collections.reverse(latest);
+        return latest;
+    }
+}
@@ -0,0 +1,243 @@
+package com.springboot.chat.service;
+
+import com.springboot.chat.cluster.ChatLogWatermarkRegistry;
+import com.springboot.chat.entity.ChatLog;
+import com.springboot.chat.repository.ChatLogBatchRepository;
+import com.springboot.chat.repository.ChatLogWriteAheadLog;
+import com.springboot.chat.repository.ChatRoomSummaryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 채팅 메시지 write-behind 저장
+// 메시지는 id 발급 -> WAL 기록 후 바로 반환(브로드캐스트), DB에는 flushIntervalMillis마다 또는 batchSize개가 쌓이면 묶어서 INSERT
+// 메시지 INSERT와 채팅방 요약(최근 메시지, 안 읽은 수) 갱신은 한 트랜잭션
+// DB 저장이 끝난 WAL segment만 삭제하고, 시작할 때 남아 있는 segment는 다시 저장
+// 같은 segment가 maxAttempts번 연속 실패하면 메시지를 하나씩 저장해 보고, 데이터 때문에 안 들어가는 메시지는 dead-letter로 옮김
+// (하나 때문에 뒤의 segment가 모두 막히고 WAL이 계속 쌓이는 것을 막음)
+// flush할 때마다 "이 id 이하는 모두 DB에 있음" 값을 ChatLogWatermarkRegistry에 알림 (다른 서버가 after 조회 범위를 정할 때 사용)
+@Slf4j
+@Component
+public class ChatLogWriter {
+    private final ChatLogIdGenerator idGenerator;
+    private final ChatLogWriteAheadLog writeAheadLog;
+    private final ChatLogBatchRepository chatLogBatchRepository;
+    private final ChatRoomSummaryRepository chatRoomSummaryRepository;
+    private final ChatLogWatermarkRegistry watermarkRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Counter deadLetterCounter;
+
+    private final Object lock = new Object();
+    // 쓰는 중인 WAL segment에 들어 있는 메시지들
+    private List<ChatLog> pending = new ArrayList<>();
+    // 닫혔지만 아직 DB에 저장되지 않은 segment들 (저장 중이거나 실패해서 다시 시도할 것, 꺼내는 건 flush 스레드만)
+    private final Deque<Batch> unflushedBatches = new ConcurrentLinkedDeque<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService flusher;
+
+    public ChatLogWriter(ChatLogIdGenerator idGenerator,
+                         ChatLogWriteAheadLog writeAheadLog,
+                         ChatLogBatchRepository chatLogBatchRepository,
+                         ChatRoomSummaryRepository chatRoomSummaryRepository,
+                         ChatLogWatermarkRegistry watermarkRegistry,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${toktalk.chat.flush-interval-millis:200}") long flushIntervalMillis,
+                         @Value("${toktalk.chat.flush-batch-size:500}") int batchSize,
+                         @Value("${toktalk.chat.flush-max-attempts:5}") int maxAttempts) {
+        this.idGenerator = idGenerator;
+        this.writeAheadLog = writeAheadLog;
+        this.chatLogBatchRepository = chatLogBatchRepository;
+        this.chatRoomSummaryRepository = chatRoomSummaryRepository;
+        this.watermarkRegistry = watermarkRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.deadLetterCounter = meterRegistry.counter("chat.log.dead_letter");
+
+        Gauge.builder("chat.log.pending", this, writer -> writer.pendingCount()).register(meterRegistry);
+
+        replay();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-log-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // id, 생성 시각을 채우고 WAL에 기록 (DB 저장은 나중에)
+    // id 발급도 lock 안에서 (발급됐는데 아직 pending에 없는 메시지가 watermark 아래로 들어가지 않도록)
+    public ChatLog append(ChatLog chatLog){
+        int size;
+        synchronized (lock){
+            chatLog.setLogId(idGenerator.nextId());
+            writeAheadLog.append(chatLog);
+            pending.add(chatLog);
+            size = pending.size();
+        }
+        if(size >= batchSize && flushRequested.compareAndSet(false, true)){
+            flusher.execute(this::flushSafely);
+        }
+        return chatLog;
+    }
+
+    // 이 서버에서 이 id 이하의 메시지는 모두 DB에 저장됨
+    public long flushedWatermark(){
+        synchronized (lock){
+            long oldestUnflushed = Long.MAX_VALUE;
+            for(Batch batch : unflushedBatches){
+                for(ChatLog chatLog : batch.chatLogs) oldestUnflushed = Math.min(oldestUnflushed, chatLog.getLogId());
+            }
+            for(ChatLog chatLog : pending) oldestUnflushed = Math.min(oldestUnflushed, chatLog.getLogId());
+            return oldestUnflushed == Long.MAX_VALUE ? idGenerator.issuedUpTo() : oldestUnflushed - 1;
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flushSafely();
+        // 모두 저장했으면 다른 서버가 기다리지 않도록 제외 (남았으면 staleMillis 뒤에 제외됨)
+        if(pendingCount() == 0 && unflushedBatches.isEmpty()) watermarkRegistry.remove(idGenerator.getNodeId());
+    }
+
+    private void flushSafely(){
+        flushRequested.set(false);
+        try{
+            flush();
+        }catch (RuntimeException e){
+            log.error("Chat log flush failed", e);
+        }
+        watermarkRegistry.publish(idGenerator.getNodeId(), flushedWatermark());
+    }
+
+    private void flush(){
+        synchronized (lock){
+            Path segment = writeAheadLog.roll();
+            if(segment != null){
+                unflushedBatches.addLast(new Batch(segment, pending, false));
+                pending = new ArrayList<>();
+            }
+        }
+
+        // 이전에 실패한 것부터 순서대로
+        while(!unflushedBatches.isEmpty()){
+            Batch next = unflushedBatches.peekFirst();
+            try{
+                persist(next);
+            }catch (RuntimeException e){
+                next.failures++;
+                log.warn("Failed to persist {} chat logs ({} attempts), will retry", next.chatLogs.size(), next.failures, e);
+                if(next.failures < maxAttempts || !isolate(next)) return;
+            }
+            unflushedBatches.pollFirst();
+            writeAheadLog.delete(next.segment);
+        }
+    }
+
+    // 계속 실패하는 segment를 메시지 하나씩 저장 (이미 저장된 것은 건너뜀)
+    // 데이터 오류로 안 들어가는 메시지만 dead-letter로 옮기고 true, DB 자체 오류면 남은 메시지로 다시 시도하도록 false
+    private boolean isolate(Batch batch){
+        List<ChatLog> deadLetters = new ArrayList<>();
+        List<ChatLog> chatLogs = batch.chatLogs;
+        for(int i = 0; i < chatLogs.size(); i++){
+            try{
+                persist(new Batch(batch.segment, List.of(chatLogs.get(i)), true));
+            }catch (DataIntegrityViolationException e){
+                log.error("Moving chat log {} to dead letter", chatLogs.get(i).getLogId(), e);
+                deadLetters.add(chatLogs.get(i));
+            }catch (RuntimeException e){
+                deadLetter(batch.segment, deadLetters);
+                // 저장한 것과 dead-letter로 옮긴 것을 빼고 다시 시도
+                synchronized (lock){
+                    unflushedBatches.pollFirst();
+                    unflushedBatches.addFirst(new Batch(batch.segment, new ArrayList<>(chatLogs.subList(i, chatLogs.size())), true));
+                }
+                return false;
+            }
+        }
+        deadLetter(batch.segment, deadLetters);
+        return true;
+    }
+
+    private void deadLetter(Path segment, List<ChatLog> chatLogs){
+        if(chatLogs.isEmpty()) return;
+        Path target = writeAheadLog.deadLetter(segment, chatLogs);
+        deadLetterCounter.increment(chatLogs.size());
+        log.error("Moved {} chat logs of {} to dead letter {}", chatLogs.size(), segment.getFileName(), target.getFileName());
+    }
+
+    // 이전 실행에서 DB에 저장하지 못하고 남은 WAL segment 저장 (DB 오류면 flush 때 다시 시도)
+    private void replay(){
+        try{
+            for(Path segment : writeAheadLog.sealedSegments()){
+                Batch batch = new Batch(segment, writeAheadLog.read(segment), true);
+                try{
+                    int inserted = persist(batch);
+                    writeAheadLog.delete(segment);
+                    log.info("Replayed chat log WAL segment {}: {} records, {} inserted", segment.getFileName(), batch.chatLogs.size(), inserted);
+                }catch (RuntimeException e){
+                    log.warn("Failed to replay chat log WAL segment {}, will retry", segment.getFileName(), e);
+                    unflushedBatches.addLast(batch);
+                }
+            }
+        }catch (IOException e){
+            throw new IllegalStateException("Failed to read chat log WAL", e);
+        }
+    }
+
+    // 저장한 메시지 수 반환
+    private int persist(Batch batch){
+        Integer inserted = transactionTemplate.execute(status -> {
+            List<ChatLog> chatLogs = batch.chatLogs;
+            if(batch.replayed) chatLogs = chatLogBatchRepository.insertMissing(chatLogs);
+            else chatLogBatchRepository.insertAll(chatLogs);
+            chatRoomSummaryRepository.applyMessages(chatLogs);
+            return chatLogs.size();
+        });
+        return inserted == null ? 0 : inserted;
+    }
+
+    private int pendingCount(){
+        synchronized (lock){
+            return pending.size();
+        }
+    }
+
+    private static class Batch {
+        private final Path segment;
+        private final List<ChatLog> chatLogs;
+        // WAL 재처리 분 (DB 저장 후 segment 삭제 전에 죽었으면 이미 저장된 메시지가 섞여 있음)
+        private final boolean replayed;
+        // 연속 실패 횟수 (flush 스레드만 변경)
+        private int failures;
+
+        private Batch(Path segment, List<ChatLog> chatLogs, boolean replayed) {
+            this.segment = segment;
+            this.chatLogs = chatLogs;
+            this.replayed = replayed;
+        }
+    }
+}
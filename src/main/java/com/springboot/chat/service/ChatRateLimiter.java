@@ -0,0 +1,63 @@
+package com.springboot.chat.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Socket.IO 연결(session)마다 받는 이벤트 수 제한 (token bucket)
+// 초당 permitsPerSecond개씩 채워지고 최대 burst개까지 한 번에 쓸 수 있음
+// 잠금 없이 CAS로 처리: 버킷 상태를 "다음 토큰이 생기는 시각" 하나로 저장 (GCRA)
+@Component
+public class ChatRateLimiter {
+    private final Map<UUID, TokenBucket> buckets = new ConcurrentHashMap<>();
+    // 토큰 하나가 채워지는 시간
+    private final long intervalNanos;
+    // 미리 당겨 쓸 수 있는 시간 (burst - 1개 분량)
+    private final long toleranceNanos;
+
+    public ChatRateLimiter(@Value("${toktalk.chat.rate-limit.permits-per-second:5}") double permitsPerSecond,
+                           @Value("${toktalk.chat.rate-limit.burst:20}") int burst) {
+        if(permitsPerSecond <= 0 || burst < 1) throw new IllegalArgumentException("Rate limit must be positive");
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.toleranceNanos = intervalNanos * (burst - 1);
+    }
+
+    public boolean tryAcquire(UUID sessionId){
+        return tryAcquire(sessionId, System.nanoTime());
+    }
+
+    boolean tryAcquire(UUID sessionId, long nowNanos){
+        TokenBucket bucket = buckets.get(sessionId);
+        if(bucket == null) bucket = buckets.computeIfAbsent(sessionId, id -> new TokenBucket(nowNanos));
+        return bucket.tryAcquire(nowNanos);
+    }
+
+    // 연결이 끊기면 호출
+    public void remove(UUID sessionId){
+        buckets.remove(sessionId);
+    }
+
+    private class TokenBucket {
+        // 다음 토큰이 채워지는 시각, 지금보다 toleranceNanos 넘게 앞서 있으면 토큰 없음
+        private final AtomicLong nextFreeNanos;
+
+        private TokenBucket(long nowNanos) {
+            this.nextFreeNanos = new AtomicLong(nowNanos);
+        }
+
+        private boolean tryAcquire(long nowNanos){
+            while(true){
+                long next = nextFreeNanos.get();
+                // 오래 쉬었으면 지금부터 다시 채움 (버킷이 가득 찬 상태)
+                long start = next - nowNanos < 0 ? nowNanos : next;
+                if(start - nowNanos > toleranceNanos) return false;
+                if(nextFreeNanos.compareAndSet(next, start + intervalNanos)) return true;
+            }
+        }
+    }
+}
@@ -2,35 +2,56 @@ package com.springboot.chat.service;
 
 import com.springboot.auth.CustomAuthenticationToken;
 import com.springboot.auth.dto.LoginDto;
+import com.springboot.chat.entity.ChatLog;
 import com.springboot.chat.entity.ChatRoom;
 import com.springboot.chat.repository.ChatRoomRepository;
+import com.springboot.chat.repository.ChatRoomSummaryRepository;
 import com.springboot.counselor.entity.Counselor;
 import com.springboot.counselor.service.CounselorService;
 import com.springboot.exception.BusinessLogicException;
 import com.springboot.exception.ExceptionCode;
 import com.springboot.member.entity.Member;
 import com.springboot.member.service.MemberService;
+import com.springboot.outbox.entity.OutboxEvent;
+import com.springboot.outbox.service.OutboxService;
 import com.springboot.utils.CredentialUtil;
+import com.springboot.utils.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+@Slf4j
 @Service
 public class ChatRoomService {
 
     private final ChatRoomRepository chatRoomRepository;
     private final MemberService memberService;
     private final CounselorService counselorService;
-
-    public ChatRoomService(ChatRoomRepository chatRoomRepository, MemberService memberService, CounselorService counselorService) {
+    private final OutboxService outboxService;
+    private final ChatLogService chatLogService;
+    private final ChatRoomSummaryRepository chatRoomSummaryRepository;
+    private final ChatRoomStateCache chatRoomStateCache;
+
+    public ChatRoomService(ChatRoomRepository chatRoomRepository, MemberService memberService, CounselorService counselorService,
+                           OutboxService outboxService, ChatLogService chatLogService, ChatRoomSummaryRepository chatRoomSummaryRepository,
+                           ChatRoomStateCache chatRoomStateCache) {
         this.chatRoomRepository = chatRoomRepository;
         this.memberService = memberService;
         this.counselorService = counselorService;
+        this.outboxService = outboxService;
+        this.chatLogService = chatLogService;
+        this.chatRoomSummaryRepository = chatRoomSummaryRepository;
+        this.chatRoomStateCache = chatRoomStateCache;
     }
 
+    @Transactional
     public ChatRoom createOrGetChatRoom(long memberId, Authentication authentication) {
 
         Member findMember = memberService.findMember(memberId);
@@ -40,18 +61,33 @@ public class ChatRoomService {
 
         Optional<ChatRoom> optionalChatRoom = chatRoomRepository.findByMemberAndCounselor(findMember, findCounselor);
 
-        ChatRoom chatRoom;
+        ChatRoom savedChatRoom;
+        boolean opened;
         if (optionalChatRoom.isPresent()) {
-            chatRoom = optionalChatRoom.get();
-            chatRoom.setRoomStatus(ChatRoom.RoomStatus.OPEN);
+            // 닫힌 방일 때만 조건부 UPDATE로 열기 (동시에 열어도 알림 이벤트는 한 번만)
+            long existingRoomId = optionalChatRoom.get().getRoomId();
+            opened = chatRoomRepository.openIfClosed(existingRoomId, ChatRoom.RoomStatus.OPEN, ChatRoom.RoomStatus.CLOSE) == 1;
+            // UPDATE 후 다시 읽으므로 증가한 openCount가 보임
+            savedChatRoom = findVerifiedChatRoom(existingRoomId);
         } else {
-            chatRoom = new ChatRoom();
+            ChatRoom chatRoom = new ChatRoom();
             chatRoom.setMember(findMember);
             chatRoom.setCounselor(findCounselor);
-            chatRoom.setRoomStatus(ChatRoom.RoomStatus.OPEN);
             chatRoom.setCreatedAt(LocalDateTime.now());
+            chatRoom.setRoomStatus(ChatRoom.RoomStatus.OPEN);
+            chatRoom.setOpenCount(1);
+            savedChatRoom = chatRoomRepository.save(chatRoom);
+            opened = true;
         }
-        return chatRoomRepository.save(chatRoom);
+        if (opened) {
+            // 회원에게 채팅방 알림 (커밋 후 outbox에서 발송, 같은 방을 다시 열 수 있으므로 열린 횟수로 key 구분)
+            outboxService.publish(OutboxEvent.EventType.CHAT_ROOM_OPENED, savedChatRoom.getRoomId(),
+                    OutboxEvent.EventType.CHAT_ROOM_OPENED.name() + ":" + savedChatRoom.getRoomId() + ":" + savedChatRoom.getOpenCount());
+        }
+        // 열린 상태를 메시지 처리 캐시에 반영 (커밋 후)
+        long roomId = savedChatRoom.getRoomId();
+        TransactionUtil.afterCommit(() -> chatRoomStateCache.invalidate(roomId));
+        return savedChatRoom;
     }
 
     public ChatRoom closeChatRoom(long roomId, Authentication authentication) {
@@ -67,6 +103,8 @@ public class ChatRoomService {
         chatRoom.setRoomStatus(ChatRoom.RoomStatus.CLOSE);
         chatRoom.setCallStatus(ChatRoom.CallStatus.INACTIVE);
         chatRoomRepository.save(chatRoom);
+        // 닫힌 뒤에는 어느 서버에서도 메시지를 받지 않도록
+        TransactionUtil.afterCommit(() -> chatRoomStateCache.invalidate(roomId));
         return chatRoom;
     }
 
@@ -105,23 +143,41 @@ public class ChatRoomService {
         }
     }
 
+    // 채팅방 목록 (요약 컬럼만 읽음, 메시지는 조회하지 않음)
     public List<ChatRoom> findChatRooms(Authentication authentication) {
         CustomAuthenticationToken auth = (CustomAuthenticationToken) authentication;
 
         if(auth.getUserType() == LoginDto.UserType.MEMBER) {
+            return chatRoomRepository.findRoomListByMemberId(
+                    Long.parseLong(CredentialUtil.getCredentialField(authentication, "memberId")));
+        } else {
+            return chatRoomRepository.findRoomListByCounselorId(
+                    Long.parseLong(CredentialUtil.getCredentialField(authentication, "counselorId")));
+        }
+    }
 
-            Member findMember = memberService.findMember(
-                    Long.parseLong(CredentialUtil.getCredentialField(authentication, "memberId"))
-            );
+    // readLogId까지 읽음 처리 (null이면 지금까지의 마지막 메시지까지), 개별 메시지는 건드리지 않고 읽은 위치만 올림
+    public void markChatRoomAsRead(long roomId, Long readLogId, Authentication authentication) {
+        // 참여자인지 확인
+        findChatRoom(roomId, authentication);
+        CustomAuthenticationToken auth = (CustomAuthenticationToken) authentication;
 
-            return chatRoomRepository.findByMember(findMember);
+        long watermark;
+        if (readLogId != null) {
+            watermark = readLogId;
         } else {
-            Counselor findCounselor = counselorService.findCounselor(
-                    Long.parseLong(CredentialUtil.getCredentialField(authentication, "counselorId"))
-            );
-
-            return chatRoomRepository.findByCounselor(findCounselor);
+            List<ChatLog> latest = chatLogService.findChatLogs(roomId, null, null, 1);
+            if (latest.isEmpty()) return;
+            watermark = latest.get(0).getLogId();
         }
+        chatRoomSummaryRepository.markRead(roomId, auth.getUserType(), watermark);
+    }
+
+    // 요약 컬럼이 생기기 전에 만들어진 채팅방의 최근 메시지 채우기
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillChatRoomSummaries() {
+        int updated = chatRoomSummaryRepository.backfillLastMessages();
+        if (updated > 0) log.info("Backfilled last message of {} chat rooms", updated);
     }
 
     public ChatRoom findVerifiedChatRoom(long roomId) {
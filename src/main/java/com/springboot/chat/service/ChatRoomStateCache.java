@@ -0,0 +1,110 @@
+package com.springboot.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.springboot.chat.entity.ChatRoom;
+import com.springboot.chat.repository.ChatRoomRepository;
+import com.springboot.exception.BusinessLogicException;
+import com.springboot.exception.ExceptionCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// 메시지 처리에 필요한 채팅방 상태 (서버 메모리 캐시)
+// joinRoom 때 채우고, 채팅방을 열거나 닫으면 커밋 후 모든 서버에서 삭제 -> 메시지마다 DB를 읽지 않음
+// 무효화 메시지를 놓친 경우를 위해 TTL도 둠
+// DB 읽기는 cache.get(roomId, loader)로만 -> 같은 방은 한 번만 읽고, 읽는 중에 온 무효화는 읽기가 끝난 뒤 적용됨 (오래된 상태가 남지 않음)
+@Component
+public class ChatRoomStateCache {
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomStateInvalidationBus invalidationBus;
+    private final Cache<Long, RoomState> cache;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public ChatRoomStateCache(ChatRoomRepository chatRoomRepository,
+                              ChatRoomStateInvalidationBus invalidationBus,
+                              MeterRegistry meterRegistry,
+                              @Value("${toktalk.chat.room-state.ttl-minutes:30}") long ttlMinutes,
+                              @Value("${toktalk.chat.room-state.max-size:100000}") long maxSize) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.invalidationBus = invalidationBus;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .maximumSize(maxSize)
+                .build();
+        this.hits = cacheCounter(meterRegistry, "hit");
+        this.misses = cacheCounter(meterRegistry, "miss");
+        invalidationBus.subscribe(cache::invalidate);
+    }
+
+    // 캐시에 없으면 DB에서 읽어서 채움 (동시에 여러 요청이 와도 DB는 한 번만 읽음)
+    public RoomState get(long roomId){
+        RoomState state = cache.getIfPresent(roomId);
+        if(state != null){
+            hits.increment();
+            return state;
+        }
+        return cache.get(roomId, this::load);
+    }
+
+    // DB에서 다시 읽어서 채움 (joinRoom)
+    public RoomState refresh(long roomId){
+        cache.invalidate(roomId);
+        return cache.get(roomId, this::load);
+    }
+
+    // 이 서버와 다른 서버의 캐시 삭제 (채팅방 상태가 바뀐 트랜잭션 커밋 후 호출)
+    public void invalidate(long roomId){
+        cache.invalidate(roomId);
+        invalidationBus.publish(roomId);
+    }
+
+    private RoomState load(long roomId){
+        misses.increment();
+        ChatRoom chatRoom = chatRoomRepository.findWithParticipantsByRoomId(roomId)
+                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.CHAT_ROOM_NOT_FOUND));
+        return new RoomState(chatRoom);
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result){
+        return Counter.builder("chat.room-state.cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Getter
+    public static class RoomState {
+        private final long roomId;
+        private final ChatRoom.RoomStatus roomStatus;
+        private final long memberId;
+        private final long counselorId;
+        private final String memberNickname;
+        private final String counselorName;
+
+        private RoomState(ChatRoom chatRoom) {
+            this.roomId = chatRoom.getRoomId();
+            this.roomStatus = chatRoom.getRoomStatus();
+            this.memberId = chatRoom.getMember().getMemberId();
+            this.counselorId = chatRoom.getCounselor().getCounselorId();
+            this.memberNickname = chatRoom.getMember().getNickname();
+            this.counselorName = chatRoom.getCounselor().getName();
+        }
+
+        public boolean isClosed(){
+            return roomStatus == ChatRoom.RoomStatus.CLOSE;
+        }
+
+        // ChatLog에 연결할 채팅방 참조 (id만 채움)
+        public ChatRoom toReference(){
+            ChatRoom chatRoom = new ChatRoom();
+            chatRoom.setRoomId(roomId);
+            return chatRoom;
+        }
+    }
+}
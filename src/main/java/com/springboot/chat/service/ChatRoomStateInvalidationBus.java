@@ -0,0 +1,12 @@
+package com.springboot.chat.service;
+
+import java.util.function.LongConsumer;
+
+// 채팅방 상태 캐시 무효화를 다른 서버에 알리는 통로
+public interface ChatRoomStateInvalidationBus {
+    // 모든 서버(자기 자신 포함일 수 있음)에 roomId 무효화 전달
+    void publish(long roomId);
+
+    // 다른 서버에서 온 무효화 수신
+    void subscribe(LongConsumer listener);
+}
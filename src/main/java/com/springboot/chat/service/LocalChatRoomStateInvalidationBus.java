@@ -0,0 +1,19 @@
+package com.springboot.chat.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongConsumer;
+
+// 서버 하나로 돌릴 때(로컬, 테스트): 다른 서버가 없으므로 전달할 것이 없음
+@Component
+@ConditionalOnProperty(name = "toktalk.chat.room-state.invalidation", havingValue = "local")
+public class LocalChatRoomStateInvalidationBus implements ChatRoomStateInvalidationBus {
+    @Override
+    public void publish(long roomId) {
+    }
+
+    @Override
+    public void subscribe(LongConsumer listener) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.springboot.chat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.LongConsumer;
+
+// Redis pub/sub으로 서버 간 채팅방 상태 무효화 전달 (기본값)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "toktalk.chat.room-state.invalidation", havingValue = "redis", matchIfMissing = true)
+public class RedisChatRoomStateInvalidationBus implements ChatRoomStateInvalidationBus {
+    private static final ChannelTopic TOPIC = new ChannelTopic("chat-room-state:invalidate");
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    public RedisChatRoomStateInvalidationBus(StringRedisTemplate stringRedisTemplate,
+                                             RedisMessageListenerContainer listenerContainer) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+    }
+
+    @Override
+    public void publish(long roomId) {
+        try{
+            stringRedisTemplate.convertAndSend(TOPIC.getTopic(), String.valueOf(roomId));
+        }catch (RuntimeException e){
+            // 다른 서버는 캐시 TTL이 지나면 반영됨
+            log.warn("Failed to publish chat room state invalidation: roomId={}", roomId, e);
+        }
+    }
+
+    @Override
+    public void subscribe(LongConsumer listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            try{
+                listener.accept(Long.parseLong(body));
+            }catch (NumberFormatException e){
+                log.warn("Invalid chat room state invalidation message: {}", body);
+            }
+        }, TOPIC);
+    }
+}
@@ -0,0 +1,22 @@
+package com.springboot.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaBatchConfig {
+    @Value("${toktalk.jpa.batch-size:50}")
+    private int batchSize;
+
+    // 여러 row insert/update를 JDBC 배치로 묶어서 전송 (IDENTITY id 엔티티의 insert는 배치되지 않고 update만 묶임)
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer(){
+        return properties -> {
+            properties.put("hibernate.jdbc.batch_size", batchSize);
+            properties.put("hibernate.order_inserts", true);
+            properties.put("hibernate.order_updates", true);
+        };
+    }
+}
@@ -8,13 +8,13 @@ import com.springboot.auth.handler.MemberAuthenticationEntryPoint;
 import com.springboot.auth.handler.MemberAuthenticationFailureHandler;
 import com.springboot.auth.handler.MemberAuthenticationSuccessHandler;
 import com.springboot.auth.jwt.JwtTokenizer;
+import com.springboot.auth.redis.TokenRedisRepository;
 import com.springboot.auth.utils.CustomAuthorityUtils;
 import com.springboot.counselor.service.CounselorService;
 import com.springboot.member.service.MemberService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
@@ -38,15 +38,15 @@ public class SecurityConfiguration {
     private final JwtTokenizer jwtTokenizer;
     private final CustomAuthorityUtils authorityUtils;
     private final CustomAuthenticationProvider customAuthenticationProvider;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final TokenRedisRepository tokenRedisRepository;
     private final MemberService memberService;
     private final CounselorService counselorService;
     public SecurityConfiguration(JwtTokenizer jwtTokenizer, CustomAuthorityUtils authorityUtils, CustomAuthenticationProvider customAuthenticationProvider,
-                                 RedisTemplate<String, Object> redisTemplate, MemberService memberService, CounselorService counselorService) {
+                                 TokenRedisRepository tokenRedisRepository, MemberService memberService, CounselorService counselorService) {
         this.jwtTokenizer = jwtTokenizer;
         this.authorityUtils = authorityUtils;
         this.customAuthenticationProvider = customAuthenticationProvider;
-        this.redisTemplate = redisTemplate;
+        this.tokenRedisRepository = tokenRedisRepository;
         this.memberService = memberService;
         this.counselorService = counselorService;
     }
@@ -81,12 +81,15 @@ public class SecurityConfiguration {
                         .antMatchers(HttpMethod.PATCH, "/members").hasAnyRole("USER", "ADMIN")
                         .antMatchers(HttpMethod.DELETE, "/members").hasAnyRole("USER", "ADMIN")
                         .antMatchers(HttpMethod.POST, "/counselors").permitAll()
+                        .antMatchers(HttpMethod.POST, "/counselors/leaderboard/rebuild").hasRole("ADMIN")
                         .antMatchers(HttpMethod.POST, "/counselors/**").hasAnyRole("USER", "ADMIN")
                         .antMatchers(HttpMethod.GET, "/counselors").hasAnyRole("USER", "ADMIN")
                         .antMatchers(HttpMethod.GET, "/counselors/**").hasAnyRole("USER", "ADMIN")
                         .antMatchers(HttpMethod.PATCH, "/counselors").hasAnyRole("USER", "ADMIN")
                         .antMatchers(HttpMethod.DELETE, "/counselors").hasAnyRole("USER", "ADMIN")
                         .antMatchers(HttpMethod.POST, "/reservations").hasRole("USER")
+                        .antMatchers(HttpMethod.POST, "/reservations/holds").hasRole("USER")
+                        .antMatchers(HttpMethod.DELETE, "/reservations/holds").hasRole("USER")
                         .antMatchers(HttpMethod.GET, "/reservations").hasAnyRole("USER", "ADMIN")
                         .antMatchers(HttpMethod.GET, "/reservations/**").hasAnyRole("USER", "ADMIN")
                         .antMatchers(HttpMethod.DELETE, "/reservation").hasRole("USER")
@@ -114,7 +117,7 @@ public class SecurityConfiguration {
             jwtAuthenticationFilter.setAuthenticationSuccessHandler(new MemberAuthenticationSuccessHandler(memberService, counselorService));
             jwtAuthenticationFilter.setAuthenticationFailureHandler(new MemberAuthenticationFailureHandler());
 
-            JwtVerificationFilter jwtVerificationFilter = new JwtVerificationFilter(jwtTokenizer, authorityUtils, redisTemplate);
+            JwtVerificationFilter jwtVerificationFilter = new JwtVerificationFilter(jwtTokenizer, authorityUtils, tokenRedisRepository);
             builder.addFilter(jwtAuthenticationFilter)
                     .addFilterAfter(jwtVerificationFilter, JwtAuthenticationFilter.class);
         }
@@ -3,7 +3,7 @@ package com.springboot.counselor.available_date;
 import com.springboot.counselor.entity.Counselor;
 import com.springboot.exception.BusinessLogicException;
 import com.springboot.exception.ExceptionCode;
-import com.springboot.reservation.entity.Reservation;
+import com.springboot.utils.SlotBitmapUtil;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -11,81 +11,99 @@ import lombok.Setter;
 import javax.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
+// 상담사의 하루 일정 (슬롯별 row 대신 열린 슬롯 / 예약된 슬롯을 비트마스크로 저장)
+// 요일별 기본 상담 시간과 다르게 지정했거나 예약이 잡힌 날짜만 저장되고, 나머지는 기본 상담 시간으로 계산됨
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"counselor_id", "date"}))
 public class AvailableDate {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long availableDateId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "counselor_id")
     private Counselor counselor;
 
     @Column
     private LocalDate date;
 
-    @OneToMany(mappedBy = "availableDate", cascade = CascadeType.ALL, orphanRemoval = true)
-    private Map<LocalTime, AvailableTime> availableTimes = new HashMap<>();
+    // 이 날짜만 따로 지정한 예약 가능 슬롯 (n번째 비트 = n시 시작 슬롯, null이면 요일별 기본 상담 시간을 따름)
+    @Column
+    private Integer customSlots;
+
+    // 예약이 잡힌 슬롯
+    @Column(nullable = false)
+    private int bookedSlots;
+
+    // 예약 슬롯 조건부 UPDATE / 일정 수정 간 충돌 감지용
+    @Version
+    private long version;
+
+    // 요일별 기본 상담 시간 (조회할 때 채워짐, 저장하지 않음)
+    @Transient
+    private int defaultSlots;
 
     public AvailableDate(LocalDate date){
         this.date = date;
         // 9 ~ 24시까지 예약가능시간 자동 생성
+        int slots = 0;
         for(int i = 9; i< 24; i++){
-            addAvailableTime(new AvailableTime(LocalTime.of(i,0), LocalTime.of(i,50)));
+            slots |= 1 << i;
         }
+        this.customSlots = slots;
+    }
+
+    // 아직 저장되지 않은 날짜 일정 생성 (Counselor의 일정 컬렉션은 건드리지 않음)
+    public AvailableDate(Counselor counselor, LocalDate date){
+        this.counselor = counselor;
+        this.date = date;
     }
 
     public void setCounselor(Counselor counselor){
         this.counselor = counselor;
-        if(!counselor.getAvailableDates().containsKey(this)){
+        if(!counselor.getAvailableDates().containsKey(date)){
             counselor.getAvailableDates().put(date, this);
         }
     }
-    public void addAvailableTime(AvailableTime availableTime){
-        availableTimes.put(availableTime.getStartTime(), availableTime);
-        if(availableTime.getAvailableDate() == null){
-            availableTime.setAvailableDate(this);
+
+    // 예약 가능한 시간인지 검사 후 요청한 슬롯 비트마스크 반환 (실제 등록은 조건부 UPDATE로 처리)
+    public int validateReservationTimes(List<LocalTime> reservationTimes) {
+        for(LocalTime time : reservationTimes){
+            // 입력한 시간이 예약 가능 시간대에 없을 때
+            if(!SlotBitmapUtil.isSlotTime(time)) throw new BusinessLogicException(ExceptionCode.UNAVAILABLE_TIME);
         }
+        int requested = SlotBitmapUtil.maskOf(reservationTimes);
+        if(!SlotBitmapUtil.containsAll(getOpenSlots(), requested)) throw new BusinessLogicException(ExceptionCode.UNAVAILABLE_TIME);
+        // 이미 예약된 시간이다 임마
+        if(SlotBitmapUtil.intersects(bookedSlots, requested)) throw new BusinessLogicException(ExceptionCode.RESERVATION_TIMESLOT_OCCUPIED);
+
+        return requested;
     }
-    private void validateReservationTime(Reservation reservation, LocalTime reservationTime){
-        for(AvailableTime time : availableTimes.values()){
-            if(time.getStartTime().equals(reservationTime)){
-                if(time.getReservation() != null){
-                    // 이미 예약된 시간이다 임마
-                    throw new BusinessLogicException(ExceptionCode.RESERVATION_TIMESLOT_OCCUPIED);
-                }else{
-                    // 유효한 예약 가능 시간을 발견하면 예약 시간을 등록하고 탈출
-                    time.setReservation(reservation);
-                    return;
-                }
-            }
-        }
-        // 입력한 시간이 예약 가능 시간대에 없을 때
-        throw new BusinessLogicException(ExceptionCode.UNAVAILABLE_TIME);
+
+    // 이 날짜의 예약 가능 슬롯 변경 (예약 잡힌 슬롯은 닫을 수 없음)
+    public void updateOpenSlots(int newOpenSlots){
+        int removed = getOpenSlots() & ~newOpenSlots;
+        if(SlotBitmapUtil.intersects(bookedSlots, removed)) throw new BusinessLogicException(ExceptionCode.TIMESLOT_DELETION_DENIED);
+        customSlots = newOpenSlots;
     }
-    public void validateReservationTimes(Reservation reservation, List<LocalTime> reservationTimes) {
-        for(LocalTime reservationTime: reservationTimes){
-            validateReservationTime(reservation, reservationTime);
-        }
+
+    // 예약 가능한 슬롯 (따로 지정한 게 없으면 요일별 기본 상담 시간)
+    public int getOpenSlots(){
+        return customSlots != null ? customSlots : defaultSlots;
+    }
+
+    // 아직 예약되지 않은 열린 슬롯
+    public int getFreeSlots(){
+        return getOpenSlots() & ~bookedSlots;
     }
 
     // 이 날짜에 잡힌 예약이 하나라도 있는지
     public boolean isReservedDate(){
-        boolean isReserved = false;
-        for(AvailableTime time : availableTimes.values()){
-            if(time.getReservation() != null) {
-                isReserved = true;
-                break;
-            }
-        }
-        return isReserved;
+        return bookedSlots != 0;
     }
 }
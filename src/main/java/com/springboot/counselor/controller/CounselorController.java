@@ -9,13 +9,18 @@ import com.springboot.counselor.dto.CounselorDto;
 import com.springboot.counselor.dto.LicenseDto;
 import com.springboot.counselor.entity.Counselor;
 import com.springboot.counselor.mapper.CounselorMapper;
+import com.springboot.counselor.repository.CounselorCardView;
+import com.springboot.counselor.service.AvailabilityIndex;
+import com.springboot.counselor.service.CounselorProfileCache;
 import com.springboot.counselor.service.CounselorService;
+import com.springboot.counselor.service.RatingLeaderboardService;
 import com.springboot.exception.BusinessLogicException;
 import com.springboot.exception.ExceptionCode;
 import com.springboot.member.dto.MemberDto;
 import com.springboot.reservation.entity.Reservation;
 import com.springboot.reservation.mapper.ReservationMapper;
 import com.springboot.reservation.service.ReservationService;
+import com.springboot.response.CursorResponseDto;
 import com.springboot.response.SingleResponseDto;
 import com.springboot.service.S3Service;
 import com.springboot.utils.CredentialUtil;
@@ -47,6 +52,8 @@ public class CounselorController {
     private final String DEFAULT_URL = "/counselors";
     private final CounselorMapper counselorMapper;
     private final CounselorService counselorService;
+    private final CounselorProfileCache counselorProfileCache;
+    private final RatingLeaderboardService ratingLeaderboardService;
     private final ReservationService reservationService;
     private final ReservationMapper reservationMapper;
     private final S3Service s3Service;
@@ -150,8 +157,8 @@ public class CounselorController {
 
         // 기본 상담 시간 등록
         counselorService.setDefaultDays(counselorId, postDto, true);
-        // 실제 AvailableTimes 등록
-        counselorService.addInitialAvailableTimes(counselorId, 2);
+        // 일정 열기 (날짜별 일정은 기본 상담 시간으로 계산됨)
+        counselorService.openSchedule(counselorId);
 
         return new ResponseEntity<>(
                 new SingleResponseDto<>(null), HttpStatus.CREATED
@@ -197,17 +204,81 @@ public class CounselorController {
     @GetMapping("/{counselorId}")
     public ResponseEntity<?> getCounselor(@PathVariable @Positive long counselorId
                                           /*,Authentication authentication*/){
-        Counselor findCounselor = counselorService.findCounselor(counselorId);
+        // 렌더링된 프로필은 캐시에서 (없을 때만 조회해서 변환)
+        CounselorDto.Response response = counselorProfileCache.get(counselorId,
+                () -> counselorMapper.counselorToCounselorResponseDto(counselorService.findCounselor(counselorId)));
         return new ResponseEntity<>(
-                new SingleResponseDto<>(counselorMapper.counselorToCounselorResponseDto(findCounselor)), HttpStatus.OK
+                new SingleResponseDto<>(response), HttpStatus.OK
         );
     }
-    // 활동중인 전체 상담사 조회
+    // 활동중인 상담사 목록 조회 (카드 형태, lastCounselorId 기준 keyset 페이징 / 상세 일정은 단일 상담사 조회에서)
     @GetMapping
-    public ResponseEntity<?> getCounselors(/*Authentication authentication*/){
-        List<Counselor> activeCounselors = counselorService.getAllActiveCounselors();
+    public ResponseEntity<?> getCounselors(@RequestParam(defaultValue = "0") long lastCounselorId,
+                                           @RequestParam(defaultValue = "20") int size){
+        // 한 페이지 최대 50명
+        int pageSize = Math.max(1, Math.min(size, 50));
+        List<CounselorCardView> cardViews = counselorService.getActiveCounselorCards(lastCounselorId, pageSize);
+        Map<Long, List<String>> keywords = counselorService.getKeywordsOf(cardViews.stream()
+                .map(CounselorCardView::getCounselorId)
+                .collect(Collectors.toList()));
+
+        List<CounselorDto.Card> cards = cardViews.stream()
+                .map(cardView -> counselorMapper.counselorCardViewToCardDto(
+                        cardView,
+                        keywords.getOrDefault(cardView.getCounselorId(), new ArrayList<>()),
+                        counselorService.getNextAvailableSlot(cardView.getCounselorId())))
+                .collect(Collectors.toList());
+        Long nextCursor = cards.size() < pageSize ? null : cards.get(cards.size() - 1).getCounselorId();
         return new ResponseEntity<>(
-                new SingleResponseDto<>(counselorMapper.counselorsToCounselorResponseDtos(activeCounselors)), HttpStatus.OK
+                new CursorResponseDto<>(cards, nextCursor), HttpStatus.OK
+        );
+    }
+
+    // 평점 상위 상담사 목록 (Redis 순위표, 최대 100명)
+    @GetMapping("/leaderboard")
+    public ResponseEntity<?> getRatingLeaderboard(@RequestParam(defaultValue = "10") int size){
+        List<RatingLeaderboardService.RankEntry> entries = counselorService.getTopRatedCounselors(Math.max(1, Math.min(size, 100)));
+        Map<Long, CounselorCardView> cardViews = counselorService.getCounselorCards(entries.stream()
+                .map(RatingLeaderboardService.RankEntry::getCounselorId)
+                .collect(Collectors.toList()));
+
+        List<CounselorDto.Rank> ranks = entries.stream()
+                .map(entry -> counselorMapper.rankEntryToRankDto(entry, cardViews.get(entry.getCounselorId())))
+                .collect(Collectors.toList());
+        return new ResponseEntity<>(
+                new SingleResponseDto<>(ranks), HttpStatus.OK
+        );
+    }
+
+    // 평점 순위표 재계산 (관리자, 리뷰 테이블 기준)
+    @PostMapping("/leaderboard/rebuild")
+    public ResponseEntity<?> rebuildRatingLeaderboard(){
+        int counselors = ratingLeaderboardService.rebuild();
+        return new ResponseEntity<>(
+                new SingleResponseDto<>(counselors), HttpStatus.OK
+        );
+    }
+
+    // 특정 상담사의 평점 순위 + 별점 분포
+    @GetMapping("/{counselorId}/rank")
+    public ResponseEntity<?> getRatingRank(@PathVariable @Positive long counselorId){
+        RatingLeaderboardService.RankEntry entry = counselorService.getRatingRank(counselorId);
+        CounselorCardView cardView = counselorService.getCounselorCards(List.of(counselorId)).get(counselorId);
+        return new ResponseEntity<>(
+                new SingleResponseDto<>(counselorMapper.rankEntryToRankDto(entry, cardView)), HttpStatus.OK
+        );
+    }
+
+    // 특정 날짜/시간에 상담 가능한 상담사 검색 (type: CALL/CHAT, maxPrice: 해당 상담 방식의 최대 가격)
+    @GetMapping("/availability-search")
+    public ResponseEntity<?> searchAvailableCounselors(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime startTime,
+                                                       @RequestParam(defaultValue = "1") int hours,
+                                                       @RequestParam(required = false) Reservation.CounselingType type,
+                                                       @RequestParam(required = false) Integer maxPrice){
+        List<AvailabilityIndex.IndexedCounselor> counselors = counselorService.searchAvailableCounselors(date, startTime, hours, type, maxPrice);
+        return new ResponseEntity<>(
+                new SingleResponseDto<>(counselorMapper.indexedCounselorsToSearchResponses(counselors)), HttpStatus.OK
         );
     }
 
@@ -25,6 +25,7 @@ public class AvailableDateDto{
     @Getter
     @Setter
     @AllArgsConstructor
+    @NoArgsConstructor
     public static class Response {
         private long availableDateId;
         private LocalDate date;
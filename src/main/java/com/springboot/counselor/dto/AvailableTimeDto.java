@@ -2,11 +2,13 @@ package com.springboot.counselor.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalTime;
 
 @AllArgsConstructor
+@NoArgsConstructor
 @Getter
 @Setter
 public class AvailableTimeDto {
@@ -15,6 +15,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 
 public class CounselorDto {
     @AllArgsConstructor
@@ -92,6 +93,52 @@ public class CounselorDto {
         private LocalDateTime modifiedAt;
     }
 
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Getter
+    @Setter
+    public static class Card{
+        private long counselorId;
+        private String name;
+        private String profileImage;
+        private String expertise;
+        private int chatPrice;
+        private int callPrice;
+        private String rating;
+        private int reviews;
+        private List<String> keywords;
+        private LocalDateTime nextAvailableSlot;
+    }
+
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Getter
+    @Setter
+    public static class SearchResponse{
+        private long counselorId;
+        private String name;
+        private String profileImage;
+        private String expertise;
+        private int chatPrice;
+        private int callPrice;
+    }
+
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Getter
+    @Setter
+    public static class Rank{
+        private long counselorId;
+        // 리뷰가 없으면 null
+        private Long rank;
+        private String name;
+        private String profileImage;
+        private double averageRating;
+        private int reviews;
+        // 별점(1 ~ 5) -> 개수 (단일 상담사 조회에서만)
+        private Map<Integer, Integer> histogram;
+    }
+
     @Getter
     @Setter
     @NoArgsConstructor
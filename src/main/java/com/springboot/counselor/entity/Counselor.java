@@ -3,9 +3,8 @@ package com.springboot.counselor.entity;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.springboot.chat.entity.ChatRoom;
 import com.springboot.counselor.available_date.AvailableDate;
-import com.springboot.exception.BusinessLogicException;
-import com.springboot.exception.ExceptionCode;
 import com.springboot.gender.Gender;
+import com.springboot.utils.CalendarUtil;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,7 +15,6 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Entity
 @Getter
@@ -88,6 +86,10 @@ public class Counselor {
     @Column
     private int reviews;
 
+    // 기본 상담 시간을 처음 등록한 날짜 (이 날부터 일정이 열림, null이면 아직 등록 전)
+    @Column
+    private LocalDate scheduleOpenDate;
+
     @OneToMany(mappedBy = "counselor", cascade = CascadeType.ALL, orphanRemoval = true)
     private Map<LocalDate, AvailableDate> availableDates = new HashMap();
 
@@ -154,19 +156,39 @@ public class Counselor {
         }
     }
 
-    // 날짜를 통해 상담사가 가진 AvailableDate객체 반환
-    public AvailableDate getAvailableDate(LocalDate date){
-        AvailableDate availableDate = availableDates.get(date);
-        if(availableDate == null) throw new BusinessLogicException(ExceptionCode.UNAVAILABLE_DATE);
-        return availableDate;
+    // 일정이 열린 날짜인지 (일정 시작일 ~ 예약 가능 마지막 날)
+    public boolean isScheduledDate(LocalDate date){
+        return scheduleOpenDate != null
+                && !date.isBefore(scheduleOpenDate)
+                && !date.isAfter(CalendarUtil.getScheduleLimitDate());
+    }
+
+    // 특정 요일의 기본 상담 시간 비트마스크
+    public int getDefaultSlotsOf(DayOfWeek dayOfWeek){
+        DefaultDay defaultDay = defaultDays.get(dayOfWeek);
+        return defaultDay == null ? 0 : defaultDay.getSlotMask();
+    }
+
+    // 요일별 기본 상담 시간 + 날짜별로 저장된 예외/예약(AvailableDate)을 합쳐 기간 내 일정 계산
+    public List<AvailableDate> resolveAvailableDates(LocalDate startDate, LocalDate endDate, Map<LocalDate, AvailableDate> storedDates){
+        List<AvailableDate> result = new ArrayList<>();
+        for(LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)){
+            AvailableDate availableDate = storedDates.get(date);
+            if(availableDate == null){
+                // 저장된 게 없는 날짜는 일정이 열린 날짜일 때만 기본 상담 시간으로 채움
+                if(!isScheduledDate(date)) continue;
+                availableDate = new AvailableDate(this, date);
+            }
+            availableDate.setDefaultSlots(getDefaultSlotsOf(date.getDayOfWeek()));
+            result.add(availableDate);
+        }
+        return result;
     }
 
-    // 특정 요일에 해당하는 AvailableDate 반환
-    public List<AvailableDate> getAvailableDatesInCertainDayOfWeek(DayOfWeek dayOfWeek){
-        return availableDates.entrySet().stream()
-                .filter(entry -> entry.getKey().getDayOfWeek().equals(dayOfWeek))
-                .map(entry -> entry.getValue())
-                .collect(Collectors.toList());
+    // 일정이 열린 모든 날짜의 일정
+    public List<AvailableDate> getResolvedAvailableDates(){
+        if(scheduleOpenDate == null) return new ArrayList<>();
+        return resolveAvailableDates(scheduleOpenDate, CalendarUtil.getScheduleLimitDate(), availableDates);
     }
 
     // 리뷰 달릴때 평점 업데이트
@@ -29,6 +29,10 @@ public class DefaultDay {
     @Enumerated(EnumType.STRING)
     private DayOfWeek dayOfWeek;
 
+    // 이 요일의 기본 상담 시간 비트마스크 (날짜별 일정은 이 값으로 계산됨)
+    @Column(nullable = false)
+    private int slotMask;
+
     @OneToMany(mappedBy = "defaultDay", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<DefaultTimeSlot> defaultTimeSlots = new ArrayList<>();
 
@@ -1,27 +1,36 @@
 package com.springboot.counselor.mapper;
 
 import com.springboot.counselor.available_date.AvailableDate;
-import com.springboot.counselor.available_date.AvailableTime;
 import com.springboot.counselor.dto.*;
 import com.springboot.counselor.entity.Career;
 import com.springboot.counselor.entity.Counselor;
 import com.springboot.counselor.entity.License;
+import com.springboot.counselor.repository.CounselorCardView;
+import com.springboot.counselor.service.AvailabilityIndex;
+import com.springboot.counselor.service.RatingLeaderboardService;
+import com.springboot.utils.SlotBitmapUtil;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
 public interface CounselorMapper {
+    DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
     Counselor counselorPostDtoToCounselor(CounselorDto.Post postDto);
     Counselor counselorPatchDtoToCounselor(CounselorDto.Patch patchDto);
+    List<CounselorDto.SearchResponse> indexedCounselorsToSearchResponses(List<AvailabilityIndex.IndexedCounselor> indexedCounselors);
     default CounselorDto.Response counselorToCounselorResponseDto(Counselor counselor){
-        List<AvailableDate> availableDateList = new ArrayList<>(counselor.getAvailableDates().values());
+        List<AvailableDate> availableDateList = counselor.getResolvedAvailableDates();
 
         // 자격증 -> 자격증 dto 변환
         List<LicenseDto.Response> licenseDtos = counselor.getLicenses().stream()
@@ -40,9 +49,7 @@ public interface CounselorMapper {
                 )).collect(Collectors.toList());
 
         // 평균 별점 계산
-        double rating = (double) counselor.getTotalRating() / counselor.getReviews();
-        double formattedRating = Math.round(rating * 10) / 10.0;
-        String ratingStr = counselor.getReviews() == 0 ? "별점 없음" : String.valueOf(formattedRating);
+        String ratingStr = formatRating(counselor.getTotalRating(), counselor.getReviews());
 
         return new CounselorDto.Response(
                 counselor.getCounselorId(),
@@ -53,23 +60,7 @@ public interface CounselorMapper {
                 counselor.getUserId(),
                 counselor.getCompany(),
                 availableDateList.stream()
-                        .map(date -> new AvailableDateDto.Response(
-                                date.getAvailableDateId(),
-                                date.getDate(),
-                                date.getAvailableTimes().entrySet().stream()
-                                        .collect(Collectors.toMap(
-                                                entry -> entry.getKey(),
-                                                entry -> {
-                                                    AvailableTime time = entry.getValue();
-                                                    return new AvailableTimeDto(
-                                                            time.getAvailableTimeId(),
-                                                            time.getStartTime().format(DateTimeFormatter.ofPattern("HH:mm")),
-                                                            time.getEndTime().format(DateTimeFormatter.ofPattern("HH:mm")),
-                                                            time.getReservation() != null
-                                                    );
-                                                }
-                                        ))
-                        ))
+                        .map(date -> availableDateToAvailableDateDto(date))
                         .collect(Collectors.toList()),
                 counselor.getChatPrice(),
                 counselor.getCallPrice(),
@@ -87,32 +78,67 @@ public interface CounselorMapper {
     };
     List<CounselorDto.Response> counselorsToCounselorResponseDtos(List<Counselor> counselors);
 
+    // 목록용 카드 (일정, 자격증, 경력 없이)
+    default CounselorDto.Card counselorCardViewToCardDto(CounselorCardView cardView, List<String> keywords, LocalDateTime nextAvailableSlot){
+        return new CounselorDto.Card(
+                cardView.getCounselorId(),
+                cardView.getName(),
+                cardView.getProfileImage(),
+                cardView.getExpertise(),
+                cardView.getChatPrice(),
+                cardView.getCallPrice(),
+                formatRating(cardView.getTotalRating(), cardView.getReviews()),
+                cardView.getReviews(),
+                keywords,
+                nextAvailableSlot
+        );
+    }
+
+    default CounselorDto.Rank rankEntryToRankDto(RatingLeaderboardService.RankEntry entry, CounselorCardView cardView){
+        return new CounselorDto.Rank(
+                entry.getCounselorId(),
+                entry.getRank(),
+                cardView == null ? null : cardView.getName(),
+                cardView == null ? null : cardView.getProfileImage(),
+                entry.getAverageRating(),
+                entry.getReviews(),
+                entry.getHistogram().isEmpty() ? null : entry.getHistogram()
+        );
+    }
+
+    // 평균 별점 (소수점 한 자리, 리뷰 없으면 "별점 없음")
+    default String formatRating(int totalRating, int reviews){
+        if(reviews == 0) return "별점 없음";
+        double rating = (double) totalRating / reviews;
+        return String.valueOf(Math.round(rating * 10) / 10.0);
+    }
+
     /*@Mapping(source = "availableDates", target = "availableDates")
     CounselorDto.Response counselorToCounselorResponseDto(Counselor counselor);*/
 
     default List<String> defaultTimesToFormattedDefaultTimes(List<LocalTime> defaultTimes){
         return defaultTimes.stream()
-                .map(time -> time.format(DateTimeFormatter.ofPattern("HH:mm")))
+                .map(time -> time.format(TIME_FORMATTER))
                 .collect(Collectors.toList());
     }
 
     default AvailableDateDto.Response availableDateToAvailableDateDto(AvailableDate availableDate){
+        // 열린 슬롯 비트마스크를 시간별 dto로 펼침
+        // id는 날짜(epoch day)와 시작 시각으로 생성 -> 저장 안 된(기본 상담 시간으로 계산한) 날짜도 날짜마다 다르고, 저장된 뒤에도 바뀌지 않음
+        long availableDateId = availableDate.getDate().toEpochDay();
+        Map<LocalTime, AvailableTimeDto> availableTimes = new LinkedHashMap<>();
+        for(LocalTime startTime : SlotBitmapUtil.startTimesOf(availableDate.getOpenSlots())){
+            availableTimes.put(startTime, new AvailableTimeDto(
+                    availableDateId * SlotBitmapUtil.SLOTS_PER_DAY + startTime.getHour(),
+                    startTime.format(TIME_FORMATTER),
+                    startTime.plusMinutes(SlotBitmapUtil.SLOT_MINUTES).format(TIME_FORMATTER),
+                    SlotBitmapUtil.intersects(availableDate.getBookedSlots(), SlotBitmapUtil.bitOf(startTime))
+            ));
+        }
         return new AvailableDateDto.Response(
-                availableDate.getAvailableDateId(),
+                availableDateId,
                 availableDate.getDate(),
-                availableDate.getAvailableTimes().entrySet().stream()
-                        .collect(Collectors.toMap(
-                                entry -> entry.getKey(),
-                                entry -> {
-                                    AvailableTime time = entry.getValue();
-                                    return new AvailableTimeDto(
-                                            time.getAvailableTimeId(),
-                                            time.getStartTime().format(DateTimeFormatter.ofPattern("HH:mm")),
-                                            time.getEndTime().format(DateTimeFormatter.ofPattern("HH:mm")),
-                                            time.getReservation() != null
-                                    );
-                                }
-                        ))
+                availableTimes
         );
     };
 
@@ -0,0 +1,66 @@
+package com.springboot.counselor.repository;
+
+import com.springboot.counselor.available_date.AvailableDate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface AvailableDateRepository extends JpaRepository<AvailableDate, Long> {
+    // (counselorId, date) 하나만 조회 - Counselor 전체 일정을 로딩하지 않음
+    Optional<AvailableDate> findByCounselorCounselorIdAndDate(long counselorId, LocalDate date);
+
+    List<AvailableDate> findByCounselorCounselorIdAndDateBetween(long counselorId, LocalDate startDate, LocalDate endDate);
+
+    // 예약 슬롯 선점: 요청한 연속 슬롯이 모두 열려 있고 (따로 지정한 게 없으면 기본 상담 시간) 하나도 예약되지 않았을 때만 더함
+    // = booked_slots | :slots WHERE (booked_slots & :slots) = 0, 겹치는 요청만 0건이고 다른 슬롯 요청은 version과 관계없이 성공
+    // 비트 연산자는 MySQL과 H2 문법이 달라서 산술식으로 표현: 연속 슬롯 [시작시, 시작시 + 슬롯수)의 비트 = FLOOR(x / 2^시작시) MOD 2^슬롯수
+    @Modifying
+    @Query(value = "UPDATE available_date SET booked_slots = booked_slots + :slots, version = version + 1 " +
+            "WHERE available_date_id = :availableDateId " +
+            "AND MOD(FLOOR(booked_slots / :low), :span) = 0 " +
+            "AND MOD(FLOOR(COALESCE(custom_slots, :defaultSlots) / :low), :span) = :span - 1", nativeQuery = true)
+    int claimBookedSlots(@Param("availableDateId") long availableDateId,
+                         @Param("slots") int slots,
+                         @Param("low") int low,
+                         @Param("span") int span,
+                         @Param("defaultSlots") int defaultSlots);
+
+    // 예약 취소 시 슬롯 반환: 반환할 연속 슬롯이 모두 예약돼 있을 때만 (이미 반환된 슬롯을 다시 빼지 않음)
+    @Modifying
+    @Query(value = "UPDATE available_date SET booked_slots = booked_slots - :slots, version = version + 1 " +
+            "WHERE available_date_id = :availableDateId " +
+            "AND MOD(FLOOR(booked_slots / :low), :span) = :span - 1", nativeQuery = true)
+    int releaseBookedSlots(@Param("availableDateId") long availableDateId,
+                           @Param("slots") int slots,
+                           @Param("low") int low,
+                           @Param("span") int span);
+
+    // 조건부 UPDATE 후 현재 [customSlots, bookedSlots, version] (영속성 컨텍스트가 아니라 DB에서 읽음, 검색 인덱스 반영용)
+    @Query("select a.customSlots, a.bookedSlots, a.version from AvailableDate a where a.availableDateId = :availableDateId")
+    List<Object[]> findSlotState(@Param("availableDateId") long availableDateId);
+
+    // 기본 상담 시간을 따르면서 예약이 잡혀 있는 날짜들 (기본 상담 시간 변경 시 충돌 검사용)
+    @Query("select a from AvailableDate a " +
+            "where a.counselor.counselorId = :counselorId and a.date >= :fromDate " +
+            "and a.customSlots is null and a.bookedSlots <> 0")
+    List<AvailableDate> findBookedDefaultDates(@Param("counselorId") long counselorId,
+                                               @Param("fromDate") LocalDate fromDate);
+
+    // 기간 내 저장된 일정 [counselorId, date, customSlots, bookedSlots, version] (검색 인덱스 구성용, 엔티티 로딩 없이)
+    @Query("select a.counselor.counselorId, a.date, a.customSlots, a.bookedSlots, a.version from AvailableDate a " +
+            "where a.date between :startDate and :endDate")
+    List<Object[]> findSlotsBetween(@Param("startDate") LocalDate startDate,
+                                    @Param("endDate") LocalDate endDate);
+
+    // 지난 날짜 중 예약이 없는 일정 row 일괄 삭제 (예약 있는 날짜는 월별 예약 현황 때문에 남겨둠)
+    @Modifying
+    @Query("delete from AvailableDate a " +
+            "where a.counselor.counselorId in :counselorIds and a.date < :cutoffDate and a.bookedSlots = 0")
+    int deleteUnbookedDatesBefore(@Param("counselorIds") List<Long> counselorIds,
+                                  @Param("cutoffDate") LocalDate cutoffDate);
+}
@@ -0,0 +1,13 @@
+package com.springboot.counselor.repository;
+
+// 상담사 목록 카드에 필요한 컬럼만 조회하는 projection (연관 컬렉션은 로딩하지 않음)
+public interface CounselorCardView {
+    long getCounselorId();
+    String getName();
+    String getProfileImage();
+    String getExpertise();
+    int getChatPrice();
+    int getCallPrice();
+    int getTotalRating();
+    int getReviews();
+}
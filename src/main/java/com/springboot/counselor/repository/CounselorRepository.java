@@ -1,12 +1,43 @@
 package com.springboot.counselor.repository;
 
 import com.springboot.counselor.entity.Counselor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CounselorRepository extends JpaRepository<Counselor, Long> {
     @EntityGraph(attributePaths = {"roles"})
     Optional<Counselor> findByUserId(String userId);
+
+    // 특정 상태의 상담사 카드 정보를 lastId 이후부터 순서대로 조회 (keyset 페이징, 필요한 컬럼만)
+    List<CounselorCardView> findByCounselorStatusAndCounselorIdGreaterThanOrderByCounselorId(Counselor.Status status,
+                                                                                             long lastId,
+                                                                                             Pageable pageable);
+
+    // 여러 상담사의 카드 정보 (평점 순위표 등 id 목록이 먼저 정해진 경우)
+    List<CounselorCardView> findByCounselorIdIn(Collection<Long> counselorIds);
+
+    // 특정 상태가 아닌 상담사 id (평점 순위표 재계산 시 탈퇴 상담사 제외용)
+    @Query("select c.counselorId from Counselor c where c.counselorStatus <> :status")
+    List<Long> findIdsByStatusNot(@Param("status") Counselor.Status status);
+
+    // 상담사들의 키워드 [counselorId, word] (목록 카드용, 한 번에 조회)
+    @Query("select k.counselor.counselorId, k.word from Keyword k where k.counselor.counselorId in :counselorIds")
+    List<Object[]> findKeywordsOf(@Param("counselorIds") Collection<Long> counselorIds);
+
+    // 유효하지 않은 FCM 토큰 삭제
+    @Modifying
+    @Query("update Counselor c set c.fcmToken = null where c.fcmToken in :tokens")
+    int clearFcmTokens(@Param("tokens") Collection<String> tokens);
+
+    // 상담사 id를 lastId 이후부터 순서대로 조회 (keyset 페이징, 상태 무관)
+    @Query("select c.counselorId from Counselor c where c.counselorId > :lastId order by c.counselorId")
+    List<Long> findIdsAfter(@Param("lastId") long lastId, Pageable pageable);
 }
@@ -0,0 +1,27 @@
+package com.springboot.counselor.repository;
+
+import com.springboot.counselor.entity.Counselor;
+import com.springboot.counselor.entity.DefaultDay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface DefaultDayRepository extends JpaRepository<DefaultDay, Long> {
+    // 일정이 열린 상담사의 특정 요일 기본 상담 시간 비트마스크 (일정이 열리기 전 날짜면 결과 없음)
+    @Query("select d.slotMask from DefaultDay d " +
+            "where d.counselor.counselorId = :counselorId and d.dayOfWeek = :dayOfWeek " +
+            "and d.counselor.scheduleOpenDate <= :date")
+    Optional<Integer> findScheduledSlotMask(@Param("counselorId") long counselorId,
+                                            @Param("dayOfWeek") DayOfWeek dayOfWeek,
+                                            @Param("date") LocalDate date);
+
+    // 일정이 열린 특정 상태 상담사들의 요일별 기본 상담 시간 (상담사 정보까지 한 번에 조회)
+    @Query("select d from DefaultDay d join fetch d.counselor c " +
+            "where c.counselorStatus = :status and c.scheduleOpenDate is not null")
+    List<DefaultDay> findAllOfScheduledCounselors(@Param("status") Counselor.Status status);
+}
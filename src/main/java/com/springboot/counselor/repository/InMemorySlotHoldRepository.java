@@ -0,0 +1,67 @@
+package com.springboot.counselor.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Redis 없이 돌릴 때(로컬, 테스트) 쓰는 인메모리 구현 (단일 서버에서만 유효)
+@Repository
+@ConditionalOnProperty(name = "toktalk.slot-hold.store", havingValue = "memory")
+public class InMemorySlotHoldRepository implements SlotHoldRepository {
+    private final Map<String, Hold> holds = new HashMap<>();
+
+    @Override
+    public synchronized boolean holdAll(List<String> keys, String holder, Duration ttl) {
+        long now = System.currentTimeMillis();
+        for(String key : keys){
+            Hold hold = holds.get(key);
+            if(hold != null && hold.isAlive(now) && !hold.holder.equals(holder)) return false;
+        }
+        long expiresAt = now + ttl.toMillis();
+        keys.forEach(key -> holds.put(key, new Hold(holder, expiresAt)));
+        return true;
+    }
+
+    @Override
+    public synchronized void releaseAll(List<String> keys, String holder) {
+        keys.forEach(key -> {
+            Hold hold = holds.get(key);
+            if(hold != null && hold.holder.equals(holder)) holds.remove(key);
+        });
+    }
+
+    @Override
+    public synchronized List<String> findHolders(List<String> keys) {
+        long now = System.currentTimeMillis();
+        List<String> holders = new ArrayList<>(keys.size());
+        for(String key : keys){
+            Hold hold = holds.get(key);
+            if(hold != null && !hold.isAlive(now)){
+                // 만료된 건 조회하면서 정리
+                holds.remove(key);
+                hold = null;
+            }
+            holders.add(hold == null ? null : hold.holder);
+        }
+        return holders;
+    }
+
+    private static class Hold {
+        private final String holder;
+        private final long expiresAt;
+
+        private Hold(String holder, long expiresAt) {
+            this.holder = holder;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isAlive(long now){
+            return expiresAt > now;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.springboot.counselor.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+
+// Lua 스크립트로 여러 슬롯을 원자적으로 점유 / 해제
+@Repository
+@ConditionalOnProperty(name = "toktalk.slot-hold.store", havingValue = "redis", matchIfMissing = true)
+public class RedisSlotHoldRepository implements SlotHoldRepository {
+    // 전부 비었거나 내 것일 때만 전부 SET (PX로 TTL)
+    private static final RedisScript<Long> HOLD_SCRIPT = new DefaultRedisScript<>(
+            "for i, key in ipairs(KEYS) do " +
+            "  local holder = redis.call('GET', key) " +
+            "  if holder and holder ~= ARGV[1] then return 0 end " +
+            "end " +
+            "for i, key in ipairs(KEYS) do " +
+            "  redis.call('SET', key, ARGV[1], 'PX', ARGV[2]) " +
+            "end " +
+            "return 1", Long.class);
+
+    // 내 것인 key만 DEL
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "local released = 0 " +
+            "for i, key in ipairs(KEYS) do " +
+            "  if redis.call('GET', key) == ARGV[1] then " +
+            "    released = released + redis.call('DEL', key) " +
+            "  end " +
+            "end " +
+            "return released", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public RedisSlotHoldRepository(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    @Override
+    public boolean holdAll(List<String> keys, String holder, Duration ttl) {
+        Long result = stringRedisTemplate.execute(HOLD_SCRIPT, keys, holder, String.valueOf(ttl.toMillis()));
+        return result != null && result == 1;
+    }
+
+    @Override
+    public void releaseAll(List<String> keys, String holder) {
+        stringRedisTemplate.execute(RELEASE_SCRIPT, keys, holder);
+    }
+
+    @Override
+    public List<String> findHolders(List<String> keys) {
+        return stringRedisTemplate.opsForValue().multiGet(keys);
+    }
+}
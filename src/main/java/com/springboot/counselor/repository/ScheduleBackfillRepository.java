@@ -0,0 +1,115 @@
+package com.springboot.counselor.repository;
+
+import com.springboot.utils.SlotBitmapUtil;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 일정 저장 방식이 비트마스크로 바뀌기 전에 만들어진 데이터를 새 컬럼으로 옮기는 backfill
+// 모두 이미 옮긴 row는 건드리지 않으므로 매번 실행해도 안전
+@Repository
+public class ScheduleBackfillRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public ScheduleBackfillRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // default_time_slot row -> default_day.slot_mask
+    // slot_mask가 0인데 시간 row가 있는 요일만 (마스크 컬럼이 생기기 전 데이터)
+    public int backfillDefaultSlotMasks(){
+        Map<Long, Integer> masks = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT t.default_day_id, t.start_time FROM default_time_slot t " +
+                        "JOIN default_day d ON d.default_day_id = t.default_day_id WHERE d.slot_mask = 0",
+                rs -> {
+                    masks.merge(rs.getLong(1), slotBit(rs.getTime(2)), (a, b) -> a | b);
+                });
+        if(masks.isEmpty()) return 0;
+
+        List<Object[]> args = new ArrayList<>(masks.size());
+        masks.forEach((defaultDayId, mask) -> args.add(new Object[]{mask, defaultDayId}));
+        return sum(jdbcTemplate.batchUpdate(
+                "UPDATE default_day SET slot_mask = ? WHERE default_day_id = ? AND slot_mask = 0", args));
+    }
+
+    // available_time row(시간마다 한 row) -> available_date.custom_slots / booked_slots
+    // 예약이 연결된 시간은 booked, 옮긴 available_time row는 삭제 (다시 옮겨지지 않도록)
+    public int backfillAvailableTimes(){
+        if(!tableExists("available_time")) return 0;
+
+        Map<Long, int[]> slots = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT t.available_date_id, t.start_time, t.reservation_id FROM available_time t " +
+                        "JOIN available_date d ON d.available_date_id = t.available_date_id WHERE d.custom_slots IS NULL",
+                rs -> {
+                    int[] mask = slots.computeIfAbsent(rs.getLong(1), id -> new int[2]);
+                    int bit = slotBit(rs.getTime(2));
+                    mask[0] |= bit;
+                    rs.getLong(3);
+                    if(!rs.wasNull()) mask[1] |= bit;
+                });
+        if(slots.isEmpty()) return 0;
+
+        List<Object[]> updateArgs = new ArrayList<>(slots.size());
+        List<Object[]> deleteArgs = new ArrayList<>(slots.size());
+        slots.forEach((availableDateId, mask) -> {
+            updateArgs.add(new Object[]{mask[0], mask[1], availableDateId});
+            deleteArgs.add(new Object[]{availableDateId});
+        });
+        int updated = sum(jdbcTemplate.batchUpdate(
+                "UPDATE available_date SET custom_slots = ?, booked_slots = ? " +
+                "WHERE available_date_id = ? AND custom_slots IS NULL", updateArgs));
+        jdbcTemplate.batchUpdate("DELETE FROM available_time WHERE available_date_id = ?", deleteArgs);
+        return updated;
+    }
+
+    // 기본 일정이 있는데 schedule_open_date가 없는 상담사: 기존 날짜 row 중 가장 이른 날 (없으면 오늘)부터 공개
+    public int backfillScheduleOpenDates(LocalDate today){
+        return jdbcTemplate.update("UPDATE counselor SET schedule_open_date = COALESCE(" +
+                        "(SELECT MIN(a.date) FROM available_date a WHERE a.counselor_id = counselor.counselor_id), ?) " +
+                        "WHERE schedule_open_date IS NULL " +
+                        "AND EXISTS (SELECT 1 FROM default_day d WHERE d.counselor_id = counselor.counselor_id AND d.slot_mask <> 0)",
+                Date.valueOf(today));
+    }
+
+    private static int slotBit(Time startTime){
+        return SlotBitmapUtil.bitOf(startTime.toLocalTime());
+    }
+
+    private boolean tableExists(String table){
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for(String name : caseVariants(table)){
+                try(ResultSet rs = metaData.getTables(connection.getCatalog(), null, name, null)){
+                    if(rs.next()) return true;
+                }
+            }
+            return false;
+        }));
+    }
+
+    // MySQL은 소문자, H2는 대문자로 메타데이터를 저장
+    private static Set<String> caseVariants(String name){
+        Set<String> names = new HashSet<>();
+        names.add(name.toLowerCase());
+        names.add(name.toUpperCase());
+        return names;
+    }
+
+    private static int sum(int[] counts){
+        int total = 0;
+        for(int count : counts) total += Math.max(count, 0);
+        return total;
+    }
+}
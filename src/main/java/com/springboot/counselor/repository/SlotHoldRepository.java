@@ -0,0 +1,16 @@
+package com.springboot.counselor.repository;
+
+import java.time.Duration;
+import java.util.List;
+
+// 예약 진행(결제) 중인 슬롯 임시 점유 저장소 (key -> 점유자, TTL 지나면 자동 해제)
+public interface SlotHoldRepository {
+    // 모든 key가 비어 있거나 같은 점유자일 때만 한 번에 점유 (하나라도 남이 잡고 있으면 아무것도 안 함)
+    boolean holdAll(List<String> keys, String holder, Duration ttl);
+
+    // 점유자가 같은 key만 해제
+    void releaseAll(List<String> keys, String holder);
+
+    // key별 현재 점유자 (없으면 null)
+    List<String> findHolders(List<String> keys);
+}
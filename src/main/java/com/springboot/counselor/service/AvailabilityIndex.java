@@ -0,0 +1,326 @@
+package com.springboot.counselor.service;
+
+import com.springboot.counselor.entity.Counselor;
+import com.springboot.counselor.entity.DefaultDay;
+import com.springboot.counselor.repository.AvailableDateRepository;
+import com.springboot.counselor.repository.DefaultDayRepository;
+import com.springboot.reservation.entity.Reservation;
+import com.springboot.utils.CalendarUtil;
+import com.springboot.utils.SlotBitmapUtil;
+import com.springboot.utils.TransactionUtil;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// "이 날짜 이 시간에 상담 가능한 상담사" 검색용 인메모리 인덱스
+// (요일, 시) -> 기본 상담 시간이 열린 상담사 id 비트셋 + 날짜별로 저장된 일정(예외/예약)은 따로 덮어씀
+// 예약/취소/일정 수정 시 커밋 후 바로 반영하고, 매 시간 DB 기준으로 다시 만듦 (다른 서버에서 바뀐 내용 반영)
+// 다시 만드는 동안(DB를 읽는 중) 들어온 변경은 기록해 두었다가 교체한 새 인덱스에 다시 적용 (교체로 변경이 사라지지 않도록)
+// 결제 진행 중 점유(SlotHoldService)는 몇 분짜리라 색인하지 않음 -> 검색 결과에서 CounselorService가 걸러냄
+@Slf4j
+@Component
+public class AvailabilityIndex {
+    private final DefaultDayRepository defaultDayRepository;
+    private final AvailableDateRepository availableDateRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 상담사 id -> 검색 결과용 정보 (ACTIVE + 일정이 열린 상담사만)
+    private Map<Long, IndexedCounselor> counselors = new HashMap<>();
+    // 요일 -> 시작 시간(시)별 기본 상담 시간이 열린 상담사 id
+    private Map<DayOfWeek, BitSet[]> defaultSlotIndex = newDefaultSlotIndex();
+    // 날짜 -> 상담사 id -> 저장된 일정 (기본 상담 시간보다 우선)
+    private Map<LocalDate, Map<Long, DateSlots>> storedDates = new HashMap<>();
+    // rebuild가 DB를 읽기 시작한 뒤 적용된 변경 (rebuild 중이 아니면 null, write lock으로 보호)
+    private List<Runnable> changesDuringRebuild;
+
+    public AvailabilityIndex(DefaultDayRepository defaultDayRepository,
+                             AvailableDateRepository availableDateRepository) {
+        this.defaultDayRepository = defaultDayRepository;
+        this.availableDateRepository = availableDateRepository;
+    }
+
+    // date의 startTime부터 hours 시간 연속으로 비어 있는 상담사 검색 (type, maxPrice는 null이면 필터 안 함)
+    public List<IndexedCounselor> search(LocalDate date, LocalTime startTime, int hours,
+                                         Reservation.CounselingType type, Integer maxPrice){
+        if(LocalDateTime.of(date, startTime).isBefore(LocalDateTime.now()) || date.isAfter(CalendarUtil.getScheduleLimitDate())) return new ArrayList<>();
+        int startHour = startTime.getHour();
+        int requested = 0;
+        for(int hour = startHour; hour < startHour + hours; hour++){
+            requested |= 1 << hour;
+        }
+
+        lock.readLock().lock();
+        try{
+            // 기본 상담 시간 기준 후보 (요청한 시간이 전부 열린 상담사)
+            BitSet[] hourIndex = defaultSlotIndex.get(date.getDayOfWeek());
+            BitSet candidates = (BitSet) hourIndex[startHour].clone();
+            for(int hour = startHour + 1; hour < startHour + hours; hour++){
+                candidates.and(hourIndex[hour]);
+            }
+            // 저장된 일정이 있는 상담사는 그 일정으로 다시 판단
+            storedDates.getOrDefault(date, Collections.emptyMap()).forEach((counselorId, dateSlots) -> {
+                IndexedCounselor counselor = counselors.get(counselorId);
+                if(counselor == null) return;
+                int freeSlots = freeSlotsOf(counselor, date);
+                candidates.set(Math.toIntExact(counselorId), SlotBitmapUtil.containsAll(freeSlots, requested));
+            });
+
+            List<IndexedCounselor> result = new ArrayList<>();
+            for(int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)){
+                IndexedCounselor counselor = counselors.get((long) id);
+                if(counselor == null || date.isBefore(counselor.scheduleOpenDate)) continue;
+                if(matchesPrice(counselor, type, maxPrice)) result.add(counselor);
+            }
+            return result;
+        }finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 지금 이후 가장 빠른 예약 가능 슬롯 시작 시각 (없으면 null)
+    public LocalDateTime findNextFreeSlot(long counselorId){
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate limitDate = CalendarUtil.getScheduleLimitDate();
+
+        lock.readLock().lock();
+        try{
+            IndexedCounselor counselor = counselors.get(counselorId);
+            if(counselor == null) return null;
+            LocalDate date = counselor.scheduleOpenDate.isAfter(now.toLocalDate()) ? counselor.scheduleOpenDate : now.toLocalDate();
+            for(; !date.isAfter(limitDate); date = date.plusDays(1)){
+                int freeSlots = freeSlotsOf(counselor, date);
+                // 오늘은 이미 시작한 슬롯 제외
+                if(date.equals(now.toLocalDate())) freeSlots &= -(1 << (now.getHour() + 1));
+                if(freeSlots != 0) return date.atTime(Integer.numberOfTrailingZeros(freeSlots), 0);
+            }
+            return null;
+        }finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 상담사 정보/상태 변경 반영 (ACTIVE + 일정 열린 상담사만 색인, 나머지는 제거)
+    public void putCounselor(Counselor counselor){
+        long counselorId = counselor.getCounselorId();
+        IndexedCounselor indexedCounselor = isSearchable(counselor) ? toIndexedCounselor(counselor) : null;
+        TransactionUtil.afterCommit(() -> apply(() -> {
+            removeFromDefaultSlotIndex(counselorId);
+            if(indexedCounselor == null){
+                counselors.remove(counselorId);
+                return;
+            }
+            counselors.put(counselorId, indexedCounselor);
+            addToDefaultSlotIndex(indexedCounselor);
+        }));
+    }
+
+    // 요일별 기본 상담 시간 변경 반영
+    public void updateDefaultSlots(long counselorId, DayOfWeek dayOfWeek, int slotMask){
+        TransactionUtil.afterCommit(() -> apply(() -> {
+            IndexedCounselor counselor = counselors.get(counselorId);
+            if(counselor == null) return;
+            counselor.defaultSlots[dayOfWeek.ordinal()] = slotMask;
+            BitSet[] hourIndex = defaultSlotIndex.get(dayOfWeek);
+            for(int hour = 0; hour < SlotBitmapUtil.SLOTS_PER_DAY; hour++){
+                hourIndex[hour].set(Math.toIntExact(counselorId), (slotMask & (1 << hour)) != 0);
+            }
+        }));
+    }
+
+    // 날짜별 일정(예외 지정, 예약/취소) 변경 반영 (customSlots가 null이면 기본 상담 시간을 따름)
+    // 커밋 순서와 반영 순서가 다를 수 있으므로 더 오래된 version은 무시
+    public void updateDate(long counselorId, LocalDate date, Integer customSlots, int bookedSlots, long version){
+        if(date.isBefore(LocalDate.now()) || date.isAfter(CalendarUtil.getScheduleLimitDate())) return;
+        TransactionUtil.afterCommit(() -> apply(() -> {
+            Map<Long, DateSlots> dateSlotsOfDay = storedDates.computeIfAbsent(date, key -> new HashMap<>());
+            DateSlots current = dateSlotsOfDay.get(counselorId);
+            if(current != null && current.version > version) return;
+            dateSlotsOfDay.put(counselorId, new DateSlots(customSlots, bookedSlots, version));
+        }));
+    }
+
+    // 변경 적용 (rebuild 중이면 기록, 변경은 현재 필드를 기준으로 동작하므로 교체 후 다시 실행하면 새 인덱스에 적용됨)
+    private void apply(Runnable change){
+        lock.writeLock().lock();
+        try{
+            change.run();
+            if(changesDuringRebuild != null) changesDuringRebuild.add(change);
+        }finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // DB 기준으로 전체 다시 만들기 (지난 날짜도 같이 정리됨)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 0 * * * ?") // 매 시 정각에 실행
+    public synchronized void rebuild(){
+        long startedAt = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        LocalDate limitDate = CalendarUtil.getScheduleLimitDate();
+
+        // DB를 읽기 전부터 변경 기록 시작 (읽은 결과에 이미 들어 있을 수도 있지만 다시 적용해도 결과는 같음)
+        lock.writeLock().lock();
+        try{
+            changesDuringRebuild = new ArrayList<>();
+        }finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, IndexedCounselor> newCounselors = new HashMap<>();
+        Map<DayOfWeek, BitSet[]> newDefaultSlotIndex = newDefaultSlotIndex();
+        Map<LocalDate, Map<Long, DateSlots>> newStoredDates = new HashMap<>();
+        boolean loaded = false;
+        int replayed = 0;
+        try{
+            for(DefaultDay defaultDay : defaultDayRepository.findAllOfScheduledCounselors(Counselor.Status.ACTIVE)){
+                Counselor counselor = defaultDay.getCounselor();
+                IndexedCounselor indexedCounselor = newCounselors.computeIfAbsent(counselor.getCounselorId(),
+                        counselorId -> toIndexedCounselor(counselor, new int[DayOfWeek.values().length]));
+                indexedCounselor.defaultSlots[defaultDay.getDayOfWeek().ordinal()] = defaultDay.getSlotMask();
+            }
+            newCounselors.values().forEach(counselor -> addToDefaultSlotIndex(newDefaultSlotIndex, counselor));
+
+            for(Object[] row : availableDateRepository.findSlotsBetween(today, limitDate)){
+                newStoredDates.computeIfAbsent((LocalDate) row[1], key -> new HashMap<>())
+                        .put((Long) row[0], new DateSlots((Integer) row[2], (Integer) row[3], (Long) row[4]));
+            }
+            loaded = true;
+        }finally {
+            // 교체와 기록된 변경 재적용을 한 번에 (그 사이 검색/변경이 끼어들지 않음), 읽기에 실패했으면 기존 인덱스 유지
+            lock.writeLock().lock();
+            try{
+                if(loaded){
+                    counselors = newCounselors;
+                    defaultSlotIndex = newDefaultSlotIndex;
+                    storedDates = newStoredDates;
+                    changesDuringRebuild.forEach(Runnable::run);
+                    replayed = changesDuringRebuild.size();
+                }
+                changesDuringRebuild = null;
+            }finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Availability index rebuilt: {} counselors, {} changes replayed, {} ms", newCounselors.size(), replayed, System.currentTimeMillis() - startedAt);
+    }
+
+    // 지난 날짜 일정 제거 (매일 자정, 다음 rebuild 전까지 지난 날짜가 남아 있지 않도록)
+    @Scheduled(cron = "0 0 0 * * ?")
+    public void purgePastDates(){
+        purgeBefore(LocalDate.now());
+    }
+
+    void purgeBefore(LocalDate date){
+        lock.writeLock().lock();
+        try{
+            storedDates.keySet().removeIf(storedDate -> storedDate.isBefore(date));
+        }finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 특정 날짜의 빈 슬롯 (저장된 일정이 있으면 그걸로, 없으면 기본 상담 시간)
+    private int freeSlotsOf(IndexedCounselor counselor, LocalDate date){
+        int defaultSlots = counselor.defaultSlots[date.getDayOfWeek().ordinal()];
+        DateSlots dateSlots = storedDates.getOrDefault(date, Collections.emptyMap()).get(counselor.counselorId);
+        return dateSlots == null ? defaultSlots : dateSlots.getOpenSlots(defaultSlots) & ~dateSlots.bookedSlots;
+    }
+
+    private boolean isSearchable(Counselor counselor){
+        return counselor.getCounselorStatus() == Counselor.Status.ACTIVE && counselor.getScheduleOpenDate() != null;
+    }
+
+    private boolean matchesPrice(IndexedCounselor counselor, Reservation.CounselingType type, Integer maxPrice){
+        if(maxPrice == null) return true;
+        if(type == Reservation.CounselingType.CALL) return counselor.callPrice <= maxPrice;
+        if(type == Reservation.CounselingType.CHAT) return counselor.chatPrice <= maxPrice;
+        return Math.min(counselor.callPrice, counselor.chatPrice) <= maxPrice;
+    }
+
+    private IndexedCounselor toIndexedCounselor(Counselor counselor){
+        int[] defaultSlots = new int[DayOfWeek.values().length];
+        for(DayOfWeek dayOfWeek : DayOfWeek.values()){
+            defaultSlots[dayOfWeek.ordinal()] = counselor.getDefaultSlotsOf(dayOfWeek);
+        }
+        return toIndexedCounselor(counselor, defaultSlots);
+    }
+
+    private IndexedCounselor toIndexedCounselor(Counselor counselor, int[] defaultSlots){
+        return new IndexedCounselor(counselor.getCounselorId(), counselor.getName(), counselor.getProfileImage(),
+                counselor.getExpertise(), counselor.getChatPrice(), counselor.getCallPrice(),
+                counselor.getScheduleOpenDate(), defaultSlots);
+    }
+
+    private void addToDefaultSlotIndex(IndexedCounselor counselor){
+        addToDefaultSlotIndex(defaultSlotIndex, counselor);
+    }
+
+    private void addToDefaultSlotIndex(Map<DayOfWeek, BitSet[]> index, IndexedCounselor counselor){
+        int id = Math.toIntExact(counselor.counselorId);
+        for(DayOfWeek dayOfWeek : DayOfWeek.values()){
+            for(LocalTime time : SlotBitmapUtil.startTimesOf(counselor.defaultSlots[dayOfWeek.ordinal()])){
+                index.get(dayOfWeek)[time.getHour()].set(id);
+            }
+        }
+    }
+
+    private void removeFromDefaultSlotIndex(long counselorId){
+        int id = Math.toIntExact(counselorId);
+        defaultSlotIndex.values().forEach(hourIndex -> {
+            for(BitSet counselorIds : hourIndex){
+                counselorIds.clear(id);
+            }
+        });
+    }
+
+    private static Map<DayOfWeek, BitSet[]> newDefaultSlotIndex(){
+        Map<DayOfWeek, BitSet[]> index = new EnumMap<>(DayOfWeek.class);
+        for(DayOfWeek dayOfWeek : DayOfWeek.values()){
+            BitSet[] hourIndex = new BitSet[SlotBitmapUtil.SLOTS_PER_DAY];
+            for(int hour = 0; hour < hourIndex.length; hour++){
+                hourIndex[hour] = new BitSet();
+            }
+            index.put(dayOfWeek, hourIndex);
+        }
+        return index;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class IndexedCounselor {
+        private final long counselorId;
+        private final String name;
+        private final String profileImage;
+        private final String expertise;
+        private final int chatPrice;
+        private final int callPrice;
+        private final LocalDate scheduleOpenDate;
+        // 요일(ordinal)별 기본 상담 시간 비트마스크
+        @Getter(AccessLevel.NONE)
+        private final int[] defaultSlots;
+    }
+
+    @AllArgsConstructor
+    private static class DateSlots {
+        private final Integer customSlots;
+        private final int bookedSlots;
+        private final long version;
+
+        private int getOpenSlots(int defaultSlots){
+            return customSlots != null ? customSlots : defaultSlots;
+        }
+    }
+}
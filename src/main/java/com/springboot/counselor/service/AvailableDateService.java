@@ -0,0 +1,117 @@
+package com.springboot.counselor.service;
+
+import com.springboot.counselor.available_date.AvailableDate;
+import com.springboot.counselor.repository.AvailableDateRepository;
+import com.springboot.counselor.repository.CounselorRepository;
+import com.springboot.counselor.repository.DefaultDayRepository;
+import com.springboot.exception.BusinessLogicException;
+import com.springboot.exception.ExceptionCode;
+import com.springboot.utils.CalendarUtil;
+import com.springboot.utils.SlotBitmapUtil;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+// 상담사 날짜별 일정 조회 + 예약 슬롯 선점/반환
+// 슬롯 선점은 락 대신 "요청 슬롯이 비어 있을 때만" 조건부 UPDATE로 처리 (실제로 겹치는 요청만 실패)
+@Service
+public class AvailableDateService {
+    private final AvailableDateRepository availableDateRepository;
+    private final DefaultDayRepository defaultDayRepository;
+    private final CounselorRepository counselorRepository;
+    private final AvailabilityIndex availabilityIndex;
+    // 날짜 row 생성용 별도 트랜잭션
+    private final TransactionTemplate newTransaction;
+
+    public AvailableDateService(AvailableDateRepository availableDateRepository,
+                                DefaultDayRepository defaultDayRepository,
+                                CounselorRepository counselorRepository,
+                                AvailabilityIndex availabilityIndex,
+                                PlatformTransactionManager transactionManager) {
+        this.availableDateRepository = availableDateRepository;
+        this.defaultDayRepository = defaultDayRepository;
+        this.counselorRepository = counselorRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // (counselorId, date) 한 건만 조회
+    // 저장된 row가 없으면 요일별 기본 상담 시간으로 계산한 새 AvailableDate 반환 (저장은 예약/수정 시점에)
+    public AvailableDate findVerifiedAvailableDate(long counselorId, LocalDate date){
+        Optional<AvailableDate> optionalAvailableDate = availableDateRepository.findByCounselorCounselorIdAndDate(counselorId, date);
+        // 날짜별로 따로 지정한 일정이면 기본 상담 시간 필요 없음
+        if(optionalAvailableDate.isPresent() && optionalAvailableDate.get().getCustomSlots() != null){
+            return optionalAvailableDate.get();
+        }
+
+        Optional<Integer> optionalSlotMask = date.isAfter(CalendarUtil.getScheduleLimitDate())
+                ? Optional.empty()
+                : defaultDayRepository.findScheduledSlotMask(counselorId, date.getDayOfWeek(), date);
+        // 저장된 것도 없고 일정이 열린 날짜도 아님
+        if(optionalAvailableDate.isEmpty() && optionalSlotMask.isEmpty()) throw new BusinessLogicException(ExceptionCode.UNAVAILABLE_DATE);
+
+        AvailableDate availableDate = optionalAvailableDate
+                .orElseGet(() -> new AvailableDate(counselorRepository.getReferenceById(counselorId), date));
+        availableDate.setDefaultSlots(optionalSlotMask.orElse(0));
+        return availableDate;
+    }
+
+    // 예약할 날짜 row 준비: 아직 row가 없는 날짜면 빈 row를 만들어 커밋 ((counselor_id, date) unique라 동시에 하나만 성공)
+    // 슬롯 선점 트랜잭션을 시작하기 전에 호출 (그 트랜잭션에서 다른 요청이 만든 row도 보이고, 커넥션을 두 개 잡지 않음)
+    public AvailableDate prepareAvailableDate(long counselorId, LocalDate date){
+        try{
+            return newTransaction.execute(status -> {
+                AvailableDate availableDate = findVerifiedAvailableDate(counselorId, date);
+                if(availableDate.getAvailableDateId() == 0) availableDateRepository.saveAndFlush(availableDate);
+                return availableDate;
+            });
+        }catch (DataIntegrityViolationException e){
+            // 같은 날짜 row를 다른 요청이 먼저 만듦 -> 그 row 사용
+            return newTransaction.execute(status -> findVerifiedAvailableDate(counselorId, date));
+        }
+    }
+
+    // 예약 슬롯 선점 (예약 저장과 같은 트랜잭션에서 호출 -> 저장이 실패하면 선점도 같이 롤백)
+    // 여러 슬롯도 하루치 row 하나의 UPDATE 한 번이라 부분 성공이 없음
+    @Transactional
+    public void claimSlots(AvailableDate availableDate, List<LocalTime> startTimes){
+        // 열린 슬롯인지, 이미 예약된 슬롯은 아닌지 먼저 검사 (예외는 내부적으로 처리)
+        int requested = availableDate.validateReservationTimes(startTimes);
+        if(!SlotBitmapUtil.isContiguous(requested)) throw new BusinessLogicException(ExceptionCode.DISCONTINUOUS_TIME);
+
+        // 검사 후 다른 예약이 끼어들었으면 0건 (다른 슬롯을 예약한 요청은 겹치지 않으므로 성공)
+        long availableDateId = availableDate.getAvailableDateId();
+        int updated = availableDateRepository.claimBookedSlots(availableDateId, requested,
+                SlotBitmapUtil.lowestBitValue(requested), SlotBitmapUtil.spanValue(requested), availableDate.getDefaultSlots());
+        if(updated != 1) throw new BusinessLogicException(ExceptionCode.RESERVATION_TIMESLOT_OCCUPIED);
+        updateIndex(availableDate.getCounselor().getCounselorId(), availableDate.getDate(), availableDateId);
+    }
+
+    // 예약 취소 시 슬롯 반환 (예약 상태 변경과 같은 트랜잭션에서 호출)
+    // 반환할 슬롯이 모두 예약돼 있을 때만 빼므로 다른 예약의 슬롯을 지우지 않음
+    @Transactional
+    public void releaseSlots(long counselorId, LocalDate date, int slots){
+        if(!SlotBitmapUtil.isContiguous(slots)) throw new IllegalArgumentException("Reserved slots must be contiguous: " + slots);
+        availableDateRepository.findByCounselorCounselorIdAndDate(counselorId, date).ifPresent(availableDate -> {
+            long availableDateId = availableDate.getAvailableDateId();
+            int updated = availableDateRepository.releaseBookedSlots(availableDateId, slots,
+                    SlotBitmapUtil.lowestBitValue(slots), SlotBitmapUtil.spanValue(slots));
+            if(updated == 1) updateIndex(counselorId, date, availableDateId);
+        });
+    }
+
+    // 조건부 UPDATE 후의 DB 값으로 검색 인덱스 반영 (커밋 후)
+    private void updateIndex(long counselorId, LocalDate date, long availableDateId){
+        Object[] state = availableDateRepository.findSlotState(availableDateId).get(0);
+        availabilityIndex.updateDate(counselorId, date, (Integer) state[0], (Integer) state[1], (Long) state[2]);
+    }
+}
@@ -0,0 +1,151 @@
+package com.springboot.counselor.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.springboot.counselor.dto.CounselorDto;
+import com.springboot.utils.TransactionUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+// 상담사 프로필 응답(CounselorDto.Response) 2단계 캐시
+// L1: 서버 메모리 (Caffeine, 짧은 TTL - 다른 서버에서 바뀐 내용은 TTL 지나면 반영)
+// L2: Redis (JSON, 서버끼리 공유)
+// 상담사 정보/일정/예약이 바뀌면 커밋 후 두 단계 모두 삭제
+// 삭제 전에 읽기 시작한 조회가 옛날 값을 다시 채우지 않도록
+// L1은 Caffeine 로딩(로딩 중인 키의 삭제는 로딩이 끝난 뒤 적용), L2는 상담사별 세대 번호가 들어간 키 사용 (삭제 = 세대 증가)
+// Redis 오류는 로그만 남기고 L1/DB로 처리 (조회가 실패하거나, 커밋 후 작업이 중간에 끊기지 않도록)
+@Slf4j
+@Component
+public class CounselorProfileCache {
+    private static final String KEY_PREFIX = "counselor-profile:";
+    private static final String GENERATION_KEY_PREFIX = "counselor-profile-generation:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, CounselorDto.Response> localCache;
+    private final Duration redisTtl;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+
+    public CounselorProfileCache(StringRedisTemplate stringRedisTemplate,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${toktalk.profile-cache.local-ttl-seconds:30}") long localTtlSeconds,
+                                 @Value("${toktalk.profile-cache.local-max-size:10000}") long localMaxSize,
+                                 @Value("${toktalk.profile-cache.redis-ttl-seconds:600}") long redisTtlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.localCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .maximumSize(localMaxSize)
+                .build();
+        this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+
+        this.localHits = cacheCounter(meterRegistry, "local", "hit");
+        this.localMisses = cacheCounter(meterRegistry, "local", "miss");
+        this.redisHits = cacheCounter(meterRegistry, "redis", "hit");
+        this.redisMisses = cacheCounter(meterRegistry, "redis", "miss");
+    }
+
+    // L1 -> L2 -> loader 순서로 조회하고, 못 찾은 단계에 채워 넣음
+    public CounselorDto.Response get(long counselorId, Supplier<CounselorDto.Response> loader){
+        CounselorDto.Response response = localCache.getIfPresent(counselorId);
+        if(response != null){
+            localHits.increment();
+            return response;
+        }
+        localMisses.increment();
+        // 같은 상담사를 동시에 조회하면 한 번만 로딩
+        return localCache.get(counselorId, id -> loadShared(id, loader));
+    }
+
+    // 커밋 후 삭제 (커밋 전에 지우면 그 사이 조회가 옛날 값을 다시 채울 수 있음)
+    // L2는 세대만 올림 -> 올리기 전에 읽은 세대로 쓰는 옛날 값은 다시 읽히지 않음
+    public void evict(long counselorId){
+        TransactionUtil.afterCommit(() -> {
+            try{
+                String generationKey = GENERATION_KEY_PREFIX + counselorId;
+                stringRedisTemplate.opsForValue().increment(generationKey);
+                // 세대 키가 사라져 0으로 돌아가도 그 세대의 캐시는 이미 만료돼 있도록 캐시 TTL보다 길게 유지
+                stringRedisTemplate.expire(generationKey, redisTtl.multipliedBy(2));
+            }catch (RuntimeException e){
+                // L2는 TTL이 지나면 반영됨
+                log.warn("Failed to evict counselor profile from Redis: {}", counselorId, e);
+            }finally {
+                localCache.invalidate(counselorId);
+            }
+        });
+    }
+
+    private CounselorDto.Response loadShared(long counselorId, Supplier<CounselorDto.Response> loader){
+        // 로딩 전에 세대를 읽어야 로딩 중 삭제된 경우 옛날 세대 키에 쓰게 됨
+        String generation = currentGeneration(counselorId);
+        // 세대를 모르면 L2를 쓰지 않고 DB에서 읽음
+        if(generation == null) return loader.get();
+        String valueKey = KEY_PREFIX + counselorId + ":" + generation;
+        CounselorDto.Response response = readRedis(counselorId, valueKey);
+        if(response != null){
+            redisHits.increment();
+            return response;
+        }
+        redisMisses.increment();
+        response = loader.get();
+        writeRedis(counselorId, valueKey, response);
+        return response;
+    }
+
+    // Redis 오류면 null
+    private String currentGeneration(long counselorId){
+        try{
+            String generation = stringRedisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + counselorId);
+            return generation == null ? "0" : generation;
+        }catch (RuntimeException e){
+            log.warn("Failed to read counselor profile generation: {}", counselorId, e);
+            return null;
+        }
+    }
+
+    private CounselorDto.Response readRedis(long counselorId, String valueKey){
+        try{
+            String json = stringRedisTemplate.opsForValue().get(valueKey);
+            if(json == null) return null;
+            return objectMapper.readValue(json, CounselorDto.Response.class);
+        }catch (JsonProcessingException e){
+            // 응답 형식이 바뀐 옛날 캐시 등 -> 무시하고 새로 만듦
+            log.warn("Failed to read cached counselor profile: {}", counselorId, e);
+            return null;
+        }catch (RuntimeException e){
+            log.warn("Failed to read counselor profile from Redis: {}", counselorId, e);
+            return null;
+        }
+    }
+
+    private void writeRedis(long counselorId, String valueKey, CounselorDto.Response response){
+        try{
+            stringRedisTemplate.opsForValue().set(valueKey, objectMapper.writeValueAsString(response), redisTtl);
+        }catch (JsonProcessingException e){
+            log.warn("Failed to cache counselor profile: {}", counselorId, e);
+        }catch (RuntimeException e){
+            log.warn("Failed to write counselor profile to Redis: {}", counselorId, e);
+        }
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String level, String result){
+        return Counter.builder("counselor.profile.cache")
+                .tag("level", level)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
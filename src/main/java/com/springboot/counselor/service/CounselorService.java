@@ -2,10 +2,11 @@ package com.springboot.counselor.service;
 
 import com.springboot.auth.utils.CustomAuthorityUtils;
 import com.springboot.counselor.available_date.AvailableDate;
-import com.springboot.counselor.available_date.AvailableTime;
 import com.springboot.counselor.dto.AvailableDateDto;
 import com.springboot.counselor.dto.CounselorDto;
 import com.springboot.counselor.entity.*;
+import com.springboot.counselor.repository.AvailableDateRepository;
+import com.springboot.counselor.repository.CounselorCardView;
 import com.springboot.counselor.repository.CounselorRepository;
 import com.springboot.exception.BusinessLogicException;
 import com.springboot.exception.ExceptionCode;
@@ -16,9 +17,11 @@ import com.springboot.reservation.repository.ReservationRepository;
 import com.springboot.reservation.service.ReservationService;
 import com.springboot.utils.CalendarUtil;
 import com.springboot.utils.IntValidationUtil;
+import com.springboot.utils.SlotBitmapUtil;
 import com.springboot.utils.TimeUtils;
+import com.springboot.utils.TransactionUtil;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,6 +37,12 @@ import java.util.stream.Collectors;
 @Transactional
 public class CounselorService {
     private final CounselorRepository counselorRepository;
+    private final AvailableDateRepository availableDateRepository;
+    private final AvailableDateService availableDateService;
+    private final SlotHoldService slotHoldService;
+    private final AvailabilityIndex availabilityIndex;
+    private final CounselorProfileCache counselorProfileCache;
+    private final RatingLeaderboardService ratingLeaderboardService;
     private final CustomAuthorityUtils customAuthorityUtils;
     private final PasswordEncoder passwordEncoder;
     private final MemberRepository memberRepository;
@@ -41,12 +50,24 @@ public class CounselorService {
     private final ReservationService reservationService;
 
     public CounselorService(CounselorRepository counselorRepository,
+                            AvailableDateRepository availableDateRepository,
+                            AvailableDateService availableDateService,
+                            SlotHoldService slotHoldService,
+                            AvailabilityIndex availabilityIndex,
+                            CounselorProfileCache counselorProfileCache,
+                            RatingLeaderboardService ratingLeaderboardService,
                             CustomAuthorityUtils customAuthorityUtils,
                             PasswordEncoder passwordEncoder,
                             MemberRepository memberRepository,
                             ReservationRepository reservationRepository,
                             @Lazy ReservationService reservationService) {
         this.counselorRepository = counselorRepository;
+        this.availableDateRepository = availableDateRepository;
+        this.availableDateService = availableDateService;
+        this.slotHoldService = slotHoldService;
+        this.availabilityIndex = availabilityIndex;
+        this.counselorProfileCache = counselorProfileCache;
+        this.ratingLeaderboardService = ratingLeaderboardService;
         this.customAuthorityUtils = customAuthorityUtils;
         this.passwordEncoder = passwordEncoder;
         this.memberRepository = memberRepository;
@@ -96,6 +117,7 @@ public class CounselorService {
     }
     // 자격증 추가
     public void addLicense(long counselorId, List<License> licenses){
+        counselorProfileCache.evict(counselorId);
         Counselor counselor = findVerifiedCounselor(counselorId);
         // 3개 넘개는 추가 안됨
         if(counselor.getLicenses().size() + licenses.size() > 3) throw new BusinessLogicException(ExceptionCode.LICENSE_AMOUNT_VIOLATION);
@@ -108,6 +130,7 @@ public class CounselorService {
     }
     // 자격증 삭제
     public void deleteLicense(long counselorId, int licenseNumber){
+        counselorProfileCache.evict(counselorId);
         Counselor counselor = findVerifiedCounselor(counselorId);
         List<License> licenses = counselor.getLicenses();
 
@@ -123,6 +146,7 @@ public class CounselorService {
     }
     // 경력사항 추가
     public void addCareer(long counselorId, List<Career> careers){
+        counselorProfileCache.evict(counselorId);
         Counselor counselor = findVerifiedCounselor(counselorId);
         // 3개 넘개는 추가 안됨
         if(counselor.getCareers().size() + careers.size() > 3) throw new BusinessLogicException(ExceptionCode.CAREER_AMOUNT_VIOLATION);
@@ -136,6 +160,7 @@ public class CounselorService {
 
     // 상담사 태그 추가
     public void addKeyword(long counselorId, String word){
+        counselorProfileCache.evict(counselorId);
         Counselor counselor = findVerifiedCounselor(counselorId);
 
         Keyword keyword = new Keyword();
@@ -147,6 +172,7 @@ public class CounselorService {
 
     // 단일 경력사항 삭제
     public void deleteCareer(long counselorId, int careerNumber){
+        counselorProfileCache.evict(counselorId);
         Counselor counselor = findVerifiedCounselor(counselorId);
         List<Career> careers = counselor.getCareers();
 
@@ -163,17 +189,24 @@ public class CounselorService {
 
     // 특정 요일의 기본 상담 시간 수정
     public void setDefaultDays(long counselorId, CounselorDto.DefaultDays dto, boolean isInitialization){
+        counselorProfileCache.evict(counselorId);
 
         Counselor counselor = findVerifiedCounselor(counselorId);
+        // 슬롯은 정시 단위로만 등록 가능
+        validateSlotTimes(dto.getTimes());
 
         // 먼저 뭐가 추가할 타임인지, 뭐가 삭제할 타임인지 판별
         List<LocalTime> currentTimes = counselor.getDefaultDays().get(dto.getDayOfWeek()).getStartTimes();
         List<LocalTime> newTimes = dto.getTimes();
 
         TimeUtils.TimeComparisonResult comparisonResult = TimeUtils.compare(currentTimes, newTimes);
-        Set<LocalTime> additions = comparisonResult.getAdditions();
         Set<LocalTime> removes = comparisonResult.getRemoved();
 
+        // 기본 상담 시간을 따르는 날짜 중 예약이 잡힌 시간은 삭제할 수 없음
+        if(!isInitialization){
+            validateDefaultSlotRemoval(counselorId, dto.getDayOfWeek(), SlotBitmapUtil.maskOf(removes));
+        }
+
         // 해당 요일에 대해 Counselor의 Default 상담시간 업데이트
         DefaultDay defaultDay = counselor.getDefaultDays().get(dto.getDayOfWeek());
         // 먼저 기존의 DefaultTimeSlot 비우기
@@ -185,135 +218,95 @@ public class CounselorService {
             timeSlot.setEndTime(time.plusMinutes(50));
             timeSlot.setDefaultDay(defaultDay); // 하나씩 등록 (DefaultDay <-> DefaultTimeslot 양방향 set메서드)
         }
-
-        // 수정된 정보에 맞게 실제 AvailableTimes 목록 변경
-        if(!isInitialization){
-            updateAvailableTimes(counselor, dto.getDayOfWeek(), additions, removes);
-        }
+        // 날짜별 일정은 조회 시점에 이 비트마스크로 계산되므로 날짜별 row는 건드리지 않음
+        defaultDay.setSlotMask(SlotBitmapUtil.maskOf(dto.getTimes()));
+        availabilityIndex.updateDefaultSlots(counselorId, dto.getDayOfWeek(), defaultDay.getSlotMask());
     }
 
     // default days 초기화 여부 조회
     public boolean areDefaultDaysInitialized(long counselorId){
         Counselor counselor = findVerifiedCounselor(counselorId);
-        return !counselor.getAvailableDates().isEmpty();
+        return counselor.getScheduleOpenDate() != null;
     }
 
-    // 상담사의 이번 달 포함 n달 치 AvailableTimes 추가 (새로 추가)
-    public void addInitialAvailableTimes(long counselorId, int months){
+    // 기본 상담 시간 첫 등록 시 오늘부터 일정 열기 (날짜별 row는 미리 만들지 않음)
+    public void openSchedule(long counselorId){
+        counselorProfileCache.evict(counselorId);
         Counselor counselor = findVerifiedCounselor(counselorId);
-        // months는 자연수만 들어와야 함
-        if(months < 1) throw new BusinessLogicException(ExceptionCode.INVALID_MONTH_PARAMETER);
-        // 한계일 설정 ({month - 1} 개월 뒤의 마지막 날짜)
-        LocalDate limitDate = LocalDate.now().withDayOfMonth(1).plusMonths(months).minusDays(1);
-        addAvailableTimes(counselor, LocalDate.now(), limitDate);
-    }
-
-    // 달이 넘어갈 때 다다음 달의 AvailableTimes 추가
-    @Scheduled(cron = "0 0 0 1 * ?") // 매월 1일 0시 0분 0초에 실행
-    public void addExtraAvailableTimes(){
-        LocalDate startDate = LocalDate.now().plusMonths(1);
-        LocalDate limitDate = LocalDate.now().plusMonths(2).minusDays(1);
-        // 모든 상담사에 대해 실행
-        counselorRepository.findAll().forEach(counselor -> {
-            // 물론 유효한 상담사들에 한해서
-            if(counselor.getCounselorStatus().equals(Counselor.Status.ACTIVE)){
-                addAvailableTimes(counselor, startDate, limitDate);
-            }
-        });
-    }
-    private void addAvailableTimes(Counselor counselor, LocalDate startDate, LocalDate limitDate){
-        // 범위 내에서 각 요일에 대한 기본 시간표를 바탕으로 AvailableTime 생성
-        counselor.getDefaultDays().forEach((dayOfWeek, defaultDay) -> {
-            // 기준일 설정 (오늘 날짜 기준 가장 가까운 해당 요일로 초기화)
-            LocalDate refDate = CalendarUtil.getNextDateOfCertainDayOfWeek(dayOfWeek, startDate);
-            while(refDate.isBefore(limitDate)){
-                // AvailableDate 생성 및 등록
-                AvailableDate targetDate = new AvailableDate();
-                targetDate.setDate(refDate);
-                targetDate.setCounselor(counselor); // Counselor <-> AvailableDate 양방향 set 메서드
-                // AvailableTime 생성 및 등록
-                defaultDay.getStartTimes().forEach(time -> {
-                    AvailableTime newAvailableTime = new AvailableTime();
-                    newAvailableTime.setStartTime(time);
-                    newAvailableTime.setEndTime(time.plusMinutes(50));
-                    newAvailableTime.setAvailableDate(targetDate); // AvailableDate <-> AvailableTime 양방향 set 메서드
-                });
-                refDate = refDate.plusDays(7);
-            }
-        });
+        if(counselor.getScheduleOpenDate() == null){
+            counselor.setScheduleOpenDate(LocalDate.now());
+        }
+        availabilityIndex.putCounselor(counselor);
     }
 
-    // 상담사의 특정 요일 AvailableTimes 정보 변경
-    private void updateAvailableTimes(Counselor counselor, DayOfWeek dayOfWeek, Set<LocalTime> additions, Set<LocalTime> removes){
-        List<AvailableDate> dates = counselor.getAvailableDatesInCertainDayOfWeek(dayOfWeek);
-        // 해당 요일의 모든 AvailableDate에 대해
-        for(AvailableDate date : dates){
-            // additions에 해당하는 시간 추가
-            for(LocalTime addition : additions){
-                AvailableTime newTime = new AvailableTime();
-                newTime.setStartTime(addition);
-                newTime.setEndTime(addition.plusMinutes(50));
-                newTime.setAvailableDate(date); // AvailableDate <-> AvailableTime 양방향 set 메서드
-            }
-            // 그리고 removes에 해당하는 시간 삭제
-            for(LocalTime remove : removes){
-                // 이 시간에 이미 잡혀 있는 예약이 있으면 삭제할 수 없음
-                if(date.getAvailableTimes().get(remove).getReservation() != null) throw new BusinessLogicException(ExceptionCode.TIMESLOT_DELETION_DENIED);
-                date.getAvailableTimes().remove(remove);
-            }
-        }
-        counselorRepository.save(counselor);
+    // 기본 상담 시간에서 빠지는 슬롯에 예약이 잡힌 날짜가 있는지 검사
+    private void validateDefaultSlotRemoval(long counselorId, DayOfWeek dayOfWeek, int removeMask){
+        if(removeMask == 0) return;
+        boolean occupied = availableDateRepository.findBookedDefaultDates(counselorId, LocalDate.now()).stream()
+                .filter(availableDate -> availableDate.getDate().getDayOfWeek() == dayOfWeek)
+                .anyMatch(availableDate -> SlotBitmapUtil.intersects(availableDate.getBookedSlots(), removeMask));
+        if(occupied) throw new BusinessLogicException(ExceptionCode.TIMESLOT_DELETION_DENIED);
     }
+
     // 특정 날짜에 대한 AvailableDate 조회
     public AvailableDate getAvailableDate(long counselorId, LocalDate date){
-        Counselor counselor = findVerifiedCounselor(counselorId);
-
-        Optional<AvailableDate> optionalAvailableDate = Optional.ofNullable(counselor.getAvailableDate(date));
-        return optionalAvailableDate.orElseThrow(() -> new BusinessLogicException(ExceptionCode.UNAVAILABLE_DATE));
+        return findVerifiedAvailableDate(counselorId, date);
     }
     // 특정 날짜에 대한 예약 가능한 시간만을 포함하는 AvailableDate 조회
     public AvailableDate getFilteredAvailableDate(long counselorId, LocalDate date){
-        Counselor counselor = findVerifiedCounselor(counselorId);
-
-        Optional<AvailableDate> optionalAvailableDate = Optional.ofNullable(counselor.getAvailableDate(date));
-        AvailableDate availableDate = optionalAvailableDate.orElseThrow(() -> new BusinessLogicException(ExceptionCode.UNAVAILABLE_DATE));
+        AvailableDate availableDate = findVerifiedAvailableDate(counselorId, date);
 
-        // 예약 잡힌 시간은 빼고 반환
-        Map<LocalTime, AvailableTime> filteredAvailableTimes = availableDate.getAvailableTimes().entrySet().stream()
-                .filter(entry -> entry.getValue().getReservation() == null)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        // 예약 잡힌 시간과 결제 진행 중(점유)인 시간은 빼고 반환 (열린 슬롯 & ~예약된 슬롯 & ~점유된 슬롯)
         // cascade orphan removal 땜에 새로 만들어서 반환
+        int freeSlots = availableDate.getFreeSlots();
         AvailableDate tempAvailableDate = new AvailableDate();
-        tempAvailableDate.setAvailableTimes(filteredAvailableTimes);
+        tempAvailableDate.setAvailableDateId(availableDate.getAvailableDateId());
+        tempAvailableDate.setDate(availableDate.getDate());
+        tempAvailableDate.setCustomSlots(freeSlots & ~slotHoldService.getHeldSlots(counselorId, date, freeSlots));
         return tempAvailableDate;
     }
     // 특정 날짜에 대한 AvailableDate 수정
     public void updateAvailableDate(long counselorId, AvailableDateDto.Patch patchDto){
-        LocalDate date = patchDto.getDate();
+        counselorProfileCache.evict(counselorId);
+        AvailableDate availableDate = findVerifiedAvailableDate(counselorId, patchDto.getDate());
+        // 슬롯은 정시 단위로만 등록 가능
+        validateSlotTimes(patchDto.getTimes());
+        // 새 슬롯 목록으로 교체 (예약 있는 슬롯이 빠지면 내부적으로 예외 발생)
+        availableDate.updateOpenSlots(SlotBitmapUtil.maskOf(patchDto.getTimes()));
+        // 변경사항 저장 (바로 flush해서 올라간 version으로 인덱스 반영)
+        AvailableDate savedDate = availableDateRepository.saveAndFlush(availableDate);
+        availabilityIndex.updateDate(counselorId, savedDate.getDate(), savedDate.getCustomSlots(), savedDate.getBookedSlots(), savedDate.getVersion());
+    }
+
+    // 특정 상담사의 특정 기간 AvailableDate 조회 (날짜 -> AvailableDate)
+    // 저장된 날짜 + 요일별 기본 상담 시간으로 계산한 날짜 (일정이 없는 날짜는 포함되지 않음)
+    public Map<LocalDate, AvailableDate> getAvailableDates(long counselorId, LocalDate startDate, LocalDate endDate){
         Counselor counselor = findVerifiedCounselor(counselorId);
-        AvailableDate availableDate = counselor.getAvailableDate(date);
-        // 먼저 해당일의 AvailableTimes를 가져옴
-        Map<LocalTime, AvailableTime> availableTimes = counselor.getAvailableDate(date).getAvailableTimes();
-        List<LocalTime> currentTimes = new ArrayList<>(availableTimes.keySet());
-        // 뭐가 추가된 것이고 삭제된 것인지 판별
-        TimeUtils.TimeComparisonResult comparisonResult = TimeUtils.compare(currentTimes, patchDto.getTimes());
-        // 추가된 건 새로 만들어서 넣기
-        comparisonResult.getAdditions().forEach(time -> {
-            AvailableTime availableTime = new AvailableTime();
-            availableTime.setStartTime(time);
-            availableTime.setEndTime(time.plusMinutes(50));
-            availableTime.setAvailableDate(availableDate); // AvailableDate <-> AvailableTime 양방향 set메서드
-        });
-        // 삭제된 건 제거
-        comparisonResult.getRemoved().forEach(time -> {
-            AvailableTime availableTime = availableDate.getAvailableTimes().get(time);
-            // 예약 있으면 제거 불가
-            if(availableTime.getReservation() != null) throw new BusinessLogicException(ExceptionCode.TIMESLOT_DELETION_DENIED);
-            // 예약 없으면 제거 진행
-            availableDate.getAvailableTimes().remove(time);
-        });
-        // 변경사항 저장
-        counselorRepository.save(counselor);
+        Map<LocalDate, AvailableDate> storedDates = availableDateRepository.findByCounselorCounselorIdAndDateBetween(counselorId, startDate, endDate).stream()
+                .collect(Collectors.toMap(AvailableDate::getDate, availableDate -> availableDate));
+        return counselor.resolveAvailableDates(startDate, endDate, storedDates).stream()
+                .collect(Collectors.toMap(AvailableDate::getDate, availableDate -> availableDate));
+    }
+
+    // 특정 날짜/시간에 연속으로 hours 시간 상담 가능한 상담사 검색 (인메모리 인덱스 조회, DB 안 탐)
+    public List<AvailabilityIndex.IndexedCounselor> searchAvailableCounselors(LocalDate date, LocalTime startTime, int hours,
+                                                                            Reservation.CounselingType type, Integer maxPrice){
+        // 정시 시작, 하루 안에 끝나야 함
+        if(!SlotBitmapUtil.isSlotTime(startTime) || hours < 1 || startTime.getHour() + hours > SlotBitmapUtil.SLOTS_PER_DAY){
+            throw new BusinessLogicException(ExceptionCode.UNAVAILABLE_TIME);
+        }
+        List<AvailabilityIndex.IndexedCounselor> counselors = availabilityIndex.search(date, startTime, hours, type, maxPrice);
+        // 결제 진행 중인(점유된) 슬롯은 예약할 수 없으므로 제외
+        // 점유는 몇 분짜리라 인덱스에 넣지 않고 검색 결과에 대해서만 한 번에 조회
+        List<Long> counselorIds = counselors.stream()
+                .map(AvailabilityIndex.IndexedCounselor::getCounselorId)
+                .collect(Collectors.toList());
+        int requested = SlotBitmapUtil.rangeMaskOf(startTime, startTime.plusHours(hours - 1).plusMinutes(SlotBitmapUtil.SLOT_MINUTES));
+        Set<Long> holding = slotHoldService.findCounselorsHolding(counselorIds, date, requested);
+        if(holding.isEmpty()) return counselors;
+        return counselors.stream()
+                .filter(counselor -> !holding.contains(counselor.getCounselorId()))
+                .collect(Collectors.toList());
     }
 
     // 특정 요일에 대한 기본 상담 시간 조회
@@ -327,6 +320,12 @@ public class CounselorService {
         return times;
     }
 
+    private void validateSlotTimes(List<LocalTime> times){
+        for(LocalTime time : times){
+            if(!SlotBitmapUtil.isSlotTime(time)) throw new BusinessLogicException(ExceptionCode.UNAVAILABLE_TIME);
+        }
+    }
+
     public Counselor findCounselor(long counselorId){
         return findVerifiedCounselor(counselorId);
     }
@@ -337,12 +336,17 @@ public class CounselorService {
         Optional<Counselor> optionalCounselor = counselorRepository.findById(counselorId);
         return optionalCounselor.orElseThrow(() -> new BusinessLogicException(ExceptionCode.COUNSELOR_NOT_FOUND));
     }
+    // (counselorId, date) 한 건만 조회 (Counselor의 전체 일정을 로딩하지 않음)
+    private AvailableDate findVerifiedAvailableDate(long counselorId, LocalDate date){
+        return availableDateService.findVerifiedAvailableDate(counselorId, date);
+    }
     private Counselor findVerifiedCounselor(String userId){
         Optional<Counselor> optionalCounselor = counselorRepository.findByUserId(userId);
         return optionalCounselor.orElseThrow(() -> new BusinessLogicException(ExceptionCode.COUNSELOR_NOT_FOUND));
     }
 
     public Counselor updateCounselor(Counselor counselor){
+        counselorProfileCache.evict(counselor.getCounselorId());
         Counselor realCounselor = findVerifiedCounselor(counselor.getCounselorId());
 
         Optional.ofNullable(counselor.getPassword())
@@ -373,6 +377,7 @@ public class CounselorService {
                         .ifPresent(sessionDescription -> realCounselor.setSessionDescription(sessionDescription));
 
         realCounselor.setModifiedAt(LocalDateTime.now());
+        availabilityIndex.putCounselor(realCounselor);
         return counselorRepository.save(realCounselor);
     }
     private boolean isUserIdAvailable(String userId){
@@ -380,12 +385,43 @@ public class CounselorService {
         Optional<Counselor> optionalCounselor = counselorRepository.findByUserId(userId);
         return optionalMember.isEmpty() && optionalCounselor.isEmpty();
     }
-    // 전체 상담사 조회
-    public List<Counselor> getAllActiveCounselors(){
-        List<Counselor> counselors = counselorRepository.findAll();
-        return counselors.stream()
-                .filter(counselor -> counselor.getCounselorStatus().equals(Counselor.Status.ACTIVE))
-                .collect(Collectors.toList());
+    // 활동중인 상담사 카드 목록 (lastCounselorId 다음부터 size명, 상태 필터는 DB에서)
+    public List<CounselorCardView> getActiveCounselorCards(long lastCounselorId, int size){
+        return counselorRepository.findByCounselorStatusAndCounselorIdGreaterThanOrderByCounselorId(
+                Counselor.Status.ACTIVE, lastCounselorId, PageRequest.of(0, size));
+    }
+
+    // 상담사별 키워드 (counselorId -> 키워드 목록)
+    public Map<Long, List<String>> getKeywordsOf(Collection<Long> counselorIds){
+        if(counselorIds.isEmpty()) return new HashMap<>();
+        return counselorRepository.findKeywordsOf(counselorIds).stream()
+                .collect(Collectors.groupingBy(row -> (Long) row[0],
+                        Collectors.mapping(row -> (String) row[1], Collectors.toList())));
+    }
+
+    // 지금 이후 가장 빠른 예약 가능 슬롯 (없으면 null, 인메모리 인덱스 조회)
+    public LocalDateTime getNextAvailableSlot(long counselorId){
+        return availabilityIndex.findNextFreeSlot(counselorId);
+    }
+
+    // 평점 상위 상담사 (Redis 순위표, 1위부터)
+    public List<RatingLeaderboardService.RankEntry> getTopRatedCounselors(int size){
+        return ratingLeaderboardService.getTopCounselors(size);
+    }
+
+    // 여러 상담사의 카드 정보 (counselorId -> 카드)
+    @Transactional(readOnly = true)
+    public Map<Long, CounselorCardView> getCounselorCards(Collection<Long> counselorIds){
+        if(counselorIds.isEmpty()) return new HashMap<>();
+        return counselorRepository.findByCounselorIdIn(counselorIds).stream()
+                .collect(Collectors.toMap(CounselorCardView::getCounselorId, cardView -> cardView));
+    }
+
+    // 특정 상담사의 평점 순위 + 별점 분포
+    @Transactional(readOnly = true)
+    public RatingLeaderboardService.RankEntry getRatingRank(long counselorId){
+        findVerifiedCounselor(counselorId);
+        return ratingLeaderboardService.getRank(counselorId);
     }
 
     // 검증후 Fcm토큰을 저장하는 메서드
@@ -406,23 +442,18 @@ public class CounselorService {
 
     // 남은 상담 건수 조회
     public int getReservationCount(long counselorId){
-        List<Reservation> reservations = reservationRepository.findByCounselorId(counselorId);
-
         // 상태가 PENDING인 상담 건들의 갯수를 반환
-        return (int) reservations.stream()
-                .filter(reservation -> reservation.getReservationStatus().equals(Reservation.ReservationStatus.PENDING))
-                .count();
+        return (int) reservationRepository.countByCounselorIdAndReservationStatus(counselorId, Reservation.ReservationStatus.PENDING);
     }
 
     // 상담사 탈퇴
     public void quitCounselor(long counselorId){
+        counselorProfileCache.evict(counselorId);
         // 상담사 가져오기
         Counselor counselor = findVerifiedCounselor(counselorId);
 
         // 먼저 남은 상담들 가져오기
-        List<Reservation> reservations = reservationRepository.findByCounselorId(counselorId).stream()
-                .filter(reservation -> reservation.getReservationStatus().equals(Reservation.ReservationStatus.PENDING))
-                .collect(Collectors.toList());
+        List<Reservation> reservations = reservationRepository.findByCounselorIdAndReservationStatus(counselorId, Reservation.ReservationStatus.PENDING);
         // 상담 예약 취소
         reservations.forEach(reservation -> {
             reservationService.cancelReservationByCounselor(reservation.getReservationId(), "상담사 회원 탈퇴로 자동 취소되었습니다.");
@@ -430,5 +461,8 @@ public class CounselorService {
         // 회원 탈퇴
         counselor.setCounselorStatus(Counselor.Status.INACTIVE);
         counselorRepository.save(counselor);
+        availabilityIndex.putCounselor(counselor);
+        // 평점 순위에서도 제외 (커밋 후)
+        TransactionUtil.afterCommit(() -> ratingLeaderboardService.remove(counselorId));
     }
 }
@@ -0,0 +1,221 @@
+package com.springboot.counselor.service;
+
+import com.springboot.counselor.entity.Counselor;
+import com.springboot.counselor.repository.CounselorRepository;
+import com.springboot.exception.BusinessLogicException;
+import com.springboot.exception.ExceptionCode;
+import com.springboot.reservation.repository.ReservationRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Stream;
+
+// 상담사 평점 순위표 (Redis ZSET) + 상담사별 별점 분포 (Redis Hash)
+// ZSET 점수 = 평균 별점(소수 둘째 자리까지) * 1,000,000 + 리뷰 수 -> 평균이 같으면 리뷰 많은 순
+// 재계산 중에 들어온 리뷰는 바로 반영하지 않고 기록해 뒀다가, 교체 후 재계산에 포함되지 않은 것만 다시 반영
+@Slf4j
+@Service
+public class RatingLeaderboardService {
+    private static final String LEADERBOARD_KEY = "counselor-rating:leaderboard";
+    private static final String REBUILD_KEY = "counselor-rating:leaderboard:rebuild";
+    // 재계산 진행 중 표시 (서버가 죽어도 풀리도록 TTL) + 그동안 들어온 리뷰 "reservationId:counselorId:rating" 목록
+    private static final String REBUILD_LOCK_KEY = "counselor-rating:leaderboard:rebuild-lock";
+    private static final String REBUILD_PENDING_KEY = "counselor-rating:leaderboard:rebuild-pending";
+    private static final Duration REBUILD_LOCK_TTL = Duration.ofMinutes(10);
+    private static final String HISTOGRAM_KEY_PREFIX = "counselor-rating:histogram:";
+    private static final long REVIEW_COUNT_FACTOR = 1_000_000L;
+
+    // 별점 분포/합계/개수 증가 후 새 점수로 ZADD (한 번에 원자적으로)
+    // 재계산 중이면 반영하지 않고 기록만 (-1 반환)
+    private static final RedisScript<Long> ADD_RATING_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[3]) == 1 then " +
+            "redis.call('RPUSH', KEYS[4], ARGV[3] .. ':' .. ARGV[1] .. ':' .. ARGV[2]) " +
+            "return -1 end " +
+            "redis.call('HINCRBY', KEYS[1], ARGV[2], 1) " +
+            "local sum = redis.call('HINCRBY', KEYS[1], 'sum', ARGV[2]) " +
+            "local count = redis.call('HINCRBY', KEYS[1], 'count', 1) " +
+            "local score = math.floor(sum * 100 / count + 0.5) * " + REVIEW_COUNT_FACTOR + " + math.min(count, " + (REVIEW_COUNT_FACTOR - 1) + ") " +
+            "redis.call('ZADD', KEYS[2], score, ARGV[1]) " +
+            "return count", Long.class);
+
+    // 재계산 종료: 완료했으면 새 순위표로 교체(ARGV[1] = 1), 진행 표시 해제, 그동안 기록된 리뷰 목록 꺼내기 (한 번에 원자적으로)
+    // 해제 이후 들어오는 리뷰는 교체된 순위표에 바로 반영됨
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List> FINISH_REBUILD_SCRIPT = new DefaultRedisScript<>(
+            "if ARGV[1] == '1' and redis.call('EXISTS', KEYS[1]) == 1 then redis.call('RENAME', KEYS[1], KEYS[2]) " +
+            "elseif ARGV[1] == '1' then redis.call('DEL', KEYS[2]) " +
+            "else redis.call('DEL', KEYS[1]) end " +
+            "redis.call('DEL', KEYS[3]) " +
+            "local pending = redis.call('LRANGE', KEYS[4], 0, -1) " +
+            "redis.call('DEL', KEYS[4]) " +
+            "return pending", List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ReservationRepository reservationRepository;
+    private final CounselorRepository counselorRepository;
+
+    public RatingLeaderboardService(StringRedisTemplate stringRedisTemplate,
+                                    ReservationRepository reservationRepository,
+                                    CounselorRepository counselorRepository) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.reservationRepository = reservationRepository;
+        this.counselorRepository = counselorRepository;
+    }
+
+    // 리뷰 등록 시 반영 (재계산 중이면 끝난 뒤 반영)
+    public void addRating(long counselorId, long reservationId, int rating){
+        stringRedisTemplate.execute(ADD_RATING_SCRIPT,
+                List.of(HISTOGRAM_KEY_PREFIX + counselorId, LEADERBOARD_KEY, REBUILD_LOCK_KEY, REBUILD_PENDING_KEY),
+                String.valueOf(counselorId), String.valueOf(rating), String.valueOf(reservationId));
+    }
+
+    // 탈퇴한 상담사는 순위에서 제외
+    public void remove(long counselorId){
+        stringRedisTemplate.opsForZSet().remove(LEADERBOARD_KEY, String.valueOf(counselorId));
+    }
+
+    // 상위 size명 (1위부터)
+    public List<RankEntry> getTopCounselors(int size){
+        Set<ZSetOperations.TypedTuple<String>> tuples = stringRedisTemplate.opsForZSet()
+                .reverseRangeWithScores(LEADERBOARD_KEY, 0, size - 1);
+        List<RankEntry> entries = new ArrayList<>();
+        if(tuples == null) return entries;
+        long rank = 1;
+        for(ZSetOperations.TypedTuple<String> tuple : tuples){
+            entries.add(toRankEntry(Long.parseLong(tuple.getValue()), rank++, tuple.getScore()));
+        }
+        return entries;
+    }
+
+    // 특정 상담사의 순위 (리뷰가 없으면 rank null) + 별점 분포
+    public RankEntry getRank(long counselorId){
+        String member = String.valueOf(counselorId);
+        Long rank = stringRedisTemplate.opsForZSet().reverseRank(LEADERBOARD_KEY, member);
+        Double score = stringRedisTemplate.opsForZSet().score(LEADERBOARD_KEY, member);
+        RankEntry entry = toRankEntry(counselorId, rank == null ? null : rank + 1, score);
+
+        Map<Object, Object> histogram = stringRedisTemplate.opsForHash().entries(HISTOGRAM_KEY_PREFIX + counselorId);
+        for(int rating = 1; rating <= 5; rating++){
+            Object count = histogram.get(String.valueOf(rating));
+            entry.getHistogram().put(rating, count == null ? 0 : Integer.parseInt(count.toString()));
+        }
+        return entry;
+    }
+
+    // Review 테이블 기준으로 순위표/별점 분포 다시 만들기 (리뷰를 스트리밍으로 읽어서 상담사별로 집계)
+    // 새 순위표는 임시 key에 만든 뒤 RENAME으로 한 번에 교체
+    // 진행 표시는 리뷰를 읽기 전에 걸어야 함 -> 읽은 결과에 없는 리뷰는 모두 기록됨
+    @Transactional(readOnly = true)
+    public int rebuild(){
+        if(!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(REBUILD_LOCK_KEY, "1", REBUILD_LOCK_TTL))){
+            throw new BusinessLogicException(ExceptionCode.LEADERBOARD_REBUILD_IN_PROGRESS);
+        }
+        boolean completed = false;
+        try{
+            int counselors = rebuildFromReviews();
+            completed = true;
+            return counselors;
+        }finally {
+            // 실패하면 순위표는 그대로 두고 기록된 리뷰만 반영 (별점 분포가 일부 덮어써졌을 수 있으니 다시 실행해야 함)
+            List<String> pending = finishRebuild(completed);
+            reapplyPendingRatings(pending);
+        }
+    }
+
+    private int rebuildFromReviews(){
+        long startedAt = System.currentTimeMillis();
+        // 상담사 id -> [1점 개수, ..., 5점 개수]
+        Map<Long, int[]> histograms = new HashMap<>();
+        try(Stream<Object[]> ratings = reservationRepository.streamCounselorRatings()){
+            ratings.forEach(row -> {
+                int rating = (Integer) row[1];
+                if(rating < 1 || rating > 5) return;
+                histograms.computeIfAbsent((Long) row[0], counselorId -> new int[5])[rating - 1]++;
+            });
+        }
+        Set<Long> inactiveCounselorIds = new HashSet<>(counselorRepository.findIdsByStatusNot(Counselor.Status.ACTIVE));
+
+        stringRedisTemplate.delete(REBUILD_KEY);
+        histograms.forEach((counselorId, histogram) -> {
+            Map<String, String> fields = new HashMap<>();
+            long sum = 0;
+            long count = 0;
+            for(int rating = 1; rating <= 5; rating++){
+                fields.put(String.valueOf(rating), String.valueOf(histogram[rating - 1]));
+                sum += (long) rating * histogram[rating - 1];
+                count += histogram[rating - 1];
+            }
+            fields.put("sum", String.valueOf(sum));
+            fields.put("count", String.valueOf(count));
+            String histogramKey = HISTOGRAM_KEY_PREFIX + counselorId;
+            stringRedisTemplate.delete(histogramKey);
+            stringRedisTemplate.opsForHash().putAll(histogramKey, fields);
+
+            if(!inactiveCounselorIds.contains(counselorId)){
+                stringRedisTemplate.opsForZSet().add(REBUILD_KEY, String.valueOf(counselorId), scoreOf(sum, count));
+            }
+        });
+        log.info("Rating leaderboard rebuilt: {} counselors, {} ms", histograms.size(), System.currentTimeMillis() - startedAt);
+        return histograms.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> finishRebuild(boolean completed){
+        List<String> pending = stringRedisTemplate.execute(FINISH_REBUILD_SCRIPT,
+                List.of(REBUILD_KEY, LEADERBOARD_KEY, REBUILD_LOCK_KEY, REBUILD_PENDING_KEY), completed ? "1" : "0");
+        return pending == null ? Collections.emptyList() : pending;
+    }
+
+    // 재계산 중에 기록된 리뷰 중 재계산 때 읽은 리뷰에 없던 것만 다시 반영
+    // 같은 트랜잭션(같은 스냅샷)에서 확인하므로 읽을 때 이미 있던 리뷰는 두 번 더해지지 않음
+    private void reapplyPendingRatings(List<String> pending){
+        if(pending.isEmpty()) return;
+        Map<Long, String[]> ratingsByReservation = new LinkedHashMap<>();
+        for(String entry : pending){
+            String[] fields = entry.split(":");
+            ratingsByReservation.put(Long.parseLong(fields[0]), fields);
+        }
+        Set<Long> included = new HashSet<>(reservationRepository.findReviewedIdsIn(ratingsByReservation.keySet()));
+        int reapplied = 0;
+        for(Map.Entry<Long, String[]> entry : ratingsByReservation.entrySet()){
+            if(included.contains(entry.getKey())) continue;
+            String[] fields = entry.getValue();
+            addRating(Long.parseLong(fields[1]), entry.getKey(), Integer.parseInt(fields[2]));
+            reapplied++;
+        }
+        log.info("Reapplied {} of {} ratings registered during leaderboard rebuild", reapplied, pending.size());
+    }
+
+    // Lua 스크립트와 같은 방식으로 점수 계산
+    private double scoreOf(long sum, long count){
+        return Math.floor(sum * 100.0 / count + 0.5) * REVIEW_COUNT_FACTOR + Math.min(count, REVIEW_COUNT_FACTOR - 1);
+    }
+
+    private RankEntry toRankEntry(long counselorId, Long rank, Double score){
+        if(score == null) return new RankEntry(counselorId, rank, 0, 0, new TreeMap<>());
+        long rawScore = Math.round(score);
+        double averageRating = (rawScore / REVIEW_COUNT_FACTOR) / 100.0;
+        int reviews = (int) (rawScore % REVIEW_COUNT_FACTOR);
+        return new RankEntry(counselorId, rank, averageRating, reviews, new TreeMap<>());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RankEntry {
+        private final long counselorId;
+        private final Long rank;
+        private final double averageRating;
+        private final int reviews;
+        // 별점(1 ~ 5) -> 개수 (단일 상담사 조회에서만 채움)
+        private final Map<Integer, Integer> histogram;
+    }
+}
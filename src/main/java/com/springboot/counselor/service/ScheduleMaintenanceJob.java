@@ -0,0 +1,158 @@
+package com.springboot.counselor.service;
+
+import com.springboot.counselor.repository.AvailableDateRepository;
+import com.springboot.counselor.repository.CounselorRepository;
+import com.springboot.counselor.repository.ScheduleBackfillRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// 매월 지난 달까지의 예약 없는 일정 row를 정리하는 작업
+// 상담사 id 순으로 청크를 나눠 병렬 처리하고, 청크마다 별도 트랜잭션으로 커밋
+// 처리한 위치를 Redis에 체크포인트로 남겨서 중간에 죽어도 이어서 실행
+@Slf4j
+@Component
+public class ScheduleMaintenanceJob {
+    private static final String CHECKPOINT_KEY_PREFIX = "schedule-maintenance:checkpoint:";
+    private static final long COMPLETED = Long.MAX_VALUE;
+    private static final Duration CHECKPOINT_TTL = Duration.ofDays(40);
+
+    private final CounselorRepository counselorRepository;
+    private final AvailableDateRepository availableDateRepository;
+    private final ScheduleBackfillRepository scheduleBackfillRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${toktalk.schedule-maintenance.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${toktalk.schedule-maintenance.parallelism:4}")
+    private int parallelism;
+
+    public ScheduleMaintenanceJob(CounselorRepository counselorRepository,
+                                  AvailableDateRepository availableDateRepository,
+                                  ScheduleBackfillRepository scheduleBackfillRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  RedisTemplate<String, Object> redisTemplate) {
+        this.counselorRepository = counselorRepository;
+        this.availableDateRepository = availableDateRepository;
+        this.scheduleBackfillRepository = scheduleBackfillRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Scheduled(cron = "0 0 0 1 * ?") // 매월 1일 0시 0분 0초에 실행
+    public void purgeStaleAvailableDates(){
+        run(LocalDate.now().withDayOfMonth(1));
+    }
+
+    // 비트마스크 컬럼이 생기기 전의 일정 데이터 옮기기
+    // 가용 인덱스가 새 컬럼으로 만들어지도록 다른 시작 작업보다 먼저 실행
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfillLegacySchedules(){
+        int[] counts = transactionTemplate.execute(status -> new int[]{
+                scheduleBackfillRepository.backfillDefaultSlotMasks(),
+                scheduleBackfillRepository.backfillAvailableTimes()
+        });
+        int openDates = scheduleBackfillRepository.backfillScheduleOpenDates(LocalDate.now());
+        if(counts[0] + counts[1] + openDates > 0){
+            log.info("Backfilled legacy schedules: {} default days, {} dates from available_time, {} schedule open dates",
+                    counts[0], counts[1], openDates);
+        }
+    }
+
+    // 서버 재시작 시 이번 달 작업이 중간에 멈춰 있으면 이어서 실행
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeIfInterrupted(){
+        Long checkpoint = loadCheckpoint(LocalDate.now().withDayOfMonth(1));
+        if(checkpoint != null && checkpoint != COMPLETED){
+            log.info("Resuming schedule maintenance from counselorId {}", checkpoint);
+            purgeStaleAvailableDates();
+        }
+    }
+
+    public void run(LocalDate cutoffDate){
+        Long checkpoint = loadCheckpoint(cutoffDate);
+        if(checkpoint != null && checkpoint == COMPLETED) return;
+        long lastId = checkpoint == null ? 0 : checkpoint;
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        long startedAt = System.nanoTime();
+        long totalRows = 0;
+        try{
+            while(true){
+                // parallelism 개의 청크를 한 묶음으로 읽어서 동시에 처리
+                List<List<Long>> chunks = new ArrayList<>();
+                for(int i = 0; i < parallelism; i++){
+                    // 휴면/탈퇴 상담사의 지난 일정도 정리해야 하므로 상태와 관계없이 전체 상담사 대상
+                    List<Long> counselorIds = counselorRepository.findIdsAfter(lastId, PageRequest.of(0, chunkSize));
+                    if(counselorIds.isEmpty()) break;
+                    chunks.add(counselorIds);
+                    lastId = counselorIds.get(counselorIds.size() - 1);
+                }
+                if(chunks.isEmpty()) break;
+
+                List<Future<Integer>> futures = new ArrayList<>();
+                for(List<Long> counselorIds : chunks){
+                    futures.add(executor.submit(() -> processChunk(counselorIds, cutoffDate)));
+                }
+                for(Future<Integer> future : futures){
+                    totalRows += future.get();
+                }
+                // 묶음 전체가 커밋된 뒤에만 체크포인트 이동 (실패하면 이 묶음부터 다시 처리, 삭제라 재실행해도 안전)
+                saveCheckpoint(cutoffDate, lastId);
+                log.info("Schedule maintenance progress: counselorId <= {}, {} rows, {} rows/s",
+                        lastId, totalRows, rowsPerSecond(totalRows, startedAt));
+            }
+            saveCheckpoint(cutoffDate, COMPLETED);
+            log.info("Schedule maintenance finished: {} rows, {} rows/s", totalRows, rowsPerSecond(totalRows, startedAt));
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            log.warn("Schedule maintenance interrupted at counselorId {}", lastId);
+        }catch (ExecutionException e){
+            log.error("Schedule maintenance failed, will resume from last checkpoint", e.getCause());
+        }finally {
+            executor.shutdown();
+        }
+    }
+
+    // 청크 하나 = 트랜잭션 하나
+    private int processChunk(List<Long> counselorIds, LocalDate cutoffDate){
+        Integer deleted = transactionTemplate.execute(status ->
+                availableDateRepository.deleteUnbookedDatesBefore(counselorIds, cutoffDate));
+        return deleted == null ? 0 : deleted;
+    }
+
+    private Long loadCheckpoint(LocalDate cutoffDate){
+        Object value = redisTemplate.opsForValue().get(CHECKPOINT_KEY_PREFIX + cutoffDate);
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    private void saveCheckpoint(LocalDate cutoffDate, long lastId){
+        redisTemplate.opsForValue().set(CHECKPOINT_KEY_PREFIX + cutoffDate, lastId, CHECKPOINT_TTL);
+    }
+
+    private long rowsPerSecond(long rows, long startedAt){
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        return rows * 1000 / elapsedMillis;
+    }
+}
@@ -0,0 +1,87 @@
+package com.springboot.counselor.service;
+
+import com.springboot.counselor.repository.SlotHoldRepository;
+import com.springboot.exception.BusinessLogicException;
+import com.springboot.exception.ExceptionCode;
+import com.springboot.utils.SlotBitmapUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 결제 진행 중인 슬롯을 Redis에 잠깐 잡아두는 서비스 (DB는 예약 확정 시점에만 건드림)
+@Service
+public class SlotHoldService {
+    private static final String KEY_PREFIX = "slot-hold:";
+
+    private final SlotHoldRepository slotHoldRepository;
+    private final Duration holdTtl;
+
+    public SlotHoldService(SlotHoldRepository slotHoldRepository,
+                           @Value("${toktalk.slot-hold.ttl-seconds:300}") long holdTtlSeconds) {
+        this.slotHoldRepository = slotHoldRepository;
+        this.holdTtl = Duration.ofSeconds(holdTtlSeconds);
+    }
+
+    // 슬롯 점유 후 만료 시각 반환 (이미 내가 잡고 있으면 TTL 연장, 남이 잡고 있으면 예외)
+    public LocalDateTime hold(long counselorId, LocalDate date, List<LocalTime> startTimes, long memberId){
+        if(!slotHoldRepository.holdAll(keysOf(counselorId, date, startTimes), holderOf(memberId), holdTtl)){
+            throw new BusinessLogicException(ExceptionCode.RESERVATION_TIMESLOT_OCCUPIED);
+        }
+        return LocalDateTime.now().plus(holdTtl);
+    }
+
+    // 내가 잡은 슬롯 해제
+    public void release(long counselorId, LocalDate date, List<LocalTime> startTimes, long memberId){
+        slotHoldRepository.releaseAll(keysOf(counselorId, date, startTimes), holderOf(memberId));
+    }
+
+    // candidateSlots 중 현재 누군가 점유 중인 슬롯 비트마스크
+    public int getHeldSlots(long counselorId, LocalDate date, int candidateSlots){
+        if(candidateSlots == 0) return 0;
+        List<LocalTime> startTimes = SlotBitmapUtil.startTimesOf(candidateSlots);
+        List<String> holders = slotHoldRepository.findHolders(keysOf(counselorId, date, startTimes));
+
+        int heldSlots = 0;
+        for(int i = 0; i < startTimes.size(); i++){
+            if(holders.get(i) != null) heldSlots |= SlotBitmapUtil.bitOf(startTimes.get(i));
+        }
+        return heldSlots;
+    }
+
+    // counselorIds 중 date의 slots를 하나라도 누군가 점유 중인 상담사 (검색 결과에서 빼기용, Redis 조회 한 번)
+    public Set<Long> findCounselorsHolding(List<Long> counselorIds, LocalDate date, int slots){
+        if(counselorIds.isEmpty() || slots == 0) return Collections.emptySet();
+        List<LocalTime> startTimes = SlotBitmapUtil.startTimesOf(slots);
+        List<String> keys = new ArrayList<>(counselorIds.size() * startTimes.size());
+        for(long counselorId : counselorIds){
+            keys.addAll(keysOf(counselorId, date, startTimes));
+        }
+        List<String> holders = slotHoldRepository.findHolders(keys);
+
+        Set<Long> holding = new HashSet<>();
+        for(int i = 0; i < keys.size(); i++){
+            if(holders.get(i) != null) holding.add(counselorIds.get(i / startTimes.size()));
+        }
+        return holding;
+    }
+
+    private List<String> keysOf(long counselorId, LocalDate date, List<LocalTime> startTimes){
+        return startTimes.stream()
+                .map(time -> KEY_PREFIX + counselorId + ":" + date + ":" + time.getHour())
+                .collect(Collectors.toList());
+    }
+
+    private String holderOf(long memberId){
+        return "member:" + memberId;
+    }
+}
@@ -19,6 +19,7 @@ public enum ExceptionCode {
     INVALID_COUNSELOR(403, "Invalid counselor"),
     CANCELLATION_TOO_LATE(403, "Cancellation must be made at least 24 hours in advance"),
     TIMESLOT_DELETION_DENIED(403, "Occupied timeslot cannot be deleted"),
+    CHAT_MESSAGE_INVALID(400, "Chat message must be 1 to 1000 characters"),
     TIMESLOT_REQUIRED(403, "At least 1 of timeslots required for reservation"),
     INVALID_SCORE(404,"Invalid score"),
     UNCOMPLETE_COUNSELING(404, "Counseling not finished"),
@@ -40,8 +41,11 @@ public enum ExceptionCode {
     DUPLICATED_NICKNAME(409, "Duplicated nickname"),
     SAME_PASSWORD(409, "The new password cannot be the same as the current one"),
     RESERVATION_TIMESLOT_OCCUPIED(409, "Already occupied timeslot"),
+    RESERVATION_NOT_CANCELLABLE(409, "Only pending reservations can be cancelled"),
     REVIEW_EXIST(409, "Review already exists"),
     REPORT_EXIST(409, "Report already exists"),
+    LEADERBOARD_REBUILD_IN_PROGRESS(409, "Leaderboard rebuild is already running"),
+    CHAT_RATE_LIMITED(429, "Too many chat events, slow down"),
     CREDENTIAL_NOT_FOUND(500, "Some credential field not found"),
     INVALID_MONTH_PARAMETER(500, "Months parameter of addAvailableTime() method in CounselorService must be positive"),
     ;
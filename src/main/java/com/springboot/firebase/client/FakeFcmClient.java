@@ -0,0 +1,54 @@
+package com.springboot.firebase.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Firebase 없이 돌릴 때(로컬, 테스트, 부하 측정) 쓰는 가짜 클라이언트
+// "unregistered"로 시작하는 토큰은 UNREGISTERED, "retry"로 시작하는 토큰은 RETRYABLE로 응답
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "toktalk.fcm.client", havingValue = "fake")
+public class FakeFcmClient implements FcmClient {
+    // 요청 한 번에 걸리는 시간 흉내
+    private final long latencyMillis;
+    private final Queue<FcmMessage> sentMessages = new ConcurrentLinkedQueue<>();
+
+    public FakeFcmClient(@Value("${toktalk.fcm.fake-latency-millis:50}") long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public List<SendResult> sendEach(List<FcmMessage> messages) {
+        if(latencyMillis > 0){
+            try{
+                Thread.sleep(latencyMillis);
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<SendResult> results = new ArrayList<>(messages.size());
+        for(FcmMessage message : messages){
+            if(message.getToken().startsWith("unregistered")){
+                results.add(SendResult.UNREGISTERED);
+            }else if(message.getToken().startsWith("retry")){
+                results.add(SendResult.RETRYABLE);
+            }else{
+                sentMessages.add(message);
+                results.add(SendResult.SUCCESS);
+            }
+        }
+        return results;
+    }
+
+    // 성공한 메시지들 (테스트 확인용)
+    public Queue<FcmMessage> getSentMessages() {
+        return sentMessages;
+    }
+}
@@ -0,0 +1,21 @@
+package com.springboot.firebase.client;
+
+import java.util.List;
+
+// FCM 발송 클라이언트 (실제 Firebase / 테스트, 부하 측정용 가짜 구현)
+public interface FcmClient {
+    // 한 번에 최대 500개
+    int MAX_BATCH_SIZE = 500;
+
+    // 메시지 순서대로 결과 반환 (요청 전체가 실패하면 전부 같은 결과)
+    List<SendResult> sendEach(List<FcmMessage> messages);
+
+    enum SendResult {
+        SUCCESS,
+        // 앱 삭제 등으로 더 이상 유효하지 않은 토큰 -> 저장된 토큰 삭제
+        UNREGISTERED,
+        // 일시적인 오류 (서버 오류, 할당량 초과 등) -> 잠시 후 재시도
+        RETRYABLE,
+        FAILED
+    }
+}
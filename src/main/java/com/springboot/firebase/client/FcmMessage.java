@@ -0,0 +1,13 @@
+package com.springboot.firebase.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 단일 기기로 보낼 푸시 알림
+@Getter
+@AllArgsConstructor
+public class FcmMessage {
+    private final String token;
+    private final String title;
+    private final String body;
+}
@@ -0,0 +1,63 @@
+package com.springboot.firebase.client;
+
+import com.google.firebase.messaging.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "toktalk.fcm.client", havingValue = "firebase", matchIfMissing = true)
+public class FirebaseFcmClient implements FcmClient {
+    private final FirebaseMessaging firebaseMessaging;
+
+    public FirebaseFcmClient(FirebaseMessaging firebaseMessaging) {
+        this.firebaseMessaging = firebaseMessaging;
+    }
+
+    @Override
+    public List<SendResult> sendEach(List<FcmMessage> messages) {
+        List<Message> firebaseMessages = messages.stream()
+                .map(message -> Message.builder()
+                        .setToken(message.getToken())
+                        .setNotification(Notification.builder()
+                                .setTitle(message.getTitle())
+                                .setBody(message.getBody())
+                                .build())
+                        .build())
+                .collect(Collectors.toList());
+        try{
+            BatchResponse batchResponse = firebaseMessaging.sendEach(firebaseMessages);
+            List<SendResult> results = new ArrayList<>(messages.size());
+            for(SendResponse response : batchResponse.getResponses()){
+                results.add(response.isSuccessful() ? SendResult.SUCCESS : resultOf(response.getException()));
+            }
+            return results;
+        }catch (FirebaseMessagingException e){
+            // 요청 자체가 실패 (인증, 네트워크 등)
+            log.warn("FCM batch request failed: {}", e.getMessagingErrorCode(), e);
+            return new ArrayList<>(Collections.nCopies(messages.size(), resultOf(e)));
+        }
+    }
+
+    private SendResult resultOf(FirebaseMessagingException e){
+        MessagingErrorCode errorCode = e.getMessagingErrorCode();
+        if(errorCode == null) return SendResult.RETRYABLE;
+        switch (errorCode){
+            case UNREGISTERED:
+            case SENDER_ID_MISMATCH:
+                return SendResult.UNREGISTERED;
+            case UNAVAILABLE:
+            case INTERNAL:
+            case QUOTA_EXCEEDED:
+                return SendResult.RETRYABLE;
+            default:
+                return SendResult.FAILED;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.springboot.firebase.controller;
 import com.springboot.chat.service.ChatRoomService;
 import com.springboot.firebase.dto.FcmSendDto;
 import com.springboot.firebase.service.NotificationService;
+import com.springboot.response.CursorResponseDto;
+import com.springboot.response.SingleResponseDto;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +12,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.ZoneId;
 import java.util.List;
 
 @Slf4j
@@ -37,11 +40,36 @@ public class FcmController {
         return ResponseEntity.ok("FCM message sent successfully");
     }
 
+    // 알림 목록 (최신순, cursor + cursorId 기준 페이징 / nextCursor가 null이면 마지막 페이지)
+    // 같은 시각에 생성된 알림이 페이지 경계에서 빠지지 않도록 nextCursorId도 같이 넘겨야 함
     @GetMapping
-    public ResponseEntity<List<com.springboot.firebase.data.Notification>> getUserNotifications(Authentication authentication) {
+    public ResponseEntity<CursorResponseDto<com.springboot.firebase.data.Notification>> getUserNotifications(Authentication authentication,
+                                                                                                      @RequestParam(required = false) Long cursor,
+                                                                                                      @RequestParam(required = false) String cursorId,
+                                                                                                      @RequestParam(defaultValue = "20") int size) {
         String userId = getUserIdFromAuthentication(authentication);
-        List<com.springboot.firebase.data.Notification> notifications = fcmService.getNotificationsForUser(userId);
-        return ResponseEntity.ok(notifications);
+        // 한 페이지 최대 100개
+        int pageSize = Math.max(1, Math.min(size, 100));
+        List<com.springboot.firebase.data.Notification> notifications = fcmService.getNotificationsForUser(userId, cursor, cursorId, pageSize);
+        if(notifications.size() < pageSize) return ResponseEntity.ok(new CursorResponseDto<>(notifications, null));
+        com.springboot.firebase.data.Notification last = notifications.get(notifications.size() - 1);
+        Long nextCursor = last.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return ResponseEntity.ok(new CursorResponseDto<>(notifications, nextCursor, last.getNotificationId()));
+    }
+
+    // 안 읽은 알림 개수
+    @GetMapping("/unread-count")
+    public ResponseEntity<?> getUnreadCount(Authentication authentication) {
+        String userId = getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(new SingleResponseDto<>(fcmService.getUnreadCount(userId)));
+    }
+
+    // 전부 읽음 처리
+    @PostMapping("/read-all")
+    public ResponseEntity<?> markAllNotificationsAsRead(Authentication authentication) {
+        String userId = getUserIdFromAuthentication(authentication);
+        fcmService.markAllNotificationsAsRead(userId);
+        return ResponseEntity.ok().build();
     }
 
     @PostMapping("/{notificationId}/read")
@@ -0,0 +1,168 @@
+package com.springboot.firebase.data;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+// 알림함에 저장하는 알림의 바이너리 형식
+// [버전 1byte][플래그 1byte][id들 varint][createdAt 초/나노 varint][문자열들 (길이+1) varint + UTF-8][type 1byte]
+// 클래스 이름이나 필드 이름을 저장하지 않아서 JSON보다 작고 읽기/쓰기도 빠름
+// 첫 바이트가 '{'이면 예전 JSON 형식으로 보고 ObjectMapper로 읽음
+public class NotificationCodec {
+    private static final byte VERSION_1 = 1;
+    private static final byte JSON_START = '{';
+
+    private static final int HAS_COUNSELOR_ID = 1;
+    private static final int READ = 1 << 1;
+    private static final int HAS_CREATED_AT = 1 << 2;
+    private static final int HAS_TYPE = 1 << 3;
+
+    private static final Notification.NotificationType[] TYPES = Notification.NotificationType.values();
+
+    private final ObjectMapper objectMapper;
+
+    public NotificationCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] encode(Notification notification){
+        Writer writer = new Writer();
+        writer.writeByte(VERSION_1);
+        int flags = 0;
+        if(notification.getCounselorId() != null) flags |= HAS_COUNSELOR_ID;
+        if(notification.isRead()) flags |= READ;
+        if(notification.getCreatedAt() != null) flags |= HAS_CREATED_AT;
+        if(notification.getType() != null) flags |= HAS_TYPE;
+        writer.writeByte(flags);
+
+        if(notification.getCounselorId() != null) writer.writeVarLong(notification.getCounselorId());
+        writer.writeVarLong(notification.getReservationId());
+        writer.writeVarLong(notification.getRoomId());
+        if(notification.getCreatedAt() != null){
+            writer.writeVarLong(notification.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+            writer.writeVarLong(notification.getCreatedAt().getNano());
+        }
+        writer.writeString(notification.getNotificationId());
+        writer.writeString(notification.getNickName());
+        writer.writeString(notification.getCounselorName());
+        writer.writeString(notification.getTitle());
+        writer.writeString(notification.getBody());
+        if(notification.getType() != null) writer.writeByte(notification.getType().ordinal());
+        return writer.toByteArray();
+    }
+
+    public Notification decode(byte[] bytes){
+        if(bytes == null || bytes.length == 0) return null;
+        if(bytes[0] == JSON_START) return decodeJson(bytes);
+        if(bytes[0] != VERSION_1) throw new IllegalArgumentException("Unknown notification format version: " + bytes[0]);
+
+        Reader reader = new Reader(bytes, 1);
+        int flags = reader.readByte();
+        Notification notification = new Notification();
+        if((flags & HAS_COUNSELOR_ID) != 0) notification.setCounselorId(reader.readVarLong());
+        notification.setReservationId(reader.readVarLong());
+        notification.setRoomId(reader.readVarLong());
+        if((flags & HAS_CREATED_AT) != 0){
+            long epochSecond = reader.readVarLong();
+            int nano = (int) reader.readVarLong();
+            notification.setCreatedAt(LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC));
+        }
+        notification.setNotificationId(reader.readString());
+        notification.setNickName(reader.readString());
+        notification.setCounselorName(reader.readString());
+        notification.setTitle(reader.readString());
+        notification.setBody(reader.readString());
+        if((flags & HAS_TYPE) != 0) notification.setType(TYPES[reader.readByte()]);
+        notification.setRead((flags & READ) != 0);
+        return notification;
+    }
+
+    // 바이너리 형식 도입 전에 저장된 JSON
+    private Notification decodeJson(byte[] bytes){
+        try{
+            return objectMapper.readValue(bytes, Notification.class);
+        }catch (IOException e){
+            throw new IllegalArgumentException("Failed to read legacy notification JSON", e);
+        }
+    }
+
+    private static class Writer {
+        private byte[] buffer = new byte[128];
+        private int position;
+
+        void writeByte(int value){
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        // 음수가 아닌 값만 (id, 시각)
+        void writeVarLong(long value){
+            if(value < 0) throw new IllegalArgumentException("Negative value: " + value);
+            ensureCapacity(10);
+            while((value & ~0x7FL) != 0){
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        // null이면 0, 아니면 (길이 + 1)
+        void writeString(String value){
+            if(value == null){
+                writeVarLong(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length + 1L);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, buffer, position, utf8.length);
+            position += utf8.length;
+        }
+
+        byte[] toByteArray(){
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int extra){
+            if(position + extra > buffer.length){
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    private static class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        int readByte(){
+            return buffer[position++] & 0xFF;
+        }
+
+        long readVarLong(){
+            long value = 0;
+            for(int shift = 0; shift < 64; shift += 7){
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if((b & 0x80) == 0) return value;
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        String readString(){
+            int length = (int) readVarLong() - 1;
+            if(length < 0) return null;
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.springboot.firebase.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+// Redis 없이 돌릴 때(로컬, 테스트) 쓰는 인메모리 구현 (같은 JVM 안의 여러 스케줄러끼리만 공유)
+@Repository
+@ConditionalOnProperty(name = "toktalk.reminder.store", havingValue = "memory")
+public class InMemoryReminderJobRepository implements ReminderJobRepository {
+    // jobId -> 발송 시각
+    private final Map<String, Long> pending = new HashMap<>();
+    // 발송 시각 순 (fireAt, jobId)
+    private final TreeSet<Map.Entry<Long, String>> pendingByFireAt = new TreeSet<>(
+            Comparator.comparing((Map.Entry<Long, String> entry) -> entry.getKey()).thenComparing(Map.Entry::getValue));
+    // jobId -> lease 만료 시각
+    private final Map<String, Long> processing = new HashMap<>();
+
+    @Override
+    public synchronized void schedule(String jobId, long fireAt) {
+        removePending(jobId);
+        pending.put(jobId, fireAt);
+        pendingByFireAt.add(new AbstractMap.SimpleImmutableEntry<>(fireAt, jobId));
+    }
+
+    @Override
+    public synchronized void cancel(String jobId) {
+        removePending(jobId);
+        processing.remove(jobId);
+    }
+
+    @Override
+    public synchronized List<ClaimedJob> claimDue(long until, int limit, long leaseUntil) {
+        List<ClaimedJob> jobs = new ArrayList<>();
+        while(jobs.size() < limit && !pendingByFireAt.isEmpty() && pendingByFireAt.first().getKey() <= until){
+            Map.Entry<Long, String> entry = pendingByFireAt.pollFirst();
+            pending.remove(entry.getValue());
+            processing.put(entry.getValue(), leaseUntil);
+            jobs.add(new ClaimedJob(entry.getValue(), entry.getKey(), leaseUntil));
+        }
+        return jobs;
+    }
+
+    @Override
+    public synchronized boolean complete(String jobId, long leaseUntil) {
+        Long lease = processing.get(jobId);
+        if(lease == null || lease != leaseUntil) return false;
+        processing.remove(jobId);
+        return true;
+    }
+
+    @Override
+    public synchronized int requeueExpired(long now) {
+        List<String> expired = new ArrayList<>();
+        processing.forEach((jobId, lease) -> {
+            if(lease <= now) expired.add(jobId);
+        });
+        expired.forEach(jobId -> {
+            processing.remove(jobId);
+            schedule(jobId, now);
+        });
+        return expired.size();
+    }
+
+    private void removePending(String jobId) {
+        Long fireAt = pending.remove(jobId);
+        if(fireAt != null) pendingByFireAt.remove(new AbstractMap.SimpleImmutableEntry<>(fireAt, jobId));
+    }
+}
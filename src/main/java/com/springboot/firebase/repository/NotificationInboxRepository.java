@@ -0,0 +1,179 @@
+package com.springboot.firebase.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.firebase.data.Notification;
+import com.springboot.firebase.data.NotificationCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.*;
+
+// 사용자별 알림함 (Redis)
+// items: Hash (notificationId -> 알림 (NotificationCodec 바이너리)), index: ZSET (notificationId, score = 생성 시각), unread: SET (안 읽은 notificationId)
+// 읽음 여부는 unread SET으로만 관리 -> 읽음/삭제/안 읽은 개수가 알림 수와 상관없이 O(1)
+// 사용자당 최대 maxItems개만 보관하고 오래된 것부터 삭제
+@Slf4j
+@Repository
+public class NotificationInboxRepository {
+    private final StringRedisTemplate stringRedisTemplate;
+    private final NotificationCodec notificationCodec;
+    private final int maxItems;
+
+    public NotificationInboxRepository(StringRedisTemplate stringRedisTemplate,
+                                       ObjectMapper objectMapper,
+                                       @Value("${toktalk.notification.inbox-max-items:200}") int maxItems) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.notificationCodec = new NotificationCodec(objectMapper);
+        this.maxItems = maxItems;
+    }
+
+    public void add(String userId, Notification notification){
+        byte[] value = notificationCodec.encode(notification);
+        String notificationId = notification.getNotificationId();
+        double score = notification.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            redis.hSet(bytes(itemsKey(userId)), bytes(notificationId), value);
+            redis.zAdd(indexKey(userId), score, notificationId);
+            if(!notification.isRead()) redis.sAdd(unreadKey(userId), notificationId);
+            redis.zCard(indexKey(userId));
+            return null;
+        });
+        long size = (Long) results.get(results.size() - 1);
+        if(size > maxItems) trim(userId, size - maxItems);
+    }
+
+    // 최신순 size개 (cursor: 이전 페이지 마지막 알림의 생성 시각, cursorId: 그 알림의 id, null이면 처음부터)
+    // 같은 millis에 생성된 알림은 ZSET에서 id 역순으로 정렬되므로 (생성 시각, id)로 이어서 조회
+    public List<Notification> findPage(String userId, Long cursor, String cursorId, int size){
+        List<String> notificationIds = findPageIds(userId, cursor, cursorId, size);
+        if(notificationIds.isEmpty()) return new ArrayList<>();
+
+        byte[][] fields = notificationIds.stream().map(NotificationInboxRepository::bytes).toArray(byte[][]::new);
+        // 알림 내용 + 읽음 여부를 한 번에 (값이 바이너리라서 템플릿의 문자열 변환 없이 연결에서 직접 pipeline)
+        List<Object> results = stringRedisTemplate.execute((RedisCallback<List<Object>>) connection -> {
+            connection.openPipeline();
+            connection.hashCommands().hMGet(bytes(itemsKey(userId)), fields);
+            for(byte[] field : fields){
+                connection.setCommands().sIsMember(bytes(unreadKey(userId)), field);
+            }
+            return connection.closePipeline();
+        });
+        if(results == null || results.isEmpty()) return new ArrayList<>();
+        @SuppressWarnings("unchecked")
+        List<byte[]> values = (List<byte[]>) results.get(0);
+
+        List<Notification> notifications = new ArrayList<>();
+        for(int i = 0; i < notificationIds.size(); i++){
+            Notification notification = readNotification(values.get(i));
+            if(notification == null) continue;
+            notification.setRead(!Boolean.TRUE.equals(results.get(i + 1)));
+            notifications.add(notification);
+        }
+        return notifications;
+    }
+
+    private List<String> findPageIds(String userId, Long cursor, String cursorId, int size){
+        ZSetOperations<String, String> zSet = stringRedisTemplate.opsForZSet();
+        if(cursor == null){
+            return ids(zSet.reverseRangeByScoreWithScores(indexKey(userId), Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 0, size));
+        }
+        // cursor와 같은 시각의 알림은 건너뛸 수도 있으니 그만큼 더 읽고 걸러냄
+        Long sameScore = zSet.count(indexKey(userId), cursor, cursor);
+        int extra = sameScore == null ? 0 : sameScore.intValue();
+        Set<ZSetOperations.TypedTuple<String>> tuples = zSet.reverseRangeByScoreWithScores(
+                indexKey(userId), Double.NEGATIVE_INFINITY, cursor, 0, size + extra);
+        List<String> notificationIds = new ArrayList<>();
+        if(tuples == null) return notificationIds;
+        for(ZSetOperations.TypedTuple<String> tuple : tuples){
+            if(notificationIds.size() == size) break;
+            // 이전 페이지에서 이미 본 알림 (cursorId가 없으면 같은 시각 알림은 모두 본 것으로 봄)
+            boolean sameTime = tuple.getScore() != null && tuple.getScore() == cursor.doubleValue();
+            if(sameTime && (cursorId == null || tuple.getValue().compareTo(cursorId) >= 0)) continue;
+            notificationIds.add(tuple.getValue());
+        }
+        return notificationIds;
+    }
+
+    private static List<String> ids(Set<ZSetOperations.TypedTuple<String>> tuples){
+        List<String> notificationIds = new ArrayList<>();
+        if(tuples != null) tuples.forEach(tuple -> notificationIds.add(tuple.getValue()));
+        return notificationIds;
+    }
+
+    public long countUnread(String userId){
+        Long count = stringRedisTemplate.opsForSet().size(unreadKey(userId));
+        return count == null ? 0 : count;
+    }
+
+    // 있던 알림이면 true
+    public boolean markRead(String userId, String notificationId){
+        stringRedisTemplate.opsForSet().remove(unreadKey(userId), notificationId);
+        return Boolean.TRUE.equals(stringRedisTemplate.opsForHash().hasKey(itemsKey(userId), notificationId));
+    }
+
+    // 전부 읽음 (안 읽은 목록만 지우면 됨)
+    public void markAllRead(String userId){
+        stringRedisTemplate.delete(unreadKey(userId));
+    }
+
+    // 있던 알림이면 true
+    public boolean delete(String userId, String notificationId){
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            redis.hDel(itemsKey(userId), notificationId);
+            redis.zRem(indexKey(userId), notificationId);
+            redis.sRem(unreadKey(userId), notificationId);
+            return null;
+        });
+        return ((Long) results.get(0)) > 0;
+    }
+
+    // 오래된 알림 count개 삭제
+    private void trim(String userId, long count){
+        Set<String> oldest = stringRedisTemplate.opsForZSet().range(indexKey(userId), 0, count - 1);
+        if(oldest == null || oldest.isEmpty()) return;
+        String[] notificationIds = oldest.toArray(new String[0]);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            redis.hDel(itemsKey(userId), notificationIds);
+            redis.zRem(indexKey(userId), notificationIds);
+            redis.sRem(unreadKey(userId), notificationIds);
+            return null;
+        });
+    }
+
+    private Notification readNotification(byte[] value){
+        if(value == null) return null;
+        try{
+            return notificationCodec.decode(value);
+        }catch (IllegalArgumentException | IndexOutOfBoundsException e){
+            log.warn("Failed to read notification ({} bytes)", value.length, e);
+            return null;
+        }
+    }
+
+    private static byte[] bytes(String value){
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // 같은 사용자의 key는 같은 슬롯에 (Redis Cluster)
+    private static String itemsKey(String userId){
+        return "notification-inbox:{" + userId + "}:items";
+    }
+
+    private static String indexKey(String userId){
+        return "notification-inbox:{" + userId + "}:index";
+    }
+
+    private static String unreadKey(String userId){
+        return "notification-inbox:{" + userId + "}:unread";
+    }
+}
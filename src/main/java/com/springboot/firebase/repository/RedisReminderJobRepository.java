@@ -0,0 +1,89 @@
+package com.springboot.firebase.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 대기열: ZSET(score = 발송 시각), 처리 중: ZSET(score = lease 만료 시각)
+// 가져가기/완료/되돌리기는 Lua 스크립트로 원자적으로 처리
+@Repository
+@ConditionalOnProperty(name = "toktalk.reminder.store", havingValue = "redis", matchIfMissing = true)
+public class RedisReminderJobRepository implements ReminderJobRepository {
+    private static final String PENDING_KEY = "reminder:pending";
+    private static final String PROCESSING_KEY = "reminder:processing";
+    private static final List<String> KEYS = List.of(PENDING_KEY, PROCESSING_KEY);
+
+    // 발송 시각이 된 작업을 대기열 -> 처리 중으로 옮기고 [jobId, fireAt, ...] 반환
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>(
+            "local jobs = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'WITHSCORES', 'LIMIT', 0, ARGV[2]) " +
+            "for i = 1, #jobs, 2 do " +
+            "  redis.call('ZREM', KEYS[1], jobs[i]) " +
+            "  redis.call('ZADD', KEYS[2], ARGV[3], jobs[i]) " +
+            "end " +
+            "return jobs", List.class);
+
+    // 내가 가져간 그대로(lease 같음)일 때만 처리 중에서 제거
+    private static final RedisScript<Long> COMPLETE_SCRIPT = new DefaultRedisScript<>(
+            "local lease = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+            "if lease and tonumber(lease) == tonumber(ARGV[2]) then " +
+            "  return redis.call('ZREM', KEYS[1], ARGV[1]) " +
+            "end " +
+            "return 0", Long.class);
+
+    // lease 만료된 작업을 바로 발송되도록 대기열로 되돌림
+    private static final RedisScript<Long> REQUEUE_SCRIPT = new DefaultRedisScript<>(
+            "local jobs = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', ARGV[1]) " +
+            "for i, job in ipairs(jobs) do " +
+            "  redis.call('ZREM', KEYS[2], job) " +
+            "  redis.call('ZADD', KEYS[1], ARGV[1], job) " +
+            "end " +
+            "return #jobs", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public RedisReminderJobRepository(StringRedisTemplate stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    @Override
+    public void schedule(String jobId, long fireAt) {
+        stringRedisTemplate.opsForZSet().add(PENDING_KEY, jobId, fireAt);
+    }
+
+    @Override
+    public void cancel(String jobId) {
+        stringRedisTemplate.opsForZSet().remove(PENDING_KEY, jobId);
+        stringRedisTemplate.opsForZSet().remove(PROCESSING_KEY, jobId);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ClaimedJob> claimDue(long until, int limit, long leaseUntil) {
+        List<Object> result = stringRedisTemplate.execute(CLAIM_SCRIPT, KEYS,
+                String.valueOf(until), String.valueOf(limit), String.valueOf(leaseUntil));
+        List<ClaimedJob> jobs = new ArrayList<>();
+        if(result == null) return jobs;
+        for(int i = 0; i + 1 < result.size(); i += 2){
+            jobs.add(new ClaimedJob(result.get(i).toString(), (long) Double.parseDouble(result.get(i + 1).toString()), leaseUntil));
+        }
+        return jobs;
+    }
+
+    @Override
+    public boolean complete(String jobId, long leaseUntil) {
+        Long removed = stringRedisTemplate.execute(COMPLETE_SCRIPT, List.of(PROCESSING_KEY), jobId, String.valueOf(leaseUntil));
+        return removed != null && removed == 1;
+    }
+
+    @Override
+    public int requeueExpired(long now) {
+        Long requeued = stringRedisTemplate.execute(REQUEUE_SCRIPT, KEYS, String.valueOf(now));
+        return requeued == null ? 0 : requeued.intValue();
+    }
+}
@@ -0,0 +1,33 @@
+package com.springboot.firebase.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 예약 알림 작업 저장소 (발송 시각 순으로 대기 -> 한 서버가 가져가서(claim) 발송)
+// 가져간 작업은 leaseUntil까지 처리 중으로 두고, 그 안에 완료되지 않으면 다시 대기열로 돌아감
+public interface ReminderJobRepository {
+    // 작업 등록 (같은 jobId면 발송 시각만 갱신)
+    void schedule(String jobId, long fireAt);
+
+    // 대기 중이거나 처리 중인 작업 취소
+    void cancel(String jobId);
+
+    // 발송 시각이 until 이전인 작업을 최대 limit개 한 번에 가져감 (다른 서버는 같은 작업을 가져갈 수 없음)
+    List<ClaimedJob> claimDue(long until, int limit, long leaseUntil);
+
+    // 가져간 작업 완료 처리 (그 사이 취소됐거나 lease가 만료돼 다른 서버로 넘어갔으면 false -> 발송하지 않음)
+    boolean complete(String jobId, long leaseUntil);
+
+    // lease가 만료된 처리 중 작업을 대기열로 되돌림 (작업을 가져간 서버가 죽은 경우)
+    int requeueExpired(long now);
+
+    @Getter
+    @AllArgsConstructor
+    class ClaimedJob {
+        private final String jobId;
+        private final long fireAt;
+        private final long leaseUntil;
+    }
+}
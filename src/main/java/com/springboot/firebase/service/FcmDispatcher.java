@@ -0,0 +1,196 @@
+package com.springboot.firebase.service;
+
+import com.springboot.counselor.repository.CounselorRepository;
+import com.springboot.firebase.client.FcmClient;
+import com.springboot.firebase.client.FcmMessage;
+import com.springboot.member.repository.MemberRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.*;
+
+// 푸시 알림 비동기 발송
+// 요청 스레드는 큐에 넣기만 하고, 발송 스레드가 쌓인 메시지를 최대 500개씩 묶어서 한 번에 보냄
+// 일시적인 오류는 지수 백오프로 재시도, 유효하지 않은 토큰은 회원/상담사 정보에서 삭제
+@Slf4j
+@Component
+public class FcmDispatcher {
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long BASE_BACKOFF_MILLIS = 500;
+
+    private final FcmClient fcmClient;
+    private final MemberRepository memberRepository;
+    private final CounselorRepository counselorRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<PendingMessage> queue;
+    private final ExecutorService workers;
+    // 재시도 대기 (백오프 후 큐에 다시 넣음)
+    private final ScheduledExecutorService retryScheduler;
+
+    private final Timer sendLatency;
+    private final Counter sent;
+    private final Counter unregistered;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter dropped;
+
+    public FcmDispatcher(FcmClient fcmClient,
+                         MemberRepository memberRepository,
+                         CounselorRepository counselorRepository,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${toktalk.fcm.queue-capacity:10000}") int queueCapacity,
+                         @Value("${toktalk.fcm.worker-threads:2}") int workerThreads) {
+        this.fcmClient = fcmClient;
+        this.memberRepository = memberRepository;
+        this.counselorRepository = counselorRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "fcm-retry"));
+
+        Gauge.builder("fcm.dispatch.queue.depth", queue, Collection::size).register(meterRegistry);
+        this.sendLatency = Timer.builder("fcm.dispatch.send.latency").publishPercentiles(0.5, 0.99).register(meterRegistry);
+        this.sent = resultCounter(meterRegistry, "success");
+        this.unregistered = resultCounter(meterRegistry, "unregistered");
+        this.retried = resultCounter(meterRegistry, "retry");
+        this.failed = resultCounter(meterRegistry, "failed");
+        this.dropped = resultCounter(meterRegistry, "dropped");
+
+        this.workers = Executors.newFixedThreadPool(workerThreads, runnable -> daemon(runnable, "fcm-dispatch"));
+        for(int i = 0; i < workerThreads; i++){
+            workers.execute(this::runWorker);
+        }
+    }
+
+    @PreDestroy
+    public void stop(){
+        workers.shutdownNow();
+        retryScheduler.shutdownNow();
+    }
+
+    // 발송 요청 (큐가 가득 차면 버리고 false)
+    public boolean enqueue(String token, String title, String body){
+        if(token == null || token.isEmpty()) return false;
+        boolean queued = queue.offer(new PendingMessage(new FcmMessage(token, title, body), 1));
+        if(!queued){
+            dropped.increment();
+            log.warn("FCM queue is full, dropping message: {}", title);
+        }
+        return queued;
+    }
+
+    private void runWorker(){
+        List<PendingMessage> batch = new ArrayList<>(FcmClient.MAX_BATCH_SIZE);
+        while(!Thread.currentThread().isInterrupted()){
+            try{
+                // 하나 올 때까지 대기 -> 그동안 쌓인 것들 같이 묶음
+                batch.add(queue.take());
+                queue.drainTo(batch, FcmClient.MAX_BATCH_SIZE - 1);
+                send(batch);
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+            }catch (RuntimeException e){
+                log.error("FCM dispatch failed", e);
+            }finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<PendingMessage> batch){
+        List<FcmMessage> messages = new ArrayList<>(batch.size());
+        batch.forEach(pending -> messages.add(pending.message));
+
+        long startedAt = System.nanoTime();
+        List<FcmClient.SendResult> results;
+        try{
+            results = fcmClient.sendEach(messages);
+        }catch (RuntimeException e){
+            log.warn("FCM client error", e);
+            results = Collections.nCopies(batch.size(), FcmClient.SendResult.RETRYABLE);
+        }
+        sendLatency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+        Set<String> unregisteredTokens = new HashSet<>();
+        for(int i = 0; i < batch.size(); i++){
+            PendingMessage pending = batch.get(i);
+            switch (results.get(i)){
+                case SUCCESS:
+                    sent.increment();
+                    break;
+                case UNREGISTERED:
+                    unregistered.increment();
+                    unregisteredTokens.add(pending.message.getToken());
+                    break;
+                case RETRYABLE:
+                    retry(pending);
+                    break;
+                default:
+                    failed.increment();
+                    break;
+            }
+        }
+        if(!unregisteredTokens.isEmpty()) pruneTokens(unregisteredTokens);
+    }
+
+    // 0.5초, 1초, 2초, 4초 (+ 최대 50% 랜덤) 뒤에 다시 큐에 넣음
+    private void retry(PendingMessage pending){
+        if(pending.attempts >= MAX_ATTEMPTS){
+            failed.increment();
+            log.warn("FCM message failed after {} attempts: {}", pending.attempts, pending.message.getTitle());
+            return;
+        }
+        retried.increment();
+        long backoff = BASE_BACKOFF_MILLIS << (pending.attempts - 1);
+        long delay = backoff + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        PendingMessage next = new PendingMessage(pending.message, pending.attempts + 1);
+        retryScheduler.schedule(() -> {
+            if(!queue.offer(next)) dropped.increment();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    // 더 이상 유효하지 않은 토큰은 저장된 곳에서 삭제
+    private void pruneTokens(Collection<String> tokens){
+        try{
+            transactionTemplate.executeWithoutResult(status -> {
+                memberRepository.clearFcmTokens(tokens);
+                counselorRepository.clearFcmTokens(tokens);
+            });
+            log.info("Pruned {} unregistered FCM tokens", tokens.size());
+        }catch (RuntimeException e){
+            log.warn("Failed to prune unregistered FCM tokens", e);
+        }
+    }
+
+    private static Counter resultCounter(MeterRegistry meterRegistry, String result){
+        return Counter.builder("fcm.dispatch.messages")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Thread daemon(Runnable runnable, String name){
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static class PendingMessage {
+        private final FcmMessage message;
+        private final int attempts;
+
+        private PendingMessage(FcmMessage message, int attempts) {
+            this.message = message;
+            this.attempts = attempts;
+        }
+    }
+}
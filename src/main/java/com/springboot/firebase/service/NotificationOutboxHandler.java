@@ -0,0 +1,77 @@
+package com.springboot.firebase.service;
+
+import com.springboot.chat.repository.ChatRoomRepository;
+import com.springboot.outbox.entity.OutboxEvent;
+import com.springboot.outbox.service.OutboxEventHandler;
+import com.springboot.reservation.entity.Reservation;
+import com.springboot.reservation.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// 예약/리뷰/진단/채팅방 이벤트 -> 푸시 알림 발송
+@Slf4j
+@Component
+public class NotificationOutboxHandler implements OutboxEventHandler {
+    private final NotificationService notificationService;
+    private final ReservationRepository reservationRepository;
+    private final ChatRoomRepository chatRoomRepository;
+
+    public NotificationOutboxHandler(NotificationService notificationService,
+                                     ReservationRepository reservationRepository,
+                                     ChatRoomRepository chatRoomRepository) {
+        this.notificationService = notificationService;
+        this.reservationRepository = reservationRepository;
+        this.chatRoomRepository = chatRoomRepository;
+    }
+
+    @Override
+    public Set<OutboxEvent.EventType> supportedTypes() {
+        return EnumSet.of(OutboxEvent.EventType.RESERVATION_CREATED,
+                OutboxEvent.EventType.RESERVATION_CANCELLED_BY_MEMBER,
+                OutboxEvent.EventType.RESERVATION_CANCELLED_BY_COUNSELOR,
+                OutboxEvent.EventType.REVIEW_REGISTERED,
+                OutboxEvent.EventType.REPORT_REGISTERED,
+                OutboxEvent.EventType.CHAT_ROOM_OPENED);
+    }
+
+    // 발송 실패는 예외로 그대로 올려 outbox가 다시 시도하게 함
+    // 알림 id는 dedupeKey로 정해서 다시 처리돼도 같은 알림을 덮어씀
+    @Override
+    public void handle(OutboxEvent event) {
+        String notificationId = NotificationService.notificationIdOf(event.getDedupeKey());
+        if(event.getEventType() == OutboxEvent.EventType.CHAT_ROOM_OPENED){
+            chatRoomRepository.findById(event.getAggregateId())
+                    .ifPresent(chatRoom -> notificationService.deliverChatRoomCreationNotification(
+                            chatRoom.getMember().getMemberId(), chatRoom.getRoomId(), notificationId));
+            return;
+        }
+
+        Reservation reservation = reservationRepository.findById(event.getAggregateId()).orElse(null);
+        if(reservation == null){
+            log.warn("Reservation not found for outbox event: {}", event.getDedupeKey());
+            return;
+        }
+        switch (event.getEventType()){
+            case RESERVATION_CREATED:
+                notificationService.deliverReservationNotification(reservation.getReservationId(), notificationId);
+                break;
+            case RESERVATION_CANCELLED_BY_MEMBER:
+                notificationService.deliverReservationCanceledNotificationToCounselor(reservation, notificationId);
+                break;
+            case RESERVATION_CANCELLED_BY_COUNSELOR:
+                notificationService.deliverReservationCanceledNotificationToMember(reservation, notificationId);
+                break;
+            case REVIEW_REGISTERED:
+                notificationService.deliverReviewRegisteredNotification(reservation, reservation.getReview(), notificationId);
+                break;
+            case REPORT_REGISTERED:
+                notificationService.deliverReportRegisteredNotification(reservation, reservation.getReport(), notificationId);
+                break;
+            default:
+                break;
+        }
+    }
+}
@@ -1,9 +1,6 @@
 package com.springboot.firebase.service;
 
-import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
-import com.google.firebase.messaging.Message;
-import com.google.firebase.messaging.Notification;
 
 import java.time.Duration;
 import java.time.LocalDate;
@@ -15,6 +12,7 @@ import com.springboot.chat.repository.ChatRoomRepository;
 import com.springboot.counselor.service.CounselorService;
 import com.springboot.exception.BusinessLogicException;
 import com.springboot.exception.ExceptionCode;
+import com.springboot.firebase.repository.NotificationInboxRepository;
 import com.springboot.member.repository.MemberRepository;
 import com.springboot.counselor.repository.CounselorRepository;
 import com.springboot.reservation.entity.Report;
@@ -29,6 +27,7 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import javax.persistence.EntityNotFoundException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -43,37 +42,13 @@ public class NotificationService {
     private final ReservationRepository reservationRepository;
     private final CounselorService counselorService;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final FcmDispatcher fcmDispatcher;
+    private final NotificationInboxRepository notificationInboxRepository;
 
     // 싱딤사가 상담예약을 취소시 사용자에게 알림 전송 로직
     public void sendReservationCanceledNotificationToCounselor(Reservation reservation) {
         try {
-            Counselor counselor = counselorService.findCounselor(reservation.getCounselorId());
-            String fcmToken = counselor.getFcmToken();
-
-            if (fcmToken == null || fcmToken.isEmpty()) {
-                log.warn("FCM token not found for counselor: {}", counselor.getCounselorId());
-                return;
-            }
-
-            // 알림 생성
-            com.springboot.firebase.data.Notification notification = createNotification(
-                    counselor.getCounselorId(),
-                    0,
-                    reservation.getReservationId(),
-                    "",
-                    "",
-                    "상담이 취소되었습니다",
-                    "상담이 취소되었습니다. 자세한 내용을 확인하세요.",
-                    com.springboot.firebase.data.Notification.NotificationType.RESERVATION
-            );
-
-            // 알림 저장 (Redis 또는 DB)
-            saveNotificationToRedis(counselor.getUserId(), notification);
-
-            // FCM 메시지 전송
-            sendFcmMessage(fcmToken, notification.getTitle(), notification.getBody());
-
-            log.info("Reservation canceled notification sent to counselor: counselorId={}, reservationId={}", counselor.getCounselorId(), reservation.getReservationId());
+            deliverReservationCanceledNotificationToCounselor(reservation, newNotificationId());
         } catch (Exception e) {
             log.error("Failed to send reservation canceled notification: reservationId={}", reservation.getReservationId(), e);
         }
@@ -82,34 +57,7 @@ public class NotificationService {
     // 사용자가 상담예약을 취소시 상담사에게 알림 전송 로직
     public void sendReservationCanceledNotificationToMember(Reservation reservation) {
         try {
-            // 사용자 정보 가져오기
-            Member member = getMember(reservation.getMember().getMemberId());
-            String fcmToken = member.getFcmToken();
-
-            if (fcmToken == null || fcmToken.isEmpty()) {
-                log.warn("FCM token not found for member: {}", member.getMemberId());
-                return;
-            }
-
-            // 알림 생성
-            com.springboot.firebase.data.Notification notification = createNotification(
-                    member.getMemberId(),
-                    0,
-                    reservation.getReservationId(),
-                    "",
-                    "",
-                    "상담이 취소되었습니다",
-                    "상담사가 상담을 취소하였습니다. 확인해 주세요.",
-                    com.springboot.firebase.data.Notification.NotificationType.RESERVATION
-            );
-
-            // 알림 저장 (Redis 또는 DB)
-            saveNotificationToRedis(member.getUserId(), notification);
-
-            // FCM 메시지 전송
-            sendFcmMessage(fcmToken, notification.getTitle(), notification.getBody());
-
-            log.info("Reservation canceled notification sent to member: memberId={}, reservationId={}", member.getMemberId(), reservation.getReservationId());
+            deliverReservationCanceledNotificationToMember(reservation, newNotificationId());
         } catch (Exception e) {
             log.error("Failed to send reservation canceled notification to member: reservationId={}", reservation.getReservationId(), e);
         }
@@ -118,33 +66,7 @@ public class NotificationService {
     // 사용자가 리뷰를 작성시 상담사에게 알림 전송 로직
     public void sendReviewRegisteredNotification(Reservation reservation, Review review) {
         try {
-            Counselor counselor = getCounselor(reservation.getCounselorId());
-            String fcmToken = counselor.getFcmToken();
-
-            if (fcmToken == null || fcmToken.isEmpty()) {
-                log.warn("FCM token not found: {}", counselor.getCounselorId());
-                return;
-            }
-
-            // 알림 생성
-            com.springboot.firebase.data.Notification notification = createNotification(
-                    counselor.getCounselorId(),
-                    0,
-                    reservation.getReservationId(),
-                    "",
-                    "",
-                    "새로운 리뷰가 등록되었습니다",
-                    "새로운 리뷰가 등록되었습니다. 평점: " + review.getRating(),
-                    com.springboot.firebase.data.Notification.NotificationType.RESERVATION
-            );
-
-            // 알림 저장 (Redis)
-            saveNotificationToRedis(counselor.getUserId(), notification);
-
-            // FCM 메세지 전송
-            sendFcmMessage(fcmToken, notification.getTitle(), notification.getBody());
-
-            log.info("Review registered notification sent to counselor: counselorId={}, reservationId={}", counselor.getCounselorId(), reservation.getReservationId());
+            deliverReviewRegisteredNotification(reservation, review, newNotificationId());
         } catch (Exception e) {
             log.error("Failed to send review registered notification: reservationId={}", reservation.getReservationId(), e);
         }
@@ -153,34 +75,7 @@ public class NotificationService {
     // 상담사가 사용자에대한 리포트를 작성시 사용자에게 알림 전송 로직
     public void sendReportRegisteredNotification(Reservation reservation, Report report) {
         try {
-            // 사용자 정보 가져오기
-            Member member = getMember(reservation.getMember().getMemberId());
-            String fcmToken = member.getFcmToken();
-
-            if (fcmToken == null || fcmToken.isEmpty()) {
-                log.warn("FCM token not found: {}", member.getMemberId());
-                return;
-            }
-
-            // 알림 생성
-            com.springboot.firebase.data.Notification notification = createNotification(
-                    member.getMemberId(),
-                    0,
-                    reservation.getReservationId(),
-                    "",
-                    "",
-                    "새로운 진단 리포트가 등록되었습니다",
-                    "상담사가 새로운 진단 리포트를 등록했습니다. 확인해 주세요.",
-                    com.springboot.firebase.data.Notification.NotificationType.RESERVATION
-            );
-
-            // 알림 저장 (Redis)
-            saveNotificationToRedis(member.getUserId(), notification);
-
-            // FCM 메시지 전송
-            sendFcmMessage(fcmToken, notification.getTitle(), notification.getBody());
-
-            log.info("Report registered notification sent to member: memberId={}, reservationId={}", member.getMemberId(), reservation.getReservationId());
+            deliverReportRegisteredNotification(reservation, report, newNotificationId());
         } catch (Exception e) {
             log.error("Failed to send report registered notification to member: reservationId={}", reservation.getReservationId(), e);
         }
@@ -189,132 +84,266 @@ public class NotificationService {
     // 채팅방 생성시 사용자에게 얼림 전송 로직
     public void sendChatRoomCreationNotification(long memberId, long roomId) {
         try {
-            log.info("Sending chat room creation notification: memberId={}, roomId={}", memberId, roomId);
+            deliverChatRoomCreationNotification(memberId, roomId, newNotificationId());
+        } catch (Exception e) {
+            log.error("Failed to send chat room creation notification: memberId={}, roomId={}", memberId, roomId, e);
+        }
+    }
+
+    public boolean sendReservationNotification(Long reservationId) {
+        try {
+            return deliverReservationNotification(reservationId, newNotificationId());
+        } catch (Exception e) {
+            log.error("Failed to send reservation notification: reservationId={}", reservationId, e);
+            return false;
+        }
+    }
 
-            Member member = getMember(memberId);
-            String fcmToken = member.getFcmToken();
+    // ㅡㅡㅡ outbox 처리용 ㅡㅡㅡ
+    // 실패하면 예외를 그대로 던짐 -> outbox가 잠시 후 다시 시도 (재시도 횟수를 넘기면 FAILED)
+    // notificationId는 outbox 이벤트로 정해서 넘김 -> 다시 처리돼도 알림함에는 같은 알림 하나만 남음
+    // FCM 토큰이 없는 사용자는 다시 시도해도 소용없으므로 예외 없이 끝냄
 
-            if (fcmToken == null || fcmToken.isEmpty()) {
-                log.warn("FCM token not found: userId={}", memberId);
-                return;
-            }
+    public void deliverReservationCanceledNotificationToCounselor(Reservation reservation, String notificationId) {
+        Counselor counselor = counselorService.findCounselor(reservation.getCounselorId());
+        String fcmToken = counselor.getFcmToken();
 
-            if (roomId <= 0) {
-                throw new IllegalArgumentException("Invalid roomId: " + roomId);
-            }
+        if (fcmToken == null || fcmToken.isEmpty()) {
+            log.warn("FCM token not found for counselor: {}", counselor.getCounselorId());
+            return;
+        }
 
-            ChatRoom chatRoom = chatRoomRepository.findById(roomId)
-                    .orElseThrow(() -> new BusinessLogicException(ExceptionCode.CHAT_ROOM_NOT_FOUND));
+        // 알림 생성
+        com.springboot.firebase.data.Notification notification = createNotification(
+                notificationId,
+                counselor.getCounselorId(),
+                0,
+                reservation.getReservationId(),
+                "",
+                "",
+                "상담이 취소되었습니다",
+                "상담이 취소되었습니다. 자세한 내용을 확인하세요.",
+                com.springboot.firebase.data.Notification.NotificationType.RESERVATION
+        );
 
-            Counselor counselor = counselorRepository.findById(chatRoom.getCounselor().getCounselorId())
-                    .orElseThrow(() -> new BusinessLogicException(ExceptionCode.COUNSELOR_NOT_FOUND));
+        // 알림 저장 (Redis 또는 DB)
+        saveNotificationToRedis(counselor.getUserId(), notification);
 
+        // FCM 메시지 전송
+        sendFcmMessageOrThrow(fcmToken, notification);
 
-            com.springboot.firebase.data.Notification notification = createNotification(
-                    memberId,
-                    roomId,
-                    0,
-                    member.getNickname(),
-                    counselor.getName(),
-                    "새로운 채팅방",
-                    "새로운 채팅방이 생성되었습니다.",
-                    com.springboot.firebase.data.Notification.NotificationType.CHAT
-            );
+        log.info("Reservation canceled notification sent to counselor: counselorId={}, reservationId={}", counselor.getCounselorId(), reservation.getReservationId());
+    }
 
-            saveNotificationToRedis(member.getUserId(), notification);
-            sendFcmMessage(fcmToken, notification.getTitle(), notification.getBody());
+    public void deliverReservationCanceledNotificationToMember(Reservation reservation, String notificationId) {
+        // 사용자 정보 가져오기
+        Member member = getMember(reservation.getMember().getMemberId());
+        String fcmToken = member.getFcmToken();
 
-            log.info("Chat room creation notification sent successfully: memberId={}, roomId={}", memberId, roomId);
-        } catch (Exception e) {
-            log.error("Failed to send chat room creation notification: memberId={}, roomId={}", memberId, roomId, e);
+        if (fcmToken == null || fcmToken.isEmpty()) {
+            log.warn("FCM token not found for member: {}", member.getMemberId());
+            return;
         }
+
+        // 알림 생성
+        com.springboot.firebase.data.Notification notification = createNotification(
+                notificationId,
+                member.getMemberId(),
+                0,
+                reservation.getReservationId(),
+                "",
+                "",
+                "상담이 취소되었습니다",
+                "상담사가 상담을 취소하였습니다. 확인해 주세요.",
+                com.springboot.firebase.data.Notification.NotificationType.RESERVATION
+        );
+
+        // 알림 저장 (Redis 또는 DB)
+        saveNotificationToRedis(member.getUserId(), notification);
+
+        // FCM 메시지 전송
+        sendFcmMessageOrThrow(fcmToken, notification);
+
+        log.info("Reservation canceled notification sent to member: memberId={}, reservationId={}", member.getMemberId(), reservation.getReservationId());
     }
 
-    public boolean sendReservationNotification(Long reservationId) {
-        try {
-            log.info("Sending reservation notification: reservationId={}", reservationId);
-
-            Reservation reservation = reservationRepository.findById(reservationId)
-                    .orElseThrow(() -> new BusinessLogicException(ExceptionCode.RESERVATION_NOT_FOUND));
-
-            Counselor counselor = counselorService.findCounselor(reservation.getCounselorId());
-            String fcmToken = counselor.getFcmToken();
-
-            if (fcmToken == null || fcmToken.isEmpty()) {
-                log.warn("FCM token not found: counselorId={}", counselor.getCounselorId());
-                return false;
-            }
-
-            com.springboot.firebase.data.Notification notification = createNotification(
-                    counselor.getCounselorId(),
-                    0,
-                    reservation.getReservationId(),
-                    "",
-                    counselor.getName(),
-                    "새로운 상담 예약", "새로운 상담이 예약되었습니다. 확인해 주세요.",
-                    com.springboot.firebase.data.Notification.NotificationType.RESERVATION
-            );
-
-            saveNotificationToRedis(counselor.getUserId(), notification);
-            String response = sendFcmMessage(fcmToken, notification.getTitle(), notification.getBody());
-
-            boolean result = response != null && !response.isEmpty();
-            log.info("Reservation notification sent: success={}, reservationId={}", result, reservationId);
-            return result;
-        } catch (Exception e) {
-            log.error("Failed to send reservation notification: reservationId={}", reservationId, e);
-            return false;
+    public void deliverReviewRegisteredNotification(Reservation reservation, Review review, String notificationId) {
+        Counselor counselor = getCounselor(reservation.getCounselorId());
+        String fcmToken = counselor.getFcmToken();
+
+        if (fcmToken == null || fcmToken.isEmpty()) {
+            log.warn("FCM token not found: {}", counselor.getCounselorId());
+            return;
         }
+
+        // 알림 생성
+        com.springboot.firebase.data.Notification notification = createNotification(
+                notificationId,
+                counselor.getCounselorId(),
+                0,
+                reservation.getReservationId(),
+                "",
+                "",
+                "새로운 리뷰가 등록되었습니다",
+                "새로운 리뷰가 등록되었습니다. 평점: " + review.getRating(),
+                com.springboot.firebase.data.Notification.NotificationType.RESERVATION
+        );
+
+        // 알림 저장 (Redis)
+        saveNotificationToRedis(counselor.getUserId(), notification);
+
+        // FCM 메세지 전송
+        sendFcmMessageOrThrow(fcmToken, notification);
+
+        log.info("Review registered notification sent to counselor: counselorId={}, reservationId={}", counselor.getCounselorId(), reservation.getReservationId());
     }
 
-    public boolean deleteNotification(String userId, String notificationId) {
-        String key = "notifications:" + userId;
-        try {
-            List<Object> objectList = redisTemplate.opsForList().range(key, 0, -1);
-            if (objectList != null) {
-                for (Object obj : objectList) {
-                    if (obj instanceof com.springboot.firebase.data.Notification) {
-                        com.springboot.firebase.data.Notification notification = (com.springboot.firebase.data.Notification) obj;
-                        if (notification.getNotificationId().equals(notificationId)) {
-                            long removed = redisTemplate.opsForList().remove(key, 1, notification);
-                            log.info("Notification deleted: userId={}, notificationId={}, removedCount={}", userId, notificationId, removed);
-                            return removed > 0;
-                        }
-                    }
-                }
-            }
-            log.warn("Notification not found: userId={}, notificationId={}", userId, notificationId);
-            return false;
-        } catch (Exception e) {
-            log.error("Error deleting notification: userId={}, notificationId={}", userId, notificationId, e);
+    public void deliverReportRegisteredNotification(Reservation reservation, Report report, String notificationId) {
+        // 사용자 정보 가져오기
+        Member member = getMember(reservation.getMember().getMemberId());
+        String fcmToken = member.getFcmToken();
+
+        if (fcmToken == null || fcmToken.isEmpty()) {
+            log.warn("FCM token not found: {}", member.getMemberId());
+            return;
+        }
+
+        // 알림 생성
+        com.springboot.firebase.data.Notification notification = createNotification(
+                notificationId,
+                member.getMemberId(),
+                0,
+                reservation.getReservationId(),
+                "",
+                "",
+                "새로운 진단 리포트가 등록되었습니다",
+                "상담사가 새로운 진단 리포트를 등록했습니다. 확인해 주세요.",
+                com.springboot.firebase.data.Notification.NotificationType.RESERVATION
+        );
+
+        // 알림 저장 (Redis)
+        saveNotificationToRedis(member.getUserId(), notification);
+
+        // FCM 메시지 전송
+        sendFcmMessageOrThrow(fcmToken, notification);
+
+        log.info("Report registered notification sent to member: memberId={}, reservationId={}", member.getMemberId(), reservation.getReservationId());
+    }
+
+    public void deliverChatRoomCreationNotification(long memberId, long roomId, String notificationId) {
+        log.info("Sending chat room creation notification: memberId={}, roomId={}", memberId, roomId);
+
+        Member member = getMember(memberId);
+        String fcmToken = member.getFcmToken();
+
+        if (fcmToken == null || fcmToken.isEmpty()) {
+            log.warn("FCM token not found: userId={}", memberId);
+            return;
+        }
+
+        if (roomId <= 0) {
+            throw new IllegalArgumentException("Invalid roomId: " + roomId);
+        }
+
+        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
+                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.CHAT_ROOM_NOT_FOUND));
+
+        Counselor counselor = counselorRepository.findById(chatRoom.getCounselor().getCounselorId())
+                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.COUNSELOR_NOT_FOUND));
+
+
+        com.springboot.firebase.data.Notification notification = createNotification(
+                notificationId,
+                memberId,
+                roomId,
+                0,
+                member.getNickname(),
+                counselor.getName(),
+                "새로운 채팅방",
+                "새로운 채팅방이 생성되었습니다.",
+                com.springboot.firebase.data.Notification.NotificationType.CHAT
+        );
+
+        saveNotificationToRedis(member.getUserId(), notification);
+        sendFcmMessageOrThrow(fcmToken, notification);
+
+        log.info("Chat room creation notification sent successfully: memberId={}, roomId={}", memberId, roomId);
+    }
+
+    // FCM 토큰이 없으면 false
+    public boolean deliverReservationNotification(Long reservationId, String notificationId) {
+        log.info("Sending reservation notification: reservationId={}", reservationId);
+
+        Reservation reservation = reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new BusinessLogicException(ExceptionCode.RESERVATION_NOT_FOUND));
+
+        Counselor counselor = counselorService.findCounselor(reservation.getCounselorId());
+        String fcmToken = counselor.getFcmToken();
+
+        if (fcmToken == null || fcmToken.isEmpty()) {
+            log.warn("FCM token not found: counselorId={}", counselor.getCounselorId());
             return false;
         }
+
+        com.springboot.firebase.data.Notification notification = createNotification(
+                notificationId,
+                counselor.getCounselorId(),
+                0,
+                reservation.getReservationId(),
+                "",
+                counselor.getName(),
+                "새로운 상담 예약", "새로운 상담이 예약되었습니다. 확인해 주세요.",
+                com.springboot.firebase.data.Notification.NotificationType.RESERVATION
+        );
+
+        saveNotificationToRedis(counselor.getUserId(), notification);
+        sendFcmMessageOrThrow(fcmToken, notification);
+        log.info("Reservation notification sent: reservationId={}", reservationId);
+        return true;
+    }
+
+    public boolean deleteNotification(String userId, String notificationId) {
+        boolean deleted = notificationInboxRepository.delete(userId, notificationId);
+        if(deleted) log.info("Notification deleted: userId={}, notificationId={}", userId, notificationId);
+        else log.warn("Notification not found: userId={}, notificationId={}", userId, notificationId);
+        return deleted;
     }
 
-    public List<com.springboot.firebase.data.Notification> getNotificationsForUser(String userId) {
-        String key = "notifications:" + userId;
-        List<Object> notifications = redisTemplate.opsForList().range(key, 0, -1);
-        return notifications.stream()
-                .filter(obj -> obj instanceof com.springboot.firebase.data.Notification)
-                .map(obj -> (com.springboot.firebase.data.Notification) obj)
-                .collect(Collectors.toList());
+    // 최신순 size개 (cursor: 이전 페이지 마지막 알림의 생성 시각(epoch millis), cursorId: 그 알림의 id, null이면 처음부터)
+    public List<com.springboot.firebase.data.Notification> getNotificationsForUser(String userId, Long cursor, String cursorId, int size) {
+        if(cursor == null) migrateLegacyNotifications(userId);
+        return notificationInboxRepository.findPage(userId, cursor, cursorId, size);
+    }
+
+    public long getUnreadCount(String userId) {
+        return notificationInboxRepository.countUnread(userId);
     }
 
     public void markNotificationAsRead(String userId, String notificationId) {
-        String key = "notifications:" + userId;
-        List<Object> notifications = redisTemplate.opsForList().range(key, 0, -1);
-        for (int i = 0; i < notifications.size(); i++) {
-            if (notifications.get(i) instanceof com.springboot.firebase.data.Notification) {
-                com.springboot.firebase.data.Notification notification = (com.springboot.firebase.data.Notification) notifications.get(i);
-                if (notification.getNotificationId().equals(notificationId)) {
-                    notification.setRead(true);
-                    redisTemplate.opsForList().set(key, i, notification);
-                    log.info("Notification marked as read: userId={}, notificationId={}", userId, notificationId);
-                    return;
-                }
-            }
+        if(notificationInboxRepository.markRead(userId, notificationId)){
+            log.info("Notification marked as read: userId={}, notificationId={}", userId, notificationId);
+        }else{
+            log.warn("Notification not found for marking as read: userId={}, notificationId={}", userId, notificationId);
+        }
+    }
+
+    public void markAllNotificationsAsRead(String userId) {
+        notificationInboxRepository.markAllRead(userId);
+    }
+
+    // 예전 형식(notifications:{userId} 리스트)으로 저장된 알림을 알림함으로 옮기고 리스트 삭제 (사용자당 한 번)
+    private void migrateLegacyNotifications(String userId) {
+        String legacyKey = "notifications:" + userId;
+        if(!Boolean.TRUE.equals(redisTemplate.hasKey(legacyKey))) return;
+        List<Object> legacyNotifications = redisTemplate.opsForList().range(legacyKey, 0, -1);
+        if(legacyNotifications != null){
+            legacyNotifications.stream()
+                    .filter(obj -> obj instanceof com.springboot.firebase.data.Notification)
+                    .map(obj -> (com.springboot.firebase.data.Notification) obj)
+                    .filter(notification -> notification.getCreatedAt() != null)
+                    .forEach(notification -> notificationInboxRepository.add(userId, notification));
         }
-        log.warn("Notification not found for marking as read: userId={}, notificationId={}", userId, notificationId);
+        redisTemplate.delete(legacyKey);
     }
 
     private Member getMember(long memberId) {
@@ -322,9 +351,18 @@ public class NotificationService {
                 .orElseThrow(() -> new EntityNotFoundException("Member not found with id: " + memberId));
     }
 
-    private com.springboot.firebase.data.Notification createNotification(long userId,long roomId, long reservationId, String nickName, String counselorName, String title, String body, com.springboot.firebase.data.Notification.NotificationType type) {
+    // outbox 이벤트의 dedupeKey로 알림 id 만들기 (같은 이벤트면 항상 같은 id)
+    public static String notificationIdOf(String dedupeKey) {
+        return UUID.nameUUIDFromBytes(dedupeKey.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private static String newNotificationId() {
+        return UUID.randomUUID().toString();
+    }
+
+    private com.springboot.firebase.data.Notification createNotification(String notificationId, long userId,long roomId, long reservationId, String nickName, String counselorName, String title, String body, com.springboot.firebase.data.Notification.NotificationType type) {
         return new com.springboot.firebase.data.Notification(
-                UUID.randomUUID().toString(),
+                notificationId,
                 userId,       // counselorId or userId
                 roomId,            // roomId는 필요 없을 때 0으로 설정
                 reservationId,
@@ -338,25 +376,22 @@ public class NotificationService {
         );
     }
 
+    // 같은 notificationId면 덮어씀 (다시 처리돼도 알림이 하나만 남음), 실패하면 예외
     private void saveNotificationToRedis(String userId, com.springboot.firebase.data.Notification notification) {
-        String key = "notifications:" + userId;
-        try {
-            redisTemplate.opsForList().leftPush(key, notification);
-            log.info("Notification saved to Redis: userId={}, notificationId={}", userId, notification.getNotificationId());
-        } catch (Exception e) {
-            log.error("Failed to save notification to Redis: userId={}, notificationId={}", userId, notification.getNotificationId(), e);
-        }
+        notificationInboxRepository.add(userId, notification);
+        log.info("Notification saved to Redis: userId={}, notificationId={}", userId, notification.getNotificationId());
     }
 
-    private String sendFcmMessage(String fcmToken, String title, String body) throws FirebaseMessagingException {
-        Message message = Message.builder()
-                .setToken(fcmToken)
-                .setNotification(Notification.builder()
-                        .setTitle(title)
-                        .setBody(body)
-                        .build())
-                .build();
-        return FirebaseMessaging.getInstance().send(message);
+    // 발송 큐에 넣기만 하고 바로 반환 (실제 발송은 FcmDispatcher가 묶어서 처리)
+    private boolean sendFcmMessage(String fcmToken, String title, String body) {
+        return fcmDispatcher.enqueue(fcmToken, title, body);
+    }
+
+    // 발송 큐가 가득 차서 못 넣었으면 예외 (outbox가 다시 시도)
+    private void sendFcmMessageOrThrow(String fcmToken, com.springboot.firebase.data.Notification notification) {
+        if (!sendFcmMessage(fcmToken, notification.getTitle(), notification.getBody())) {
+            throw new IllegalStateException("FCM queue is full: notificationId=" + notification.getNotificationId());
+        }
     }
 
     // 예약된 상담 찾기
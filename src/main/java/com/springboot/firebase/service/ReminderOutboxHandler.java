@@ -0,0 +1,46 @@
+package com.springboot.firebase.service;
+
+import com.springboot.outbox.entity.OutboxEvent;
+import com.springboot.outbox.service.OutboxEventHandler;
+import com.springboot.reservation.entity.Reservation;
+import com.springboot.reservation.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// 예약 알림 작업 등록/취소 (Redis 오류는 예외로 올려 outbox가 다시 시도)
+// 등록과 취소가 순서가 바뀌어 처리될 수 있으므로 등록 전에 예약이 취소됐는지 확인
+@Slf4j
+@Component
+public class ReminderOutboxHandler implements OutboxEventHandler {
+    private final ReminderService reminderService;
+    private final ReservationRepository reservationRepository;
+
+    public ReminderOutboxHandler(ReminderService reminderService, ReservationRepository reservationRepository) {
+        this.reminderService = reminderService;
+        this.reservationRepository = reservationRepository;
+    }
+
+    @Override
+    public Set<OutboxEvent.EventType> supportedTypes() {
+        return EnumSet.of(OutboxEvent.EventType.RESERVATION_REMINDERS_SCHEDULED,
+                OutboxEvent.EventType.RESERVATION_REMINDERS_CANCELLED);
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        long reservationId = event.getAggregateId();
+        if(event.getEventType() == OutboxEvent.EventType.RESERVATION_REMINDERS_CANCELLED){
+            reminderService.cancelFor(reservationId);
+            return;
+        }
+        Reservation reservation = reservationRepository.findById(reservationId).orElse(null);
+        if(reservation == null || reservation.isCancelled()){
+            log.info("Skipping reminders of cancelled reservation: {}", reservationId);
+            return;
+        }
+        reminderService.scheduleFor(reservation);
+    }
+}
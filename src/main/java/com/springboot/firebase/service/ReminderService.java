@@ -0,0 +1,93 @@
+package com.springboot.firebase.service;
+
+import com.springboot.firebase.repository.ReminderJobRepository;
+import com.springboot.reservation.entity.Reservation;
+import com.springboot.reservation.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// 예약별 알림 예약/취소 (상담 시작 10분 전 알림, 상담 종료 후 후기 작성 요청)
+// 작업은 Redis ZSET에 발송 시각으로 저장되고, 서버마다 도는 ReminderWheel 중 하나만 가져가서 발송
+@Slf4j
+@Service
+public class ReminderService {
+    private static final String START_REMINDER = "start:";
+    private static final String REVIEW_REQUEST = "review:";
+    private static final long START_REMINDER_MINUTES = 10;
+
+    private final ReminderJobRepository reminderJobRepository;
+    private final NotificationService notificationService;
+    private final ReservationRepository reservationRepository;
+    private final ReminderWheel reminderWheel;
+
+    public ReminderService(ReminderJobRepository reminderJobRepository,
+                           NotificationService notificationService,
+                           ReservationRepository reservationRepository,
+                           @Value("${toktalk.reminder.tick-millis:100}") long tickMillis,
+                           @Value("${toktalk.reminder.wheel-size:512}") int wheelSize,
+                           @Value("${toktalk.reminder.lookahead-seconds:5}") long lookaheadSeconds,
+                           @Value("${toktalk.reminder.lease-seconds:60}") long leaseSeconds,
+                           @Value("${toktalk.reminder.claim-batch-size:500}") int claimBatchSize,
+                           @Value("${toktalk.reminder.dispatch-threads:4}") int dispatchThreads) {
+        this.reminderJobRepository = reminderJobRepository;
+        this.notificationService = notificationService;
+        this.reservationRepository = reservationRepository;
+        this.reminderWheel = new ReminderWheel(reminderJobRepository, this::handle,
+                tickMillis, wheelSize, lookaheadSeconds * 1000, leaseSeconds * 1000, claimBatchSize, dispatchThreads);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start(){
+        reminderWheel.start();
+    }
+
+    @PreDestroy
+    public void stop(){
+        reminderWheel.stop();
+    }
+
+    // 예약 등록 시 알림 작업 등록 (이미 지난 알림은 건너뜀)
+    public void scheduleFor(Reservation reservation){
+        LocalDateTime startAt = LocalDateTime.of(reservation.getDate(), reservation.getStartTime());
+        LocalDateTime remindAt = startAt.minusMinutes(START_REMINDER_MINUTES);
+        if(remindAt.isAfter(LocalDateTime.now())){
+            reminderJobRepository.schedule(START_REMINDER + reservation.getReservationId(), toEpochMillis(remindAt));
+        }
+        LocalDateTime endAt = LocalDateTime.of(reservation.getDate(), reservation.getEndTime());
+        reminderJobRepository.schedule(REVIEW_REQUEST + reservation.getReservationId(), toEpochMillis(endAt));
+    }
+
+    // 예약 취소 시 남은 알림 작업 취소
+    public void cancelFor(long reservationId){
+        reminderJobRepository.cancel(START_REMINDER + reservationId);
+        reminderJobRepository.cancel(REVIEW_REQUEST + reservationId);
+    }
+
+    private void handle(String jobId){
+        boolean startReminder = jobId.startsWith(START_REMINDER);
+        long reservationId = Long.parseLong(jobId.substring(jobId.indexOf(':') + 1));
+        Reservation reservation = reservationRepository.findById(reservationId).orElse(null);
+        // 취소된 예약이면 발송 안 함 (취소와 발송이 거의 동시에 일어난 경우)
+        if(reservation == null || reservation.isCancelled()) return;
+        try{
+            if(startReminder){
+                notificationService.sendReservationReminder(reservationId);
+            }else{
+                notificationService.sendReviewRequestNotification(reservation.getMember().getMemberId(), reservationId);
+            }
+        }catch (Exception e){
+            log.error("Failed to send reminder: jobId={}", jobId, e);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime){
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
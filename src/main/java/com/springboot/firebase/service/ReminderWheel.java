@@ -0,0 +1,131 @@
+package com.springboot.firebase.service;
+
+import com.springboot.firebase.repository.ReminderJobRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// 서버마다 하나씩 도는 해시 타이밍 휠
+// 곧(lookahead 안에) 발송할 작업만 저장소에서 가져와(claim) 발송 시각의 칸에 넣어두고, 틱마다 해당 칸만 확인해서 발송
+// 작업 수와 상관없이 스레드는 틱 스레드 1개 + 발송 스레드 몇 개
+@Slf4j
+public class ReminderWheel {
+    private final ReminderJobRepository repository;
+    private final Consumer<String> handler;
+    private final long tickMillis;
+    private final long lookaheadMillis;
+    private final long leaseMillis;
+    private final int claimBatchSize;
+
+    private final Queue<ReminderJobRepository.ClaimedJob>[] buckets;
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService dispatcher;
+    // 마지막으로 확인한 틱 (휠 스레드에서만 접근)
+    private long lastTick;
+    private long lastRequeueAt;
+
+    @SuppressWarnings("unchecked")
+    public ReminderWheel(ReminderJobRepository repository, Consumer<String> handler,
+                         long tickMillis, int wheelSize, long lookaheadMillis, long leaseMillis,
+                         int claimBatchSize, int dispatchThreads) {
+        // 휠 한 바퀴보다 먼 작업은 가져오지 않음 -> 칸마다 몇 바퀴 남았는지 셀 필요 없음
+        if(lookaheadMillis >= tickMillis * wheelSize) throw new IllegalArgumentException("lookahead must be shorter than one wheel round");
+        // 가져온 작업이 발송 시각 전에 lease가 끝나면 안 됨
+        if(leaseMillis <= lookaheadMillis) throw new IllegalArgumentException("lease must be longer than lookahead");
+        this.repository = repository;
+        this.handler = handler;
+        this.tickMillis = tickMillis;
+        this.lookaheadMillis = lookaheadMillis;
+        this.leaseMillis = leaseMillis;
+        this.claimBatchSize = claimBatchSize;
+        this.buckets = new Queue[wheelSize];
+        for(int i = 0; i < wheelSize; i++){
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "reminder-wheel"));
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> daemon(runnable, "reminder-dispatch"));
+    }
+
+    public void start(){
+        lastTick = System.currentTimeMillis() / tickMillis;
+        ticker.scheduleAtFixedRate(this::tick, 0, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop(){
+        ticker.shutdownNow();
+        dispatcher.shutdown();
+    }
+
+    private void tick(){
+        try{
+            long now = System.currentTimeMillis();
+            // lease가 끝났는데 완료되지 않은 작업 되돌리기 (가끔만)
+            if(now - lastRequeueAt >= leaseMillis / 2){
+                lastRequeueAt = now;
+                int requeued = repository.requeueExpired(now);
+                if(requeued > 0) log.warn("Requeued {} reminder jobs with expired lease", requeued);
+            }
+            claim(now);
+
+            // 지난 틱부터 현재 틱까지 칸 확인 (틱이 밀렸어도 빠짐없이)
+            long currentTick = now / tickMillis;
+            for(long tick = lastTick; tick <= currentTick; tick++){
+                fireBucket(buckets[(int) (tick % buckets.length)], now);
+            }
+            lastTick = currentTick;
+        }catch (RuntimeException e){
+            // 저장소 오류 등 -> 다음 틱에 다시
+            log.error("Reminder wheel tick failed", e);
+        }
+    }
+
+    // lookahead 안에 발송할 작업 가져와서 칸에 넣기 (이미 지난 것은 현재 칸)
+    private void claim(long now){
+        List<ReminderJobRepository.ClaimedJob> jobs;
+        do{
+            jobs = repository.claimDue(now + lookaheadMillis, claimBatchSize, now + leaseMillis);
+            for(ReminderJobRepository.ClaimedJob job : jobs){
+                long tick = Math.max(job.getFireAt(), now) / tickMillis;
+                buckets[(int) (tick % buckets.length)].add(job);
+            }
+        }while(jobs.size() == claimBatchSize);
+    }
+
+    private void fireBucket(Queue<ReminderJobRepository.ClaimedJob> bucket, long now){
+        List<ReminderJobRepository.ClaimedJob> due = new ArrayList<>();
+        Iterator<ReminderJobRepository.ClaimedJob> iterator = bucket.iterator();
+        while(iterator.hasNext()){
+            ReminderJobRepository.ClaimedJob job = iterator.next();
+            if(job.getFireAt() <= now){
+                due.add(job);
+                iterator.remove();
+            }
+        }
+        due.forEach(job -> dispatcher.execute(() -> fire(job)));
+    }
+
+    private void fire(ReminderJobRepository.ClaimedJob job){
+        // 완료 처리에 성공한 서버만 발송 (그 사이 취소됐거나 다른 서버로 넘어간 작업은 건너뜀)
+        if(!repository.complete(job.getJobId(), job.getLeaseUntil())) return;
+        try{
+            handler.accept(job.getJobId());
+        }catch (RuntimeException e){
+            log.error("Reminder job failed: {}", job.getJobId(), e);
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name){
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
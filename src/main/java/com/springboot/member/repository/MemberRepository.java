@@ -4,7 +4,11 @@ package com.springboot.member.repository;
 import com.springboot.member.entity.Member;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface MemberRepository extends JpaRepository<Member, Long> {
@@ -13,4 +17,9 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     Optional<Member> findByUserId(String userId);
     Optional<Member> findByNickname(String nickname);
 
+    // 유효하지 않은 FCM 토큰 삭제
+    @Modifying
+    @Query("update Member m set m.fcmToken = null where m.fcmToken in :tokens")
+    int clearFcmTokens(@Param("tokens") Collection<String> tokens);
+
 }
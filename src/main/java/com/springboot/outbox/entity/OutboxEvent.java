@@ -0,0 +1,81 @@
+package com.springboot.outbox.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 상태 변경과 같은 트랜잭션에 저장되는 도메인 이벤트 (알림 발송 등은 OutboxDispatcher가 커밋 후 따로 처리)
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(indexes = {
+        // 발송 대상 조회 (status = 'PENDING' and next_attempt_at <= ? order by outbox_event_id)
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+}, uniqueConstraints = @UniqueConstraint(name = "uk_outbox_dedupe_key", columnNames = "dedupe_key"))
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long outboxEventId;
+
+    @Column(nullable = false, length = 40)
+    @Enumerated(EnumType.STRING)
+    private EventType eventType;
+
+    // 이벤트 대상 id (예약 id, 채팅방 id)
+    @Column(nullable = false)
+    private long aggregateId;
+
+    // 같은 이벤트가 두 번 저장되지 않도록 (예: RESERVATION_CREATED:15)
+    @Column(nullable = false, length = 100)
+    private String dedupeKey;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // 이 시각 이후에 발송 시도 (실패 시 뒤로 미룸, 가져간 서버가 처리 중인 동안에도 뒤로 미룸)
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt = LocalDateTime.now();
+
+    // 이 이벤트를 가져간 발송 묶음
+    @Column(length = 36)
+    private String claimToken;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column
+    private LocalDateTime dispatchedAt;
+
+    public OutboxEvent(EventType eventType, long aggregateId, String dedupeKey) {
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.dedupeKey = dedupeKey;
+    }
+
+    public enum EventType {
+        RESERVATION_CREATED,
+        RESERVATION_CANCELLED_BY_MEMBER,
+        RESERVATION_CANCELLED_BY_COUNSELOR,
+        REVIEW_REGISTERED,
+        REPORT_REGISTERED,
+        CHAT_ROOM_OPENED,
+        // 예약 알림(시작 전, 후기 요청) 작업 등록/취소 (Redis 오류면 재시도)
+        RESERVATION_REMINDERS_SCHEDULED,
+        RESERVATION_REMINDERS_CANCELLED
+    }
+
+    public enum Status {
+        PENDING,
+        DISPATCHED,
+        // 재시도 횟수 초과
+        FAILED
+    }
+}
@@ -0,0 +1,46 @@
+package com.springboot.outbox.repository;
+
+import com.springboot.outbox.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // 발송할 차례가 된 이벤트 id (오래된 순)
+    @Query("select e.outboxEventId from OutboxEvent e " +
+            "where e.status = com.springboot.outbox.entity.OutboxEvent.Status.PENDING and e.nextAttemptAt <= :now " +
+            "order by e.outboxEventId")
+    List<Long> findDispatchableIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // 아직 아무도 안 가져간 것만 claimToken을 달고 leaseUntil까지 다른 서버가 못 가져가게 함
+    @Modifying
+    @Query("update OutboxEvent e set e.claimToken = :claimToken, e.nextAttemptAt = :leaseUntil " +
+            "where e.outboxEventId in :ids " +
+            "and e.status = com.springboot.outbox.entity.OutboxEvent.Status.PENDING and e.nextAttemptAt <= :now")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("claimToken") String claimToken,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Query("select e from OutboxEvent e where e.claimToken = :claimToken " +
+            "and e.status = com.springboot.outbox.entity.OutboxEvent.Status.PENDING order by e.outboxEventId")
+    List<OutboxEvent> findClaimed(@Param("claimToken") String claimToken);
+
+    // 발송 완료 처리 (한 번에)
+    @Modifying
+    @Query("update OutboxEvent e set e.status = com.springboot.outbox.entity.OutboxEvent.Status.DISPATCHED, " +
+            "e.dispatchedAt = :now where e.outboxEventId in :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // 오래된 발송 완료 이벤트 정리
+    @Modifying
+    @Query("delete from OutboxEvent e where e.status = com.springboot.outbox.entity.OutboxEvent.Status.DISPATCHED " +
+            "and e.dispatchedAt < :before")
+    int deleteDispatchedBefore(@Param("before") LocalDateTime before);
+}
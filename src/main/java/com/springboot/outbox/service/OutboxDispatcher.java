@@ -0,0 +1,109 @@
+package com.springboot.outbox.service;
+
+import com.springboot.outbox.entity.OutboxEvent;
+import com.springboot.outbox.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+// outbox에 쌓인 이벤트를 묶음 단위로 가져가서 처리기에 넘김 (최소 한 번 전달)
+// 여러 서버가 같이 돌아도 claimToken으로 가져간 묶음만 처리하고, 처리 중에 서버가 죽으면 lease가 끝난 뒤 다시 처리됨
+@Slf4j
+@Component
+public class OutboxDispatcher {
+    private static final int MAX_ATTEMPTS = 10;
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<OutboxEvent.EventType, OutboxEventHandler> handlers = new EnumMap<>(OutboxEvent.EventType.class);
+    private final int batchSize;
+    private final Duration lease;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            PlatformTransactionManager transactionManager,
+                            List<OutboxEventHandler> handlers,
+                            @Value("${toktalk.outbox.batch-size:100}") int batchSize,
+                            @Value("${toktalk.outbox.lease-seconds:60}") long leaseSeconds) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        handlers.forEach(handler -> handler.supportedTypes().forEach(type -> this.handlers.put(type, handler)));
+        this.batchSize = batchSize;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+    }
+
+    // 밀린 이벤트가 없을 때까지 묶음 단위로 처리
+    @Scheduled(fixedDelayString = "${toktalk.outbox.poll-interval-millis:500}")
+    public void dispatch(){
+        List<OutboxEvent> events;
+        do{
+            events = claimBatch();
+            if(events.isEmpty()) return;
+
+            List<Long> dispatchedIds = new ArrayList<>();
+            for(OutboxEvent event : events){
+                if(handle(event)) dispatchedIds.add(event.getOutboxEventId());
+            }
+            if(!dispatchedIds.isEmpty()){
+                transactionTemplate.executeWithoutResult(status ->
+                        outboxEventRepository.markDispatched(dispatchedIds, LocalDateTime.now()));
+            }
+        }while(events.size() == batchSize);
+    }
+
+    // 7일 지난 발송 완료 이벤트 삭제
+    @Scheduled(cron = "0 30 4 * * ?") // 매일 4시 30분에 실행
+    public void purgeDispatched(){
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteDispatchedBefore(LocalDateTime.now().minusDays(7)));
+        log.info("Purged {} dispatched outbox events", deleted);
+    }
+
+    private List<OutboxEvent> claimBatch(){
+        List<OutboxEvent> events = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = outboxEventRepository.findDispatchableIds(now, PageRequest.of(0, batchSize));
+            if(ids.isEmpty()) return Collections.<OutboxEvent>emptyList();
+            String claimToken = UUID.randomUUID().toString();
+            // 다른 서버가 먼저 가져간 id는 빠짐
+            outboxEventRepository.claim(ids, claimToken, now, now.plus(lease));
+            return outboxEventRepository.findClaimed(claimToken);
+        });
+        return events == null ? Collections.emptyList() : events;
+    }
+
+    // 처리 성공이면 true, 실패면 재시도 시각을 뒤로 미루고 false
+    private boolean handle(OutboxEvent event){
+        OutboxEventHandler handler = handlers.get(event.getEventType());
+        if(handler == null){
+            log.warn("No outbox handler for {}", event.getEventType());
+            return true;
+        }
+        try{
+            handler.handle(event);
+            return true;
+        }catch (Exception e){
+            log.warn("Outbox event failed: id={}, type={}, attempts={}", event.getOutboxEventId(), event.getEventType(), event.getAttempts() + 1, e);
+            scheduleRetry(event);
+            return false;
+        }
+    }
+
+    // 1초, 2초, 4초 ... 최대 10분 간격으로 재시도, MAX_ATTEMPTS번 실패하면 FAILED
+    private void scheduleRetry(OutboxEvent event){
+        int attempts = event.getAttempts() + 1;
+        Duration backoff = Duration.ofSeconds(1L << Math.min(attempts - 1, 20));
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(LocalDateTime.now().plus(backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff));
+        if(attempts >= MAX_ATTEMPTS) event.setStatus(OutboxEvent.Status.FAILED);
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.save(event));
+    }
+}
@@ -0,0 +1,13 @@
+package com.springboot.outbox.service;
+
+import com.springboot.outbox.entity.OutboxEvent;
+
+import java.util.Set;
+
+// outbox 이벤트 처리기 (같은 이벤트가 두 번 넘어올 수 있으므로 여러 번 처리돼도 문제없게 작성)
+public interface OutboxEventHandler {
+    Set<OutboxEvent.EventType> supportedTypes();
+
+    // 예외를 던지면 잠시 후 다시 시도
+    void handle(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,29 @@
+package com.springboot.outbox.service;
+
+import com.springboot.outbox.entity.OutboxEvent;
+import com.springboot.outbox.repository.OutboxEventRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// 도메인 이벤트를 outbox에 저장 (호출한 쪽 트랜잭션에 같이 커밋되고, 롤백되면 이벤트도 사라짐)
+@Service
+public class OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+    }
+
+    // 대상마다 한 번만 일어나는 이벤트 (예약 생성, 취소, 리뷰 등록 등)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEvent.EventType eventType, long aggregateId){
+        publish(eventType, aggregateId, eventType.name() + ":" + aggregateId);
+    }
+
+    // 같은 대상에 여러 번 일어날 수 있는 이벤트는 dedupeKey를 직접 지정
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEvent.EventType eventType, long aggregateId, String dedupeKey){
+        outboxEventRepository.save(new OutboxEvent(eventType, aggregateId, dedupeKey));
+    }
+}
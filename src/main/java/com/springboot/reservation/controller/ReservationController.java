@@ -6,7 +6,6 @@ import com.springboot.counselor.entity.Counselor;
 import com.springboot.counselor.service.CounselorService;
 import com.springboot.exception.BusinessLogicException;
 import com.springboot.exception.ExceptionCode;
-import com.springboot.firebase.service.NotificationService;
 import com.springboot.member.entity.Member;
 import com.springboot.member.service.MemberService;
 import com.springboot.reservation.dto.ReportDto;
@@ -28,6 +27,8 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.constraints.Positive;
 import java.net.URI;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
@@ -41,7 +42,6 @@ public class ReservationController {
     private final ReservationMapper reservationMapper;
     private final MemberService memberService;
     private final CounselorService counselorService;
-    private final NotificationService notificationService;
 
     // 상담 예약 등록
     @PostMapping
@@ -66,11 +66,41 @@ public class ReservationController {
 
         // 서비스 로직 실행
         Reservation reservation = reservationService.createReservation(tempReservation, postDto.getDate(), postDto.getStartTimes());
-        boolean notificationSent = notificationService.sendReservationNotification(reservation.getReservationId());
+        // 상담사 알림은 커밋 후 outbox에서 비동기로 발송
         URI location = UriCreator.createUri(DEFAULT_URL, reservation.getReservationId());
-        return ResponseEntity.created(location)
-                .header("Notification-Sent", String.valueOf(notificationSent))
-                .build();
+        return ResponseEntity.created(location).build();
+    }
+
+    // 결제 전 예약할 슬롯 점유 (일정 시간 동안 다른 회원이 예약할 수 없음)
+    @PostMapping("/holds")
+    public ResponseEntity<?> postSlotHold(Authentication authentication,
+                                          @RequestBody ReservationDto.Post postDto){
+        // Member가 아니면 예약 불가
+        if(CredentialUtil.getUserType(authentication) != LoginDto.UserType.MEMBER) throw new BusinessLogicException(ExceptionCode.INVALID_USERTYPE);
+        long memberId = Long.parseLong(CredentialUtil.getCredentialField(authentication,"memberId"));
+
+        // 상담사는 자격 인증이 완료되어 있고 활동 상태여야 함
+        Counselor counselor = counselorService.findCounselor(postDto.getCounselorId());
+        if(counselor.getCounselorStatus() != Counselor.Status.ACTIVE) throw new BusinessLogicException(ExceptionCode.INVALID_COUNSELOR);
+
+        LocalDateTime expiresAt = reservationService.holdSlots(memberId, postDto.getCounselorId(), postDto.getDate(), postDto.getStartTimes());
+        return new ResponseEntity<>(
+                new SingleResponseDto<>(new ReservationDto.HoldResponse(postDto.getCounselorId(), postDto.getDate(), postDto.getStartTimes(), expiresAt)),
+                HttpStatus.CREATED
+        );
+    }
+
+    // 슬롯 점유 해제 (결제 취소 등)
+    @DeleteMapping("/holds")
+    public ResponseEntity<?> deleteSlotHold(Authentication authentication,
+                                            @RequestParam @Positive long counselorId,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) List<LocalTime> startTimes){
+        // 점유는 Member만 하므로 해제도 Member만
+        if(CredentialUtil.getUserType(authentication) != LoginDto.UserType.MEMBER) throw new BusinessLogicException(ExceptionCode.INVALID_USERTYPE);
+        long memberId = Long.parseLong(CredentialUtil.getCredentialField(authentication,"memberId"));
+        reservationService.releaseHeldSlots(memberId, counselorId, date, startTimes);
+        return ResponseEntity.noContent().build();
     }
 
     // 단일 상담 조회
@@ -52,4 +52,15 @@ public class ReservationDto {
         private ReviewDto.Response review;
         private ReportDto.Response report;
     }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class HoldResponse{
+        private long counselorId;
+        private LocalDate date;
+        private List<LocalTime> startTimes;
+        private LocalDateTime expiresAt;
+    }
 }
@@ -1,7 +1,7 @@
 package com.springboot.reservation.entity;
 
-import com.springboot.counselor.available_date.AvailableTime;
 import com.springboot.member.entity.Member;
+import com.springboot.utils.SlotBitmapUtil;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
@@ -10,12 +10,21 @@ import javax.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 @Entity
 @Getter
 @Setter
+@Table(indexes = {
+        // 회원 캘린더 조회 (member_id = ? and date between ...)
+        @Index(name = "idx_reservation_member_date", columnList = "member_id, date"),
+        // 상담사 캘린더/상태별 조회 (counselor_id = ? and date between ... and reservation_status in ...)
+        @Index(name = "idx_reservation_counselor_date_status", columnList = "counselor_id, date, reservation_status"),
+        // 완료 처리 대상 조회 (reservation_status = 'PENDING' and date <= ?)
+        @Index(name = "idx_reservation_status_date_end", columnList = "reservation_status, date, end_time"),
+})
 public class Reservation {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -51,9 +60,6 @@ public class Reservation {
     @Enumerated(EnumType.STRING)
     private CounselingType type;
 
-    @OneToMany(mappedBy = "reservation")
-    private List<AvailableTime> reservationTimes = new ArrayList<>();
-
     @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "review_id")
     private Review review;
@@ -109,6 +115,15 @@ public class Reservation {
         private LocalTime endTime;
     }
 
+    // 이 예약이 차지하는 슬롯 비트마스크
+    public int getReservedSlots(){
+        return SlotBitmapUtil.rangeMaskOf(startTime, endTime);
+    }
+
+    // 취소 상태들
+    public static final Set<ReservationStatus> CANCELLED_STATUSES =
+            Collections.unmodifiableSet(EnumSet.of(ReservationStatus.CANCELLED_BY_CLIENT, ReservationStatus.CANCELLED_BY_COUNSELOR));
+
     public boolean isCancelled(){
         return reservationStatus.equals(ReservationStatus.CANCELLED_BY_CLIENT) || reservationStatus.equals(ReservationStatus.CANCELLED_BY_COUNSELOR);
     }
@@ -1,6 +1,5 @@
 package com.springboot.reservation.mapper;
 
-import com.springboot.counselor.available_date.AvailableTime;
 import com.springboot.counselor.repository.CounselorRepository;
 import com.springboot.counselor.service.CounselorService;
 import com.springboot.reservation.dto.ReportDto;
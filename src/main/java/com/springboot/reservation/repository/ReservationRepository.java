@@ -4,15 +4,85 @@ import com.springboot.counselor.entity.Counselor;
 import com.springboot.member.entity.Member;
 import com.springboot.reservation.entity.Reservation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
     List<Reservation> findByMember(Member member);
     List<Reservation> findByCounselorId(long counselorId);
+    List<Reservation> findByCounselorIdAndDate(long counselorId, LocalDate date);
 
     List<Reservation> findByReservationStatus(Reservation.ReservationStatus reservationStatus);
+    List<Reservation> findByCounselorIdAndReservationStatus(long counselorId, Reservation.ReservationStatus reservationStatus);
+    long countByCounselorIdAndReservationStatus(long counselorId, Reservation.ReservationStatus reservationStatus);
+
+    // 특정 상태이면서 until 이전(포함)에 잡힌 예약들의 [reservationId, date, endTime] (idx_reservation_status_date_end)
+    @Query("select r.reservationId, r.date, r.endTime from Reservation r where r.reservationStatus = :status and r.date <= :until")
+    List<Object[]> findEndTimesByStatusUntil(@Param("status") Reservation.ReservationStatus status,
+                                             @Param("until") LocalDate until);
+
+    // 아직 PENDING인 예약들만 한 번에 완료 처리 (변경된 건수 반환)
+    @Modifying
+    @Query("update Reservation r set r.reservationStatus = com.springboot.reservation.entity.Reservation.ReservationStatus.COMPLETED, " +
+            "r.modifiedAt = :now " +
+            "where r.reservationId in :reservationIds " +
+            "and r.reservationStatus = com.springboot.reservation.entity.Reservation.ReservationStatus.PENDING")
+    int completeReservations(@Param("reservationIds") Collection<Long> reservationIds, @Param("now") LocalDateTime now);
+
+    // 아직 PENDING인 예약만 취소 상태로 변경 (동시에 여러 번 취소해도 한 번만 1건 변경)
+    @Modifying
+    @Query("update Reservation r set r.reservationStatus = :status, r.cancelComment = :cancelComment, r.modifiedAt = :now " +
+            "where r.reservationId = :reservationId " +
+            "and r.reservationStatus = com.springboot.reservation.entity.Reservation.ReservationStatus.PENDING")
+    int cancelIfPending(@Param("reservationId") long reservationId,
+                        @Param("status") Reservation.ReservationStatus status,
+                        @Param("cancelComment") String cancelComment,
+                        @Param("now") LocalDateTime now);
+
+    // 회원의 기간 내 예약 중 특정 상태인 것 (날짜, 시간순 / idx_reservation_member_date)
+    @Query("select r from Reservation r join fetch r.member left join fetch r.review left join fetch r.report " +
+            "where r.member.memberId = :memberId and r.date between :from and :to and r.reservationStatus in :statuses " +
+            "order by r.date, r.startTime")
+    List<Reservation> findByMemberAndDateRange(@Param("memberId") long memberId,
+                                               @Param("from") LocalDate from,
+                                               @Param("to") LocalDate to,
+                                               @Param("statuses") Collection<Reservation.ReservationStatus> statuses);
+
+    // 회원의 기간 내 특정 상태 예약이 있는 날짜들 (월간 캘린더 표시용)
+    @Query("select distinct r.date from Reservation r " +
+            "where r.member.memberId = :memberId and r.date between :from and :to and r.reservationStatus in :statuses")
+    List<LocalDate> findReservedDatesOfMember(@Param("memberId") long memberId,
+                                              @Param("from") LocalDate from,
+                                              @Param("to") LocalDate to,
+                                              @Param("statuses") Collection<Reservation.ReservationStatus> statuses);
+
+    // 상담사의 기간 내 예약 중 특정 상태인 것 (날짜, 시간순 / idx_reservation_counselor_date_status)
+    @Query("select r from Reservation r join fetch r.member left join fetch r.review left join fetch r.report " +
+            "where r.counselorId = :counselorId and r.date between :from and :to and r.reservationStatus in :statuses " +
+            "order by r.date, r.startTime")
+    List<Reservation> findByCounselorAndDateRange(@Param("counselorId") long counselorId,
+                                                  @Param("from") LocalDate from,
+                                                  @Param("to") LocalDate to,
+                                                  @Param("statuses") Collection<Reservation.ReservationStatus> statuses);
+
+    // 리뷰가 달린 예약의 [counselorId, rating]을 스트리밍으로 조회 (평점 순위표 재계산용, 트랜잭션 안에서 사용)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select r.counselorId, v.rating from Reservation r join r.review v")
+    Stream<Object[]> streamCounselorRatings();
+
+    // reservationIds 중 리뷰가 달린 예약 id (순위표 재계산 중 들어온 리뷰가 재계산 결과에 포함됐는지 확인용, 같은 트랜잭션에서 사용)
+    @Query("select r.reservationId from Reservation r join r.review v where r.reservationId in :reservationIds")
+    List<Long> findReviewedIdsIn(@Param("reservationIds") Collection<Long> reservationIds);
 }
@@ -0,0 +1,143 @@
+package com.springboot.reservation.service;
+
+import com.springboot.reservation.entity.Reservation;
+import com.springboot.reservation.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+// 상담 종료 시각에 맞춰 예약을 완료 상태로 변경
+// 곧 끝날 PENDING 예약을 종료 시각 순 DelayQueue에 올려두고, 시각이 된 것들을 모아서 UPDATE 한 번으로 처리
+// 큐는 (reservation_status, date, end_time) 인덱스로 매 시간 채움 (서버 재시작/다른 서버에서 생긴 예약 반영)
+@Slf4j
+@Component
+public class ReservationCompletionScheduler {
+    private static final long RETRY_DELAY_MILLIS = 10_000;
+
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    // 오늘부터 며칠 뒤까지 끝나는 예약을 큐에 올릴지
+    private final int horizonDays;
+
+    private final DelayQueue<DueReservation> queue = new DelayQueue<>();
+    // 큐에 올라간 예약 id (중복 등록 방지)
+    private final Set<Long> queuedIds = ConcurrentHashMap.newKeySet();
+    private final Thread worker;
+
+    public ReservationCompletionScheduler(ReservationRepository reservationRepository,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${toktalk.reservation-completion.max-batch-size:500}") int maxBatchSize,
+                                          @Value("${toktalk.reservation-completion.horizon-days:1}") int horizonDays) {
+        this.reservationRepository = reservationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBatchSize = maxBatchSize;
+        this.horizonDays = horizonDays;
+        this.worker = new Thread(this::runWorker, "reservation-completion");
+        this.worker.setDaemon(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start(){
+        refill();
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop(){
+        worker.interrupt();
+    }
+
+    // 앞으로 horizonDays일 안에 끝나는 PENDING 예약(이미 지난 것 포함)을 큐에 올림
+    @Scheduled(cron = "0 0 * * * ?") // 매 시 정각에 실행
+    public void refill(){
+        LocalDate until = LocalDate.now().plusDays(horizonDays);
+        List<Object[]> rows = reservationRepository.findEndTimesByStatusUntil(Reservation.ReservationStatus.PENDING, until);
+        rows.forEach(row -> schedule((Long) row[0], (LocalDate) row[1], (LocalTime) row[2]));
+        log.debug("Reservation completion queue refilled: {} pending, {} queued", rows.size(), queue.size());
+    }
+
+    // 새 예약 등록 시 (가까운 날짜만 바로 올리고 나머지는 refill에서)
+    public void schedule(Reservation reservation){
+        if(reservation.getDate().isAfter(LocalDate.now().plusDays(horizonDays))) return;
+        schedule(reservation.getReservationId(), reservation.getDate(), reservation.getEndTime());
+    }
+
+    private void schedule(long reservationId, LocalDate date, LocalTime endTime){
+        if(!queuedIds.add(reservationId)) return;
+        long endAt = LocalDateTime.of(date, endTime).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        queue.put(new DueReservation(reservationId, endAt));
+    }
+
+    private void runWorker(){
+        List<DueReservation> batch = new ArrayList<>();
+        while(!Thread.currentThread().isInterrupted()){
+            try{
+                // 가장 먼저 끝나는 예약이 끝날 때까지 대기 -> 같이 끝난 예약들도 모아서 처리
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatchSize - 1);
+                complete(batch);
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+            }finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void complete(List<DueReservation> batch){
+        List<Long> reservationIds = new ArrayList<>();
+        batch.forEach(due -> reservationIds.add(due.reservationId));
+        try{
+            // PENDING인 것만 바뀌므로 그 사이 취소됐거나 다른 서버가 먼저 처리한 예약은 그대로
+            Integer completed = transactionTemplate.execute(status ->
+                    reservationRepository.completeReservations(reservationIds, LocalDateTime.now()));
+            reservationIds.forEach(queuedIds::remove);
+            log.debug("Completed {} of {} due reservations", completed, reservationIds.size());
+        }catch (RuntimeException e){
+            // DB 오류 -> 잠시 후 다시 시도
+            log.warn("Failed to complete reservations {}", reservationIds, e);
+            long retryAt = System.currentTimeMillis() + RETRY_DELAY_MILLIS;
+            batch.forEach(due -> queue.put(new DueReservation(due.reservationId, retryAt)));
+        }
+    }
+
+    private static class DueReservation implements Delayed {
+        private final long reservationId;
+        // 종료 시각 (epoch millis)
+        private final long endAt;
+
+        private DueReservation(long reservationId, long endAt) {
+            this.reservationId = reservationId;
+            this.endAt = endAt;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(endAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(endAt, ((DueReservation) other).endAt);
+        }
+    }
+}
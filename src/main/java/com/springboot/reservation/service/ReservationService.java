@@ -2,14 +2,20 @@ package com.springboot.reservation.service;
 
 import com.springboot.auth.CustomAuthenticationToken;
 import com.springboot.auth.dto.LoginDto;
+import com.springboot.counselor.available_date.AvailableDate;
 import com.springboot.counselor.entity.Counselor;
 import com.springboot.counselor.repository.CounselorRepository;
+import com.springboot.counselor.service.AvailableDateService;
+import com.springboot.counselor.service.CounselorProfileCache;
 import com.springboot.counselor.service.CounselorService;
+import com.springboot.counselor.service.RatingLeaderboardService;
+import com.springboot.counselor.service.SlotHoldService;
 import com.springboot.exception.BusinessLogicException;
 import com.springboot.exception.ExceptionCode;
-import com.springboot.firebase.service.NotificationService;
 import com.springboot.member.entity.Member;
 import com.springboot.member.service.MemberService;
+import com.springboot.outbox.entity.OutboxEvent;
+import com.springboot.outbox.service.OutboxService;
 import com.springboot.reservation.dto.ReservationDto;
 import com.springboot.reservation.entity.Report;
 import com.springboot.reservation.entity.Reservation;
@@ -18,10 +24,13 @@ import com.springboot.reservation.repository.ReservationRepository;
 import com.springboot.utils.CalendarUtil;
 import com.springboot.utils.CredentialUtil;
 import com.springboot.utils.TimeUtils;
+import com.springboot.utils.TransactionUtil;
 import lombok.AllArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.*;
 import java.util.*;
@@ -34,38 +43,84 @@ public class ReservationService {
     private final CounselorService counselorService;
     private final MemberService memberService;
     private final CounselorRepository counselorRepository;
-    private final NotificationService notificationService;
-
-    // 상담 예약 등록
+    private final AvailableDateService availableDateService;
+    private final SlotHoldService slotHoldService;
+    private final CounselorProfileCache counselorProfileCache;
+    private final RatingLeaderboardService ratingLeaderboardService;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final ReservationCompletionScheduler reservationCompletionScheduler;
+
+    // 상담 예약 등록 (점유 중인 슬롯을 예약으로 확정)
     public Reservation createReservation(Reservation reservation, LocalDate date, List<LocalTime> startTimes){
-        Counselor counselor = counselorService.findCounselor(reservation.getCounselorId());
+        validateReservationTimes(date, startTimes);
+        long counselorId = reservation.getCounselorId();
+        long memberId = reservation.getMember().getMemberId();
+        // 미리 점유하지 않았으면 여기서 점유 (다른 회원이 결제 진행 중인 슬롯이면 예외)
+        slotHoldService.hold(counselorId, date, startTimes, memberId);
+        // ㅡㅡㅡ 시간과 관련된 정보들 비정규화 ㅡㅡㅡ (예약 취소시 관련 정보가 지워지면서 조회가 불가능해지는 문제 해결)
+        // 예약일 비정규화
+        reservation.setDate(date);
+        // 시작시간 ~ 끝시간 비정규화
+        reservation.setStartTime(startTimes.get(0));
+        reservation.setEndTime(startTimes.get(startTimes.size() - 1).plusMinutes(50));
+        try{
+            // 예약 가능한 날짜인지 검사하고 날짜 row 준비 (예외는 내부적으로 처리)
+            AvailableDate availableDate = availableDateService.prepareAvailableDate(counselorId, date);
+            // 슬롯 선점, 예약 저장, 알림 이벤트(outbox)는 한 트랜잭션으로 (저장이 실패하면 선점도 롤백)
+            return transactionTemplate.execute(status -> claimSlotsAndSave(reservation, availableDate, startTimes));
+        }finally {
+            // DB에 예약됐거나 실패했으면 점유는 더 필요 없음
+            slotHoldService.release(counselorId, date, startTimes, memberId);
+        }
+    }
+
+    private Reservation claimSlotsAndSave(Reservation reservation, AvailableDate availableDate, List<LocalTime> startTimes){
+        // 예약 가능한 시간인지 검사 후 조건부 UPDATE로 슬롯 선점 (락 없이 동시 예약 처리, 예외는 내부적으로 처리)
+        availableDateService.claimSlots(availableDate, startTimes);
+        long counselorId = reservation.getCounselorId();
+        counselorProfileCache.evict(counselorId);
+        Reservation savedReservation = reservationRepository.save(reservation);
+        // 상담사에게 예약 알림 (커밋 후 outbox에서 발송)
+        outboxService.publish(OutboxEvent.EventType.RESERVATION_CREATED, savedReservation.getReservationId());
+        // 상담 종료 시각에 완료 처리되도록 등록 (커밋 후)
+        TransactionUtil.afterCommit(() -> reservationCompletionScheduler.schedule(savedReservation));
+        // 시작 전 알림, 종료 후 후기 요청 알림 예약 (커밋 후 outbox에서 등록, Redis 오류면 재시도)
+        outboxService.publish(OutboxEvent.EventType.RESERVATION_REMINDERS_SCHEDULED, savedReservation.getReservationId());
+        return savedReservation;
+    }
+
+    // 결제 진행 동안 슬롯 점유 (만료 시각 반환)
+    public LocalDateTime holdSlots(long memberId, long counselorId, LocalDate date, List<LocalTime> startTimes){
+        validateReservationTimes(date, startTimes);
+        // 이미 예약된 슬롯이나 닫힌 슬롯은 점유할 수 없음 (예외는 내부적으로 처리)
+        availableDateService.findVerifiedAvailableDate(counselorId, date).validateReservationTimes(startTimes);
+        return slotHoldService.hold(counselorId, date, startTimes, memberId);
+    }
+
+    // 결제 취소 등으로 점유 해제
+    public void releaseHeldSlots(long memberId, long counselorId, LocalDate date, List<LocalTime> startTimes){
+        slotHoldService.release(counselorId, date, startTimes, memberId);
+    }
+
+    // 예약 요청 시간 검사 (비어있지 않고, 지나지 않았고, 연속적이어야 함)
+    private void validateReservationTimes(LocalDate date, List<LocalTime> startTimes){
         // 최소 한 타임은 예약해야 함
-        if(startTimes.isEmpty())throw new BusinessLogicException(ExceptionCode.TIMESLOT_REQUIRED);
+        if(startTimes == null || startTimes.isEmpty())throw new BusinessLogicException(ExceptionCode.TIMESLOT_REQUIRED);
         // 예약 시간 정렬
         Collections.sort(startTimes);
         // 이미 지난 시간이면 안됨
         LocalDateTime dateTime = LocalDateTime.of(date, startTimes.get(0));
         if(dateTime.isBefore(LocalDateTime.now())) throw new BusinessLogicException(ExceptionCode.UNAVAILABLE_DATE);
-        // 예약 불가능한 날짜
-        if(!counselor.getAvailableDates().containsKey(date)) throw new BusinessLogicException(ExceptionCode.UNAVAILABLE_DATE);
-        // 예약 가능한 시간인지 검사 (예외는 내부적으로 처리, 예약 시간 등록도 내부적으로 처리)
-        counselor.getAvailableDate(date).validateReservationTimes(reservation, startTimes);
         // 예약 시간들이 연속적인지 검사
-        Collections.sort(startTimes);
         int firstHour = startTimes.get(0).getHour();
         for(int i = 1; i< startTimes.size(); i++){
             // 첫 예약 타임이 9시라면 그 다음 타임은 10시, 다다음은 11시여야 함. 아니라면 예외 반환
             if(startTimes.get(i).getHour() != firstHour + i) throw new BusinessLogicException(ExceptionCode.DISCONTINUOUS_TIME);
         }
-        // ㅡㅡㅡ 시간과 관련된 정보들 비정규화 ㅡㅡㅡ (예약 취소시 관련 정보가 지워지면서 조회가 불가능해지는 문제 해결)
-        // 예약일 비정규화
-        reservation.setDate(date);
-        // 시작시간 ~ 끝시간 비정규화
-        reservation.setStartTime(startTimes.get(0));
-        reservation.setEndTime(startTimes.get(startTimes.size() - 1).plusMinutes(50));
-        return reservationRepository.save(reservation);
     }
     // 리뷰 등록
+    @Transactional
     public void registerReview(long reservationId, Review review, Authentication authentication){
         // Member만 리뷰 작성 가능
         CustomAuthenticationToken auth = (CustomAuthenticationToken) authentication;
@@ -93,10 +148,16 @@ public class ReservationService {
         Counselor counselor = counselorService.findCounselor(counselorId);
         counselor.updateRating(review.getRating());
         counselorRepository.save(counselor);
+        counselorProfileCache.evict(counselorId);
+        // 평점 순위표/별점 분포 반영 (커밋 후)
+        int rating = review.getRating();
+        TransactionUtil.afterCommit(() -> ratingLeaderboardService.addRating(counselorId, reservationId, rating));
 
-        notificationService.sendReviewRegisteredNotification(reservation, review);
+        // 알림은 커밋 후 outbox에서 발송
+        outboxService.publish(OutboxEvent.EventType.REVIEW_REGISTERED, reservationId);
     }
     // 상담사 진단 등록
+    @Transactional
     public void registerReport(long reservationId, Report report, Authentication authentication){
         // Counselor만 진단 등록 가능
         CustomAuthenticationToken auth = (CustomAuthenticationToken) authentication;
@@ -119,135 +180,86 @@ public class ReservationService {
         reservation.setReport(report); // Reservation <-> Report 양방향 set 메서드
         reservationRepository.save(reservation);
 
-        notificationService.sendReportRegisteredNotification(reservation, report);
+        // 알림은 커밋 후 outbox에서 발송
+        outboxService.publish(OutboxEvent.EventType.REPORT_REGISTERED, reservationId);
     }
 
-    // 특정 회원이 특정 날짜에 잡은 예약 목록 조회
+    // 특정 회원이 특정 날짜에 잡은 예약 목록 조회 (시간순)
     public List<Reservation> getDailyReservationsByMember(long memberId, LocalDate date, boolean exceptCancelledReservation){
-        Member member = memberService.findMember(memberId);
-        List<Reservation> reservations = reservationRepository.findByMember(member);
-
-        return reservations.stream()
-                .filter(reservation -> {
-                    boolean dateMatched = reservation.getDate().equals(date);
+        memberService.findMember(memberId);
 
-                    // exceptCancelledReservation이 false면 그냥 통과, true일 경우 취소되지 않은 예약만 통과
-                    return dateMatched && (!exceptCancelledReservation || !reservation.isCancelled());
-                })
-                .sorted(Comparator.comparing(Reservation::getStartTime)) // 시간 기준으로 오름차순 정렬
-                .collect(Collectors.toList());
+        // exceptCancelledReservation이 true일 경우 취소되지 않은 예약만
+        Set<Reservation.ReservationStatus> statuses = exceptCancelledReservation
+                ? EnumSet.complementOf(EnumSet.copyOf(Reservation.CANCELLED_STATUSES))
+                : EnumSet.allOf(Reservation.ReservationStatus.class);
+        return reservationRepository.findByMemberAndDateRange(memberId, date, date, statuses);
     }
 
     // 특정 회원의 한 달간 각 날짜별로, 예약을 잡은 날인지 여부 조회
     public Map<LocalDate, Boolean> getMonthlyReservationsByMember(long memberId, YearMonth month){
-        Member member = memberService.findMember(memberId);
+        memberService.findMember(memberId);
 
-        List<Reservation> reservations = reservationRepository.findByMember(member).stream()
-                .filter(reservation -> {
-                    LocalDate date = reservation.getDate();
-                    return CalendarUtil.isLocalDateInYearMonth(date, month);
-                }).collect(Collectors.toList());
+        // 취소되지 않은 예약이 있는 날짜만 DB에서 조회
+        List<LocalDate> reservedDates = reservationRepository.findReservedDatesOfMember(memberId, month.atDay(1), month.atEndOfMonth(),
+                EnumSet.complementOf(EnumSet.copyOf(Reservation.CANCELLED_STATUSES)));
 
-        // 각 날짜별로 취소되지 않은 예약이 있는지 알아보기
         Map<LocalDate, Boolean> monthlyReservations = new HashMap<>();
-        reservations.forEach(reservation -> {
-            LocalDate reservationDate = reservation.getDate();
-            if(!monthlyReservations.containsKey(reservationDate) && !reservation.isCancelled()){
-                monthlyReservations.put(reservationDate, true);
-            }
-        });
+        reservedDates.forEach(date -> monthlyReservations.put(date, true));
         return monthlyReservations;
     }
 
-    // 특정 회원이 특정월에 예약한 모든 상담 조회
+    // 특정 회원이 특정월에 예약한 모든 상담 조회 (날짜, 시간순)
     public List<Reservation> getDetailedMonthlyReservations(long memberId, YearMonth month, String status){
-        Member member = memberService.findMember(memberId);
-
-        // 멤버의 전체 예약 가져오기
-        List<Reservation> reservations = reservationRepository.findByMember(member);
-        // 해당월에 잡힌 예약만 반환
-        return reservations.stream()
-                .filter(reservation -> CalendarUtil.isLocalDateInYearMonth(reservation.getDate(), month))
-                // 요청의 status가 null이라면 모두 통과, 아니라면 해당하는 상태의 예약만 통과
-                .filter(reservation -> {
-                    if(status == null || status.equals("ALL")) return true;
-                    switch (status){
-                        case "PENDING": return reservation.getReservationStatus().equals(Reservation.ReservationStatus.PENDING);
-                        case "CANCELLED":
-                            return Set.of(
-                                    Reservation.ReservationStatus.CANCELLED_BY_CLIENT,
-                                    Reservation.ReservationStatus.CANCELLED_BY_COUNSELOR
-                            ).contains(reservation.getReservationStatus());
-                        case "COMPLETED": return reservation.getReservationStatus().equals(Reservation.ReservationStatus.COMPLETED);
-                        default: throw new BusinessLogicException(ExceptionCode.INVALID_RESERVATION_STATUS);
-                    }
-                })
-                .sorted(Comparator.comparing(Reservation::getDate) // 날짜순 정렬
-                        .thenComparing(Reservation::getStartTime)) // 그 다음 시간순 정렬
-                .collect(Collectors.toList());
+        memberService.findMember(memberId);
+
+        return reservationRepository.findByMemberAndDateRange(memberId, month.atDay(1), month.atEndOfMonth(), statusesOf(status));
     }
 
     // 특정 상담사의 특정 날짜에 잡힌 예약 목록 조회
     public List<Reservation> getDailyReservationsWithCounselor(long counselorId, LocalDate date){
-        Counselor counselor = counselorService.findCounselor(counselorId);
+        // 상담 가능한 날짜가 아니면 예외
+        counselorService.getAvailableDate(counselorId, date);
 
-        Set<Reservation> reservations = new HashSet<>();
-        counselor.getAvailableDate(date).getAvailableTimes().values().forEach(time -> {
-            if(time.getReservation() != null){
-                reservations.add(time.getReservation());
-            }
-        });
-        return new ArrayList<>(reservations).stream()
+        // 슬롯을 차지하고 있는(취소되지 않은) 예약만 반환
+        return reservationRepository.findByCounselorIdAndDate(counselorId, date).stream()
+                .filter(reservation -> !reservation.isCancelled())
                 .sorted(Comparator.comparing(Reservation::getStartTime))
                 .collect(Collectors.toList());
     }
 
     // 특정 상담사의 한 달간 각 날짜별로, 예약이 있는 날인지 여부 조회
     public Map<LocalDate, Boolean> getMonthlyReservationsWithCounselor(long counselorId, YearMonth month){
-        Counselor counselor = counselorService.findCounselor(counselorId);
+        counselorService.findCounselor(counselorId);
 
         // 해당 월의 날짜들 구하기
         List<LocalDate> dates = CalendarUtil.getMonthDates(month);
+        // 해당 월의 일정만 한 번에 조회
+        Map<LocalDate, AvailableDate> availableDates = counselorService.getAvailableDates(counselorId, month.atDay(1), month.atEndOfMonth());
 
         Map<LocalDate, Boolean> result = new HashMap<>();
         // 각 날짜별로 예약이 있는지 알아보기
         dates.forEach(date -> {
-            Boolean isReserved;
-            try{
-                isReserved = counselor.getAvailableDate(date).isReservedDate();
-            } catch (BusinessLogicException e){
-                isReserved = null; // true, false 가 아니라 아예 예약 불가능한 날짜라는 뜻
-            }
-            result.put(date, isReserved);
+            AvailableDate availableDate = availableDates.get(date);
+            // null이면 true, false 가 아니라 아예 예약 불가능한 날짜라는 뜻
+            result.put(date, availableDate == null ? null : availableDate.isReservedDate());
         });
         return result;
     }
 
-    // 특정 상담사에게 특정월에 잡힌 모든 예약 정보 조회
+    // 특정 상담사에게 특정월에 잡힌 모든 예약 정보 조회 (날짜, 시간순)
     public List<Reservation> getMonthlyDetailReservations(long counselorId, YearMonth month, String status){
-        // 특정 상담사의 예약 가져오기
-        List<Reservation> reservations = reservationRepository.findByCounselorId(counselorId);
-
-        // 해당월의 건만 반환
-        return reservations.stream()
-                .filter(reservation -> CalendarUtil.isLocalDateInYearMonth(reservation.getDate(), month))
-                // 요청의 status가 null이라면 모두 통과, 아니라면 해당하는 상태의 예약만 통과
-                .filter(reservation -> {
-                    if(status == null || status.equals("ALL")) return true;
-                    switch (status){
-                        case "PENDING": return reservation.getReservationStatus().equals(Reservation.ReservationStatus.PENDING);
-                        case "CANCELLED":
-                            return Set.of(
-                                    Reservation.ReservationStatus.CANCELLED_BY_CLIENT,
-                                    Reservation.ReservationStatus.CANCELLED_BY_COUNSELOR
-                            ).contains(reservation.getReservationStatus());
-                        case "COMPLETED": return reservation.getReservationStatus().equals(Reservation.ReservationStatus.COMPLETED);
-                        default: throw new BusinessLogicException(ExceptionCode.INVALID_RESERVATION_STATUS);
-                    }
-                })
-                .sorted(Comparator.comparing(Reservation::getDate) // 날짜순으로 정렬
-                        .thenComparing(Reservation::getStartTime)) // 그다음 시간순 정렬
-                .collect(Collectors.toList());
+        return reservationRepository.findByCounselorAndDateRange(counselorId, month.atDay(1), month.atEndOfMonth(), statusesOf(status));
+    }
+
+    // 요청의 status 값 -> 조회할 예약 상태들 (null 또는 ALL이면 전체)
+    private Set<Reservation.ReservationStatus> statusesOf(String status){
+        if(status == null || status.equals("ALL")) return EnumSet.allOf(Reservation.ReservationStatus.class);
+        switch (status){
+            case "PENDING": return EnumSet.of(Reservation.ReservationStatus.PENDING);
+            case "CANCELLED": return Reservation.CANCELLED_STATUSES;
+            case "COMPLETED": return EnumSet.of(Reservation.ReservationStatus.COMPLETED);
+            default: throw new BusinessLogicException(ExceptionCode.INVALID_RESERVATION_STATUS);
+        }
     }
 
     public Reservation findReservation(long reservationId){
@@ -269,18 +281,15 @@ public class ReservationService {
         LocalDateTime startDateTime = LocalDateTime.of(reservationDate, startTime);
         Duration duration = Duration.between(LocalDateTime.now(), startDateTime);
         if(duration.toHours() < 24) throw new BusinessLogicException(ExceptionCode.CANCELLATION_TOO_LATE);
-        // 상담사 밑으로 잡혀있는 예약 정보 없애기
-        reservation.getReservationTimes().forEach(time -> {
-            time.setReservation(null);
-        });
-        // 예약 상태 바꾸기
-        reservation.setReservationStatus(Reservation.ReservationStatus.CANCELLED_BY_CLIENT);
-
-        // 바뀐 상태 저장하고 리턴
-        reservationRepository.save(reservation);
 
-        // 알림 서비스 호출 (알림 전송)
-        notificationService.sendReservationCanceledNotificationToCounselor(reservation);
+        // 상태 변경, 슬롯 반환, 알림 이벤트(outbox)는 한 트랜잭션으로
+        transactionTemplate.executeWithoutResult(status -> {
+            cancelPendingReservation(reservation, Reservation.ReservationStatus.CANCELLED_BY_CLIENT, null);
+            // 예약해 둔 알림 취소 (커밋 후 outbox에서)
+            outboxService.publish(OutboxEvent.EventType.RESERVATION_REMINDERS_CANCELLED, reservationId);
+            // 상담사에게 취소 알림 (커밋 후 outbox에서 발송)
+            outboxService.publish(OutboxEvent.EventType.RESERVATION_CANCELLED_BY_MEMBER, reservationId);
+        });
     }
 
     // 예약 취소 (COUNSELOR)
@@ -293,14 +302,6 @@ public class ReservationService {
         LocalDateTime startDateTime = LocalDateTime.of(reservationDate, startTime);
         Duration duration = Duration.between(LocalDateTime.now(), startDateTime);
         if(duration.toHours() < 24) throw new BusinessLogicException(ExceptionCode.CANCELLATION_TOO_LATE);
-        // 상담사 밑으로 잡혀있는 예약 정보 없애기
-        reservation.getReservationTimes().forEach(time -> {
-            time.setReservation(null);
-        });
-        // 예약 상태 바꾸기
-        reservation.setReservationStatus(Reservation.ReservationStatus.CANCELLED_BY_COUNSELOR);
-        // 취소 사유 등록
-        reservation.setCancelComment(cancelReason);
         /*switch (cancelReason){
             case 1:
                 reservation.setCancelComment("ㅈㅅ");
@@ -314,28 +315,29 @@ public class ReservationService {
             default:
                 throw new BusinessLogicException(ExceptionCode.INVALID_CANCLE_REASON);
         }*/
-        // 바뀐 상태 저장하고 리턴
-        reservationRepository.save(reservation);
-
-        // 알림 서비스 호출 (알림 전송)
-        notificationService.sendReservationCanceledNotificationToMember(reservation);
+        // 상태 변경(취소 사유 포함), 슬롯 반환, 알림 이벤트(outbox)는 한 트랜잭션으로 (상담사 탈퇴 중이면 그 트랜잭션에 참여)
+        transactionTemplate.executeWithoutResult(status -> {
+            cancelPendingReservation(reservation, Reservation.ReservationStatus.CANCELLED_BY_COUNSELOR, cancelReason);
+            // 예약해 둔 알림 취소 (커밋 후 outbox에서)
+            outboxService.publish(OutboxEvent.EventType.RESERVATION_REMINDERS_CANCELLED, reservationId);
+            // 회원에게 취소 알림 (커밋 후 outbox에서 발송)
+            outboxService.publish(OutboxEvent.EventType.RESERVATION_CANCELLED_BY_COUNSELOR, reservationId);
+        });
     }
 
 
-    // 상담의 상태를 완료로 변경
-    @Scheduled(cron = "0 50 * * * ?") // 매 시 50분마다 실행
-    private void completeCounselling(){
-        // 상태가 PENDING인 상담들 조회
-        List<Reservation> pendingReservations = reservationRepository.findByReservationStatus(Reservation.ReservationStatus.PENDING);
-        // 상담들 순회하며 조건 확인
-        pendingReservations.forEach(reservation -> {
-            LocalDateTime endTime = LocalDateTime.of(reservation.getDate(), reservation.getEndTime());
-            // 종료 시간이 되었다면 상태를 완료로 변경
-            if(TimeUtils.isPassedTime(endTime)) {
-                reservation.setReservationStatus(Reservation.ReservationStatus.COMPLETED);
-                reservationRepository.save(reservation);
-            }
-        });
+    // PENDING인 예약만 조건부 UPDATE로 취소하고, 실제로 바뀌었을 때만 슬롯 반환 (호출하는 쪽 트랜잭션 안에서)
+    // 이미 취소/완료된 예약의 슬롯은 새 예약이 차지하고 있을 수 있으므로 건드리지 않음
+    private void cancelPendingReservation(Reservation reservation, Reservation.ReservationStatus status, String cancelComment){
+        int updated = reservationRepository.cancelIfPending(reservation.getReservationId(), status, cancelComment, LocalDateTime.now());
+        if(updated != 1) throw new BusinessLogicException(ExceptionCode.RESERVATION_NOT_CANCELLABLE);
+        reservation.setReservationStatus(status);
+        reservation.setCancelComment(cancelComment);
+        // 상담사 일정에서 예약이 차지하던 슬롯 반환
+        long counselorId = reservation.getCounselorId();
+        availableDateService.releaseSlots(counselorId, reservation.getDate(), reservation.getReservedSlots());
+        // evict는 알아서 커밋 후 실행됨 (afterCommit 안에서 다시 등록하면 실행되지 않음)
+        counselorProfileCache.evict(counselorId);
     }
 
     // 테스트용 스케줄러
@@ -0,0 +1,22 @@
+package com.springboot.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// keyset 페이징 응답 (nextCursor를 다음 요청에 그대로 넘기면 이어서 조회, null이면 마지막 페이지)
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class CursorResponseDto<T> {
+    private List<T> data;
+    private Long nextCursor;
+    // nextCursor만으로 순서가 정해지지 않는 경우 (같은 값이 여러 개) 함께 넘길 tiebreaker
+    private String nextCursorId;
+
+    public CursorResponseDto(List<T> data, Long nextCursor) {
+        this(data, nextCursor, null);
+    }
+}
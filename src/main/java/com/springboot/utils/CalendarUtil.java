@@ -31,10 +31,14 @@ public class CalendarUtil {
     }
     // 요일을 입력받아 해당 요일 중 기준일로부터 가장 가까운 날짜 반환
     public static LocalDate getNextDateOfCertainDayOfWeek(DayOfWeek dayOfWeek, LocalDate refDate) {
-        LocalDate today = LocalDate.now();
-        int daysUntilNext = (dayOfWeek.getValue() - today.getDayOfWeek().getValue() + 7) % 7;
+        int daysUntilNext = (dayOfWeek.getValue() - refDate.getDayOfWeek().getValue() + 7) % 7;
 
-        return today.plusDays(daysUntilNext);
+        return refDate.plusDays(daysUntilNext);
+    }
+
+    // 예약 가능한 마지막 날짜 (다음 달의 마지막 날)
+    public static LocalDate getScheduleLimitDate(){
+        return LocalDate.now().withDayOfMonth(1).plusMonths(2).minusDays(1);
     }
 
     // 특정 일자가 특정 월에 속하는지 판별
@@ -0,0 +1,77 @@
+package com.springboot.utils;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// 하루치 상담 슬롯(정시 시작, 50분)을 int 비트마스크로 다루기 위한 유틸
+// n번째 비트 = n시 정각에 시작하는 슬롯
+public class SlotBitmapUtil {
+    public static final int SLOTS_PER_DAY = 24;
+    public static final int SLOT_MINUTES = 50;
+
+    // 정시가 아닌 시간은 슬롯으로 표현할 수 없음
+    public static boolean isSlotTime(LocalTime time){
+        return time.getMinute() == 0 && time.getSecond() == 0 && time.getNano() == 0;
+    }
+
+    public static int bitOf(LocalTime startTime){
+        return 1 << startTime.getHour();
+    }
+
+    public static int maskOf(Collection<LocalTime> startTimes){
+        int mask = 0;
+        for(LocalTime time : startTimes){
+            mask |= bitOf(time);
+        }
+        return mask;
+    }
+
+    // startTime ~ endTime 사이에 걸친 슬롯들 (예약의 시작/끝 시간으로 슬롯 복원할 때 사용)
+    public static int rangeMaskOf(LocalTime startTime, LocalTime endTime){
+        int mask = 0;
+        for(int hour = startTime.getHour(); hour <= endTime.getHour(); hour++){
+            if(LocalTime.of(hour, 0).plusMinutes(SLOT_MINUTES).isAfter(endTime)) break;
+            mask |= 1 << hour;
+        }
+        return mask;
+    }
+
+    // 비트마스크 -> 시작 시간 목록 (오름차순)
+    public static List<LocalTime> startTimesOf(int mask){
+        List<LocalTime> times = new ArrayList<>(Integer.bitCount(mask));
+        int remaining = mask;
+        while(remaining != 0){
+            int hour = Integer.numberOfTrailingZeros(remaining);
+            times.add(LocalTime.of(hour, 0));
+            remaining &= remaining - 1;
+        }
+        return times;
+    }
+
+    // 비트들이 끊기지 않고 이어져 있는지 (예약은 항상 연속된 시간)
+    public static boolean isContiguous(int mask){
+        if(mask == 0) return false;
+        int shifted = mask >>> Integer.numberOfTrailingZeros(mask);
+        return (shifted & (shifted + 1)) == 0;
+    }
+
+    // 연속 슬롯의 가장 낮은 비트 값 (2^시작시)
+    public static int lowestBitValue(int contiguousMask){
+        return Integer.lowestOneBit(contiguousMask);
+    }
+
+    // 연속 슬롯 개수만큼의 비트 범위 크기 (2^슬롯수)
+    public static int spanValue(int contiguousMask){
+        return 1 << Integer.bitCount(contiguousMask);
+    }
+
+    public static boolean containsAll(int mask, int bits){
+        return (mask & bits) == bits;
+    }
+
+    public static boolean intersects(int mask, int bits){
+        return (mask & bits) != 0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.springboot.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionUtil {
+    // 트랜잭션 안이면 커밋된 뒤에 실행 (롤백되면 실행 안 함), 트랜잭션 밖이면 바로 실행
+    public static void afterCommit(Runnable task){
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        }else{
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.springboot.chat.cluster;
+
+import com.corundumstudio.socketio.Configuration;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.corundumstudio.socketio.Transport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.chat.service.ChatFlowMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.socket.client.Ack;
+import io.socket.client.IO;
+import io.socket.client.Socket;
+import io.socket.engineio.client.transports.WebSocket;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 한 JVM에 채팅 서버 두 개를 띄우고 loopback 버스로 연결
+class ChatBroadcasterClusterTest {
+    private final LoopbackChatClusterBus.Network network = new LoopbackChatClusterBus.Network();
+    private final List<SocketIOServer> servers = new ArrayList<>();
+    private final List<Socket> sockets = new ArrayList<>();
+
+    private int node1Port;
+    private int node2Port;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        node1Port = startNode();
+        node2Port = startNode();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sockets.forEach(Socket::close);
+        servers.forEach(SocketIOServer::stop);
+    }
+
+    @Test
+    void roomMessageReachesClientsOnOtherNodeOnce() throws Exception {
+        BlockingQueue<JSONObject> senderInbox = new LinkedBlockingQueue<>();
+        BlockingQueue<JSONObject> receiverInbox = new LinkedBlockingQueue<>();
+        BlockingQueue<JSONObject> otherRoomInbox = new LinkedBlockingQueue<>();
+        Socket sender = connectAndJoin(node1Port, 1L, senderInbox);
+        connectAndJoin(node2Port, 1L, receiverInbox);
+        connectAndJoin(node2Port, 2L, otherRoomInbox);
+
+        sender.emit("send", "안녕하세요");
+
+        JSONObject received = receiverInbox.poll(5, TimeUnit.SECONDS);
+        assertThat(received).isNotNull();
+        assertThat(received.getString("message")).isEqualTo("안녕하세요");
+        assertThat(senderInbox.poll(5, TimeUnit.SECONDS)).isNotNull();
+
+        // 버스를 거쳐 되돌아온 메시지는 다시 보내지 않음
+        Thread.sleep(300);
+        assertThat(senderInbox).isEmpty();
+        assertThat(receiverInbox).isEmpty();
+        assertThat(otherRoomInbox).isEmpty();
+    }
+
+    private int startNode() throws IOException {
+        int port = freePort();
+        Configuration config = new Configuration();
+        config.setHostname("localhost");
+        config.setPort(port);
+        config.setTransports(Transport.WEBSOCKET);
+        SocketIOServer server = new SocketIOServer(config);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ChatDeliveryQueue deliveryQueue = new ChatDeliveryQueue(new ChatFlowMetrics(meterRegistry, 0, 100), new ClientWritabilityTracker(), 256, 10_000, 2);
+        ChatBroadcaster broadcaster = new ChatBroadcaster(server, new LoopbackChatClusterBus(network), deliveryQueue,
+                new ObjectMapper(), meterRegistry);
+        server.addEventListener("joinRoom", Long.class, (client, roomId, ackRequest) -> {
+            client.joinRoom(roomId.toString());
+            ackRequest.sendAckData(roomId);
+        });
+        // 테스트 클라이언트는 방 하나에만 들어가므로 그 방으로 전송
+        server.addEventListener("send", String.class, (client, message, ackRequest) -> {
+            String room = client.getAllRooms().stream().filter(name -> !name.isEmpty()).findFirst().orElseThrow();
+            broadcaster.sendToRoom(Long.parseLong(room), "message", Map.of("message", message));
+        });
+        server.start();
+        servers.add(server);
+        return port;
+    }
+
+    private Socket connectAndJoin(int port, long roomId, BlockingQueue<JSONObject> inbox) throws Exception {
+        IO.Options options = new IO.Options();
+        options.forceNew = true;
+        options.transports = new String[]{WebSocket.NAME};
+        Socket socket = IO.socket("http://localhost:" + port, options);
+        socket.on("message", args -> inbox.add((JSONObject) args[0]));
+        sockets.add(socket);
+
+        CountDownLatch joined = new CountDownLatch(1);
+        socket.on(Socket.EVENT_CONNECT, args -> socket.emit("joinRoom", roomId, (Ack) ack -> joined.countDown()));
+        socket.connect();
+        assertThat(joined.await(5, TimeUnit.SECONDS)).isTrue();
+        return socket;
+    }
+
+    private static int freePort() throws IOException {
+        try(ServerSocket socket = new ServerSocket(0)){
+            return socket.getLocalPort();
+        }
+    }
+}
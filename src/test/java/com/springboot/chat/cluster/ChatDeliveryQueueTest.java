@@ -0,0 +1,183 @@
+package com.springboot.chat.cluster;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.springboot.chat.service.ChatFlowMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ChatDeliveryQueueTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ChatFlowMetrics flowMetrics = new ChatFlowMetrics(meterRegistry, 0, 100);
+    private final ClientWritabilityTracker writability = new ClientWritabilityTracker();
+    // 큐 크기 2, 전송 스레드 1개
+    private final ChatDeliveryQueue deliveryQueue = new ChatDeliveryQueue(flowMetrics, writability, 2, 60_000, 1);
+
+    @AfterEach
+    void tearDown(){
+        deliveryQueue.close();
+    }
+
+    @Test
+    void fullQueueDropsAndResyncsWithoutBlockingBroadcast() throws Exception {
+        // 전송 스레드를 다른 클라이언트가 붙잡고 있는 상황
+        CountDownLatch blocking = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SocketIOClient blocker = client();
+        doAnswer(invocation -> {
+            blocking.countDown();
+            release.await();
+            return null;
+        }).when(blocker).sendEvent(anyString(), any());
+        deliveryQueue.deliver(1L, List.of(blocker), "message", "first");
+        assertThat(blocking.await(5, TimeUnit.SECONDS)).isTrue();
+
+        SocketIOClient slow = client();
+        for(int i = 0; i < 5; i++){
+            deliveryQueue.deliver(7L, List.of(slow), "message", "m" + i);
+        }
+
+        assertThat(meterRegistry.counter("chat.outbound.dropped", "node", "0").count()).isEqualTo(3);
+        assertThat(meterRegistry.get("chat.outbound.lagging").gauge().value()).isEqualTo(1);
+        assertThat(flowMetrics.rooms()).singleElement()
+                .satisfies(room -> {
+                    assertThat(room.getRoomId()).isEqualTo(7L);
+                    assertThat(room.getDropped()).isEqualTo(3);
+                });
+
+        release.countDown();
+        InOrder inOrder = inOrder(slow);
+        inOrder.verify(slow, timeout(5_000)).sendEvent("message", "m0");
+        inOrder.verify(slow, timeout(5_000)).sendEvent("message", "m1");
+        inOrder.verify(slow, timeout(5_000)).sendEvent("resync", 7L);
+        assertThat(meterRegistry.get("chat.outbound.lagging").gauge().value()).isZero();
+    }
+
+    @Test
+    void clientLaggingPastTimeoutIsDisconnected() throws Exception {
+        ChatDeliveryQueue strictQueue = new ChatDeliveryQueue(flowMetrics, writability, 1, 0, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        SocketIOClient slow = client();
+        AtomicBoolean open = new AtomicBoolean(true);
+        when(slow.isChannelOpen()).thenAnswer(invocation -> open.get());
+        doAnswer(invocation -> {
+            open.set(false);
+            return null;
+        }).when(slow).disconnect();
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(slow).sendEvent(anyString(), any());
+        try{
+            for(int i = 0; i < 10; i++){
+                strictQueue.deliver(1L, List.of(slow), "message", "m" + i);
+                Thread.sleep(1);
+            }
+            verify(slow).disconnect();
+            assertThat(meterRegistry.counter("chat.outbound.disconnected", "node", "0").count()).isEqualTo(1);
+        }finally {
+            release.countDown();
+            strictQueue.close();
+        }
+    }
+
+    @Test
+    void clientThatStopsReadingIsPausedAndResumedWhenItReadsAgain() throws Exception {
+        // 실제 TCP 연결에서 클라이언트가 읽지 않으면 소켓 버퍼와 채널 출력 버퍼가 차서 채널이 쓰기 불가가 됨
+        EventLoopGroup group = new NioEventLoopGroup(1);
+        CompletableFuture<Channel> accepted = new CompletableFuture<>();
+        ServerBootstrap bootstrap = new ServerBootstrap()
+                .group(group)
+                .channel(NioServerSocketChannel.class)
+                .childOption(ChannelOption.SO_SNDBUF, 4096)
+                .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(4096, 8192))
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline().addLast(writability);
+                        accepted.complete(ch);
+                    }
+                });
+        ChannelFuture bound = bootstrap.bind("127.0.0.1", 0).sync();
+        Socket socket = new Socket();
+        try{
+            socket.setReceiveBufferSize(4096);
+            socket.connect(bound.channel().localAddress());
+            Channel channel = accepted.get(5, TimeUnit.SECONDS);
+
+            AtomicInteger sent = new AtomicInteger();
+            SocketIOClient stalled = mock(SocketIOClient.class);
+            when(stalled.getSessionId()).thenReturn(UUID.randomUUID());
+            when(stalled.getRemoteAddress()).thenReturn(channel.remoteAddress());
+            when(stalled.isChannelOpen()).thenAnswer(invocation -> channel.isActive());
+            // netty-socketio처럼 채널에 쓰기만 예약하고 바로 반환
+            doAnswer(invocation -> {
+                sent.incrementAndGet();
+                channel.writeAndFlush(Unpooled.wrappedBuffer(new byte[1024]));
+                return null;
+            }).when(stalled).sendEvent(anyString(), any());
+
+            // 전송 스레드가 충분히 따라갈 속도로 보냄 -> 메시지를 버리는 건 클라이언트가 읽지 않을 때뿐
+            int delivered = 0;
+            while(delivered < 5_000 && meterRegistry.get("chat.outbound.lagging").gauge().value() == 0){
+                deliveryQueue.deliver(7L, List.of(stalled), "message", "m" + delivered++);
+                Thread.sleep(1);
+            }
+            assertThat(meterRegistry.get("chat.outbound.lagging").gauge().value()).isEqualTo(1);
+            assertThat(channel.isWritable()).isFalse();
+            int sentWhileStalled = sent.get();
+            assertThat(sentWhileStalled).isLessThan(delivered);
+
+            // 클라이언트가 다시 읽기 시작하면 남은 메시지와 resync를 보냄
+            Thread reader = new Thread(() -> {
+                byte[] buffer = new byte[8192];
+                try(InputStream in = socket.getInputStream()){
+                    while(in.read(buffer) >= 0){ }
+                }catch (Exception ignored){ }
+            });
+            reader.setDaemon(true);
+            reader.start();
+            verify(stalled, timeout(5_000)).sendEvent("resync", 7L);
+            assertThat(sent.get()).isGreaterThan(sentWhileStalled);
+            assertThat(meterRegistry.get("chat.outbound.lagging").gauge().value()).isZero();
+        }finally {
+            socket.close();
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    private static SocketIOClient client(){
+        SocketIOClient client = mock(SocketIOClient.class);
+        when(client.getSessionId()).thenReturn(UUID.randomUUID());
+        when(client.isChannelOpen()).thenReturn(true);
+        return client;
+    }
+}
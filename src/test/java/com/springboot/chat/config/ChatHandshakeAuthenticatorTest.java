@@ -0,0 +1,101 @@
+package com.springboot.chat.config;
+
+import com.corundumstudio.socketio.HandshakeData;
+import com.corundumstudio.socketio.SocketIOClient;
+import com.springboot.auth.dto.LoginDto;
+import com.springboot.auth.jwt.JwtTokenizer;
+import com.springboot.auth.redis.TokenRedisRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ChatHandshakeAuthenticatorTest {
+    private final JwtTokenizer jwtTokenizer = mock(JwtTokenizer.class);
+    private final TokenRedisRepository tokenRedisRepository = mock(TokenRedisRepository.class);
+    private final ChatHandshakeAuthenticator authenticator = new ChatHandshakeAuthenticator(jwtTokenizer, tokenRedisRepository);
+
+    @BeforeEach
+    void setUp(){
+        when(jwtTokenizer.getSecretKey()).thenReturn("secret");
+        when(jwtTokenizer.encodeBase64SecretKey(anyString())).thenReturn("c2VjcmV0");
+    }
+
+    @Test
+    void validTokenIsBoundToClientOnce(){
+        givenClaims("good", memberClaims());
+        when(tokenRedisRepository.hasAccessToken("user1")).thenReturn(true);
+        HandshakeData handshake = handshake("Bearer good", null);
+
+        assertThat(authenticator.isAuthorized(handshake)).isTrue();
+
+        SocketIOClient client = mock(SocketIOClient.class);
+        when(client.getHandshakeData()).thenReturn(handshake);
+        ChatPrincipal principal = authenticator.bind(client);
+        assertThat(principal.getUserType()).isEqualTo(LoginDto.UserType.MEMBER);
+        assertThat(principal.getUserId()).isEqualTo(10L);
+        verify(client).set("principal", principal);
+        // handshake 때 한 번만 확인
+        verify(tokenRedisRepository, times(1)).hasAccessToken("user1");
+        assertThat(authenticator.bind(client)).isNull();
+    }
+
+    @Test
+    void tokenFromQueryParameterIsAccepted(){
+        givenClaims("good", memberClaims());
+        when(tokenRedisRepository.hasAccessToken("user1")).thenReturn(true);
+
+        assertThat(authenticator.isAuthorized(handshake(null, "good"))).isTrue();
+    }
+
+    @Test
+    void loggedOutTokenIsRejected(){
+        givenClaims("good", memberClaims());
+        when(tokenRedisRepository.hasAccessToken("user1")).thenReturn(false);
+
+        assertThat(authenticator.isAuthorized(handshake("Bearer good", null))).isFalse();
+    }
+
+    @Test
+    void invalidSignatureIsRejected(){
+        when(jwtTokenizer.getClaims(eq("forged"), anyString())).thenThrow(new SignatureException("invalid"));
+
+        assertThat(authenticator.isAuthorized(handshake("Bearer forged", null))).isFalse();
+        verifyNoInteractions(tokenRedisRepository);
+    }
+
+    @Test
+    void missingTokenIsRejected(){
+        assertThat(authenticator.isAuthorized(handshake(null, null))).isFalse();
+    }
+
+    private Claims memberClaims(){
+        Claims claims = Jwts.claims();
+        claims.put("username", "user1");
+        claims.put("usertype", "MEMBER");
+        claims.put("memberId", 10);
+        return claims;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenClaims(String token, Claims claims){
+        Jws<Claims> jws = mock(Jws.class);
+        when(jws.getBody()).thenReturn(claims);
+        when(jwtTokenizer.getClaims(eq(token), anyString())).thenReturn(jws);
+    }
+
+    private static HandshakeData handshake(String authorization, String tokenParam){
+        HandshakeData handshake = mock(HandshakeData.class);
+        DefaultHttpHeaders headers = new DefaultHttpHeaders();
+        if(authorization != null) headers.set("Authorization", authorization);
+        when(handshake.getHttpHeaders()).thenReturn(headers);
+        when(handshake.getSingleUrlParam("token")).thenReturn(tokenParam);
+        return handshake;
+    }
+}
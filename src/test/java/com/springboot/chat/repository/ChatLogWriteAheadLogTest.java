@@ -0,0 +1,89 @@
+package com.springboot.chat.repository;
+
+import com.springboot.chat.entity.ChatLog;
+import com.springboot.chat.entity.ChatRoom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatLogWriteAheadLogTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void rolledSegmentIsReadBackInOrder() throws IOException {
+        ChatLogWriteAheadLog wal = new ChatLogWriteAheadLog(directory.toString());
+        wal.append(chatLog(1, 10, "상담사", "안녕하세요"));
+        wal.append(chatLog(2, 10, "회원", "네 안녕하세요"));
+
+        Path segment = wal.roll();
+
+        assertThat(wal.sealedSegments()).containsExactly(segment);
+        List<ChatLog> chatLogs = wal.read(segment);
+        assertThat(chatLogs).extracting(ChatLog::getLogId).containsExactly(1L, 2L);
+        assertThat(chatLogs.get(0).getChatRoom().getRoomId()).isEqualTo(10L);
+        assertThat(chatLogs.get(1).getMessage()).isEqualTo("네 안녕하세요");
+        assertThat(chatLogs.get(1).getCreatedAt()).isEqualTo(LocalDateTime.of(2024, 5, 1, 13, 0, 2, 500));
+    }
+
+    @Test
+    void emptySegmentIsNotRolled() throws IOException {
+        ChatLogWriteAheadLog wal = new ChatLogWriteAheadLog(directory.toString());
+
+        assertThat(wal.roll()).isNull();
+    }
+
+    // 서버가 기록 도중에 죽은 경우: 마지막 레코드는 버리고 그 앞까지 읽음
+    @Test
+    void tornTailRecordIsIgnoredOnRestart() throws IOException {
+        ChatLogWriteAheadLog wal = new ChatLogWriteAheadLog(directory.toString());
+        wal.append(chatLog(1, 10, "회원", "첫 메시지"));
+        wal.append(chatLog(2, 10, "회원", "두 번째 메시지"));
+        Path segment = wal.roll();
+        wal.close();
+        long size = Files.size(segment);
+        try(var channel = Files.newByteChannel(segment, StandardOpenOption.WRITE)){
+            channel.truncate(size - 3);
+        }
+
+        ChatLogWriteAheadLog restarted = new ChatLogWriteAheadLog(directory.toString());
+
+        assertThat(restarted.sealedSegments()).containsExactly(segment);
+        assertThat(restarted.read(segment)).extracting(ChatLog::getLogId).containsExactly(1L);
+    }
+
+    @Test
+    void deadLetterIsKeptOutOfReplay() throws IOException {
+        ChatLogWriteAheadLog wal = new ChatLogWriteAheadLog(directory.toString());
+        wal.append(chatLog(1, 10, "회원", "첫 메시지"));
+        wal.append(chatLog(2, 99, "회원", "저장할 수 없는 메시지"));
+        Path segment = wal.roll();
+
+        Path deadLetter = wal.deadLetter(segment, List.of(chatLog(2, 99, "회원", "저장할 수 없는 메시지")));
+        wal.delete(segment);
+
+        // 재시작 때 다시 저장하지 않고, 내용은 그대로 읽을 수 있음
+        assertThat(wal.sealedSegments()).isEmpty();
+        assertThat(wal.read(deadLetter)).extracting(ChatLog::getLogId).containsExactly(2L);
+    }
+
+    private static ChatLog chatLog(long logId, long roomId, String sender, String message){
+        ChatRoom chatRoom = new ChatRoom();
+        chatRoom.setRoomId(roomId);
+        ChatLog chatLog = new ChatLog();
+        chatLog.setLogId(logId);
+        chatLog.setChatRoom(chatRoom);
+        chatLog.setSender(sender);
+        chatLog.setMessage(message);
+        chatLog.setCreatedAt(LocalDateTime.of(2024, 5, 1, 13, 0, (int) logId, 500));
+        return chatLog;
+    }
+}
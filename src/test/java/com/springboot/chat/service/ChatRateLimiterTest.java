@@ -0,0 +1,56 @@
+package com.springboot.chat.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatRateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final ChatRateLimiter rateLimiter = new ChatRateLimiter(5, 10);
+    private final UUID session = UUID.randomUUID();
+
+    @Test
+    void allowsBurstThenRejects(){
+        long now = 1_000 * SECOND;
+        for(int i = 0; i < 10; i++){
+            assertThat(rateLimiter.tryAcquire(session, now)).isTrue();
+        }
+        assertThat(rateLimiter.tryAcquire(session, now)).isFalse();
+    }
+
+    @Test
+    void refillsAtConfiguredRate(){
+        long now = 1_000 * SECOND;
+        for(int i = 0; i < 10; i++) rateLimiter.tryAcquire(session, now);
+
+        // 1초에 5개
+        long later = now + SECOND;
+        for(int i = 0; i < 5; i++){
+            assertThat(rateLimiter.tryAcquire(session, later)).isTrue();
+        }
+        assertThat(rateLimiter.tryAcquire(session, later)).isFalse();
+    }
+
+    @Test
+    void idleTimeDoesNotGrowBurstBeyondLimit(){
+        long now = -5 * SECOND;
+        rateLimiter.tryAcquire(session, now);
+
+        long muchLater = now + 3_600 * SECOND;
+        int allowed = 0;
+        while(rateLimiter.tryAcquire(session, muchLater)) allowed++;
+        assertThat(allowed).isEqualTo(10);
+    }
+
+    @Test
+    void sessionsHaveSeparateBuckets(){
+        long now = 1_000 * SECOND;
+        for(int i = 0; i < 10; i++) rateLimiter.tryAcquire(session, now);
+
+        assertThat(rateLimiter.tryAcquire(UUID.randomUUID(), now)).isTrue();
+    }
+}
@@ -0,0 +1,143 @@
+package com.springboot.chat.service;
+
+import com.springboot.chat.entity.ChatRoom;
+import com.springboot.chat.repository.ChatRoomRepository;
+import com.springboot.counselor.entity.Counselor;
+import com.springboot.member.entity.Member;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ChatRoomStateCacheTest {
+    private final ChatRoomRepository chatRoomRepository = mock(ChatRoomRepository.class);
+    private final InMemoryBus bus = new InMemoryBus();
+    private final ChatRoomStateCache cache = new ChatRoomStateCache(chatRoomRepository, bus, new SimpleMeterRegistry(), 30, 1_000);
+
+    @Test
+    void messagesAfterJoinDoNotReadDatabase(){
+        when(chatRoomRepository.findWithParticipantsByRoomId(1L)).thenReturn(Optional.of(chatRoom(1L, ChatRoom.RoomStatus.OPEN)));
+
+        cache.refresh(1L);
+        for(int i = 0; i < 100; i++){
+            assertThat(cache.get(1L).isClosed()).isFalse();
+        }
+
+        verify(chatRoomRepository, times(1)).findWithParticipantsByRoomId(1L);
+    }
+
+    @Test
+    void invalidationFromAnotherNodeReloadsState(){
+        when(chatRoomRepository.findWithParticipantsByRoomId(1L))
+                .thenReturn(Optional.of(chatRoom(1L, ChatRoom.RoomStatus.OPEN)))
+                .thenReturn(Optional.of(chatRoom(1L, ChatRoom.RoomStatus.CLOSE)));
+        cache.refresh(1L);
+
+        // 다른 서버에서 채팅방을 닫음
+        bus.deliver(1L);
+
+        assertThat(cache.get(1L).isClosed()).isTrue();
+        verify(chatRoomRepository, times(2)).findWithParticipantsByRoomId(1L);
+    }
+
+    @Test
+    void concurrentMissesReadDatabaseOnce() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(chatRoomRepository.findWithParticipantsByRoomId(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return Optional.of(chatRoom(1L, ChatRoom.RoomStatus.OPEN));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<ChatRoomStateCache.RoomState>> results = new ArrayList<>();
+        for(int i = 0; i < 8; i++){
+            results.add(executor.submit(() -> cache.get(1L)));
+        }
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+
+        for(Future<ChatRoomStateCache.RoomState> result : results){
+            assertThat(result.get(5, TimeUnit.SECONDS).isClosed()).isFalse();
+        }
+        executor.shutdown();
+        verify(chatRoomRepository, times(1)).findWithParticipantsByRoomId(1L);
+    }
+
+    @Test
+    void invalidationDuringLoadIsNotOverwrittenByStaleState() throws Exception {
+        // 첫 번째 읽기는 채팅방을 닫기 전 상태(OPEN)를 읽고, 그 사이 닫기가 커밋되어 무효화가 옴
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(chatRoomRepository.findWithParticipantsByRoomId(1L))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    release.await();
+                    return Optional.of(chatRoom(1L, ChatRoom.RoomStatus.OPEN));
+                })
+                .thenReturn(Optional.of(chatRoom(1L, ChatRoom.RoomStatus.CLOSE)));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<ChatRoomStateCache.RoomState> join = executor.submit(() -> cache.refresh(1L));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<?> invalidation = executor.submit(() -> bus.deliver(1L));
+        release.countDown();
+        join.get(5, TimeUnit.SECONDS);
+        invalidation.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertThat(cache.get(1L).isClosed()).isTrue();
+    }
+
+    @Test
+    void localInvalidationIsPublished(){
+        cache.invalidate(7L);
+
+        assertThat(bus.published).containsExactly(7L);
+    }
+
+    private static ChatRoom chatRoom(long roomId, ChatRoom.RoomStatus status){
+        Member member = new Member();
+        member.setMemberId(10L);
+        member.setNickname("마음이");
+        Counselor counselor = new Counselor();
+        counselor.setCounselorId(20L);
+        counselor.setName("김상담");
+        ChatRoom chatRoom = new ChatRoom();
+        chatRoom.setRoomId(roomId);
+        chatRoom.setRoomStatus(status);
+        chatRoom.setMember(member);
+        chatRoom.setCounselor(counselor);
+        return chatRoom;
+    }
+
+    private static class InMemoryBus implements ChatRoomStateInvalidationBus {
+        private final List<Long> published = new ArrayList<>();
+        private final List<LongConsumer> listeners = new ArrayList<>();
+
+        @Override
+        public void publish(long roomId) {
+            published.add(roomId);
+        }
+
+        @Override
+        public void subscribe(LongConsumer listener) {
+            listeners.add(listener);
+        }
+
+        void deliver(long roomId){
+            listeners.forEach(listener -> listener.accept(roomId));
+        }
+    }
+}
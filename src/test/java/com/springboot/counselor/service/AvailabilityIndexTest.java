@@ -0,0 +1,138 @@
+package com.springboot.counselor.service;
+
+import com.springboot.counselor.entity.Counselor;
+import com.springboot.counselor.entity.DefaultDay;
+import com.springboot.counselor.repository.AvailableDateRepository;
+import com.springboot.counselor.repository.DefaultDayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// DB 대신 mock 저장소로 색인 구성 후 검색/갱신/정리 동작 검증 (트랜잭션 밖이라 변경은 바로 반영됨)
+class AvailabilityIndexTest {
+    private static final LocalDate DATE = LocalDate.now().plusDays(1);
+    private static final int TEN_TO_TWELVE = (1 << 10) | (1 << 11) | (1 << 12);
+
+    private final DefaultDayRepository defaultDayRepository = mock(DefaultDayRepository.class);
+    private final AvailableDateRepository availableDateRepository = mock(AvailableDateRepository.class);
+    private final AvailabilityIndex availabilityIndex = new AvailabilityIndex(defaultDayRepository, availableDateRepository);
+
+    private final List<Object[]> storedRows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp(){
+        // 상담사 1: 10 ~ 12시, 상담사 2: 10시만
+        when(defaultDayRepository.findAllOfScheduledCounselors(Counselor.Status.ACTIVE))
+                .thenReturn(List.of(defaultDay(1L, TEN_TO_TWELVE), defaultDay(2L, 1 << 10)));
+        when(availableDateRepository.findSlotsBetween(any(), any())).thenReturn(storedRows);
+    }
+
+    @Test
+    void searchUsesDefaultSlots(){
+        availabilityIndex.rebuild();
+
+        assertThat(search(10, 1)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(search(10, 2)).containsExactly(1L);
+        assertThat(search(13, 1)).isEmpty();
+    }
+
+    @Test
+    void storedDateOverridesDefaultSlots(){
+        // 상담사 1은 10시 예약됨, 상담사 2는 이 날만 14시로 변경
+        storedRows.add(new Object[]{1L, DATE, null, 1 << 10, 1L});
+        storedRows.add(new Object[]{2L, DATE, 1 << 14, 0, 1L});
+        availabilityIndex.rebuild();
+
+        assertThat(search(10, 1)).isEmpty();
+        assertThat(search(11, 2)).containsExactly(1L);
+        assertThat(search(14, 1)).containsExactly(2L);
+        // 다른 날짜는 기본 상담 시간 그대로
+        assertThat(availabilityIndex.search(DATE.plusWeeks(1), LocalTime.of(10, 0), 1, null, null)).hasSize(2);
+    }
+
+    @Test
+    void updateDateIgnoresOlderVersion(){
+        availabilityIndex.rebuild();
+
+        availabilityIndex.updateDate(1L, DATE, null, 1 << 11, 2L);
+        assertThat(search(10, 2)).isEmpty();
+        // 늦게 도착한 이전 version(예약 전 상태)은 무시
+        availabilityIndex.updateDate(1L, DATE, null, 0, 1L);
+        assertThat(search(10, 2)).isEmpty();
+        // 취소로 반환된 최신 version은 반영
+        availabilityIndex.updateDate(1L, DATE, null, 0, 3L);
+        assertThat(search(10, 2)).containsExactly(1L);
+    }
+
+    @Test
+    void updateDefaultSlotsMovesCounselorBetweenHours(){
+        availabilityIndex.rebuild();
+
+        availabilityIndex.updateDefaultSlots(2L, DATE.getDayOfWeek(), 1 << 15);
+
+        assertThat(search(10, 1)).containsExactly(1L);
+        assertThat(search(15, 1)).containsExactly(2L);
+    }
+
+    @Test
+    void changesAppliedWhileRebuildReadsAreNotLost(){
+        availabilityIndex.rebuild();
+        // DB를 읽는 중에 상담사 1의 10시가 예약됨 (읽은 결과에는 아직 없음)
+        when(availableDateRepository.findSlotsBetween(any(), any())).thenAnswer(invocation -> {
+            availabilityIndex.updateDate(1L, DATE, null, 1 << 10, 2L);
+            return storedRows;
+        });
+
+        availabilityIndex.rebuild();
+
+        assertThat(search(10, 1)).containsExactly(2L);
+    }
+
+    @Test
+    void purgeDropsStoredDatesBeforeCutoff(){
+        storedRows.add(new Object[]{1L, DATE, 0, 0, 1L});
+        availabilityIndex.rebuild();
+        assertThat(search(10, 1)).containsExactly(2L);
+
+        availabilityIndex.purgeBefore(DATE);
+        assertThat(search(10, 1)).containsExactly(2L);
+        // 정리된 날짜는 다시 기본 상담 시간으로 계산
+        availabilityIndex.purgeBefore(DATE.plusDays(1));
+        assertThat(search(10, 1)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void pastOrOutOfRangeDatesAreNotSearchable(){
+        availabilityIndex.rebuild();
+
+        assertThat(availabilityIndex.search(LocalDate.now().minusDays(1), LocalTime.of(10, 0), 1, null, null)).isEmpty();
+        assertThat(availabilityIndex.search(LocalDate.now().plusMonths(3), LocalTime.of(10, 0), 1, null, null)).isEmpty();
+    }
+
+    private List<Long> search(int startHour, int hours){
+        return availabilityIndex.search(DATE, LocalTime.of(startHour, 0), hours, null, null).stream()
+                .map(AvailabilityIndex.IndexedCounselor::getCounselorId)
+                .collect(Collectors.toList());
+    }
+
+    private static DefaultDay defaultDay(long counselorId, int slotMask){
+        Counselor counselor = new Counselor();
+        counselor.setCounselorId(counselorId);
+        counselor.setScheduleOpenDate(LocalDate.now());
+        DefaultDay defaultDay = new DefaultDay();
+        defaultDay.setDayOfWeek(DATE.getDayOfWeek());
+        defaultDay.setSlotMask(slotMask);
+        defaultDay.setCounselor(counselor);
+        return defaultDay;
+    }
+}
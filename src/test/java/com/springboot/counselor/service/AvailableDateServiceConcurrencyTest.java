@@ -0,0 +1,160 @@
+package com.springboot.counselor.service;
+
+import com.springboot.counselor.available_date.AvailableDate;
+import com.springboot.counselor.entity.Counselor;
+import com.springboot.counselor.entity.DefaultDay;
+import com.springboot.counselor.repository.AvailableDateRepository;
+import com.springboot.counselor.repository.CounselorRepository;
+import com.springboot.exception.BusinessLogicException;
+import com.springboot.exception.ExceptionCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 여러 스레드가 같은 상담사의 같은 날짜 슬롯을 동시에 예약해도 중복 예약이 생기지 않는지 검증
+@DataJpaTest
+@Import({AvailableDateService.class, AvailabilityIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 스레드마다 실제 커밋이 일어나야 함
+class AvailableDateServiceConcurrencyTest {
+    private static final int THREADS = 32;
+    private static final int REQUESTS_PER_THREAD = 20;
+    private static final int FIRST_HOUR = 9;
+    private static final int LAST_HOUR = 22;
+
+    @Autowired
+    private AvailableDateService availableDateService;
+    @Autowired
+    private CounselorRepository counselorRepository;
+    @Autowired
+    private AvailableDateRepository availableDateRepository;
+
+    private LocalDate date;
+    private long counselorId;
+
+    @BeforeEach
+    void setUp(){
+        // 내일 요일에 9 ~ 22시 기본 상담 시간을 가진 상담사 (내일 날짜 row는 아직 없음)
+        date = LocalDate.now().plusDays(1);
+        Counselor counselor = new Counselor();
+        counselor.setUserId("stress-counselor");
+        counselor.setScheduleOpenDate(LocalDate.now());
+        DefaultDay defaultDay = new DefaultDay();
+        defaultDay.setDayOfWeek(date.getDayOfWeek());
+        int openSlots = 0;
+        for(int hour = FIRST_HOUR; hour <= LAST_HOUR; hour++){
+            openSlots |= 1 << hour;
+        }
+        defaultDay.setSlotMask(openSlots);
+        defaultDay.setCounselor(counselor);
+        counselorId = counselorRepository.save(counselor).getCounselorId();
+    }
+
+    // 트랜잭션 롤백이 없으니 커밋된 row는 직접 지움 (일정 row, 기본 상담 시간은 cascade로 같이 삭제)
+    @AfterEach
+    void tearDown(){
+        counselorRepository.deleteById(counselorId);
+    }
+
+    @Test
+    void concurrentClaimsOfDifferentSlotsAllSucceed() throws Exception {
+        // 시간마다 한 요청씩, 모두 같은 날짜 row(아직 없음)를 동시에 예약
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch startGate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(LAST_HOUR - FIRST_HOUR + 1);
+        int expected = 0;
+        for(int hour = FIRST_HOUR; hour <= LAST_HOUR; hour++){
+            LocalTime time = LocalTime.of(hour, 0);
+            expected |= 1 << hour;
+            executor.submit(() -> {
+                startGate.await();
+                try{
+                    availableDateService.claimSlots(availableDateService.prepareAvailableDate(counselorId, date), List.of(time));
+                }catch (RuntimeException e){
+                    failures.add(e);
+                }
+                return null;
+            });
+        }
+        startGate.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(failures).isEmpty();
+        assertThat(bookedSlots()).isEqualTo(expected);
+    }
+
+    @Test
+    void concurrentClaimsNeverDoubleBook() throws Exception {
+        Queue<Integer> claimedMasks = new ConcurrentLinkedQueue<>();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch startGate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for(int t = 0; t < THREADS; t++){
+            long seed = t;
+            executor.submit(() -> {
+                Random random = new Random(seed);
+                startGate.await();
+                for(int i = 0; i < REQUESTS_PER_THREAD; i++){
+                    // 1 ~ 2시간 연속 예약
+                    int startHour = FIRST_HOUR + random.nextInt(LAST_HOUR - FIRST_HOUR);
+                    int length = 1 + random.nextInt(2);
+                    List<LocalTime> times = new ArrayList<>();
+                    int mask = 0;
+                    for(int hour = startHour; hour < startHour + length; hour++){
+                        times.add(LocalTime.of(hour, 0));
+                        mask |= 1 << hour;
+                    }
+                    try{
+                        availableDateService.claimSlots(availableDateService.prepareAvailableDate(counselorId, date), times);
+                        claimedMasks.add(mask);
+                    }catch (BusinessLogicException e){
+                        // 이미 예약된 슬롯과 겹친 요청만 실패해야 함
+                        if(e.getExceptionCode() != ExceptionCode.RESERVATION_TIMESLOT_OCCUPIED) unexpected.add(e);
+                    }catch (RuntimeException e){
+                        unexpected.add(e);
+                    }
+                }
+                return null;
+            });
+        }
+        startGate.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(unexpected).isEmpty();
+
+        // 성공한 예약끼리 겹치는 슬롯이 없어야 함
+        int union = 0;
+        for(int mask : claimedMasks){
+            assertThat(union & mask).isZero();
+            union |= mask;
+        }
+        assertThat(claimedMasks).isNotEmpty();
+        // DB에 남은 예약 슬롯 = 성공한 예약들의 합
+        assertThat(bookedSlots()).isEqualTo(union);
+    }
+
+    private int bookedSlots(){
+        List<AvailableDate> rows = availableDateRepository.findByCounselorCounselorIdAndDateBetween(counselorId, date, date);
+        assertThat(rows).hasSize(1);
+        return rows.get(0).getBookedSlots();
+    }
+}
@@ -0,0 +1,58 @@
+package com.springboot.counselor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.springboot.counselor.dto.CounselorDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+// Redis가 죽어도 조회는 L1/DB로, 삭제는 L1까지 처리되는지 검증 (트랜잭션 밖이라 커밋 후 작업은 바로 실행됨)
+class CounselorProfileCacheTest {
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final CounselorProfileCache cache = new CounselorProfileCache(
+            stringRedisTemplate, new ObjectMapper(), new SimpleMeterRegistry(), 30, 100, 600);
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<CounselorDto.Response> loader = () -> {
+        loads.incrementAndGet();
+        return new CounselorDto.Response();
+    };
+
+    @BeforeEach
+    void setUp(){
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+        when(valueOperations.increment(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+    }
+
+    @Test
+    void readFallsBackToLoaderWhenRedisIsDown(){
+        assertThat(cache.get(1L, loader)).isNotNull();
+        assertThat(cache.get(1L, loader)).isNotNull();
+
+        // 두 번째는 L1에서
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void evictStillInvalidatesLocalCacheWhenRedisIsDown(){
+        cache.get(1L, loader);
+
+        cache.evict(1L);
+        cache.get(1L, loader);
+
+        assertThat(loads).hasValue(2);
+    }
+}
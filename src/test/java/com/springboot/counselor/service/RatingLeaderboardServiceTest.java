@@ -0,0 +1,112 @@
+package com.springboot.counselor.service;
+
+import com.springboot.counselor.repository.CounselorRepository;
+import com.springboot.exception.BusinessLogicException;
+import com.springboot.reservation.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Redis/DB는 mock으로 두고 재계산 흐름(진행 표시, 교체, 재계산 중 들어온 리뷰 재반영) 검증
+class RatingLeaderboardServiceTest {
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    @SuppressWarnings("unchecked")
+    private final HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+    @SuppressWarnings("unchecked")
+    private final ZSetOperations<String, String> zSetOperations = mock(ZSetOperations.class);
+    private final ReservationRepository reservationRepository = mock(ReservationRepository.class);
+    private final CounselorRepository counselorRepository = mock(CounselorRepository.class);
+    private final RatingLeaderboardService service =
+            new RatingLeaderboardService(stringRedisTemplate, reservationRepository, counselorRepository);
+
+    @BeforeEach
+    void setUp(){
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(stringRedisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(counselorRepository.findIdsByStatusNot(any())).thenReturn(List.of());
+        when(reservationRepository.streamCounselorRatings()).thenReturn(Stream.<Object[]>of(
+                new Object[]{1L, 5}, new Object[]{1L, 4}, new Object[]{2L, 3}));
+    }
+
+    @Test
+    void rebuildWritesHistogramsAndSwapsLeaderboard(){
+        givenPending();
+
+        assertThat(service.rebuild()).isEqualTo(2);
+
+        // 평균 4.5(450) * 1,000,000 + 리뷰 2개
+        verify(zSetOperations).add("counselor-rating:leaderboard:rebuild", "1", 450_000_002.0);
+        verify(zSetOperations).add("counselor-rating:leaderboard:rebuild", "2", 300_000_001.0);
+        verify(hashOperations).putAll("counselor-rating:histogram:1",
+                Map.of("1", "0", "2", "0", "3", "0", "4", "1", "5", "1", "sum", "9", "count", "2"));
+        verify(stringRedisTemplate).execute(RatingLeaderboardServiceTest.<List>script("LRANGE"), anyList(), eq("1"));
+        verify(stringRedisTemplate, never()).execute(RatingLeaderboardServiceTest.<Long>script("HINCRBY"), anyList(), any());
+    }
+
+    @Test
+    void ratingsRegisteredDuringRebuildAreReappliedOnlyIfNotRead(){
+        // 예약 10의 리뷰는 재계산 때 이미 읽었고, 예약 11의 리뷰는 읽은 뒤에 들어옴
+        givenPending("10:1:5", "11:2:3");
+        when(reservationRepository.findReviewedIdsIn(anyCollection())).thenReturn(List.of(10L));
+
+        service.rebuild();
+
+        verify(stringRedisTemplate).execute(RatingLeaderboardServiceTest.<Long>script("HINCRBY"),
+                eq(List.of("counselor-rating:histogram:2", "counselor-rating:leaderboard",
+                        "counselor-rating:leaderboard:rebuild-lock", "counselor-rating:leaderboard:rebuild-pending")),
+                eq("2"), eq("3"), eq("11"));
+        verify(stringRedisTemplate, never()).execute(RatingLeaderboardServiceTest.<Long>script("HINCRBY"),
+                anyList(), eq("1"), eq("5"), eq("10"));
+    }
+
+    @Test
+    void concurrentRebuildIsRejected(){
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        assertThatThrownBy(service::rebuild).isInstanceOf(BusinessLogicException.class);
+        verify(reservationRepository, never()).streamCounselorRatings();
+    }
+
+    @Test
+    void failedRebuildKeepsLeaderboardAndStillReappliesPendingRatings(){
+        when(reservationRepository.streamCounselorRatings()).thenThrow(new IllegalStateException("db down"));
+        givenPending("11:2:3");
+        when(reservationRepository.findReviewedIdsIn(anyCollection())).thenReturn(List.of());
+
+        assertThatThrownBy(service::rebuild).isInstanceOf(IllegalStateException.class);
+
+        // 교체하지 않고 임시 순위표만 버림
+        verify(stringRedisTemplate).execute(RatingLeaderboardServiceTest.<List>script("LRANGE"), anyList(), eq("0"));
+        verify(stringRedisTemplate).execute(RatingLeaderboardServiceTest.<Long>script("HINCRBY"),
+                anyList(), eq("2"), eq("3"), eq("11"));
+    }
+
+    private void givenPending(String... entries){
+        when(stringRedisTemplate.execute(RatingLeaderboardServiceTest.<List>script("LRANGE"), anyList(), anyString()))
+                .thenReturn(entries.length == 0 ? Collections.emptyList() : List.of(entries));
+    }
+
+    // 스크립트 내용으로 어떤 스크립트인지 구분
+    private static <T> RedisScript<T> script(String command){
+        return argThat(script -> script != null && script.getScriptAsString().contains(command));
+    }
+}
@@ -0,0 +1,76 @@
+package com.springboot.counselor.service;
+
+import com.springboot.counselor.repository.InMemorySlotHoldRepository;
+import com.springboot.exception.BusinessLogicException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Redis 대신 인메모리 저장소로 슬롯 점유 동작 검증
+class SlotHoldServiceTest {
+    private static final long COUNSELOR_ID = 1L;
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 1);
+
+    private InMemorySlotHoldRepository slotHoldRepository;
+    private SlotHoldService slotHoldService;
+
+    @BeforeEach
+    void setUp(){
+        slotHoldRepository = new InMemorySlotHoldRepository();
+        slotHoldService = new SlotHoldService(slotHoldRepository, 300);
+    }
+
+    @Test
+    void heldSlotsAreHiddenAndBlockOtherMembers(){
+        slotHoldService.hold(COUNSELOR_ID, DATE, List.of(LocalTime.of(10, 0), LocalTime.of(11, 0)), 1L);
+
+        int candidates = (1 << 10) | (1 << 11) | (1 << 12);
+        assertThat(slotHoldService.getHeldSlots(COUNSELOR_ID, DATE, candidates)).isEqualTo((1 << 10) | (1 << 11));
+        // 하나라도 겹치면 아무것도 점유되지 않음
+        assertThatThrownBy(() -> slotHoldService.hold(COUNSELOR_ID, DATE, List.of(LocalTime.of(11, 0), LocalTime.of(12, 0)), 2L))
+                .isInstanceOf(BusinessLogicException.class);
+        assertThat(slotHoldService.getHeldSlots(COUNSELOR_ID, DATE, 1 << 12)).isZero();
+    }
+
+    @Test
+    void sameMemberCanRefreshAndRelease(){
+        List<LocalTime> times = List.of(LocalTime.of(10, 0));
+        slotHoldService.hold(COUNSELOR_ID, DATE, times, 1L);
+        slotHoldService.hold(COUNSELOR_ID, DATE, times, 1L);
+
+        // 남의 점유는 해제할 수 없음
+        slotHoldService.release(COUNSELOR_ID, DATE, times, 2L);
+        assertThat(slotHoldService.getHeldSlots(COUNSELOR_ID, DATE, 1 << 10)).isEqualTo(1 << 10);
+
+        slotHoldService.release(COUNSELOR_ID, DATE, times, 1L);
+        assertThat(slotHoldService.getHeldSlots(COUNSELOR_ID, DATE, 1 << 10)).isZero();
+        slotHoldService.hold(COUNSELOR_ID, DATE, times, 2L);
+    }
+
+    @Test
+    void expiredHoldIsFreed() throws InterruptedException {
+        SlotHoldService shortHoldService = new SlotHoldService(slotHoldRepository, 0);
+        shortHoldService.hold(COUNSELOR_ID, DATE, List.of(LocalTime.of(10, 0)), 1L);
+        Thread.sleep(5);
+
+        assertThat(slotHoldService.getHeldSlots(COUNSELOR_ID, DATE, 1 << 10)).isZero();
+        slotHoldService.hold(COUNSELOR_ID, DATE, List.of(LocalTime.of(10, 0)), 2L);
+    }
+
+    @Test
+    void findCounselorsHoldingAnyRequestedSlot(){
+        slotHoldService.hold(COUNSELOR_ID, DATE, List.of(LocalTime.of(11, 0)), 1L);
+        slotHoldService.hold(2L, DATE, List.of(LocalTime.of(13, 0)), 1L);
+
+        int requested = (1 << 10) | (1 << 11);
+        assertThat(slotHoldService.findCounselorsHolding(List.of(COUNSELOR_ID, 2L, 3L), DATE, requested))
+                .containsExactly(COUNSELOR_ID);
+        assertThat(slotHoldService.findCounselorsHolding(List.of(), DATE, requested)).isEmpty();
+    }
+}
@@ -0,0 +1,60 @@
+package com.springboot.firebase.data;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NotificationCodecTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final NotificationCodec codec = new NotificationCodec(objectMapper);
+
+    @Test
+    void binaryRoundTrip(){
+        Notification notification = new Notification("n-1", 42L, 7L, 300L, "마음이", "김상담",
+                "상담 예약 알림", "예약되었습니다.", LocalDateTime.of(2024, 5, 1, 13, 2, 11, 123_456_789),
+                true, Notification.NotificationType.CHAT);
+
+        byte[] encoded = codec.encode(notification);
+
+        assertThat(codec.decode(encoded)).isEqualTo(notification);
+        assertThat(encoded.length).isLessThan(objectMapperBytes(notification).length / 2);
+    }
+
+    @Test
+    void nullFieldsRoundTrip(){
+        Notification notification = new Notification();
+        notification.setNotificationId("n-2");
+
+        assertThat(codec.decode(codec.encode(notification))).isEqualTo(notification);
+    }
+
+    // 바이너리 형식 도입 전에 JSON으로 저장된 알림도 읽을 수 있어야 함
+    @Test
+    void legacyJsonIsStillReadable(){
+        Notification notification = new Notification("n-3", 1L, 2L, 3L, "nick", "counselor",
+                "title", "body", LocalDateTime.of(2024, 1, 2, 3, 4, 5), false, Notification.NotificationType.RESERVATION);
+
+        assertThat(codec.decode(objectMapperBytes(notification))).isEqualTo(notification);
+    }
+
+    @Test
+    void unknownVersionIsRejected(){
+        assertThatThrownBy(() -> codec.decode(new byte[]{99, 0}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private byte[] objectMapperBytes(Notification notification){
+        try{
+            return objectMapper.writeValueAsBytes(notification);
+        }catch (Exception e){
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.springboot.firebase.service;
+
+import com.springboot.counselor.repository.CounselorRepository;
+import com.springboot.firebase.client.FakeFcmClient;
+import com.springboot.firebase.client.FcmClient;
+import com.springboot.firebase.client.FcmMessage;
+import com.springboot.member.repository.MemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+// 가짜 FCM 클라이언트로 묶음 발송, 재시도, 토큰 정리 동작 검증
+class FcmDispatcherTest {
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+    private final CounselorRepository counselorRepository = mock(CounselorRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FcmDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown(){
+        if(dispatcher != null) dispatcher.stop();
+    }
+
+    @Test
+    void queuedMessagesAreSentInBatches() throws InterruptedException {
+        AtomicInteger requests = new AtomicInteger();
+        AtomicInteger maxBatchSize = new AtomicInteger();
+        FakeFcmClient fakeClient = new FakeFcmClient(20);
+        dispatcher = newDispatcher(messages -> {
+            requests.incrementAndGet();
+            maxBatchSize.accumulateAndGet(messages.size(), Math::max);
+            return fakeClient.sendEach(messages);
+        });
+
+        for(int i = 0; i < 2_000; i++){
+            assertThat(dispatcher.enqueue("token-" + i, "title", "body")).isTrue();
+        }
+        waitUntil(() -> fakeClient.getSentMessages().size() == 2_000);
+
+        assertThat(fakeClient.getSentMessages()).hasSize(2_000);
+        // 요청 중 쌓인 메시지들이 묶여서 메시지 수보다 훨씬 적은 요청으로 처리됨
+        assertThat(requests.get()).isLessThan(100);
+        assertThat(maxBatchSize.get()).isLessThanOrEqualTo(FcmClient.MAX_BATCH_SIZE);
+        assertThat(meterRegistry.get("fcm.dispatch.send.latency").timer().count()).isEqualTo((long) requests.get());
+    }
+
+    @Test
+    void retryableErrorsAreRetriedAndUnregisteredTokensPruned() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        FakeFcmClient fakeClient = new FakeFcmClient(0);
+        dispatcher = newDispatcher(messages -> {
+            // 첫 요청은 전부 일시적 오류
+            if(attempts.getAndIncrement() == 0) return Collections.nCopies(messages.size(), FcmClient.SendResult.RETRYABLE);
+            return fakeClient.sendEach(messages);
+        });
+
+        dispatcher.enqueue("token-ok", "title", "body");
+        waitUntil(() -> fakeClient.getSentMessages().size() == 1);
+        assertThat(fakeClient.getSentMessages()).extracting(FcmMessage::getToken).containsExactly("token-ok");
+
+        dispatcher.enqueue("unregistered-token", "title", "body");
+        waitUntil(() -> meterRegistry.get("fcm.dispatch.messages").tag("result", "unregistered").counter().count() == 1);
+        verify(memberRepository, timeout(1_000)).clearFcmTokens(argThat(tokens -> tokens.contains("unregistered-token")));
+        verify(counselorRepository, timeout(1_000)).clearFcmTokens(argThat(tokens -> tokens.contains("unregistered-token")));
+    }
+
+    private FcmDispatcher newDispatcher(FcmClient client){
+        return new FcmDispatcher(client, memberRepository, counselorRepository,
+                mock(PlatformTransactionManager.class), meterRegistry, 10_000, 2);
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while(!condition.getAsBoolean() && System.currentTimeMillis() < deadline){
+            Thread.sleep(10);
+        }
+    }
+}
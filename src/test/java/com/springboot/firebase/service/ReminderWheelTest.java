@@ -0,0 +1,79 @@
+package com.springboot.firebase.service;
+
+import com.springboot.firebase.repository.InMemoryReminderJobRepository;
+import com.springboot.firebase.repository.ReminderJobRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Redis 대신 인메모리 저장소를 공유하는 두 서버(휠)로 알림 작업이 정확히 한 번씩만 발송되는지 검증
+class ReminderWheelTest {
+    private static final int JOBS = 20_000;
+
+    @Test
+    void eachJobFiresExactlyOnceAcrossNodes() throws InterruptedException {
+        InMemoryReminderJobRepository repository = new InMemoryReminderJobRepository();
+        Map<String, AtomicInteger> fired = new ConcurrentHashMap<>();
+        ReminderWheel nodeA = newWheel(repository, fired);
+        ReminderWheel nodeB = newWheel(repository, fired);
+
+        // 앞으로 1초 안에 흩어진 발송 시각, 10개 중 1개는 취소
+        long now = System.currentTimeMillis();
+        for(int i = 0; i < JOBS; i++){
+            repository.schedule("job:" + i, now + (i % 1000));
+        }
+        for(int i = 0; i < JOBS; i += 10){
+            repository.cancel("job:" + i);
+        }
+
+        nodeA.start();
+        nodeB.start();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while(fired.size() < JOBS - JOBS / 10 && System.currentTimeMillis() < deadline){
+            Thread.sleep(50);
+        }
+        // 늦게 중복 발송되는 게 없는지 조금 더 기다림
+        Thread.sleep(200);
+        nodeA.stop();
+        nodeB.stop();
+
+        assertThat(fired).hasSize(JOBS - JOBS / 10);
+        assertThat(fired.values()).allMatch(count -> count.get() == 1);
+        for(int i = 0; i < JOBS; i += 10){
+            assertThat(fired).doesNotContainKey("job:" + i);
+        }
+    }
+
+    @Test
+    void expiredLeaseIsRequeuedAndFiredOnce() throws InterruptedException {
+        InMemoryReminderJobRepository repository = new InMemoryReminderJobRepository();
+        repository.schedule("job:crashed", System.currentTimeMillis());
+        // 다른 서버가 가져간 뒤 죽은 상황 (lease 10ms)
+        long leaseUntil = System.currentTimeMillis() + 10;
+        assertThat(repository.claimDue(System.currentTimeMillis(), 10, leaseUntil)).hasSize(1);
+
+        Map<String, AtomicInteger> fired = new ConcurrentHashMap<>();
+        ReminderWheel node = newWheel(repository, fired);
+        node.start();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while(fired.isEmpty() && System.currentTimeMillis() < deadline){
+            Thread.sleep(20);
+        }
+        node.stop();
+
+        assertThat(fired).containsOnlyKeys("job:crashed");
+        assertThat(fired.get("job:crashed").get()).isEqualTo(1);
+        // 죽었던 서버가 늦게 완료하려 해도 실패
+        assertThat(repository.complete("job:crashed", leaseUntil)).isFalse();
+    }
+
+    private ReminderWheel newWheel(ReminderJobRepository repository, Map<String, AtomicInteger> fired){
+        return new ReminderWheel(repository,
+                jobId -> fired.computeIfAbsent(jobId, id -> new AtomicInteger()).incrementAndGet(),
+                10, 256, 500, 2000, 1000, 4);
+    }
+}